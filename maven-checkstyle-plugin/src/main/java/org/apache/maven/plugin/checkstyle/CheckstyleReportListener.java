@@ -125,6 +125,10 @@ public class CheckstyleReportListener
     {
         final String fileName = StringUtils.replace( event.getFileName(), "\\", "/" );
 
+        // a file outside of the registered directories is kept under its full name, so that none of its violations
+        // are lost or credited to the previous file
+        currentFile = fileName;
+
         for ( File sourceDirectory : sourceDirectories )
         {
             String sourceDirectoryPath = StringUtils.replace( sourceDirectory.getPath(), "\\", "/" );
@@ -132,15 +136,10 @@ public class CheckstyleReportListener
             if ( fileName.startsWith( sourceDirectoryPath + "/" ) )
             {
                 currentFile = StringUtils.substring( fileName, sourceDirectoryPath.length() + 1 );
-
-                events = getResults().getFileViolations( currentFile );
             }
         }
 
-        if ( events == null )
-        {
-            events = new ArrayList<AuditEvent>();
-        }
+        events = getResults().getFileViolations( currentFile );
     }
 
     /** {@inheritDoc} */
@@ -21,6 +21,7 @@ package org.apache.maven.plugin.checkstyle;
 
 import com.puppycrawl.tools.checkstyle.DefaultLogger;
 import com.puppycrawl.tools.checkstyle.XMLLogger;
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
 import com.puppycrawl.tools.checkstyle.api.AuditListener;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import org.apache.maven.model.Resource;
@@ -50,6 +51,8 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Performs Checkstyle analysis and outputs violations or a count of violations
@@ -424,6 +427,7 @@ public class CheckstyleViolationCheckMojo
 
         if ( !skip )
         {
+            CheckstyleResults results = null;
 
             if ( !skipExec )
             {
@@ -471,7 +475,7 @@ public class CheckstyleViolationCheckMojo
                         .setPropertyExpansion( propertyExpansion ).setHeaderLocation( headerLocation )
                         .setCacheFile( cacheFile ).setSuppressionsFileExpression( suppressionsFileExpression )
                         .setEncoding( encoding ).setPropertiesLocation( propertiesLocation );
-                    checkstyleExecutor.executeCheckstyle( request );
+                    results = checkstyleExecutor.executeCheckstyle( request );
 
                 }
                 catch ( CheckstyleException e )
@@ -495,49 +499,99 @@ public class CheckstyleViolationCheckMojo
                     + "', checkstyle:check requires format to be 'xml'." );
             }
 
-            if ( !outputFile.exists() )
+            int violations;
+            if ( results != null )
             {
-                getLog().info(
-                               "Unable to perform checkstyle:check, "
-                                   + "unable to find checkstyle:checkstyle outputFile." );
-                return;
+                // the results of this execution are at hand: no need to parse the XML file again
+                violations = countViolations( results );
             }
-
-            try
+            else
             {
-                XmlPullParser xpp = new MXParser();
-                Reader freader = ReaderFactory.newXmlReader( outputFile );
-                BufferedReader breader = new BufferedReader( freader );
-                xpp.setInput( breader );
+                if ( !outputFile.exists() )
+                {
+                    getLog().info(
+                                   "Unable to perform checkstyle:check, "
+                                       + "unable to find checkstyle:checkstyle outputFile." );
+                    return;
+                }
 
-                int violations = countViolations( xpp );
-                if ( violations > maxAllowedViolations )
+                try
                 {
-                    if ( failOnViolation )
-                    {
-                        String msg = "You have " + violations + " Checkstyle violation"
-                            + ( ( violations > 1 ) ? "s" : "" ) + ".";
-                        if ( maxAllowedViolations > 0 )
-                        {
-                            msg += " The maximum number of allowed violations is " + maxAllowedViolations + ".";
-                        }
-                        throw new MojoFailureException( msg );
-                    }
+                    XmlPullParser xpp = new MXParser();
+                    Reader freader = ReaderFactory.newXmlReader( outputFile );
+                    BufferedReader breader = new BufferedReader( freader );
+                    xpp.setInput( breader );
 
-                    getLog().warn( "checkstyle:check violations detected but failOnViolation set to false" );
+                    violations = countViolations( xpp );
+                }
+                catch ( IOException e )
+                {
+                    throw new MojoExecutionException( "Unable to read Checkstyle results xml: "
+                        + outputFile.getAbsolutePath(), e );
+                }
+                catch ( XmlPullParserException e )
+                {
+                    throw new MojoExecutionException( "Unable to read Checkstyle results xml: "
+                        + outputFile.getAbsolutePath(), e );
                 }
             }
-            catch ( IOException e )
+
+            if ( violations > maxAllowedViolations )
             {
-                throw new MojoExecutionException( "Unable to read Checkstyle results xml: "
-                    + outputFile.getAbsolutePath(), e );
+                if ( failOnViolation )
+                {
+                    String msg = "You have " + violations + " Checkstyle violation"
+                        + ( ( violations > 1 ) ? "s" : "" ) + ".";
+                    if ( maxAllowedViolations > 0 )
+                    {
+                        msg += " The maximum number of allowed violations is " + maxAllowedViolations + ".";
+                    }
+                    throw new MojoFailureException( msg );
+                }
+
+                getLog().warn( "checkstyle:check violations detected but failOnViolation set to false" );
             }
-            catch ( XmlPullParserException e )
+        }
+    }
+
+    /**
+     * Counts the violations from the results collected in-process by the executor, without reading back the
+     * output file.
+     *
+     * @param results the results of the Checkstyle execution
+     * @return the number of violations
+     * @since 2.13
+     */
+    private int countViolations( CheckstyleResults results )
+    {
+        int count = 0;
+
+        Map<String, List<AuditEvent>> files = new TreeMap<String, List<AuditEvent>>( results.getFiles() );
+        for ( Map.Entry<String, List<AuditEvent>> entry : files.entrySet() )
+        {
+            String file = entry.getKey();
+            file = file.substring( file.lastIndexOf( '/' ) + 1 );
+
+            for ( AuditEvent event : entry.getValue() )
             {
-                throw new MojoExecutionException( "Unable to read Checkstyle results xml: "
-                    + outputFile.getAbsolutePath(), e );
+                String severity = event.getSeverityLevel().getName();
+                if ( !isViolation( severity ) )
+                {
+                    continue;
+                }
+
+                if ( logViolationsToConsole )
+                {
+                    final String column = event.getColumn() == 0 ? "n/a" : String.valueOf( event.getColumn() );
+                    final String logMessage =
+                        file + '[' + event.getLine() + ':' + column + "] " + event.getMessage();
+                    logViolation( severity, logMessage );
+                }
+                count++;
             }
         }
+
+        return count;
     }
 
     private int countViolations( XmlPullParser xpp )
@@ -563,18 +617,7 @@ public class CheckstyleViolationCheckMojo
                     final String column = xpp.getAttributeValue( "", "column" ) == null ? "n/a" : xpp.getAttributeValue( "", "column" );
                     final String logMessage = file + '[' + xpp.getAttributeValue( "", "line" ) + ':' + column + "] "
                         + xpp.getAttributeValue( "", "message" );
-                    if ( "info".equals( xpp.getAttributeValue( "", "severity" ) ) )
-                    {
-                        getLog().info( logMessage );
-                    }
-                    else if ( "warning".equals( xpp.getAttributeValue( "", "severity" ) ) )
-                    {
-                        getLog().warn( logMessage );
-                    }
-                    else
-                    {
-                        getLog().error( logMessage );
-                    }
+                    logViolation( xpp.getAttributeValue( "", "severity" ), logMessage );
                 }
                 count++;
             }
@@ -584,6 +627,22 @@ public class CheckstyleViolationCheckMojo
         return count;
     }
 
+    private void logViolation( String severity, String logMessage )
+    {
+        if ( "info".equals( severity ) )
+        {
+            getLog().info( logMessage );
+        }
+        else if ( "warning".equals( severity ) )
+        {
+            getLog().warn( logMessage );
+        }
+        else
+        {
+            getLog().error( logMessage );
+        }
+    }
+
     /**
      * Checks if the given severity is considered a violation.
      *
@@ -201,11 +201,19 @@ public class DefaultCheckstyleExecutor
                 addSourceDirectory( sinkListener, new File( childProject.getBuild().getSourceDirectory() ),
                                     new File( childProject.getBuild().getTestSourceDirectory() ),
                                     childProject.getResources(), request );
+                if ( request.isIncludeTestResources() )
+                {
+                    addResourceDirectories( sinkListener, childProject.getTestResources() );
+                }
             }
         }
         else
         {
             addSourceDirectory( sinkListener, sourceDirectory, testSourceDirectory, request.getResources(), request );
+            if ( request.isIncludeTestResources() )
+            {
+                addResourceDirectories( sinkListener, request.getTestResources() );
+            }
         }
 
         checker.addListener( sinkListener );
@@ -263,6 +271,11 @@ public class DefaultCheckstyleExecutor
             sinkListener.addSourceDirectory( testSourceDirectory );
         }
 
+        addResourceDirectories( sinkListener, resources );
+    }
+
+    private void addResourceDirectories( CheckstyleReportListener sinkListener, List<Resource> resources )
+    {
         if ( resources != null )
         {
             for ( Resource resource : resources )
@@ -143,6 +143,32 @@ public class CheckstyleReportListenerMultiSourceTest
         assertEquals( "test file severities", 0, results.getSeverityCount( "file4", SeverityLevel.IGNORE ) );
     }
 
+    public void testFileOutsideSourceDirectories()
+    {
+        fireAuditStarted( null );
+
+        AuditEvent event = new AuditEvent( this, "/source/path/file1", null );
+        fireFileStarted( event );
+        LocalizedMessage message =
+            new LocalizedMessage( 0, 0, "", "", null, SeverityLevel.ERROR, null, getClass(), null );
+        fireAddError( new AuditEvent( this, "/source/path/file1", message ) );
+        fireFileFinished( event );
+
+        event = new AuditEvent( this, "/other/path/file2", null );
+        fireFileStarted( event );
+        fireAddError( new AuditEvent( this, "/other/path/file2", message ) );
+        fireAddError( new AuditEvent( this, "/other/path/file2", message ) );
+        fireFileFinished( event );
+
+        fireAuditFinished( null );
+
+        CheckstyleResults results = listenerMap.get( SeverityLevel.ERROR ).getResults();
+        assertEquals( "Test total files", 2, results.getFiles().size() );
+        assertEquals( "test file violations", 1, results.getFileViolations( "file1" ).size() );
+        assertEquals( "test file violations", 2, results.getFileViolations( "/other/path/file2" ).size() );
+        assertEquals( "test severities", 3, results.getSeverityCount( SeverityLevel.ERROR ) );
+    }
+
     private void fireAuditStarted( AuditEvent event )
     {
         for ( CheckstyleReportListener listener : listenerMap.values() )
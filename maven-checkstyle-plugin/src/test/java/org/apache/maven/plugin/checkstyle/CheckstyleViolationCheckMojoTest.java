@@ -20,8 +20,11 @@ package org.apache.maven.plugin.checkstyle;
  */
 
 import java.io.File;
+import java.util.Collections;
+import java.util.List;
 
 import org.apache.maven.model.Build;
+import org.apache.maven.model.Resource;
 import org.apache.maven.plugin.Mojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -120,6 +123,55 @@ public class CheckstyleViolationCheckMojoTest
         mojo.execute();
     }
     
+    public void testInProcessResults()
+        throws Exception
+    {
+        File pluginXmlFile = new File( getBasedir(), "src/test/plugin-configs/check-plugin-config.xml" );
+
+        Mojo mojo = lookupMojo( "check", pluginXmlFile );
+
+        assertNotNull( "Mojo found.", mojo );
+
+        mojoSetup( mojo );
+
+        Resource resource = new Resource();
+        resource.setDirectory( new File( getBasedir(), "src/test/test-resources" ).getAbsolutePath() );
+
+        File outputFile = new File( getBasedir(), "target/check-in-process/checkstyle-result.xml" );
+        setVariableValueToObject( mojo, "outputFile", outputFile );
+        setVariableValueToObject( mojo, "sourceDirectory", new File( getBasedir(), "src/test/test-sources" ) );
+        setVariableValueToObject( mojo, "resources", Collections.singletonList( resource ) );
+        setVariableValueToObject( mojo, "resourceIncludes", "**/*.properties" );
+        setVariableValueToObject( mojo, "cacheFile", getBasedir() + "/target/check-in-process/checkstyle-cachefile" );
+        setVariableValueToObject( mojo, "skipExec", Boolean.FALSE );
+
+        String inProcessMessage = null;
+        try
+        {
+            mojo.execute();
+
+            fail( "Must throw an exception on violations" );
+        }
+        catch ( MojoFailureException e )
+        {
+            inProcessMessage = e.getMessage();
+        }
+        assertTrue( outputFile.exists() );
+
+        // the count of the results collected in-process must match the one of the XML report just written
+        setVariableValueToObject( mojo, "skipExec", Boolean.TRUE );
+        try
+        {
+            mojo.execute();
+
+            fail( "Must throw an exception on violations" );
+        }
+        catch ( MojoFailureException e )
+        {
+            assertEquals( e.getMessage(), inProcessMessage );
+        }
+    }
+
     protected void mojoSetup( Mojo mojo )
         throws Exception
     {
@@ -141,9 +193,19 @@ public class CheckstyleViolationCheckMojoTest
                     {
                         return getBasedir() + "/target/classes";
                     }
+
+                    public String getOutputDirectory()
+                    {
+                        return getBasedir() + "/target/classes";
+                    }
                 };
             }
 
+            public List getCompileClasspathElements()
+            {
+                return Collections.EMPTY_LIST;
+            }
+
         } );
 
         setVariableValueToObject( mojo, "configLocation", "config/sun_checks.xml" );
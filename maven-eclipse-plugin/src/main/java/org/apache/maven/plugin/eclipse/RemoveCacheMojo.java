@@ -30,10 +30,11 @@ import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.ide.AttachmentResolver;
 import org.apache.maven.plugin.ide.IdeUtils;
 
 /**
- * Removes the not-available marker files from the repository.
+ * Removes the index of the not available attachments and the not-available marker files from the repository.
  * 
  * @author <a href="mailto:baerrach@apache.org">Barrie Treloar</a>
  * @version $Id$
@@ -55,6 +56,11 @@ public class RemoveCacheMojo
         throws MojoExecutionException, MojoFailureException
     {
         getLog().info( Messages.getString( "RemoveCacheMojo.checking" ) );
+        File notAvailableIndex = AttachmentResolver.getIndexFile( localRepository );
+        if ( notAvailableIndex.exists() )
+        {
+            IdeUtils.delete( notAvailableIndex, getLog() );
+        }
         List notAvailableMarkerFiles = getNotAvailableMarkerFiles();
         if ( !notAvailableMarkerFiles.isEmpty() )
         {
@@ -214,6 +214,16 @@ public abstract class AbstractIdeSupportMojo
      */
     protected boolean forceRecheck;
 
+    /**
+     * The number of threads resolving the source and javadoc attachments of the dependencies. Whatever this value, an
+     * attachment is resolved only once by all the projects of the reactor. The downloads themselves are serialized,
+     * because the Maven 2 artifact resolver is not thread-safe.
+     * 
+     * @parameter expression="${downloadThreads}" default-value="1"
+     * @since 2.10
+     */
+    protected int downloadThreads;
+
     /**
      * Plexus logger needed for debugging manual artifact resolution.
      */
@@ -872,103 +882,45 @@ public abstract class AbstractIdeSupportMojo
      */
     private void resolveSourceAndJavadocArtifacts( IdeDependency[] deps )
     {
-        final List missingSources = resolveDependenciesWithClassifier( deps, "sources", getDownloadSources() );
+        AttachmentResolver attachmentResolver =
+            AttachmentResolver.getInstance( reactorProjects, artifactResolver, artifactFactory, localRepository );
+
+        final List missingSources =
+            resolveDependenciesWithClassifier( attachmentResolver, deps, "sources", getDownloadSources() );
         missingSourceDependencies.addAll( missingSources );
 
-        final List missingJavadocs = resolveDependenciesWithClassifier( deps, "javadoc", getDownloadJavadocs() );
+        final List missingJavadocs =
+            resolveDependenciesWithClassifier( attachmentResolver, deps, "javadoc", getDownloadJavadocs() );
         missingJavadocDependencies.addAll( missingJavadocs );
+
+        try
+        {
+            attachmentResolver.store();
+        }
+        catch ( IOException e )
+        {
+            getLog().warn( Messages.getString( "AttachmentResolver.failedtostoreindex", e.getMessage() ) );
+        }
     }
 
     /**
      * Resolve the required artifacts for each of the dependency. <code>sources</code> or <code>javadoc</code> artifacts
      * (depending on the <code>classifier</code>) are attached to the dependency.
      * 
+     * @param attachmentResolver the resolver shared by the reactor projects
      * @param deps resolved dependencies
      * @param inClassifier the classifier we are looking for (either <code>sources</code> or <code>javadoc</code>)
      * @param includeRemoteRepositories flag whether we should search remote repositories for the artifacts or not
      * @return the list of dependencies for which the required artifact was not found
      */
-    private List resolveDependenciesWithClassifier( IdeDependency[] deps, String inClassifier,
-                                                    boolean includeRemoteRepositories )
+    private List resolveDependenciesWithClassifier( AttachmentResolver attachmentResolver, IdeDependency[] deps,
+                                                    String inClassifier, boolean includeRemoteRepositories )
     {
-        List missingClassifierDependencies = new ArrayList();
-
         // if downloadSources is off, just check
         // local repository for reporting missing source jars
         List remoteRepos = includeRemoteRepositories ? getRemoteArtifactRepositories() : Collections.EMPTY_LIST;
 
-        for (IdeDependency dependency : deps) {
-            if (dependency.isReferencedProject() || dependency.isSystemScoped()) {
-                // artifact not needed
-                continue;
-            }
-
-            if (getLog().isDebugEnabled()) {
-                getLog().debug(
-                        "Searching for sources for " + dependency.getId() + ":" + dependency.getClassifier()
-                                + " at " + dependency.getId() + ":" + inClassifier);
-            }
-
-            Artifact baseArtifact =
-                    artifactFactory.createArtifactWithClassifier(dependency.getGroupId(), dependency.getArtifactId(),
-                            dependency.getVersion(), dependency.getType(),
-                            dependency.getClassifier());
-            baseArtifact =
-                    IdeUtils.resolveArtifact(artifactResolver, baseArtifact, remoteRepos, localRepository, getLog());
-            if (!baseArtifact.isResolved()) {
-                // base artifact does not exist - no point checking for javadoc/sources
-                continue;
-            }
-
-            Artifact artifact =
-                    IdeUtils.createArtifactWithClassifier(dependency.getGroupId(), dependency.getArtifactId(),
-                            dependency.getVersion(), dependency.getClassifier(),
-                            inClassifier, artifactFactory);
-            File notAvailableMarkerFile = IdeUtils.getNotAvailableMarkerFile(localRepository, artifact);
-
-            if (forceRecheck && notAvailableMarkerFile.exists()) {
-                if (!notAvailableMarkerFile.delete()) {
-                    getLog().warn(
-                            Messages.getString("AbstractIdeSupportMojo.unabletodeletenotavailablemarkerfile",
-                                    notAvailableMarkerFile));
-                }
-            }
-
-            if (!notAvailableMarkerFile.exists()) {
-                artifact =
-                        IdeUtils.resolveArtifact(artifactResolver, artifact, remoteRepos, localRepository, getLog());
-                if (artifact.isResolved()) {
-                    if ("sources".equals(inClassifier)) {
-                        dependency.setSourceAttachment(artifact.getFile());
-                    } else if ("javadoc".equals(inClassifier)) {
-                        dependency.setJavadocAttachment(artifact.getFile());
-                    }
-                } else {
-                    if (includeRemoteRepositories) {
-                        try {
-                            notAvailableMarkerFile.createNewFile();
-                            getLog().debug(
-                                    Messages.getString("AbstractIdeSupportMojo.creatednotavailablemarkerfile",
-                                            notAvailableMarkerFile));
-                        } catch (IOException e) {
-                            getLog().warn(
-                                    Messages.getString(
-                                            "AbstractIdeSupportMojo.failedtocreatenotavailablemarkerfile",
-                                            notAvailableMarkerFile));
-                        }
-                    }
-                    // add the dependencies to the list
-                    // of those lacking the required
-                    // artifact
-                    missingClassifierDependencies.add(dependency);
-                }
-            }
-        }
-
-        // return the list of dependencies missing the
-        // required artifact
-        return missingClassifierDependencies;
-
+        return attachmentResolver.resolve( deps, inClassifier, remoteRepos, forceRecheck, downloadThreads, getLog() );
     }
 
     /**
@@ -0,0 +1,526 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugin.ide;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.factory.ArtifactFactory;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.resolver.ArtifactResolver;
+import org.apache.maven.plugin.eclipse.Messages;
+import org.apache.maven.plugin.logging.Log;
+import org.codehaus.plexus.util.IOUtil;
+
+/**
+ * Resolves the <code>sources</code> and <code>javadoc</code> attachments of the dependencies for all the projects of a
+ * build. Each attachment is resolved only once by the build, whatever the number of modules depending on it, and the
+ * attachments of a project are resolved concurrently. The calls to the {@link ArtifactResolver} are serialized
+ * though, because the Maven 2 resolver and its wagons are not thread-safe: the threads only overlap the checks of the
+ * local repository and of the index, and the waits for the attachments resolved for another module.
+ * <p>
+ * The attachments which are not available in the remote repositories are remembered in a single index file of the
+ * local repository, so that they are not checked again by the next builds. The index replaces the
+ * <code>-not-available</code> marker files of the previous versions, which are still honored. The index is merged
+ * with the entries written meanwhile by other builds before it is stored.
+ *
+ * @version $Id$
+ * @since 2.10
+ */
+public class AttachmentResolver
+{
+    /**
+     * The path of the index of the attachments not available, relative to the local repository.
+     */
+    public static final String NOT_AVAILABLE_INDEX = ".cache/maven-eclipse-plugin/not-available.properties";
+
+    /** The resolvers of the running builds, by reactor. */
+    private static final Map<List, AttachmentResolver> RESOLVERS = new WeakHashMap<List, AttachmentResolver>();
+
+    /** The lock of the calls to the artifact resolver, which is a singleton shared by all the resolvers. */
+    private static final Object RESOLVER_LOCK = new Object();
+
+    private final ArtifactResolver artifactResolver;
+
+    private final ArtifactFactory artifactFactory;
+
+    private final ArtifactRepository localRepository;
+
+    private final File indexFile;
+
+    /** The time the attachments were found not available, by repository path. */
+    private final Properties notAvailable = new Properties();
+
+    /** The attachments checked again since the index was loaded, by repository path. */
+    private final Set<String> rechecked = new HashSet<String>();
+
+    private boolean modified;
+
+    /** The attachments already resolved by this build, by dependency and classifier. */
+    private final Map<String, FutureTask<Attachment>> attachments = new HashMap<String, FutureTask<Attachment>>();
+
+    /**
+     * @param artifactResolver the resolver of the attachments, not null.
+     * @param artifactFactory the factory of the attachment artifacts, not null.
+     * @param localRepository the local repository, not null.
+     */
+    public AttachmentResolver( ArtifactResolver artifactResolver, ArtifactFactory artifactFactory,
+                               ArtifactRepository localRepository )
+    {
+        this.artifactResolver = artifactResolver;
+        this.artifactFactory = artifactFactory;
+        this.localRepository = localRepository;
+        this.indexFile = getIndexFile( localRepository );
+
+        try
+        {
+            load( notAvailable );
+        }
+        catch ( IOException e )
+        {
+            // the attachments are checked again
+            notAvailable.clear();
+        }
+    }
+
+    /**
+     * Gets the resolver shared by the modules of a build.
+     *
+     * @param reactorProjects the projects of the build, or <code>null</code> to get a resolver which is not shared.
+     * @param artifactResolver the resolver of the attachments, not null.
+     * @param artifactFactory the factory of the attachment artifacts, not null.
+     * @param localRepository the local repository, not null.
+     * @return the resolver, never <code>null</code>.
+     */
+    public static synchronized AttachmentResolver getInstance( List reactorProjects, ArtifactResolver artifactResolver,
+                                                               ArtifactFactory artifactFactory,
+                                                               ArtifactRepository localRepository )
+    {
+        if ( reactorProjects == null )
+        {
+            return new AttachmentResolver( artifactResolver, artifactFactory, localRepository );
+        }
+
+        AttachmentResolver resolver = RESOLVERS.get( reactorProjects );
+        if ( resolver == null || !resolver.indexFile.equals( getIndexFile( localRepository ) ) )
+        {
+            resolver = new AttachmentResolver( artifactResolver, artifactFactory, localRepository );
+            RESOLVERS.put( reactorProjects, resolver );
+        }
+        return resolver;
+    }
+
+    /**
+     * @param localRepository the local repository, not null.
+     * @return the index of the attachments not available in the local repository.
+     */
+    public static File getIndexFile( ArtifactRepository localRepository )
+    {
+        return new File( localRepository.getBasedir(), NOT_AVAILABLE_INDEX );
+    }
+
+    /**
+     * Resolves the attachments of the dependencies, and attaches the ones found to the dependencies.
+     *
+     * @param deps the dependencies, not null.
+     * @param inClassifier either <code>sources</code> or <code>javadoc</code>.
+     * @param remoteRepos the remote repositories to search, or an empty list to check the local repository only.
+     * @param forceRecheck <code>true</code> to check again the attachments known as not available.
+     * @param threads the number of threads resolving the attachments.
+     * @param log not null.
+     * @return the dependencies for which the attachment was not found.
+     */
+    public List resolve( IdeDependency[] deps, String inClassifier, List remoteRepos, boolean forceRecheck,
+                         int threads, Log log )
+    {
+        Attachment[] results = new Attachment[deps.length];
+
+        Queue<Integer> queue = new ConcurrentLinkedQueue<Integer>();
+        for ( int i = 0; i < deps.length; i++ )
+        {
+            if ( !deps[i].isReferencedProject() && !deps[i].isSystemScoped() )
+            {
+                queue.add( Integer.valueOf( i ) );
+            }
+        }
+
+        Worker worker = new Worker( queue, deps, results, inClassifier, remoteRepos, forceRecheck, log );
+
+        int poolSize = Math.min( threads, queue.size() );
+        if ( poolSize <= 1 )
+        {
+            worker.call();
+        }
+        else
+        {
+            ExecutorService executor = Executors.newFixedThreadPool( poolSize );
+            try
+            {
+                List<Future<Object>> futures = new ArrayList<Future<Object>>( poolSize );
+                for ( int i = 0; i < poolSize; i++ )
+                {
+                    futures.add( executor.submit( worker ) );
+                }
+                for ( Future<Object> future : futures )
+                {
+                    future.get();
+                }
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+                log.warn( "Interrupted while resolving the " + inClassifier + " attachments" );
+            }
+            catch ( ExecutionException e )
+            {
+                // stops the other threads
+                queue.clear();
+                if ( e.getCause() instanceof RuntimeException )
+                {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw (Error) e.getCause();
+            }
+            finally
+            {
+                executor.shutdownNow();
+            }
+        }
+
+        List missingClassifierDependencies = new ArrayList();
+        for ( int i = 0; i < deps.length; i++ )
+        {
+            Attachment attachment = results[i];
+            if ( attachment == null )
+            {
+                continue;
+            }
+
+            if ( attachment.file != null )
+            {
+                if ( "sources".equals( inClassifier ) )
+                {
+                    deps[i].setSourceAttachment( attachment.file );
+                }
+                else if ( "javadoc".equals( inClassifier ) )
+                {
+                    deps[i].setJavadocAttachment( attachment.file );
+                }
+            }
+            else if ( attachment.missing )
+            {
+                missingClassifierDependencies.add( deps[i] );
+            }
+        }
+        return missingClassifierDependencies;
+    }
+
+    /**
+     * Stores the index of the attachments not available. The entries stored meanwhile by other builds are kept, except
+     * the ones checked again by this build, and the index is replaced atomically so that it is never read partially
+     * written.
+     *
+     * @throws IOException if the index can't be written.
+     */
+    public synchronized void store()
+        throws IOException
+    {
+        if ( !modified )
+        {
+            return;
+        }
+
+        Properties merged = new Properties();
+        try
+        {
+            load( merged );
+        }
+        catch ( IOException e )
+        {
+            // replaced by the entries of this build
+            merged.clear();
+        }
+        for ( String path : rechecked )
+        {
+            merged.remove( path );
+        }
+        merged.putAll( notAvailable );
+
+        File parent = indexFile.getParentFile();
+        parent.mkdirs();
+
+        File tmpFile = File.createTempFile( indexFile.getName(), ".tmp", parent );
+        try
+        {
+            OutputStream out = null;
+            try
+            {
+                out = new FileOutputStream( tmpFile );
+                merged.store( out, "maven-eclipse-plugin attachments not available" );
+            }
+            finally
+            {
+                IOUtil.close( out );
+            }
+
+            if ( !tmpFile.renameTo( indexFile ) )
+            {
+                // the target can't be replaced on some platforms
+                indexFile.delete();
+                if ( !tmpFile.renameTo( indexFile ) )
+                {
+                    throw new IOException( "Unable to rename " + tmpFile + " to " + indexFile );
+                }
+            }
+        }
+        finally
+        {
+            tmpFile.delete();
+        }
+
+        notAvailable.clear();
+        notAvailable.putAll( merged );
+        rechecked.clear();
+        modified = false;
+    }
+
+    private void load( Properties properties )
+        throws IOException
+    {
+        if ( indexFile.isFile() )
+        {
+            InputStream in = null;
+            try
+            {
+                in = new FileInputStream( indexFile );
+                properties.load( in );
+            }
+            finally
+            {
+                IOUtil.close( in );
+            }
+        }
+    }
+
+    private Attachment getAttachment( final IdeDependency dependency, final String inClassifier,
+                                      final List remoteRepos, final boolean forceRecheck, final Log log )
+    {
+        String key =
+            dependency.getGroupId() + ':' + dependency.getArtifactId() + ':' + dependency.getVersion() + ':'
+                + dependency.getType() + ':' + dependency.getClassifier() + ':' + inClassifier + ':'
+                + !remoteRepos.isEmpty();
+
+        FutureTask<Attachment> task;
+        boolean owner = false;
+        synchronized ( attachments )
+        {
+            task = attachments.get( key );
+            if ( task == null )
+            {
+                task = new FutureTask<Attachment>( new Callable<Attachment>()
+                {
+                    public Attachment call()
+                    {
+                        return resolveAttachment( dependency, inClassifier, remoteRepos, forceRecheck, log );
+                    }
+                } );
+                attachments.put( key, task );
+                owner = true;
+            }
+        }
+
+        if ( owner )
+        {
+            task.run();
+        }
+
+        try
+        {
+            return task.get();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        catch ( ExecutionException e )
+        {
+            if ( e.getCause() instanceof RuntimeException )
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            throw (Error) e.getCause();
+        }
+    }
+
+    private Attachment resolveAttachment( IdeDependency dependency, String inClassifier, List remoteRepos,
+                                          boolean forceRecheck, Log log )
+    {
+        if ( log.isDebugEnabled() )
+        {
+            log.debug( "Searching for sources for " + dependency.getId() + ":" + dependency.getClassifier() + " at "
+                + dependency.getId() + ":" + inClassifier );
+        }
+
+        Artifact baseArtifact =
+            artifactFactory.createArtifactWithClassifier( dependency.getGroupId(), dependency.getArtifactId(),
+                                                          dependency.getVersion(), dependency.getType(),
+                                                          dependency.getClassifier() );
+        baseArtifact = resolveArtifact( baseArtifact, remoteRepos, log );
+        if ( !baseArtifact.isResolved() )
+        {
+            // base artifact does not exist - no point checking for javadoc/sources
+            return new Attachment( null, false );
+        }
+
+        Artifact artifact =
+            IdeUtils.createArtifactWithClassifier( dependency.getGroupId(), dependency.getArtifactId(),
+                                                   dependency.getVersion(), dependency.getClassifier(),
+                                                   inClassifier, artifactFactory );
+        String path = localRepository.pathOf( artifact );
+        File notAvailableMarkerFile = IdeUtils.getNotAvailableMarkerFile( localRepository, artifact );
+
+        if ( forceRecheck )
+        {
+            synchronized ( this )
+            {
+                notAvailable.remove( path );
+                rechecked.add( path );
+                modified = true;
+            }
+            if ( notAvailableMarkerFile.exists() && !notAvailableMarkerFile.delete() )
+            {
+                log.warn( Messages.getString( "AbstractIdeSupportMojo.unabletodeletenotavailablemarkerfile",
+                                              notAvailableMarkerFile ) );
+            }
+        }
+
+        if ( notAvailable.containsKey( path ) || notAvailableMarkerFile.exists() )
+        {
+            return new Attachment( null, false );
+        }
+
+        artifact = resolveArtifact( artifact, remoteRepos, log );
+        if ( artifact.isResolved() )
+        {
+            return new Attachment( artifact.getFile(), false );
+        }
+
+        if ( !remoteRepos.isEmpty() )
+        {
+            synchronized ( this )
+            {
+                notAvailable.setProperty( path, String.valueOf( System.currentTimeMillis() ) );
+                modified = true;
+            }
+            log.debug( Messages.getString( "AttachmentResolver.notavailable", path ) );
+        }
+        return new Attachment( null, true );
+    }
+
+    private Artifact resolveArtifact( Artifact artifact, List remoteRepos, Log log )
+    {
+        synchronized ( RESOLVER_LOCK )
+        {
+            return IdeUtils.resolveArtifact( artifactResolver, artifact, remoteRepos, localRepository, log );
+        }
+    }
+
+    /**
+     * Resolves the attachments of the queued dependencies, until the queue is empty.
+     */
+    private class Worker
+        implements Callable<Object>
+    {
+        private final Queue<Integer> queue;
+
+        private final IdeDependency[] deps;
+
+        private final Attachment[] results;
+
+        private final String inClassifier;
+
+        private final List remoteRepos;
+
+        private final boolean forceRecheck;
+
+        private final Log log;
+
+        Worker( Queue<Integer> queue, IdeDependency[] deps, Attachment[] results, String inClassifier,
+                List remoteRepos, boolean forceRecheck, Log log )
+        {
+            this.queue = queue;
+            this.deps = deps;
+            this.results = results;
+            this.inClassifier = inClassifier;
+            this.remoteRepos = remoteRepos;
+            this.forceRecheck = forceRecheck;
+            this.log = log;
+        }
+
+        public Object call()
+        {
+            for ( Integer i = queue.poll(); i != null; i = queue.poll() )
+            {
+                results[i.intValue()] =
+                    getAttachment( deps[i.intValue()], inClassifier, remoteRepos, forceRecheck, log );
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The result of the resolution of an attachment.
+     */
+    private static class Attachment
+    {
+        /** The attachment, or <code>null</code> if not resolved. */
+        private final File file;
+
+        /** Whether the attachment is reported as missing. */
+        private final boolean missing;
+
+        Attachment( File file, boolean missing )
+        {
+            this.file = file;
+            this.missing = missing;
+        }
+    }
+}
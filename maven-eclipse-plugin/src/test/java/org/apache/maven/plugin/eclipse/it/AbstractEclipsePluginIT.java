@@ -20,6 +20,7 @@ package org.apache.maven.plugin.eclipse.it;
 
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.StringReader;
@@ -46,6 +47,7 @@ import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.eclipse.ExecutionFailedException;
 import org.apache.maven.plugin.eclipse.Messages;
+import org.apache.maven.plugin.ide.AttachmentResolver;
 import org.apache.maven.plugin.ide.IdeUtils;
 import org.apache.maven.plugin.testing.AbstractMojoTestCase;
 import org.apache.maven.project.MavenProject;
@@ -944,7 +946,53 @@ public abstract class AbstractEclipsePluginIT
     }
 
     /**
-     * Assert that the not available marker file exists for the specified artifact details.
+     * Tell whether the specified artifact details are recorded as not available, either in the index of the not
+     * available attachments or by a not available marker file.
+     *
+     * @param groupId group id of artifact
+     * @param artifactId artifact id of artifact
+     * @param version version of artifact
+     * @param classifier the classifier of the artifact
+     * @param inClassifier the sources/javadocs to be attached
+     * @return <code>true</code> if the artifact is recorded as not available
+     * @throws Exception failures
+     */
+    protected boolean isNotAvailable( String groupId, String artifactId, String version, String classifier,
+                                      String inClassifier )
+        throws Exception
+    {
+        File markerFile = getNotAvailableMarkerFile( groupId, artifactId, version, classifier, inClassifier );
+        if ( markerFile.exists() )
+        {
+            return true;
+        }
+
+        File indexFile = new File( localRepositoryDirectory, AttachmentResolver.NOT_AVAILABLE_INDEX );
+        if ( !indexFile.isFile() )
+        {
+            return false;
+        }
+
+        Properties index = new Properties();
+        FileInputStream in = new FileInputStream( indexFile );
+        try
+        {
+            index.load( in );
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+
+        String markerPath = markerFile.getAbsolutePath();
+        String path =
+            markerPath.substring( localRepositoryDirectory.getAbsolutePath().length() + 1, markerPath.length()
+                - IdeUtils.NOT_AVAILABLE_MARKER_FILE_SUFFIX.length() );
+        return index.containsKey( path.replace( File.separatorChar, '/' ) );
+    }
+
+    /**
+     * Assert that the specified artifact details are recorded as not available.
      *
      * @param groupId group id of artifact
      * @param artifactId artifact id of artifact
@@ -957,12 +1005,12 @@ public abstract class AbstractEclipsePluginIT
                                                        String classifier, String inClassifier )
         throws Exception
     {
-        File markerFile = getNotAvailableMarkerFile( groupId, artifactId, version, classifier, inClassifier );
-        assertTrue( "The \"Not Available\" marker file does not exist: " + markerFile, markerFile.exists() );
+        assertTrue( "The artifact is not recorded as \"Not Available\": " + groupId + ":" + artifactId + ":" + version
+            + ":" + inClassifier, isNotAvailable( groupId, artifactId, version, classifier, inClassifier ) );
     }
 
     /**
-     * Assert that the not available marker file does not exist for the specified artifact details.
+     * Assert that the specified artifact details are not recorded as not available.
      *
      * @param groupId group id of artifact
      * @param artifactId artifact id of artifact
@@ -975,8 +1023,8 @@ public abstract class AbstractEclipsePluginIT
                                                              String classifier, String inClassifier )
         throws Exception
     {
-        File markerFile = getNotAvailableMarkerFile( groupId, artifactId, version, classifier, inClassifier );
-        assertTrue( "The \"Not Available\" marker file incorrectly exists: " + markerFile, !markerFile.exists() );
+        assertTrue( "The artifact is incorrectly recorded as \"Not Available\": " + groupId + ":" + artifactId + ":"
+            + version + ":" + inClassifier, !isNotAvailable( groupId, artifactId, version, classifier, inClassifier ) );
     }
 
 }
@@ -542,7 +542,7 @@ public class EclipsePluginIT
     }
 
     /**
-     * Test not available marker file is created for sources/javadocs. biz.aQute:bndlib:0.0.145 does not have sources or
+     * Test sources/javadocs are recorded as not available. biz.aQute:bndlib:0.0.145 does not have sources or
      * javadocs.
      * 
      * @throws Exception
@@ -556,7 +556,7 @@ public class EclipsePluginIT
     }
 
     /**
-     * Test not available marker file is created for sources/javadocs. commons-lang:commons-lang:1.0 does not have
+     * Test sources/javadocs are recorded as not available. commons-lang:commons-lang:1.0 does not have
      * sources but does have javadocs.
      * 
      * @throws Exception
@@ -570,8 +570,8 @@ public class EclipsePluginIT
     }
 
     /**
-     * Test not available marker file is created for sources/javadocs. does-not-exist:does-not-exist:666 doesn't exist
-     * so no markers should be created.
+     * Test sources/javadocs are recorded as not available. does-not-exist:does-not-exist:666 doesn't exist
+     * so nothing should be recorded as not available.
      * 
      * @throws Exception
      */
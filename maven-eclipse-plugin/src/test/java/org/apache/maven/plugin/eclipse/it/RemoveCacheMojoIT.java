@@ -33,7 +33,7 @@ public class RemoveCacheMojoIT
 {
     /**
      * Project-46 uses which does not have sources/javadocs for biz.aQute:bndlib:0.0.145. Once the repo is seeded with
-     * marker files run remove-cache and verify the marker files no longer exist.
+     * not available records run remove-cache and verify the records no longer exist.
      * 
      * @throws Exception test failures
      */
@@ -0,0 +1,353 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugin.ide;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import junit.framework.TestCase;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.factory.ArtifactFactory;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.repository.DefaultArtifactRepository;
+import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
+import org.apache.maven.artifact.resolver.ArtifactNotFoundException;
+import org.apache.maven.artifact.resolver.ArtifactResolver;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.IOUtil;
+
+/**
+ * Test for {@link AttachmentResolver}
+ *
+ * @version $Id$
+ */
+public class AttachmentResolverTest
+    extends TestCase
+{
+    private static final String SOURCES_PATH = "g/a/1.0/a-1.0-sources.jar";
+
+    private final Log log = new SystemStreamLog();
+
+    private File basedir;
+
+    private ArtifactRepository localRepository;
+
+    private StubResolver stub;
+
+    private ArtifactResolver artifactResolver;
+
+    private ArtifactFactory artifactFactory;
+
+    private final List remoteRepos = Collections.singletonList( "remote" );
+
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        basedir = new File( System.getProperty( "basedir", "." ), "target/attachment-resolver/" + getName() );
+        FileUtils.deleteDirectory( basedir );
+        basedir.mkdirs();
+
+        localRepository =
+            new DefaultArtifactRepository( "local", basedir.toURI().toString(), new DefaultRepositoryLayout() );
+
+        stub = new StubResolver();
+        artifactResolver =
+            (ArtifactResolver) Proxy.newProxyInstance( getClass().getClassLoader(),
+                                                       new Class[] { ArtifactResolver.class }, stub );
+        artifactFactory =
+            (ArtifactFactory) Proxy.newProxyInstance( getClass().getClassLoader(),
+                                                      new Class[] { ArtifactFactory.class }, new StubFactory() );
+
+        // the dependency itself is always available
+        createFile( "g/a/1.0/a-1.0.jar" );
+    }
+
+    public void testResolveOncePerReactor()
+        throws Exception
+    {
+        createFile( SOURCES_PATH );
+        List reactorProjects = new ArrayList();
+
+        AttachmentResolver resolver =
+            AttachmentResolver.getInstance( reactorProjects, artifactResolver, artifactFactory, localRepository );
+        assertSame( resolver, AttachmentResolver.getInstance( reactorProjects, artifactResolver, artifactFactory,
+                                                              localRepository ) );
+
+        IdeDependency first = createDependency();
+        IdeDependency second = createDependency();
+        assertTrue( resolver.resolve( new IdeDependency[] { first }, "sources", remoteRepos, false, 1, log )
+            .isEmpty() );
+        assertTrue( resolver.resolve( new IdeDependency[] { second }, "sources", remoteRepos, false, 2, log )
+            .isEmpty() );
+
+        assertEquals( new File( basedir, SOURCES_PATH ), first.getSourceAttachment() );
+        assertEquals( new File( basedir, SOURCES_PATH ), second.getSourceAttachment() );
+        assertEquals( 1, stub.count( SOURCES_PATH ) );
+    }
+
+    public void testConcurrentResolve()
+        throws Exception
+    {
+        // each dependency twice
+        IdeDependency[] deps = new IdeDependency[8];
+        for ( int i = 0; i < deps.length; i++ )
+        {
+            deps[i] = createDependency();
+            deps[i].setArtifactId( "a" + i % 4 );
+        }
+        for ( int i = 0; i < 4; i++ )
+        {
+            createFile( "g/a" + i + "/1.0/a" + i + "-1.0.jar" );
+            createFile( "g/a" + i + "/1.0/a" + i + "-1.0-sources.jar" );
+        }
+
+        AttachmentResolver resolver = new AttachmentResolver( artifactResolver, artifactFactory, localRepository );
+        assertTrue( resolver.resolve( deps, "sources", remoteRepos, false, 4, log ).isEmpty() );
+
+        for ( int i = 0; i < deps.length; i++ )
+        {
+            String path = "g/a" + i % 4 + "/1.0/a" + i % 4 + "-1.0-sources.jar";
+            assertEquals( new File( basedir, path ), deps[i].getSourceAttachment() );
+            assertEquals( 1, stub.count( path ) );
+        }
+        // the artifact resolver is not thread-safe
+        assertEquals( 1, stub.maxConcurrentCalls );
+    }
+
+    public void testStoreAndLoadIndex()
+        throws Exception
+    {
+        AttachmentResolver resolver = new AttachmentResolver( artifactResolver, artifactFactory, localRepository );
+        IdeDependency dependency = createDependency();
+        List missing = resolver.resolve( new IdeDependency[] { dependency }, "sources", remoteRepos, false, 1, log );
+        assertEquals( Collections.singletonList( dependency ), missing );
+        resolver.store();
+
+        assertTrue( loadIndex().containsKey( SOURCES_PATH ) );
+        assertFalse( new File( basedir, SOURCES_PATH + IdeUtils.NOT_AVAILABLE_MARKER_FILE_SUFFIX ).exists() );
+
+        // the next build doesn't check the attachment again, nor reports it as missing
+        resolver = new AttachmentResolver( artifactResolver, artifactFactory, localRepository );
+        assertTrue( resolver.resolve( new IdeDependency[] { createDependency() }, "sources", remoteRepos, false, 1,
+                                      log ).isEmpty() );
+        assertEquals( 1, stub.count( SOURCES_PATH ) );
+    }
+
+    public void testStoreMergesIndex()
+        throws Exception
+    {
+        AttachmentResolver resolver = new AttachmentResolver( artifactResolver, artifactFactory, localRepository );
+        resolver.resolve( new IdeDependency[] { createDependency() }, "sources", remoteRepos, false, 1, log );
+
+        // stored by another build meanwhile
+        Properties index = new Properties();
+        index.setProperty( "h/b/1.0/b-1.0-sources.jar", "0" );
+        storeIndex( index );
+
+        resolver.store();
+
+        index = loadIndex();
+        assertTrue( index.containsKey( SOURCES_PATH ) );
+        assertTrue( index.containsKey( "h/b/1.0/b-1.0-sources.jar" ) );
+        // no temporary file left
+        assertEquals( 1, AttachmentResolver.getIndexFile( localRepository ).getParentFile().list().length );
+    }
+
+    public void testForceRecheck()
+        throws Exception
+    {
+        Properties index = new Properties();
+        index.setProperty( SOURCES_PATH, "0" );
+        storeIndex( index );
+        File marker = createFile( SOURCES_PATH + IdeUtils.NOT_AVAILABLE_MARKER_FILE_SUFFIX );
+        createFile( SOURCES_PATH );
+
+        AttachmentResolver resolver = new AttachmentResolver( artifactResolver, artifactFactory, localRepository );
+        IdeDependency dependency = createDependency();
+        assertTrue( resolver.resolve( new IdeDependency[] { dependency }, "sources", remoteRepos, true, 1, log )
+            .isEmpty() );
+        resolver.store();
+
+        assertEquals( new File( basedir, SOURCES_PATH ), dependency.getSourceAttachment() );
+        assertEquals( 1, stub.count( SOURCES_PATH ) );
+        assertFalse( marker.exists() );
+        assertFalse( loadIndex().containsKey( SOURCES_PATH ) );
+    }
+
+    public void testLegacyMarkerFile()
+        throws Exception
+    {
+        createFile( SOURCES_PATH + IdeUtils.NOT_AVAILABLE_MARKER_FILE_SUFFIX );
+
+        AttachmentResolver resolver = new AttachmentResolver( artifactResolver, artifactFactory, localRepository );
+        IdeDependency dependency = createDependency();
+        assertTrue( resolver.resolve( new IdeDependency[] { dependency }, "sources", remoteRepos, false, 1, log )
+            .isEmpty() );
+
+        assertNull( dependency.getSourceAttachment() );
+        assertEquals( 0, stub.count( SOURCES_PATH ) );
+    }
+
+    private IdeDependency createDependency()
+    {
+        IdeDependency dependency = new IdeDependency();
+        dependency.setGroupId( "g" );
+        dependency.setArtifactId( "a" );
+        dependency.setVersion( "1.0" );
+        dependency.setType( "jar" );
+        return dependency;
+    }
+
+    private File createFile( String path )
+        throws IOException
+    {
+        File file = new File( basedir, path );
+        file.getParentFile().mkdirs();
+        file.createNewFile();
+        return file;
+    }
+
+    private Properties loadIndex()
+        throws IOException
+    {
+        Properties index = new Properties();
+        InputStream in = null;
+        try
+        {
+            in = new FileInputStream( AttachmentResolver.getIndexFile( localRepository ) );
+            index.load( in );
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+        return index;
+    }
+
+    private void storeIndex( Properties index )
+        throws IOException
+    {
+        File indexFile = AttachmentResolver.getIndexFile( localRepository );
+        indexFile.getParentFile().mkdirs();
+        OutputStream out = null;
+        try
+        {
+            out = new FileOutputStream( indexFile );
+            index.store( out, null );
+        }
+        finally
+        {
+            IOUtil.close( out );
+        }
+    }
+
+    /**
+     * Resolves the artifacts present in the local repository, and records the calls.
+     */
+    private class StubResolver
+        implements InvocationHandler
+    {
+        private final List<String> calls = new ArrayList<String>();
+
+        private int concurrentCalls;
+
+        private int maxConcurrentCalls;
+
+        public Object invoke( Object proxy, Method method, Object[] args )
+            throws Throwable
+        {
+            if ( !"resolve".equals( method.getName() ) || args.length != 3 )
+            {
+                throw new UnsupportedOperationException( method.getName() );
+            }
+
+            Artifact artifact = (Artifact) args[0];
+            String path = localRepository.pathOf( artifact );
+            synchronized ( this )
+            {
+                calls.add( path );
+                maxConcurrentCalls = Math.max( maxConcurrentCalls, ++concurrentCalls );
+            }
+            try
+            {
+                // leaves the other threads a chance to call the resolver meanwhile
+                Thread.sleep( 10 );
+
+                File file = new File( basedir, path );
+                artifact.setFile( file );
+                if ( !file.isFile() )
+                {
+                    throw new ArtifactNotFoundException( "Not found", artifact );
+                }
+                artifact.setResolved( true );
+                return null;
+            }
+            finally
+            {
+                synchronized ( this )
+                {
+                    concurrentCalls--;
+                }
+            }
+        }
+
+        synchronized int count( String path )
+        {
+            return Collections.frequency( calls, path );
+        }
+    }
+
+    /**
+     * Creates the artifacts with a classifier, all of them jar files.
+     */
+    private static class StubFactory
+        implements InvocationHandler
+    {
+        public Object invoke( Object proxy, Method method, Object[] args )
+        {
+            if ( !"createArtifactWithClassifier".equals( method.getName() ) )
+            {
+                throw new UnsupportedOperationException( method.getName() );
+            }
+
+            return new DefaultArtifact( (String) args[0], (String) args[1],
+                                        VersionRange.createFromVersion( (String) args[2] ), null, (String) args[3],
+                                        (String) args[4], new DefaultArtifactHandler( "jar" ) );
+        }
+    }
+}
@@ -133,6 +133,19 @@ public abstract class AbstractGpgMojo
     @Parameter
     private List<String> gpgArguments;
 
+    /**
+     * The maximum number of files signed at the same time, each by its own gpg process.
+     *
+     * @since 1.6
+     */
+    @Parameter( property = "gpg.threads", defaultValue = "1" )
+    private int threads;
+
+    int getThreads()
+    {
+        return threads;
+    }
+
     AbstractGpgSigner newSigner( MavenProject project )
         throws MojoExecutionException, MojoFailureException
     {
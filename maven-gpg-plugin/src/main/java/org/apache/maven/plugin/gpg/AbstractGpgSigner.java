@@ -25,7 +25,16 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.logging.Log;
@@ -207,6 +216,88 @@ public abstract class AbstractGpgSigner
         return signature;
     }
 
+    /**
+     * Create detached signature files for the provided files. The files are signed concurrently by several gpg
+     * processes, which share the keyrings of the same home directory.
+     *
+     * @param files The files to sign
+     * @param threads The maximum number of files signed at the same time
+     * @return References to the generated signature files, in the order of the files to sign
+     * @throws MojoExecutionException
+     * @since 1.6
+     */
+    public List<File> generateSignaturesForArtifacts( final List<File> files, int threads )
+        throws MojoExecutionException
+    {
+        final File[] signatures = new File[files.size()];
+
+        int poolSize = Math.max( 1, Math.min( threads, files.size() ) );
+        if ( poolSize == 1 )
+        {
+            for ( int i = 0; i < signatures.length; i++ )
+            {
+                signatures[i] = generateSignatureForArtifact( files.get( i ) );
+            }
+            return Arrays.asList( signatures );
+        }
+
+        final Queue<Integer> queue = new ConcurrentLinkedQueue<Integer>();
+        for ( int i = 0; i < signatures.length; i++ )
+        {
+            queue.add( i );
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool( poolSize );
+        try
+        {
+            List<Future<Object>> futures = new ArrayList<Future<Object>>( poolSize );
+            for ( int i = 0; i < poolSize; i++ )
+            {
+                futures.add( executor.submit( new Callable<Object>()
+                {
+                    public Object call()
+                        throws MojoExecutionException
+                    {
+                        for ( Integer index = queue.poll(); index != null; index = queue.poll() )
+                        {
+                            signatures[index] = generateSignatureForArtifact( files.get( index ) );
+                        }
+                        return null;
+                    }
+                } ) );
+            }
+
+            for ( Future<Object> future : futures )
+            {
+                try
+                {
+                    future.get();
+                }
+                catch ( ExecutionException e )
+                {
+                    // stops the other threads
+                    queue.clear();
+                    if ( e.getCause() instanceof MojoExecutionException )
+                    {
+                        throw (MojoExecutionException) e.getCause();
+                    }
+                    throw new MojoExecutionException( e.getCause().getMessage(), e.getCause() );
+                }
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException( e.getMessage(), e );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        return Arrays.asList( signatures );
+    }
+
     /**
      * Generate the detached signature file for the provided file.
      *
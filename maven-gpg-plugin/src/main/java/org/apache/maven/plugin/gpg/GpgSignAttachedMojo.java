@@ -121,7 +121,9 @@ public class GpgSignAttachedMojo
         signer.setBuildDirectory( new File( project.getBuild().getDirectory() ) );
         signer.setBaseDirectory( project.getBasedir() );
 
-        List signingBundles = new ArrayList();
+        // the files to sign, and the extension and classifier of their signatures
+        List<File> files = new ArrayList<File>();
+        List<SigningBundle> signedArtifacts = new ArrayList<SigningBundle>();
 
         if ( !"pom".equals( project.getPackaging() ) )
         {
@@ -135,15 +137,8 @@ public class GpgSignAttachedMojo
 
             if ( file != null && file.isFile() )
             {
-                getLog().debug( "Generating signature for " + file );
-
-                File projectArtifactSignature = signer.generateSignatureForArtifact( file );
-
-                if ( projectArtifactSignature != null )
-                {
-                    signingBundles.add( new SigningBundle( artifact.getArtifactHandler().getExtension(),
-                                                           projectArtifactSignature ) );
-                }
+                files.add( file );
+                signedArtifacts.add( new SigningBundle( artifact.getArtifactHandler().getExtension(), null ) );
             }
             else if ( project.getAttachedArtifacts().isEmpty() )
             {
@@ -171,14 +166,8 @@ public class GpgSignAttachedMojo
             throw new MojoExecutionException( "Error copying POM for signing.", e );
         }
 
-        getLog().debug( "Generating signature for " + pomToSign );
-
-        File pomSignature = signer.generateSignatureForArtifact( pomToSign );
-
-        if ( pomSignature != null )
-        {
-            signingBundles.add( new SigningBundle( "pom", pomSignature ) );
-        }
+        files.add( pomToSign );
+        signedArtifacts.add( new SigningBundle( "pom", null ) );
 
         // ----------------------------------------------------------------------------
         // Attached artifacts
@@ -187,15 +176,27 @@ public class GpgSignAttachedMojo
         for (Object o : project.getAttachedArtifacts()) {
             Artifact artifact = (Artifact) o;
 
-            File file = artifact.getFile();
+            files.add( artifact.getFile() );
+            signedArtifacts.add( new SigningBundle( artifact.getArtifactHandler().getExtension(),
+                                                    artifact.getClassifier(), null ) );
+        }
+
+        // ----------------------------------------------------------------------------
+        // Sign all the files, several at a time
+        // ----------------------------------------------------------------------------
 
-            getLog().debug("Generating signature for " + file);
+        getLog().debug( "Generating signatures for " + files );
 
-            File signature = signer.generateSignatureForArtifact(file);
+        List<File> signatures = signer.generateSignaturesForArtifacts( files, getThreads() );
 
-            if (signature != null) {
-                signingBundles.add(new SigningBundle(artifact.getArtifactHandler().getExtension(),
-                        artifact.getClassifier(), signature));
+        List<SigningBundle> signingBundles = new ArrayList<SigningBundle>();
+        for ( int i = 0; i < signatures.size(); i++ )
+        {
+            if ( signatures.get( i ) != null )
+            {
+                SigningBundle signedArtifact = signedArtifacts.get( i );
+                signingBundles.add( new SigningBundle( signedArtifact.getExtension(), signedArtifact.getClassifier(),
+                                                       signatures.get( i ) ) );
             }
         }
 
@@ -203,9 +204,7 @@ public class GpgSignAttachedMojo
         // Attach all the signatures
         // ----------------------------------------------------------------------------
 
-        for (Object signingBundle : signingBundles) {
-            SigningBundle bundle = (SigningBundle) signingBundle;
-
+        for (SigningBundle bundle : signingBundles) {
             projectHelper.attachArtifact(project, bundle.getExtension() + GpgSigner.SIGNATURE_EXTENSION,
                     bundle.getClassifier(), bundle.getSignature());
         }
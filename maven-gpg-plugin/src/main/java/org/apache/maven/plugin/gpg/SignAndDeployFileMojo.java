@@ -53,6 +53,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -457,10 +458,16 @@ public class SignAndDeployFileMojo
 
         List attachedArtifacts = project.getAttachedArtifacts();
 
+        List<File> attachedFiles = new ArrayList<File>();
         for (Object attachedArtifact : attachedArtifacts) {
-            Artifact attached = (Artifact) attachedArtifact;
+            attachedFiles.add( ( (Artifact) attachedArtifact ).getFile() );
+        }
+        List<File> attachedSignatures = signer.generateSignaturesForArtifacts( attachedFiles, getThreads() );
+
+        for (int i = 0; i < attachedArtifacts.size(); i++) {
+            Artifact attached = (Artifact) attachedArtifacts.get( i );
 
-            fileSig = signer.generateSignatureForArtifact(attached.getFile());
+            fileSig = attachedSignatures.get( i );
             attached = new AttachedSignedArtifact(attached, new AscArtifactMetadata(attached, fileSig, false));
             try {
                 deploy(attached.getFile(), attached, deploymentRepository, localRepository);
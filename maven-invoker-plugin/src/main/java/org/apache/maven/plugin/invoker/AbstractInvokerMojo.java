@@ -45,10 +45,8 @@ import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.TreeMap;
 import java.util.TreeSet;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.input.XmlStreamReader;
 import org.apache.maven.artifact.Artifact;
@@ -71,11 +69,13 @@ import org.apache.maven.settings.io.xpp3.SettingsXpp3Reader;
 import org.apache.maven.settings.io.xpp3.SettingsXpp3Writer;
 import org.apache.maven.shared.invoker.CommandLineConfigurationException;
 import org.apache.maven.shared.invoker.DefaultInvocationRequest;
+import org.apache.maven.shared.invoker.InvocationOutputHandler;
 import org.apache.maven.shared.invoker.InvocationRequest;
 import org.apache.maven.shared.invoker.InvocationResult;
 import org.apache.maven.shared.invoker.Invoker;
 import org.apache.maven.shared.invoker.MavenCommandLineBuilder;
 import org.apache.maven.shared.invoker.MavenInvocationException;
+import org.apache.maven.shared.invoker.SystemOutHandler;
 import org.apache.maven.shared.scriptinterpreter.RunErrorException;
 import org.apache.maven.shared.scriptinterpreter.RunFailureException;
 import org.apache.maven.shared.scriptinterpreter.ScriptRunner;
@@ -92,6 +92,7 @@ import org.codehaus.plexus.util.ReflectionUtils;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.WriterFactory;
 import org.codehaus.plexus.util.cli.CommandLineException;
+import org.codehaus.plexus.util.cli.CommandLineTimeOutException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 import org.codehaus.plexus.util.cli.StreamConsumer;
@@ -542,6 +543,10 @@ public abstract class AbstractInvokerMojo
      * # A boolean value controlling the debug logging level of Maven, , defaults to &quot;false&quot;
      * # Since plugin version 1.8
      * invoker.debug = true
+     *
+     * # The maximum time in seconds the build job may take, overriding the plugin parameter timeoutInSeconds
+     * # Since plugin version 1.9
+     * invoker.timeoutInSeconds = 600
      * </pre>
      *
      * @since 1.2
@@ -566,6 +571,25 @@ public abstract class AbstractInvokerMojo
     @Parameter( property = "invoker.parallelThreads", defaultValue = "1" )
     private int parallelThreads;
 
+    /**
+     * The maximum time in seconds a build job may take, <code>0</code> for no limit. The forked Maven of a build job
+     * which exceeds it is killed, and the build job fails. It can be overridden for a build job by the
+     * <code>invoker.timeoutInSeconds</code> invoker property.
+     *
+     * @since 1.9
+     */
+    @Parameter( property = "invoker.timeoutInSeconds", defaultValue = "0" )
+    private int timeoutInSeconds;
+
+    /**
+     * The maximum time in seconds all the build jobs may take, <code>0</code> for no limit. Once it is exceeded, the
+     * running forked Mavens are killed and the build jobs which were not started are reported as errors.
+     *
+     * @since 1.9
+     */
+    @Parameter( property = "invoker.globalTimeoutInSeconds", defaultValue = "0" )
+    private int globalTimeoutInSeconds;
+
     /**
      * @since 1.6
      */
@@ -594,6 +618,52 @@ public abstract class AbstractInvokerMojo
     @Parameter
     private Map<String, String> scriptVariables;  
 
+    /**
+     * Reuse the result of a successful build job when nothing it depends on changed since it was run: the content of
+     * the project directory and of the setup projects, the goals, profiles and properties of the build, the settings,
+     * the plugin under test and the versions of Maven and of the JRE. The reused results are marked as cached in the
+     * reports. Failed build jobs are always run again, and so are the setup projects, since the other build jobs
+     * depend on the artifacts they install.
+     *
+     * @since 1.9
+     */
+    @Parameter( property = "invoker.resultCache", defaultValue = "false" )
+    private boolean resultCache;
+
+    /**
+     * The directory where the results of the build jobs are stored. Only used if resultCache = true.
+     *
+     * @since 1.9
+     */
+    @Parameter( defaultValue = "${project.build.directory}/maven-status/maven-invoker-plugin" )
+    private File resultCacheDirectory;
+
+    /**
+     * Skip copying the files of the projects which are unchanged since the previous run when cloning the projects to
+     * {@link #cloneProjectsTo}. A manifest of the copied files is kept in {@link #stagingDirectory}, recording their
+     * size, modification date and hash. Only useful when cloneClean = false.
+     *
+     * @since 1.9
+     */
+    @Parameter( property = "invoker.fastStaging", defaultValue = "false" )
+    private boolean fastStaging;
+
+    /**
+     * The number of threads copying the files of the projects. Only used if fastStaging = true.
+     *
+     * @since 1.9
+     */
+    @Parameter( property = "invoker.stagingThreads", defaultValue = "4" )
+    private int stagingThreads;
+
+    /**
+     * The directory where the manifest of the copied files is stored. Only used if fastStaging = true.
+     *
+     * @since 1.9
+     */
+    @Parameter( defaultValue = "${project.build.directory}/maven-status/maven-invoker-plugin" )
+    private File stagingDirectory;
+
     /**
      * The scripter runner that is responsible to execute hook scripts.
      */
@@ -620,6 +690,21 @@ public abstract class AbstractInvokerMojo
      * The version of the JRE which is used to run the builds
      */
     private String actualJreVersion;
+
+    /**
+     * The results of the previous runs, or <code>null</code> if they are not reused.
+     */
+    private BuildJobCache buildJobCache;
+
+    /**
+     * The fingerprint of the content of the setup projects, which is part of the fingerprint of every build job.
+     */
+    private String setupFingerprint;
+
+    /**
+     * The time at which the global timeout expires, or <code>0</code> if there is no global timeout.
+     */
+    private long globalDeadline;
     
     
     private void setActualJreVersion( String actualJreVersion )
@@ -719,6 +804,12 @@ public abstract class AbstractInvokerMojo
         }
         scriptRunner.setClassPath( scriptClassPath );
 
+        buildJobCache = resultCache ? new BuildJobCache( resultCacheDirectory ) : null;
+        if ( buildJobCache != null )
+        {
+            setupFingerprint = getSetupFingerprint( buildJobs );
+        }
+
         Collection<String> collectedProjects = new LinkedHashSet<String>();
         for ( BuildJob buildJob : buildJobs )
         {
@@ -906,6 +997,12 @@ public abstract class AbstractInvokerMojo
 
         boolean filter;
 
+        FileStager stager = null;
+        if ( fastStaging )
+        {
+            stager = new FileStager( new File( stagingDirectory, "clone-manifest.properties" ), stagingThreads );
+        }
+
         // clone project directories
         try
         {
@@ -936,22 +1033,22 @@ public abstract class AbstractInvokerMojo
                             temp.delete();
                             temp.mkdirs();
 
-                            copyDirectoryStructure( projectsDirectory, temp );
+                            copyDirectoryStructure( projectsDirectory, temp, null );
 
                             FileUtils.deleteDirectory( new File( temp, cloneSubdir ) );
 
-                            copyDirectoryStructure( temp, cloneProjectsTo );
+                            copyDirectoryStructure( temp, cloneProjectsTo, stager );
                         }
                         else
                         {
-                            copyDirectoryStructure( projectsDirectory, cloneProjectsTo );
+                            copyDirectoryStructure( projectsDirectory, cloneProjectsTo, stager );
                         }
                     }
                     else
                     {
                         File srcDir = new File( projectsDirectory, subpath );
                         File dstDir = new File( cloneProjectsTo, subpath );
-                        copyDirectoryStructure( srcDir, dstDir );
+                        copyDirectoryStructure( srcDir, dstDir, stager );
                     }
 
                     clonedSubpaths.add( subpath );
@@ -997,9 +1094,10 @@ public abstract class AbstractInvokerMojo
      *
      * @param sourceDir The source directory to copy, must not be <code>null</code>.
      * @param destDir   The target directory to copy to, must not be <code>null</code>.
+     * @param stager    The stager skipping the unchanged files, may be <code>null</code> to copy all the files.
      * @throws java.io.IOException If the directory structure could not be copied.
      */
-    private void copyDirectoryStructure( File sourceDir, File destDir )
+    private void copyDirectoryStructure( File sourceDir, File destDir, FileStager stager )
         throws IOException
     {
         DirectoryScanner scanner = new DirectoryScanner();
@@ -1024,7 +1122,20 @@ public abstract class AbstractInvokerMojo
         {
             File sourceFile = new File( sourceDir, includedFile );
             File destFile = new File( destDir, includedFile );
-            FileUtils.copyFile( sourceFile, destFile );
+            if ( stager != null )
+            {
+                stager.add( sourceFile, destFile );
+            }
+            else
+            {
+                FileUtils.copyFile( sourceFile, destFile );
+            }
+        }
+
+        if ( stager != null )
+        {
+            int copied = stager.stage();
+            getLog().debug( "Copied " + copied + " changed files of " + sourceDir + " to " + destDir );
         }
     }
 
@@ -1188,40 +1299,39 @@ public abstract class AbstractInvokerMojo
             actualJreVersion = SelectorUtils.getJreVersion();
         }
         
+        globalDeadline =
+            ( globalTimeoutInSeconds > 0 ) ? System.currentTimeMillis() + globalTimeoutInSeconds * 1000L : 0;
+
         try
         {
             if ( isParallelRun() )
             {
                 getLog().info( "use parallelThreads " + parallelThreads );
 
-                ExecutorService executorService = Executors.newFixedThreadPool( parallelThreads );
-                for ( final BuildJob job : buildJobs )
+                BuildJobScheduler scheduler =
+                    new BuildJobScheduler( parallelThreads, BuildJobScheduler.readDurations( reportsDirectory ) );
+                scheduler.run( buildJobs, new BuildJobScheduler.Runner()
                 {
-                    executorService.execute( new Runnable()
+                    public void run( BuildJob buildJob )
+                        throws MojoExecutionException
                     {
-                        public void run()
-                        {
-                            try
-                            {
-                                runBuild( projectsDir, job, finalSettingsFile );
-                            }
-                            catch ( MojoExecutionException e )
-                            {
-                                throw new RuntimeException( e.getMessage(), e );
-                            }
-                        }
-                    } );
-                }
+                        runBuild( projectsDir, buildJob, finalSettingsFile );
+                    }
+                } );
 
-                try
+                String utilization = new DecimalFormat( "0%" ).format( scheduler.getUtilization() );
+                getLog().info( "Threads utilization: " + utilization );
+                if ( !disableReports )
                 {
-                    executorService.shutdown();
-                    // TODO add a configurable time out
-                    executorService.awaitTermination( Long.MAX_VALUE, TimeUnit.MILLISECONDS );
-                }
-                catch ( InterruptedException e )
-                {
-                    throw new MojoExecutionException( e.getMessage(), e );
+                    File timelineFile = new File( reportsDirectory, "invoker-timeline.csv" );
+                    try
+                    {
+                        scheduler.writeTimeline( timelineFile );
+                    }
+                    catch ( IOException e )
+                    {
+                        throw new MojoExecutionException( "Failed to write the timeline " + timelineFile, e );
+                    }
                 }
             }
             else
@@ -1348,6 +1458,19 @@ public abstract class AbstractInvokerMojo
 
         getLog().info( "Building: " + buildJob.getProject() );
 
+        if ( globalDeadline > 0 && System.currentTimeMillis() >= globalDeadline )
+        {
+            buildJob.setResult( BuildJob.Result.ERROR );
+            buildJob.setFailureMessage( "Not run, the global timeout of " + globalTimeoutInSeconds
+                + " seconds was exceeded." );
+            if ( !suppressSummaries )
+            {
+                getLog().info( "..ERROR " + buildJob.getFailureMessage() );
+            }
+            writeBuildReport( buildJob );
+            return;
+        }
+
         File interpolatedPomFile = null;
         if ( pomFile != null )
         {
@@ -1370,6 +1493,21 @@ public abstract class AbstractInvokerMojo
 
         try
         {
+            String fingerprint = null;
+            // the setup projects install artifacts the other build jobs depend on
+            if ( buildJobCache != null && !BuildJob.Type.SETUP.equals( buildJob.getType() ) )
+            {
+                fingerprint = getFingerprint( basedir, buildJob, settingsFile );
+                if ( restoreBuildJob( buildJob, fingerprint, basedir ) )
+                {
+                    if ( !suppressSummaries )
+                    {
+                        getLog().info( "..SUCCESS (cached) " + formatTime( buildJob.getTime() ) );
+                    }
+                    return;
+                }
+            }
+
             int selection = getSelection( invokerProperties ); 
             if ( selection == 0 )
             {
@@ -1389,6 +1527,11 @@ public abstract class AbstractInvokerMojo
                 {
                     buildJob.setResult( BuildJob.Result.SUCCESS );
 
+                    if ( fingerprint != null )
+                    {
+                        storeBuildJob( buildJob, fingerprint, basedir );
+                    }
+
                     if ( !suppressSummaries )
                     {
                         getLog().info( "..SUCCESS " + formatTime( buildJob.getTime() ) );
@@ -1472,6 +1615,158 @@ public abstract class AbstractInvokerMojo
         }
     }
 
+    /**
+     * Computes the fingerprint of everything the specified build job depends on.
+     *
+     * @param basedir The base directory of the project to build, must not be <code>null</code>.
+     * @param buildJob The build job, must not be <code>null</code>.
+     * @param settingsFile The user settings file for the build, may be <code>null</code>.
+     * @return The fingerprint, never <code>null</code>.
+     * @throws org.apache.maven.plugin.MojoExecutionException If the project could not be read.
+     */
+    private String getFingerprint( File basedir, BuildJob buildJob, File settingsFile )
+        throws MojoExecutionException
+    {
+        BuildJobCache.Fingerprint fingerprint = buildJobCache.newFingerprint();
+
+        addProjectContent( fingerprint, buildJob.getProject() );
+        fingerprint.add( setupFingerprint );
+        if ( settingsFile != null )
+        {
+            try
+            {
+                fingerprint.addContent( settingsFile, Collections.<String>emptyList() );
+            }
+            catch ( IOException e )
+            {
+                throw new MojoExecutionException( "Could not compute the fingerprint of " + settingsFile, e );
+            }
+        }
+
+        // the build
+        fingerprint.add( getGoals( basedir ) );
+        fingerprint.add( getProfiles( basedir ) );
+        fingerprint.add( sorted( properties ) );
+        fingerprint.add( sorted( testProperties ) );
+        fingerprint.add( mavenOpts );
+        fingerprint.add( sorted( environmentVariables ) );
+        fingerprint.add( sorted( scriptVariables ) );
+        fingerprint.add( localRepositoryPath );
+        fingerprint.add( "" + debug + showErrors + showVersion + addTestClassPath );
+
+        // the plugin under test, as installed in the local repository
+        Artifact artifact = project.getArtifact();
+        if ( artifact != null && artifact.getFile() != null && artifact.getFile().isFile() )
+        {
+            try
+            {
+                fingerprint.addContent( artifact.getFile(), Collections.<String>emptyList() );
+            }
+            catch ( IOException e )
+            {
+                throw new MojoExecutionException( "Could not compute the fingerprint of " + artifact.getFile(), e );
+            }
+        }
+        fingerprint.add( project.getId() );
+        for ( Object dependency : project.getArtifacts() )
+        {
+            fingerprint.addTimestamp( ( (Artifact) dependency ).getFile() );
+        }
+
+        // the environment
+        fingerprint.add( actualMavenVersion );
+        fingerprint.add( actualJreVersion );
+        fingerprint.add( mavenHome );
+        fingerprint.add( javaHome );
+
+        return fingerprint.getValue();
+    }
+
+    /**
+     * Computes the fingerprint of the content of the setup projects.
+     *
+     * @param buildJobs The build jobs to run, must not be <code>null</code>.
+     * @return The fingerprint, never <code>null</code>.
+     * @throws org.apache.maven.plugin.MojoExecutionException If a project could not be read.
+     */
+    private String getSetupFingerprint( BuildJob[] buildJobs )
+        throws MojoExecutionException
+    {
+        BuildJobCache.Fingerprint fingerprint = buildJobCache.newFingerprint();
+        for ( BuildJob buildJob : buildJobs )
+        {
+            if ( BuildJob.Type.SETUP.equals( buildJob.getType() ) )
+            {
+                addProjectContent( fingerprint, buildJob.getProject() );
+            }
+        }
+        return fingerprint.getValue();
+    }
+
+    /**
+     * Adds the path and the sources of a project to a fingerprint.
+     *
+     * @param fingerprint The fingerprint, must not be <code>null</code>.
+     * @param project The path of the project, relative to the projects directory, must not be <code>null</code>.
+     * @throws org.apache.maven.plugin.MojoExecutionException If the project could not be read.
+     */
+    private void addProjectContent( BuildJobCache.Fingerprint fingerprint, String project )
+        throws MojoExecutionException
+    {
+        // the sources of the project: a cloned project also holds the outputs of the previous runs
+        File projectDirectory = new File( projectsDirectory, project );
+        if ( !projectDirectory.isDirectory() )
+        {
+            projectDirectory = projectDirectory.getParentFile();
+        }
+        List<String> excludes = new ArrayList<String>( Arrays.asList( "target", "build.log", ".svn", ".git", "CVS" ) );
+        if ( filteredPomPrefix != null )
+        {
+            excludes.add( filteredPomPrefix + "pom.xml" );
+        }
+
+        try
+        {
+            fingerprint.add( project );
+            fingerprint.addContent( projectDirectory, excludes );
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( "Could not compute the fingerprint of " + projectDirectory, e );
+        }
+    }
+
+    private static Map<?, ?> sorted( Map<?, ?> map )
+    {
+        return ( map != null ) ? new TreeMap<Object, Object>( map ) : null;
+    }
+
+    private boolean restoreBuildJob( BuildJob buildJob, String fingerprint, File basedir )
+    {
+        try
+        {
+            return buildJobCache.restore( buildJob, fingerprint, noLog ? null : new File( basedir, "build.log" ) );
+        }
+        catch ( IOException e )
+        {
+            getLog().warn( "Could not restore the result of " + buildJob.getProject() + ": " + e.getMessage() );
+            return false;
+        }
+    }
+
+    private void storeBuildJob( BuildJob buildJob, String fingerprint, File basedir )
+    {
+        try
+        {
+            buildJobCache.store( buildJob, fingerprint, noLog ? null : new File( basedir, "build.log" ) );
+        }
+        catch ( IOException e )
+        {
+            getLog().warn( "Could not store the result of " + buildJob.getProject() + ": " + e.getMessage() );
+            buildJobCache.remove( buildJob );
+        }
+    }
+
     /**
      * Determines whether selector conditions of the specified invoker properties match the current environment.
      *
@@ -1652,6 +1947,8 @@ public abstract class AbstractInvokerMojo
                 }
             }
 
+            long deadline = getDeadline( invokerProperties );
+
             for ( int invocationIndex = 1; ; invocationIndex++ )
             {
                 if ( invocationIndex > 1 && !invokerProperties.isInvocationDefined( invocationIndex ) )
@@ -1696,7 +1993,12 @@ public abstract class AbstractInvokerMojo
 
                 try
                 {
-                    result = invoker.execute( request );
+                    result = execute( request, deadline );
+                }
+                catch ( CommandLineTimeOutException e )
+                {
+                    throw new RunFailureException( "The build exceeded its timeout and was killed. " + e.getMessage(),
+                                                   BuildJob.Result.FAILURE_BUILD );
                 }
                 catch ( final MavenInvocationException e )
                 {
@@ -1725,6 +2027,107 @@ public abstract class AbstractInvokerMojo
         return true;
     }
 
+    /**
+     * Gets the deadline of a build job starting now, taking the global timeout into account.
+     *
+     * @param invokerProperties The properties of the build job, must not be <code>null</code>.
+     * @return The deadline, or <code>0</code> if the build job has no timeout.
+     */
+    private long getDeadline( InvokerProperties invokerProperties )
+    {
+        int jobTimeout = invokerProperties.getTimeoutInSeconds( timeoutInSeconds );
+        long deadline = ( jobTimeout > 0 ) ? System.currentTimeMillis() + jobTimeout * 1000L : 0;
+        if ( globalDeadline > 0 && ( deadline == 0 || globalDeadline < deadline ) )
+        {
+            deadline = globalDeadline;
+        }
+        return deadline;
+    }
+
+    /**
+     * Invokes Maven, killing it once the deadline is exceeded.
+     *
+     * @param request The invocation request, must not be <code>null</code>.
+     * @param deadline The time at which the invocation must be done, or <code>0</code> if there is no timeout.
+     * @return The result of the invocation, never <code>null</code>.
+     * @throws CommandLineTimeOutException If the deadline was exceeded.
+     * @throws MavenInvocationException If Maven could not be invoked.
+     */
+    private InvocationResult execute( InvocationRequest request, long deadline )
+        throws CommandLineTimeOutException, MavenInvocationException
+    {
+        if ( deadline <= 0 )
+        {
+            return invoker.execute( request );
+        }
+
+        // the Invoker API has no timeout
+        long remaining = deadline - System.currentTimeMillis();
+        if ( remaining <= 0 )
+        {
+            throw new CommandLineTimeOutException( "The deadline was exceeded before the invocation." );
+        }
+
+        MavenCommandLineBuilder cliBuilder = new MavenCommandLineBuilder();
+        if ( mavenHome != null )
+        {
+            cliBuilder.setMavenHome( mavenHome );
+        }
+        if ( mavenExecutable != null )
+        {
+            cliBuilder.setMavenExecutable( new File( mavenExecutable ) );
+        }
+
+        final Commandline cli;
+        try
+        {
+            cli = cliBuilder.build( request );
+        }
+        catch ( CommandLineConfigurationException e )
+        {
+            throw new MavenInvocationException( "Error configuring command-line. Reason: " + e.getMessage(), e );
+        }
+
+        InvocationOutputHandler systemOut = new SystemOutHandler();
+        int timeout = (int) Math.max( 1, ( remaining + 999 ) / 1000 );
+        try
+        {
+            final int exitCode = CommandLineUtils.executeCommandLine( cli, request.getOutputHandler( systemOut ),
+                                                                      request.getErrorHandler( systemOut ), timeout );
+            return new InvocationResult()
+            {
+                public CommandLineException getExecutionException()
+                {
+                    return null;
+                }
+
+                public int getExitCode()
+                {
+                    return exitCode;
+                }
+            };
+        }
+        catch ( CommandLineTimeOutException e )
+        {
+            throw e;
+        }
+        catch ( final CommandLineException e )
+        {
+            return new InvocationResult()
+            {
+                public CommandLineException getExecutionException()
+                {
+                    return e;
+                }
+
+                public int getExitCode()
+                {
+                    return Integer.MIN_VALUE;
+                }
+            };
+        }
+    }
+
     /**
      * Initializes the build logger for the specified project.
      *
@@ -0,0 +1,281 @@
+package org.apache.maven.plugin.invoker;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Properties;
+
+import org.apache.maven.plugin.invoker.model.BuildJob;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.IOUtil;
+
+/**
+ * Stores the successful results of the build jobs, together with the fingerprint of everything the build depends
+ * on, so that an unchanged build job does not need to be run again.
+ *
+ * @version $Id$
+ * @since 1.9
+ */
+class BuildJobCache
+{
+    private final File directory;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param directory The directory where the results are stored, must not be <code>null</code>.
+     */
+    public BuildJobCache( File directory )
+    {
+        this.directory = directory;
+    }
+
+    /**
+     * Creates a new fingerprint.
+     *
+     * @return The new fingerprint, never <code>null</code>.
+     */
+    public Fingerprint newFingerprint()
+    {
+        return new Fingerprint();
+    }
+
+    /**
+     * Restores the result of a build job stored by a previous run with the same fingerprint.
+     *
+     * @param buildJob The build job, must not be <code>null</code>.
+     * @param fingerprint The fingerprint of the build job, must not be <code>null</code>.
+     * @param buildLog The build log to restore, may be <code>null</code> if logging has been disabled.
+     * @return <code>true</code> if the result was restored.
+     * @throws IOException If the build log could not be restored.
+     */
+    public boolean restore( BuildJob buildJob, String fingerprint, File buildLog )
+        throws IOException
+    {
+        File resultFile = getFile( buildJob, ".properties" );
+        if ( !resultFile.isFile() )
+        {
+            return false;
+        }
+
+        Properties result = new Properties();
+        InputStream in = null;
+        try
+        {
+            in = new FileInputStream( resultFile );
+            result.load( in );
+        }
+        catch ( IOException e )
+        {
+            // the build job is run again
+            return false;
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+
+        File cachedLog = getFile( buildJob, ".log" );
+        if ( !fingerprint.equals( result.getProperty( "fingerprint" ) )
+            || ( buildLog != null && !cachedLog.isFile() ) )
+        {
+            return false;
+        }
+
+        if ( buildLog != null )
+        {
+            FileUtils.copyFile( cachedLog, buildLog );
+        }
+
+        buildJob.setResult( result.getProperty( "result" ) );
+        buildJob.setTime( Double.parseDouble( result.getProperty( "time", "0" ) ) );
+        buildJob.setCached( true );
+        return true;
+    }
+
+    /**
+     * Stores the result of a successful build job.
+     *
+     * @param buildJob The build job, must not be <code>null</code>.
+     * @param fingerprint The fingerprint of the build job, must not be <code>null</code>.
+     * @param buildLog The build log, may be <code>null</code> if logging has been disabled.
+     * @throws IOException If the result could not be stored.
+     */
+    public void store( BuildJob buildJob, String fingerprint, File buildLog )
+        throws IOException
+    {
+        directory.mkdirs();
+
+        if ( buildLog != null && buildLog.isFile() )
+        {
+            FileUtils.copyFile( buildLog, getFile( buildJob, ".log" ) );
+        }
+
+        Properties result = new Properties();
+        result.setProperty( "fingerprint", fingerprint );
+        result.setProperty( "result", buildJob.getResult() );
+        result.setProperty( "time", String.valueOf( buildJob.getTime() ) );
+
+        OutputStream out = null;
+        try
+        {
+            out = new FileOutputStream( getFile( buildJob, ".properties" ) );
+            result.store( out, "maven-invoker-plugin build job result" );
+        }
+        finally
+        {
+            IOUtil.close( out );
+        }
+    }
+
+    /**
+     * Forgets the result of a build job.
+     *
+     * @param buildJob The build job, must not be <code>null</code>.
+     */
+    public void remove( BuildJob buildJob )
+    {
+        getFile( buildJob, ".properties" ).delete();
+        getFile( buildJob, ".log" ).delete();
+    }
+
+    private File getFile( BuildJob buildJob, String extension )
+    {
+        String safeFileName = buildJob.getProject().replace( '/', '_' ).replace( '\\', '_' ).replace( ' ', '_' );
+        return new File( directory, safeFileName + extension );
+    }
+
+    /**
+     * The fingerprint of everything a build job depends on.
+     */
+    static class Fingerprint
+    {
+        private final MessageDigest digest;
+
+        Fingerprint()
+        {
+            try
+            {
+                digest = MessageDigest.getInstance( "MD5" );
+            }
+            catch ( NoSuchAlgorithmException e )
+            {
+                throw new IllegalStateException( "MD5 digest not available" );
+            }
+        }
+
+        /**
+         * Adds a value.
+         *
+         * @param value The value, may be <code>null</code>.
+         */
+        public void add( Object value )
+        {
+            try
+            {
+                digest.update( String.valueOf( value ).getBytes( "UTF-8" ) );
+                digest.update( (byte) 0 );
+            }
+            catch ( UnsupportedEncodingException e )
+            {
+                throw new IllegalStateException( "UTF-8 encoding not available" );
+            }
+        }
+
+        /**
+         * Adds the content of a file, or of all the files of a directory.
+         *
+         * @param file The file or directory, ignored if it does not exist.
+         * @param excludes The names of the files and directories to ignore, like the build outputs.
+         * @throws IOException If a file could not be read.
+         */
+        public void addContent( File file, Collection<String> excludes )
+            throws IOException
+        {
+            if ( file.isDirectory() )
+            {
+                String[] names = file.list();
+                Arrays.sort( names );
+                for ( String name : names )
+                {
+                    if ( !excludes.contains( name ) )
+                    {
+                        add( name );
+                        addContent( new File( file, name ), excludes );
+                    }
+                }
+            }
+            else if ( file.isFile() )
+            {
+                InputStream in = null;
+                try
+                {
+                    in = new FileInputStream( file );
+                    byte[] buffer = new byte[8192];
+                    int read;
+                    while ( ( read = in.read( buffer ) ) >= 0 )
+                    {
+                        digest.update( buffer, 0, read );
+                    }
+                }
+                finally
+                {
+                    IOUtil.close( in );
+                }
+            }
+        }
+
+        /**
+         * Adds the path, size and last modification date of a file, which is enough for big files like artifacts.
+         *
+         * @param file The file, may be <code>null</code>.
+         */
+        public void addTimestamp( File file )
+        {
+            if ( file != null )
+            {
+                add( file.getAbsolutePath() + ':' + file.length() + ':' + file.lastModified() );
+            }
+        }
+
+        /**
+         * @return The hex encoded fingerprint, never <code>null</code>.
+         */
+        public String getValue()
+        {
+            StringBuilder hex = new StringBuilder();
+            for ( byte b : digest.digest() )
+            {
+                hex.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) ).append( Character.forDigit( b & 0xF, 16 ) );
+            }
+            return hex.toString();
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package org.apache.maven.plugin.invoker;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.invoker.model.BuildJob;
+import org.apache.maven.plugin.invoker.model.io.xpp3.BuildJobXpp3Reader;
+import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.ReaderFactory;
+import org.codehaus.plexus.util.WriterFactory;
+
+/**
+ * Runs build jobs on several threads. The setup jobs are run first, and the other jobs only start once all the setup
+ * jobs are done. Within each of these phases, the jobs are started longest first, using the durations recorded in the
+ * build reports of the previous run, so that a long job does not end up running alone at the end of the run. Jobs
+ * without a known duration are started first. Each thread takes the next job as soon as it is idle.
+ * <br/>
+ * The start and end of every job are recorded, to report how busy the threads were.
+ *
+ * @version $Id$
+ * @since 1.9
+ */
+class BuildJobScheduler
+{
+
+    /**
+     * Runs a single build job.
+     */
+    interface Runner
+    {
+        /**
+         * Runs the specified build job, recording its result in the job.
+         *
+         * @param buildJob The build job to run, must not be <code>null</code>.
+         * @throws MojoExecutionException If the build job could not be run.
+         */
+        void run( BuildJob buildJob )
+            throws MojoExecutionException;
+    }
+
+    private final int threads;
+
+    private final Map<String, Double> durations;
+
+    private final List<Entry> timeline = Collections.synchronizedList( new ArrayList<Entry>() );
+
+    private long start;
+
+    private long end;
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @param threads The number of threads running the jobs.
+     * @param durations The durations in seconds of the jobs in the previous run, by project, must not be
+     *            <code>null</code>.
+     */
+    public BuildJobScheduler( int threads, Map<String, Double> durations )
+    {
+        this.threads = threads;
+        this.durations = durations;
+    }
+
+    /**
+     * Reads the durations of the jobs of the previous run from their build reports.
+     *
+     * @param reportsDirectory The directory of the build reports, must not be <code>null</code>.
+     * @return The durations in seconds, by project, never <code>null</code>.
+     */
+    public static Map<String, Double> readDurations( File reportsDirectory )
+    {
+        Map<String, Double> durations = new HashMap<String, Double>();
+
+        File[] reportFiles = reportsDirectory.listFiles( new FileFilter()
+        {
+            public boolean accept( File file )
+            {
+                return file.getName().startsWith( "BUILD-" ) && file.getName().endsWith( ".xml" );
+            }
+        } );
+        if ( reportFiles == null )
+        {
+            return durations;
+        }
+
+        BuildJobXpp3Reader reader = new BuildJobXpp3Reader();
+        for ( File reportFile : reportFiles )
+        {
+            Reader xmlReader = null;
+            try
+            {
+                xmlReader = ReaderFactory.newXmlReader( reportFile );
+                BuildJob buildJob = reader.read( xmlReader );
+                durations.put( getKey( buildJob ), Double.valueOf( buildJob.getTime() ) );
+            }
+            catch ( Exception e )
+            {
+                // unknown duration
+            }
+            finally
+            {
+                IOUtil.close( xmlReader );
+            }
+        }
+
+        return durations;
+    }
+
+    /**
+     * Runs the build jobs.
+     *
+     * @param buildJobs The build jobs to run, must not be <code>null</code>.
+     * @param runner The runner of a single build job, must not be <code>null</code>.
+     * @throws MojoExecutionException If a build job could not be run.
+     */
+    public void run( BuildJob[] buildJobs, Runner runner )
+        throws MojoExecutionException
+    {
+        List<BuildJob> setupJobs = new ArrayList<BuildJob>();
+        List<BuildJob> otherJobs = new ArrayList<BuildJob>();
+        for ( BuildJob buildJob : buildJobs )
+        {
+            if ( BuildJob.Type.SETUP.equals( buildJob.getType() ) )
+            {
+                setupJobs.add( buildJob );
+            }
+            else
+            {
+                otherJobs.add( buildJob );
+            }
+        }
+
+        start = System.currentTimeMillis();
+
+        ExecutorService executor = Executors.newFixedThreadPool( threads );
+        try
+        {
+            // the setup jobs are a barrier for the other jobs
+            runPhase( executor, order( setupJobs ), runner );
+            runPhase( executor, order( otherJobs ), runner );
+        }
+        finally
+        {
+            executor.shutdownNow();
+            end = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Sorts the build jobs longest first, the jobs with an unknown duration coming first.
+     *
+     * @param buildJobs The build jobs to sort, must not be <code>null</code>.
+     * @return The sorted build jobs, never <code>null</code>.
+     */
+    List<BuildJob> order( List<BuildJob> buildJobs )
+    {
+        List<BuildJob> ordered = new ArrayList<BuildJob>( buildJobs );
+        Collections.sort( ordered, new Comparator<BuildJob>()
+        {
+            public int compare( BuildJob job1, BuildJob job2 )
+            {
+                Double duration1 = durations.get( getKey( job1 ) );
+                Double duration2 = durations.get( getKey( job2 ) );
+                if ( duration1 == null || duration2 == null )
+                {
+                    return ( duration1 == null ? 0 : 1 ) - ( duration2 == null ? 0 : 1 );
+                }
+                return duration2.compareTo( duration1 );
+            }
+        } );
+        return ordered;
+    }
+
+    private void runPhase( ExecutorService executor, List<BuildJob> buildJobs, final Runner runner )
+        throws MojoExecutionException
+    {
+        if ( buildJobs.isEmpty() )
+        {
+            return;
+        }
+
+        final Queue<BuildJob> queue = new ConcurrentLinkedQueue<BuildJob>( buildJobs );
+
+        List<Future<Object>> futures = new ArrayList<Future<Object>>( threads );
+        for ( int i = 0; i < Math.min( threads, buildJobs.size() ); i++ )
+        {
+            final int worker = i;
+            futures.add( executor.submit( new Callable<Object>()
+            {
+                public Object call()
+                    throws MojoExecutionException
+                {
+                    for ( BuildJob buildJob = queue.poll(); buildJob != null; buildJob = queue.poll() )
+                    {
+                        long jobStart = System.currentTimeMillis();
+                        try
+                        {
+                            runner.run( buildJob );
+                        }
+                        finally
+                        {
+                            timeline.add( new Entry( worker, jobStart, System.currentTimeMillis(), buildJob ) );
+                        }
+                    }
+                    return null;
+                }
+            } ) );
+        }
+
+        try
+        {
+            for ( Future<Object> future : futures )
+            {
+                try
+                {
+                    future.get();
+                }
+                catch ( ExecutionException e )
+                {
+                    // stops the other threads
+                    queue.clear();
+                    if ( e.getCause() instanceof MojoExecutionException )
+                    {
+                        throw (MojoExecutionException) e.getCause();
+                    }
+                    throw new MojoExecutionException( e.getCause().getMessage(), e.getCause() );
+                }
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException( e.getMessage(), e );
+        }
+    }
+
+    /**
+     * Gets how busy the threads were: the total duration of the jobs divided by the number of threads and the
+     * duration of the run.
+     *
+     * @return The utilization of the threads, between <code>0</code> and <code>1</code>.
+     */
+    public double getUtilization()
+    {
+        long busy = 0;
+        synchronized ( timeline )
+        {
+            for ( Entry entry : timeline )
+            {
+                busy += entry.end - entry.start;
+            }
+        }
+        long available = threads * ( end - start );
+        return ( available > 0 ) ? (double) busy / available : 0;
+    }
+
+    /**
+     * Writes the timeline of the run as CSV: the thread, start and end in milliseconds since the start of the run,
+     * result and project of each job, in start order.
+     *
+     * @param timelineFile The file to write, must not be <code>null</code>.
+     * @throws IOException If the file could not be written.
+     */
+    public void writeTimeline( File timelineFile )
+        throws IOException
+    {
+        List<Entry> entries;
+        synchronized ( timeline )
+        {
+            entries = new ArrayList<Entry>( timeline );
+        }
+        Collections.sort( entries, new Comparator<Entry>()
+        {
+            public int compare( Entry entry1, Entry entry2 )
+            {
+                return entry1.start < entry2.start ? -1 : ( entry1.start == entry2.start ? 0 : 1 );
+            }
+        } );
+
+        Writer writer = null;
+        try
+        {
+            writer = WriterFactory.newWriter( timelineFile, "UTF-8" );
+            writer.write( "thread,start,end,result,project\n" );
+            for ( Entry entry : entries )
+            {
+                writer.write( entry.worker + "," + ( entry.start - start ) + "," + ( entry.end - start ) + ","
+                    + entry.buildJob.getResult() + "," + entry.buildJob.getProject() + "\n" );
+            }
+        }
+        finally
+        {
+            IOUtil.close( writer );
+        }
+    }
+
+    /**
+     * Gets the project of a build job, without the POM file name which is added once the job is run.
+     */
+    private static String getKey( BuildJob buildJob )
+    {
+        String key = buildJob.getProject().replace( '\\', '/' );
+        if ( key.endsWith( "/pom.xml" ) )
+        {
+            key = key.substring( 0, key.length() - "/pom.xml".length() );
+        }
+        return key;
+    }
+
+    /**
+     * The run of a build job by a thread.
+     */
+    private static class Entry
+    {
+        private final int worker;
+
+        private final long start;
+
+        private final long end;
+
+        private final BuildJob buildJob;
+
+        Entry( int worker, long start, long end, BuildJob buildJob )
+        {
+            this.worker = worker;
+            this.start = start;
+            this.end = end;
+            this.buildJob = buildJob;
+        }
+    }
+
+}
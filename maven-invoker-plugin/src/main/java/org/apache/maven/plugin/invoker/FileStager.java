@@ -0,0 +1,317 @@
+package org.apache.maven.plugin.invoker;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codehaus.plexus.util.IOUtil;
+
+/**
+ * Copies files, skipping the files which are unchanged since the previous run. A manifest records, for each copied
+ * file, the size, modification date and MD5 hash of the source and the size and modification date of the copy. A
+ * file is copied again only if its copy was modified, or if its source was modified and has a different hash. The
+ * copies are made on several threads.
+ *
+ * @version $Id$
+ * @since 1.9
+ */
+class FileStager
+{
+    private final File manifestFile;
+
+    private final int threads;
+
+    private final Properties manifest = new Properties();
+
+    private final List<File[]> copies = new ArrayList<File[]>();
+
+    /**
+     * Creates a new stager, loading the manifest of the previous run.
+     *
+     * @param manifestFile The file of the manifest, must not be <code>null</code>.
+     * @param threads The number of threads copying the files.
+     */
+    public FileStager( File manifestFile, int threads )
+    {
+        this.manifestFile = manifestFile;
+        this.threads = Math.max( 1, threads );
+
+        if ( manifestFile.isFile() )
+        {
+            InputStream in = null;
+            try
+            {
+                in = new FileInputStream( manifestFile );
+                manifest.load( in );
+            }
+            catch ( IOException e )
+            {
+                // all the files are copied again
+                manifest.clear();
+            }
+            finally
+            {
+                IOUtil.close( in );
+            }
+        }
+    }
+
+    /**
+     * Schedules the copy of a file.
+     *
+     * @param source The file to copy, must not be <code>null</code>.
+     * @param destination The copy, must not be <code>null</code>.
+     */
+    public void add( File source, File destination )
+    {
+        copies.add( new File[] { source, destination } );
+    }
+
+    /**
+     * Copies the scheduled files, then stores the manifest.
+     *
+     * @return The number of files actually copied.
+     * @throws IOException If a file could not be copied or the manifest could not be stored.
+     */
+    public int stage()
+        throws IOException
+    {
+        final Queue<File[]> queue = new ConcurrentLinkedQueue<File[]>( copies );
+        copies.clear();
+        final AtomicInteger copied = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool( threads );
+        try
+        {
+            List<Future<Object>> futures = new ArrayList<Future<Object>>( threads );
+            for ( int i = 0; i < threads; i++ )
+            {
+                futures.add( executor.submit( new Callable<Object>()
+                {
+                    public Object call()
+                        throws IOException
+                    {
+                        for ( File[] copy = queue.poll(); copy != null; copy = queue.poll() )
+                        {
+                            if ( stage( copy[0], copy[1] ) )
+                            {
+                                copied.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }
+                } ) );
+            }
+
+            for ( Future<Object> future : futures )
+            {
+                try
+                {
+                    future.get();
+                }
+                catch ( ExecutionException e )
+                {
+                    // stops the other threads
+                    queue.clear();
+                    if ( e.getCause() instanceof IOException )
+                    {
+                        throw (IOException) e.getCause();
+                    }
+                    throw (IOException) new IOException( e.getCause().getMessage() ).initCause( e.getCause() );
+                }
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw (IOException) new IOException( e.getMessage() ).initCause( e );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        storeManifest();
+
+        return copied.get();
+    }
+
+    /**
+     * Copies a file unless its copy is up to date.
+     *
+     * @return <code>true</code> if the file was copied.
+     */
+    private boolean stage( File source, File destination )
+        throws IOException
+    {
+        if ( source.getCanonicalFile().equals( destination.getCanonicalFile() ) )
+        {
+            return false;
+        }
+
+        String key = destination.getAbsolutePath();
+        String[] entry = split( manifest.getProperty( key ) );
+        if ( entry != null && destination.isFile() && source.length() == Long.parseLong( entry[0] )
+            && destination.length() == Long.parseLong( entry[3] )
+            && destination.lastModified() == Long.parseLong( entry[4] ) )
+        {
+            if ( source.lastModified() == Long.parseLong( entry[1] ) )
+            {
+                return false;
+            }
+
+            // touched, maybe not modified
+            String hash = hash( source );
+            if ( hash.equals( entry[2] ) )
+            {
+                manifest.setProperty( key, join( source, hash, destination ) );
+                return false;
+            }
+        }
+
+        String hash = copy( source, destination );
+        destination.setLastModified( source.lastModified() );
+        manifest.setProperty( key, join( source, hash, destination ) );
+        return true;
+    }
+
+    private void storeManifest()
+        throws IOException
+    {
+        manifestFile.getParentFile().mkdirs();
+
+        OutputStream out = null;
+        try
+        {
+            out = new FileOutputStream( manifestFile );
+            manifest.store( out, "maven-invoker-plugin staged files" );
+        }
+        finally
+        {
+            IOUtil.close( out );
+        }
+    }
+
+    /**
+     * Copies a file, computing its hash on the way.
+     *
+     * @return The hex encoded MD5 hash of the file.
+     */
+    private static String copy( File source, File destination )
+        throws IOException
+    {
+        destination.getParentFile().mkdirs();
+
+        MessageDigest digest = newDigest();
+        InputStream in = null;
+        OutputStream out = null;
+        try
+        {
+            in = new DigestInputStream( new FileInputStream( source ), digest );
+            out = new FileOutputStream( destination );
+            IOUtil.copy( in, out );
+        }
+        finally
+        {
+            IOUtil.close( out );
+            IOUtil.close( in );
+        }
+        return toHex( digest.digest() );
+    }
+
+    private static String hash( File file )
+        throws IOException
+    {
+        MessageDigest digest = newDigest();
+        InputStream in = null;
+        try
+        {
+            in = new FileInputStream( file );
+            byte[] buffer = new byte[8192];
+            int read;
+            while ( ( read = in.read( buffer ) ) >= 0 )
+            {
+                digest.update( buffer, 0, read );
+            }
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+        return toHex( digest.digest() );
+    }
+
+    private static MessageDigest newDigest()
+    {
+        try
+        {
+            return MessageDigest.getInstance( "MD5" );
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new IllegalStateException( "MD5 digest not available" );
+        }
+    }
+
+    private static String toHex( byte[] bytes )
+    {
+        StringBuilder hex = new StringBuilder();
+        for ( byte b : bytes )
+        {
+            hex.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) ).append( Character.forDigit( b & 0xF, 16 ) );
+        }
+        return hex.toString();
+    }
+
+    private static String join( File source, String hash, File destination )
+    {
+        return source.length() + ":" + source.lastModified() + ":" + hash + ":" + destination.length() + ":"
+            + destination.lastModified();
+    }
+
+    private static String[] split( String entry )
+    {
+        if ( entry == null )
+        {
+            return null;
+        }
+        String[] values = entry.split( ":" );
+        return ( values.length == 5 ) ? values : null;
+    }
+}
@@ -172,6 +172,37 @@ public class InstallMojo
     @Component
     private ArtifactMetadataSource artifactMetadataSource;
 
+    /**
+     * Skip copying the artifacts which are unchanged since the previous run from the local repository to the local
+     * repository of the integration tests, and copy them on several threads. A manifest of the copied files is kept in
+     * {@link #stagingDirectory}, recording their size, modification date and hash.
+     *
+     * @since 1.9
+     */
+    @Parameter( property = "invoker.fastStaging", defaultValue = "false" )
+    private boolean fastStaging;
+
+    /**
+     * The number of threads copying the artifacts. Only used if fastStaging = true.
+     *
+     * @since 1.9
+     */
+    @Parameter( property = "invoker.stagingThreads", defaultValue = "4" )
+    private int stagingThreads;
+
+    /**
+     * The directory where the manifest of the copied files is stored. Only used if fastStaging = true.
+     *
+     * @since 1.9
+     */
+    @Parameter( defaultValue = "${project.build.directory}/maven-status/maven-invoker-plugin" )
+    private File stagingDirectory;
+
+    /**
+     * Copies the artifacts when fastStaging = true.
+     */
+    private FileStager stager;
+
     /**
      * Performs this mojo's tasks.
      * 
@@ -190,12 +221,29 @@ public class InstallMojo
 
         installedArtifacts = new HashSet<String>();
         copiedArtifacts = new HashSet<String>();
+        if ( fastStaging )
+        {
+            stager = new FileStager( new File( stagingDirectory, "install-manifest.properties" ), stagingThreads );
+        }
 
         installProjectDependencies( project, reactorProjects, testRepository );
         installProjectParents( project, testRepository );
         installProjectArtifacts( project, testRepository );
 
         installExtraArtifacts( testRepository, extraArtifacts );
+
+        if ( stager != null )
+        {
+            try
+            {
+                int copied = stager.stage();
+                getLog().debug( "Copied " + copied + " changed artifacts to " + testRepository.getBasedir() );
+            }
+            catch ( IOException e )
+            {
+                throw new MojoExecutionException( "Failed to stage artifacts: " + e.getMessage(), e );
+            }
+        }
     }
 
     /**
@@ -311,7 +359,14 @@ public class InstallMojo
 
                 getLog().debug( "Installing " + file + " to " + destination );
 
-                copyFileIfDifferent( file, destination );
+                if ( stager != null )
+                {
+                    stager.add( file, destination );
+                }
+                else
+                {
+                    copyFileIfDifferent( file, destination );
+                }
 
                 MetadataUtils.createMetadata( destination, artifact );
             }
@@ -128,6 +128,26 @@ class InvokerProperties
         return this.properties.getProperty( "invoker.maven.version", "" );
     }
 
+    /**
+     * Gets the maximum time in seconds this build job may take.
+     *
+     * @param defaultTimeout The timeout to use if the property is not set or invalid.
+     * @return The timeout in seconds, <code>0</code> for no limit.
+     * @since 1.9
+     */
+    public int getTimeoutInSeconds( int defaultTimeout )
+    {
+        try
+        {
+            return Integer.parseInt( this.properties.getProperty( "invoker.timeoutInSeconds",
+                                                                  String.valueOf( defaultTimeout ) ).trim() );
+        }
+        catch ( NumberFormatException e )
+        {
+            return defaultTimeout;
+        }
+    }
+
     /**
      * Gets the specification of OS families on which this build job should be run.
      * 
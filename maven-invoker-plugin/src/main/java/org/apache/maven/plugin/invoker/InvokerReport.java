@@ -294,7 +294,14 @@ public class InvokerReport
         }
         sinkCell( sink, buffer.toString() );
         // FIXME image
-        sinkCell( sink, buildJob.getResult() );
+        if ( buildJob.isCached() )
+        {
+            sinkCell( sink, buildJob.getResult() + " (" + getText( locale, "report.invoker.detail.cached" ) + ")" );
+        }
+        else
+        {
+            sinkCell( sink, buildJob.getResult() );
+        }
         sinkCell( sink, secondsFormat.format( buildJob.getTime() ) );
         sinkCell( sink, buildJob.getFailureMessage() );
         sink.tableRow_();
@@ -202,6 +202,18 @@ class InvokerSession
         logger.info( "Build Summary:" );
         logger.info( "  Passed: " + successfulJobs.size() + ", Failed: " + failedJobs.size() + ", Errors: "
             + errorJobs.size() + ", Skipped: " + skippedJobs.size() );
+        int cached = 0;
+        for ( BuildJob buildJob : successfulJobs )
+        {
+            if ( buildJob.isCached() )
+            {
+                cached++;
+            }
+        }
+        if ( cached > 0 )
+        {
+            logger.info( "  Passed from the result cache: " + cached );
+        }
         logger.info( separator );
 
         if ( !failedJobs.isEmpty() )
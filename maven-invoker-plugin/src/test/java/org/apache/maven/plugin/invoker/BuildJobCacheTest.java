@@ -0,0 +1,102 @@
+package org.apache.maven.plugin.invoker;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.Collections;
+
+import junit.framework.TestCase;
+
+import org.apache.maven.plugin.invoker.model.BuildJob;
+import org.codehaus.plexus.util.FileUtils;
+
+/**
+ * Tests {@link BuildJobCache}.
+ * 
+ * @version $Id$
+ */
+public class BuildJobCacheTest
+    extends TestCase
+{
+
+    private File basedir;
+
+    protected void setUp()
+        throws Exception
+    {
+        basedir = new File( "target/unit/build-job-cache" ).getAbsoluteFile();
+        FileUtils.deleteDirectory( basedir );
+        FileUtils.fileWrite( new File( basedir, "project/pom.xml" ).getPath(), "<project/>" );
+    }
+
+    public void testFingerprint()
+        throws Exception
+    {
+        BuildJobCache cache = new BuildJobCache( new File( basedir, "cache" ) );
+        File project = new File( basedir, "project" );
+
+        String fingerprint = getFingerprint( cache, project );
+        assertEquals( fingerprint, getFingerprint( cache, project ) );
+
+        // the build outputs are ignored
+        FileUtils.fileWrite( new File( project, "target/output.txt" ).getPath(), "output" );
+        assertEquals( fingerprint, getFingerprint( cache, project ) );
+
+        FileUtils.fileWrite( new File( project, "pom.xml" ).getPath(), "<project></project>" );
+        assertFalse( fingerprint.equals( getFingerprint( cache, project ) ) );
+    }
+
+    public void testStoreAndRestore()
+        throws Exception
+    {
+        BuildJobCache cache = new BuildJobCache( new File( basedir, "cache" ) );
+        File buildLog = new File( basedir, "project/build.log" );
+        FileUtils.fileWrite( buildLog.getPath(), "BUILD SUCCESS" );
+
+        BuildJob buildJob = new BuildJob( "project/pom.xml", BuildJob.Type.NORMAL );
+        buildJob.setResult( BuildJob.Result.SUCCESS );
+        buildJob.setTime( 4.2 );
+        cache.store( buildJob, "1", buildLog );
+        buildLog.delete();
+
+        BuildJob restored = new BuildJob( "project/pom.xml", BuildJob.Type.NORMAL );
+        assertFalse( cache.restore( restored, "2", buildLog ) );
+        assertFalse( restored.isCached() );
+
+        assertTrue( cache.restore( restored, "1", buildLog ) );
+        assertTrue( restored.isCached() );
+        assertEquals( BuildJob.Result.SUCCESS, restored.getResult() );
+        assertEquals( 4.2, restored.getTime(), 0.0 );
+        assertEquals( "BUILD SUCCESS", FileUtils.fileRead( buildLog ) );
+
+        cache.remove( restored );
+        assertFalse( cache.restore( restored, "1", buildLog ) );
+    }
+
+    private String getFingerprint( BuildJobCache cache, File project )
+        throws Exception
+    {
+        BuildJobCache.Fingerprint fingerprint = cache.newFingerprint();
+        fingerprint.add( "project/pom.xml" );
+        fingerprint.addContent( project, Collections.singletonList( "target" ) );
+        return fingerprint.getValue();
+    }
+
+}
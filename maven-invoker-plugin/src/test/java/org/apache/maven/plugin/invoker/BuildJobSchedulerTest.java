@@ -0,0 +1,98 @@
+package org.apache.maven.plugin.invoker;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.invoker.model.BuildJob;
+
+/**
+ * Tests {@link BuildJobScheduler}.
+ * 
+ * @version $Id$
+ */
+public class BuildJobSchedulerTest
+    extends TestCase
+{
+
+    public void testOrder()
+    {
+        Map<String, Double> durations = new HashMap<String, Double>();
+        durations.put( "short", 1.0 );
+        durations.put( "long", 60.0 );
+
+        BuildJobScheduler scheduler = new BuildJobScheduler( 2, durations );
+
+        List<BuildJob> ordered =
+            scheduler.order( Arrays.asList( new BuildJob( "short/pom.xml", BuildJob.Type.NORMAL ),
+                                            new BuildJob( "long/pom.xml", BuildJob.Type.NORMAL ),
+                                            new BuildJob( "new", BuildJob.Type.NORMAL ) ) );
+
+        assertEquals( "new", ordered.get( 0 ).getProject() );
+        assertEquals( "long/pom.xml", ordered.get( 1 ).getProject() );
+        assertEquals( "short/pom.xml", ordered.get( 2 ).getProject() );
+    }
+
+    public void testSetupJobsFirst()
+        throws Exception
+    {
+        BuildJobScheduler scheduler = new BuildJobScheduler( 4, Collections.<String, Double>emptyMap() );
+
+        final List<String> finished = Collections.synchronizedList( new ArrayList<String>() );
+        BuildJob[] buildJobs =
+            { new BuildJob( "setup-a", BuildJob.Type.SETUP ), new BuildJob( "setup-b", BuildJob.Type.SETUP ),
+                new BuildJob( "it-a", BuildJob.Type.NORMAL ), new BuildJob( "it-b", BuildJob.Type.NORMAL ) };
+
+        scheduler.run( buildJobs, new BuildJobScheduler.Runner()
+        {
+            public void run( BuildJob buildJob )
+                throws MojoExecutionException
+            {
+                if ( BuildJob.Type.SETUP.equals( buildJob.getType() ) )
+                {
+                    try
+                    {
+                        Thread.sleep( 100 );
+                    }
+                    catch ( InterruptedException e )
+                    {
+                        throw new MojoExecutionException( e.getMessage(), e );
+                    }
+                }
+                buildJob.setResult( BuildJob.Result.SUCCESS );
+                finished.add( buildJob.getProject() );
+            }
+        } );
+
+        assertEquals( 4, finished.size() );
+        assertTrue( finished.indexOf( "setup-a" ) < 2 );
+        assertTrue( finished.indexOf( "setup-b" ) < 2 );
+        assertTrue( scheduler.getUtilization() > 0 );
+    }
+
+}
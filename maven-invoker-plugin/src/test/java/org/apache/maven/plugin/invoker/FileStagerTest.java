@@ -0,0 +1,72 @@
+package org.apache.maven.plugin.invoker;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+
+import junit.framework.TestCase;
+
+import org.codehaus.plexus.util.FileUtils;
+
+/**
+ * Tests {@link FileStager}.
+ * 
+ * @version $Id$
+ */
+public class FileStagerTest
+    extends TestCase
+{
+
+    public void testStage()
+        throws Exception
+    {
+        File basedir = new File( "target/file-stager" );
+        FileUtils.deleteDirectory( basedir );
+        basedir.mkdirs();
+        File manifest = new File( basedir, "manifest.properties" );
+        File source = new File( basedir, "source.txt" );
+        File copy = new File( basedir, "copy/source.txt" );
+        FileUtils.fileWrite( source.getPath(), "UTF-8", "content" );
+
+        FileStager stager = new FileStager( manifest, 2 );
+        stager.add( source, copy );
+        assertEquals( 1, stager.stage() );
+        assertEquals( "content", FileUtils.fileRead( copy, "UTF-8" ) );
+
+        // unchanged
+        stager = new FileStager( manifest, 2 );
+        stager.add( source, copy );
+        assertEquals( 0, stager.stage() );
+
+        // touched only
+        source.setLastModified( source.lastModified() - 10000 );
+        stager = new FileStager( manifest, 2 );
+        stager.add( source, copy );
+        assertEquals( 0, stager.stage() );
+
+        // copy modified
+        FileUtils.fileWrite( copy.getPath(), "UTF-8", "modified" );
+        stager = new FileStager( manifest, 2 );
+        stager.add( source, copy );
+        assertEquals( 1, stager.stage() );
+        assertEquals( "content", FileUtils.fileRead( copy, "UTF-8" ) );
+    }
+
+}
@@ -64,6 +64,21 @@ public class InvokerPropertiesTest
         assertEquals( jobName, facade.getJobName() );
     }
 
+    public void testGetTimeoutInSeconds()
+        throws Exception
+    {
+        Properties props = new Properties();
+        InvokerProperties facade = new InvokerProperties( props );
+
+        assertEquals( 60, facade.getTimeoutInSeconds( 60 ) );
+
+        props.setProperty( "invoker.timeoutInSeconds", " 300 " );
+        assertEquals( 300, facade.getTimeoutInSeconds( 60 ) );
+
+        props.setProperty( "invoker.timeoutInSeconds", "invalid" );
+        assertEquals( 60, facade.getTimeoutInSeconds( 60 ) );
+    }
+
     public void testIsExpectedResult()
         throws Exception
     {
@@ -42,11 +42,19 @@ import org.sonatype.plexus.components.sec.dispatcher.SecDispatcherException;
 import java.io.File;
 import java.io.IOException;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Queue;
 import java.util.ResourceBundle;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Maven Jarsigner Plugin base class.
@@ -184,6 +192,15 @@ public abstract class AbstractJarsignerMojo
     @Parameter( property = "jarsigner.protectedAuthenticationPath", defaultValue = "false" )
     private boolean protectedAuthenticationPath;
 
+    /**
+     * The number of archives processed concurrently, each by its own jarsigner process. Archives are always
+     * processed one after another if {@link #protectedAuthenticationPath} is <code>true</code>.
+     *
+     * @since 1.3.2
+     */
+    @Parameter( property = "jarsigner.threads", defaultValue = "1" )
+    private int threads;
+
     /**
      * Controls processing of project attachments.
      *
@@ -264,18 +281,17 @@ public abstract class AbstractJarsignerMojo
                 jarSigner.setToolchain(toolchain);
             }
 
-            int processed = 0;
+            List<File> archives = new ArrayList<File>();
 
             if ( this.archive != null )
             {
-                processArchive( this.archive );
-                processed++;
+                archives.add( this.archive );
             }
             else
             {
                 if ( processMainArtifact )
                 {
-                    processed += processArtifact( this.project.getArtifact() ) ? 1 : 0;
+                    addArtifact( this.project.getArtifact(), archives );
                 }
 
                 if ( processAttachedArtifacts && !Boolean.FALSE.equals( attachments ) )
@@ -306,7 +322,7 @@ public abstract class AbstractJarsignerMojo
                             continue;
                         }
 
-                        processed += processArtifact( artifact ) ? 1 : 0;
+                        addArtifact( artifact, archives );
                     }
                 }
                 else
@@ -337,15 +353,13 @@ public abstract class AbstractJarsignerMojo
                             "Failed to scan archive directory for JARs: " + e.getMessage(), e );
                     }
 
-                    for ( File jarFile : jarFiles )
-                    {
-                        processArchive( jarFile );
-                        processed++;
-                    }
+                    archives.addAll( jarFiles );
                 }
             }
 
-            getLog().info( getMessage( "processed", processed) );
+            processArchives( archives );
+
+            getLog().info( getMessage( "processed", archives.size() ) );
         }
         else
         {
@@ -383,6 +397,11 @@ public abstract class AbstractJarsignerMojo
         return commandLineInfo;
     }
 
+    public String getKeystore()
+    {
+        return keystore;
+    }
+
     public String getStoretype()
     {
         return storetype;
@@ -393,6 +412,11 @@ public abstract class AbstractJarsignerMojo
         return storepass;
     }
 
+    public String getAlias()
+    {
+        return alias;
+    }
+
     /**
      * Checks whether the specified artifact is a ZIP file.
      *
@@ -405,28 +429,27 @@ public abstract class AbstractJarsignerMojo
     }
 
     /**
-     * Processes a given artifact.
+     * Adds the file of a given artifact to the archives to process.
      *
      * @param artifact The artifact to process.
-     * @return <code>true</code> if the artifact is a JAR and was processed, <code>false</code> otherwise.
+     * @param archives The archives to process.
+     * @return <code>true</code> if the artifact is a JAR and was added, <code>false</code> otherwise.
      * @throws NullPointerException   if {@code artifact} is {@code null}.
-     * @throws MojoExecutionException if processing {@code artifact} fails.
      */
-    private boolean processArtifact( final Artifact artifact )
-        throws MojoExecutionException
+    private boolean addArtifact( final Artifact artifact, final List<File> archives )
     {
         if ( artifact == null )
         {
             throw new NullPointerException( "artifact" );
         }
 
-        boolean processed = false;
+        boolean added = false;
 
         if ( isZipFile( artifact ) )
         {
-            processArchive( artifact.getFile() );
+            archives.add( artifact.getFile() );
 
-            processed = true;
+            added = true;
         }
         else
         {
@@ -440,7 +463,7 @@ public abstract class AbstractJarsignerMojo
             }
         }
 
-        return processed;
+        return added;
     }
 
     /**
@@ -455,6 +478,119 @@ public abstract class AbstractJarsignerMojo
         // default does nothing
     }
 
+    /**
+     * Checks whether a given archive is unchanged since it was last processed, and need not be processed again.
+     *
+     * @param archive The archive to check, must not be <code>null</code>.
+     * @return <code>true</code> if the archive need not be processed, <code>false</code> otherwise.
+     * @throws MojoExecutionException If the archive could not be checked.
+     * @since 1.3.2
+     */
+    protected boolean isUpToDate( final File archive )
+        throws MojoExecutionException
+    {
+        // default processes all archives
+        return false;
+    }
+
+    /**
+     * Post-processes a given archive, once it has been successfully processed.
+     *
+     * @param archive The processed archive, must not be <code>null</code>.
+     * @throws MojoExecutionException If post-processing failed.
+     * @since 1.3.2
+     */
+    protected void postProcessArchive( final File archive )
+        throws MojoExecutionException
+    {
+        // default does nothing
+    }
+
+    /**
+     * Post-processes all the archives, once they have been successfully processed.
+     *
+     * @throws MojoExecutionException If post-processing failed.
+     * @since 1.3.2
+     */
+    protected void postProcessArchives()
+        throws MojoExecutionException
+    {
+        // default does nothing
+    }
+
+    /**
+     * Processes the given archives, using {@link #threads} concurrent jarsigner processes.
+     *
+     * @param archives The archives to process.
+     * @throws MojoExecutionException if processing an archive fails.
+     */
+    private void processArchives( final List<File> archives )
+        throws MojoExecutionException
+    {
+        int poolSize = protectedAuthenticationPath ? 1 : Math.max( 1, Math.min( threads, archives.size() ) );
+        if ( poolSize == 1 )
+        {
+            for ( File archive : archives )
+            {
+                processArchive( archive );
+            }
+        }
+        else
+        {
+            final Queue<File> queue = new ConcurrentLinkedQueue<File>( archives );
+
+            ExecutorService executor = Executors.newFixedThreadPool( poolSize );
+            try
+            {
+                List<Future<Object>> futures = new ArrayList<Future<Object>>( poolSize );
+                for ( int i = 0; i < poolSize; i++ )
+                {
+                    futures.add( executor.submit( new Callable<Object>()
+                    {
+                        public Object call()
+                            throws MojoExecutionException
+                        {
+                            for ( File archive = queue.poll(); archive != null; archive = queue.poll() )
+                            {
+                                processArchive( archive );
+                            }
+                            return null;
+                        }
+                    } ) );
+                }
+
+                for ( Future<Object> future : futures )
+                {
+                    try
+                    {
+                        future.get();
+                    }
+                    catch ( ExecutionException e )
+                    {
+                        // stops the other threads
+                        queue.clear();
+                        if ( e.getCause() instanceof MojoExecutionException )
+                        {
+                            throw (MojoExecutionException) e.getCause();
+                        }
+                        throw new MojoExecutionException( e.getCause().getMessage(), e.getCause() );
+                    }
+                }
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+                throw new MojoExecutionException( e.getMessage(), e );
+            }
+            finally
+            {
+                executor.shutdownNow();
+            }
+        }
+
+        postProcessArchives();
+    }
+
     /**
      * Processes a given archive.
      *
@@ -470,6 +606,12 @@ public abstract class AbstractJarsignerMojo
             throw new NullPointerException( "archive" );
         }
 
+        if ( isUpToDate( archive ) )
+        {
+            getLog().info( getMessage( "upToDate", archive ) );
+            return;
+        }
+
         preProcessArchive( archive );
 
         if ( this.verbose )
@@ -512,6 +654,7 @@ public abstract class AbstractJarsignerMojo
                     getMessage( "failure", getCommandlineInfo( commandLine ), resultCode) );
             }
 
+            postProcessArchive( archive );
         }
         catch ( JavaToolException e )
         {
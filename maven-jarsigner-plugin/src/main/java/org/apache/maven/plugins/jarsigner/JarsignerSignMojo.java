@@ -28,9 +28,16 @@ import org.apache.maven.shared.jarsigner.JarSignerSignRequest;
 import org.apache.maven.shared.jarsigner.JarSignerUtil;
 import org.apache.maven.shared.utils.StringUtils;
 import org.apache.maven.shared.utils.cli.Commandline;
+import org.apache.maven.shared.utils.io.IOUtil;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.cert.Certificate;
+import java.util.Arrays;
 
 /**
  * Signs a project artifact and attachments using jarsigner.
@@ -81,6 +88,33 @@ public class JarsignerSignMojo
     @Parameter( property = "jarsigner.tsacert" )
     private String tsacert;
 
+    /**
+     * Skip the archives which were signed by a previous build with the same certificate and options, and not modified
+     * since. The hashes of the signed archives are recorded in {@link #incrementalStateDirectory}.
+     *
+     * @since 1.3.2
+     */
+    @Parameter( property = "jarsigner.incremental", defaultValue = "false" )
+    private boolean incremental;
+
+    /**
+     * The directory where the hashes of the signed archives are recorded. Only used if incremental = true.
+     *
+     * @since 1.3.2
+     */
+    @Parameter( defaultValue = "${project.build.directory}/maven-status/maven-jarsigner-plugin" )
+    private File incrementalStateDirectory;
+
+    /**
+     * The archives signed by the previous builds, when incremental = true.
+     */
+    private SignedArchiveLedger ledger;
+
+    /**
+     * The certificate and options used to sign, when incremental = true.
+     */
+    private String signer;
+
     @Override
     protected String getCommandlineInfo( final Commandline commandLine )
     {
@@ -94,6 +128,129 @@ public class JarsignerSignMojo
         return commandLineInfo;
     }
 
+    @Override
+    protected boolean isUpToDate( final File archive )
+        throws MojoExecutionException
+    {
+        if ( !incremental )
+        {
+            return false;
+        }
+
+        try
+        {
+            return getLedger().isSigned( archive, getSigner() );
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( "Failed to read archive " + archive + ": " + e.getMessage(), e );
+        }
+    }
+
+    @Override
+    protected void postProcessArchive( final File archive )
+        throws MojoExecutionException
+    {
+        if ( incremental )
+        {
+            try
+            {
+                getLedger().setSigned( archive, getSigner() );
+            }
+            catch ( IOException e )
+            {
+                throw new MojoExecutionException( "Failed to read archive " + archive + ": " + e.getMessage(), e );
+            }
+        }
+    }
+
+    @Override
+    protected void postProcessArchives()
+        throws MojoExecutionException
+    {
+        if ( ledger != null )
+        {
+            try
+            {
+                ledger.store();
+            }
+            catch ( IOException e )
+            {
+                throw new MojoExecutionException( "Failed to record the signed archives: " + e.getMessage(), e );
+            }
+        }
+    }
+
+    private synchronized SignedArchiveLedger getLedger()
+    {
+        if ( ledger == null )
+        {
+            ledger = new SignedArchiveLedger( new File( incrementalStateDirectory, "signed-archives.properties" ) );
+        }
+        return ledger;
+    }
+
+    /**
+     * Gets the certificate and the options used to sign the archives. The certificate is read from the keystore when
+     * possible, otherwise the keystore and alias are used.
+     *
+     * @return The signer, never <code>null</code>.
+     * @throws MojoExecutionException If the passwords could not be decrypted.
+     */
+    private synchronized String getSigner()
+        throws MojoExecutionException
+    {
+        if ( signer == null )
+        {
+            String certificate;
+            try
+            {
+                certificate = getCertificate();
+            }
+            catch ( Exception e )
+            {
+                getLog().debug( "Unable to read the certificate " + getAlias() + ": " + e.getMessage() );
+                certificate = getKeystore() + ':' + getStoretype() + ':' + getAlias();
+            }
+            signer = certificate + ':' + sigfile + ':' + tsa + ':' + tsacert + ':' + removeExistingSignatures;
+        }
+        return signer;
+    }
+
+    private String getCertificate()
+        throws Exception
+    {
+        KeyStore keyStore = KeyStore.getInstance( getStoretype() != null ? getStoretype() : KeyStore.getDefaultType() );
+
+        String storepass = decrypt( getStorepass() );
+        InputStream in = null;
+        try
+        {
+            if ( !"NONE".equals( getKeystore() ) )
+            {
+                String keystoreFile = getKeystore();
+                if ( keystoreFile == null )
+                {
+                    // the default keystore of jarsigner
+                    keystoreFile = System.getProperty( "user.home" ) + "/.keystore";
+                }
+                in = new FileInputStream( keystoreFile );
+            }
+            keyStore.load( in, storepass != null ? storepass.toCharArray() : null );
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+
+        Certificate certificate = keyStore.getCertificate( getAlias() );
+        if ( certificate == null )
+        {
+            throw new KeyStoreException( "no certificate" );
+        }
+        return Arrays.toString( certificate.getEncoded() );
+    }
+
     @Override
     protected void preProcessArchive( final File archive )
         throws MojoExecutionException
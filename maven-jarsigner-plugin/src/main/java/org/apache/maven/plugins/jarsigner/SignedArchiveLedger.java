@@ -0,0 +1,185 @@
+package org.apache.maven.plugins.jarsigner;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.shared.utils.io.IOUtil;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+
+/**
+ * Records the hash of the archives signed by a previous build, together with the signer, so that an archive which is
+ * unchanged since it was signed is not signed again.
+ *
+ * @version $Id$
+ * @since 1.3.2
+ */
+class SignedArchiveLedger
+{
+    private final File file;
+
+    private final Properties entries = new Properties();
+
+    /**
+     * Creates a new ledger, loading the archives signed by the previous build.
+     *
+     * @param file The file of the ledger, must not be <code>null</code>.
+     */
+    SignedArchiveLedger( final File file )
+    {
+        this.file = file;
+
+        if ( file.isFile() )
+        {
+            InputStream in = null;
+            try
+            {
+                in = new FileInputStream( file );
+                entries.load( in );
+            }
+            catch ( IOException e )
+            {
+                // all the archives are signed again
+                entries.clear();
+            }
+            finally
+            {
+                IOUtil.close( in );
+            }
+        }
+    }
+
+    /**
+     * Checks whether an archive was signed by a given signer, and not modified since.
+     *
+     * @param archive The archive to check, must not be <code>null</code>.
+     * @param signer The signer, must not be <code>null</code>.
+     * @return <code>true</code> if the archive is signed.
+     * @throws IOException If the archive could not be read.
+     */
+    boolean isSigned( final File archive, final String signer )
+        throws IOException
+    {
+        String entry = entries.getProperty( archive.getAbsolutePath() );
+        return entry != null && entry.equals( getEntry( archive, signer ) );
+    }
+
+    /**
+     * Records that an archive has been signed by a given signer.
+     *
+     * @param archive The signed archive, must not be <code>null</code>.
+     * @param signer The signer, must not be <code>null</code>.
+     * @throws IOException If the archive could not be read.
+     */
+    void setSigned( final File archive, final String signer )
+        throws IOException
+    {
+        entries.setProperty( archive.getAbsolutePath(), getEntry( archive, signer ) );
+    }
+
+    /**
+     * Stores the ledger.
+     *
+     * @throws IOException If the ledger could not be written.
+     */
+    void store()
+        throws IOException
+    {
+        file.getParentFile().mkdirs();
+
+        OutputStream out = null;
+        try
+        {
+            out = new FileOutputStream( file );
+            entries.store( out, "maven-jarsigner-plugin signed archives" );
+        }
+        finally
+        {
+            IOUtil.close( out );
+        }
+    }
+
+    private static String getEntry( final File archive, final String signer )
+        throws IOException
+    {
+        MessageDigest digest = newDigest();
+        InputStream in = null;
+        try
+        {
+            in = new FileInputStream( archive );
+            byte[] buffer = new byte[8192];
+            int read;
+            while ( ( read = in.read( buffer ) ) >= 0 )
+            {
+                digest.update( buffer, 0, read );
+            }
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+        return toHex( digest.digest() ) + ':' + hash( signer );
+    }
+
+    /**
+     * Hashes a value, to record the signer without its details.
+     */
+    private static String hash( final String value )
+    {
+        try
+        {
+            return toHex( newDigest().digest( value.getBytes( "UTF-8" ) ) );
+        }
+        catch ( UnsupportedEncodingException e )
+        {
+            throw new IllegalStateException( "UTF-8 encoding not available" );
+        }
+    }
+
+    private static MessageDigest newDigest()
+    {
+        try
+        {
+            return MessageDigest.getInstance( "MD5" );
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new IllegalStateException( "MD5 digest not available" );
+        }
+    }
+
+    private static String toHex( final byte[] bytes )
+    {
+        StringBuilder hex = new StringBuilder();
+        for ( byte b : bytes )
+        {
+            hex.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) ).append( Character.forDigit( b & 0xF, 16 ) );
+        }
+        return hex.toString();
+    }
+}
@@ -28,6 +28,7 @@ import com.thoughtworks.qdox.model.JavaClass;
 import com.thoughtworks.qdox.model.JavaField;
 import com.thoughtworks.qdox.model.JavaMethod;
 import com.thoughtworks.qdox.model.JavaParameter;
+import com.thoughtworks.qdox.model.JavaSource;
 import com.thoughtworks.qdox.model.Type;
 import com.thoughtworks.qdox.model.TypeVariable;
 import com.thoughtworks.qdox.parser.ParseException;
@@ -66,6 +67,7 @@ import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
@@ -73,7 +75,15 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Queue;
 import java.util.StringTokenizer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -94,6 +104,11 @@ public abstract class AbstractFixJavadocMojo
      */
     private static final String EOL = System.getProperty( "line.separator" );
 
+    /**
+     * The binary names of the anonymous classes, with a <code>$</code> followed by a digit.
+     */
+    private static final Pattern ANONYMOUS_CLASS_PATTERN = Pattern.compile( "\\$\\d" );
+
     /**
      * Tag name for &#64;author *
      */
@@ -347,6 +362,15 @@ public abstract class AbstractFixJavadocMojo
     @Parameter ( property = "outputDirectory", defaultValue = "${project.build.sourceDirectory}" )
     private File outputDirectory;
 
+    /**
+     * The number of threads used to parse and fix the Java files. Every thread parses the files it fixes with its own
+     * QDox builder, the other project sources being parsed on demand to resolve the types they reference.
+     *
+     * @since 2.9.2
+     */
+    @Parameter ( property = "fixThreads", defaultValue = "1" )
+    private int threads;
+
     /**
      * The Maven Project Object.
      */
@@ -388,7 +412,31 @@ public abstract class AbstractFixJavadocMojo
     /**
      * List of classes where <code>&#42;since</code> is added. Will be used to add or not this tag in the methods.
      */
-    private List<String> sinceClasses;
+    private volatile List<String> sinceClasses;
+
+    /**
+     * The methods declared by the super classes and interfaces of the compiled project classes, by class name. The
+     * index is built before the Java files are fixed, and only read afterwards.
+     *
+     * @see #buildTypeIndex()
+     */
+    private Map<String, List<List<String[]>>> typeIndex = Collections.emptyMap();
+
+    /**
+     * The methods declared by the super classes and interfaces of the classes missing from the type index, by class
+     * name.
+     *
+     * @see #getSuperTypesMethods(String)
+     */
+    private final Map<String, List<List<String[]>>> superTypesMethods =
+        new ConcurrentHashMap<String, List<List<String[]>>>();
+
+    /**
+     * The signatures of the methods declared by a class, by class name.
+     *
+     * @see #getDeclaredMethods(Class)
+     */
+    private final Map<String, List<String[]>> declaredMethods = new ConcurrentHashMap<String, List<String[]>>();
 
     /**
      * {@inheritDoc}
@@ -438,12 +486,26 @@ public abstract class AbstractFixJavadocMojo
         // run qdox and process
         try
         {
-            JavaClass[] javaClasses = getQdoxClasses();
+            typeIndex = buildTypeIndex();
+
+            if ( threads > 1 )
+            {
+                List<File> javaFiles = getJavaFiles();
 
-            if ( javaClasses != null )
+                if ( javaFiles != null )
+                {
+                    processFix( javaFiles );
+                }
+            }
+            else
             {
-                for (JavaClass javaClass : javaClasses) {
-                    processFix(javaClass);
+                JavaClass[] javaClasses = getQdoxClasses();
+
+                if ( javaClasses != null )
+                {
+                    for (JavaClass javaClass : javaClasses) {
+                        processFix(javaClass);
+                    }
                 }
             }
         }
@@ -849,6 +911,41 @@ public abstract class AbstractFixJavadocMojo
      */
     private JavaClass[] getQdoxClasses()
         throws IOException, MojoExecutionException
+    {
+        List<File> javaFiles = getJavaFiles();
+        if ( javaFiles == null )
+        {
+            return null;
+        }
+
+        JavaDocBuilder builder = new JavaDocBuilder();
+        builder.getClassLibrary().addClassLoader( getProjectClassLoader() );
+        builder.setEncoding( encoding );
+        for ( File f : javaFiles )
+        {
+            try
+            {
+                builder.addSource( f );
+            }
+            catch ( ParseException e )
+            {
+                if ( getLog().isWarnEnabled() )
+                {
+                    getLog().warn( "QDOX ParseException: " + e.getMessage() + ". Can't fix it." );
+                }
+            }
+        }
+
+        return builder.getClasses();
+    }
+
+    /**
+     * @return the Java files to fix, or <code>null</code> if the project has no Java sources.
+     * @throws IOException if any
+     * @since 2.9.2
+     */
+    private List<File> getJavaFiles()
+        throws IOException
     {
         if ( "pom".equalsIgnoreCase( project.getPackaging() ) )
         {
@@ -873,20 +970,120 @@ public abstract class AbstractFixJavadocMojo
             }
         }
 
-        JavaDocBuilder builder = new JavaDocBuilder();
-        builder.getClassLibrary().addClassLoader( getProjectClassLoader() );
-        builder.setEncoding( encoding );
-        for ( File f : javaFiles )
+        for ( Iterator<File> it = javaFiles.iterator(); it.hasNext(); )
         {
+            File f = it.next();
             if ( !f.getAbsolutePath().toLowerCase( Locale.ENGLISH ).endsWith( ".java" ) && getLog().isWarnEnabled() )
             {
                 getLog().warn( "'" + f + "' is not a Java file. Ignored it." );
-                continue;
+                it.remove();
             }
+        }
+
+        return javaFiles;
+    }
+
+    /**
+     * Parses and fixes the given Java files on several threads.
+     *
+     * @param javaFiles not null
+     * @throws IOException            if any
+     * @throws MojoExecutionException if any
+     * @since 2.9.2
+     */
+    private void processFix( List<File> javaFiles )
+        throws IOException, MojoExecutionException
+    {
+        if ( javaFiles.isEmpty() )
+        {
+            return;
+        }
+
+        // created before the threads are started
+        getProjectClassLoader();
 
+        final Queue<File> queue = new ConcurrentLinkedQueue<File>( javaFiles );
+        int workers = Math.min( threads, javaFiles.size() );
+        ExecutorService executor = Executors.newFixedThreadPool( workers );
+        try
+        {
+            List<Future<Object>> futures = new ArrayList<Future<Object>>( workers );
+            for ( int i = 0; i < workers; i++ )
+            {
+                futures.add( executor.submit( new Callable<Object>()
+                {
+                    public Object call()
+                        throws IOException, MojoExecutionException
+                    {
+                        processFix( queue );
+                        return null;
+                    }
+                } ) );
+            }
+
+            for ( Future<Object> future : futures )
+            {
+                future.get();
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException( "Interrupted while fixing the Java files", e );
+        }
+        catch ( ExecutionException e )
+        {
+            if ( e.getCause() instanceof IOException )
+            {
+                throw (IOException) e.getCause();
+            }
+            if ( e.getCause() instanceof MojoExecutionException )
+            {
+                throw (MojoExecutionException) e.getCause();
+            }
+            if ( e.getCause() instanceof RuntimeException )
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new MojoExecutionException( e.getCause().getMessage(), e.getCause() );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Parses and fixes the queued Java files until the queue is empty. The QDox model is not thread safe, so every
+     * thread uses its own builder, which parses the other project sources when it needs to resolve their types.
+     *
+     * @param queue not null
+     * @throws IOException            if any
+     * @throws MojoExecutionException if any
+     * @since 2.9.2
+     */
+    private void processFix( Queue<File> queue )
+        throws IOException, MojoExecutionException
+    {
+        JavaDocBuilder builder = new JavaDocBuilder();
+        builder.getClassLibrary().addClassLoader( getProjectClassLoader() );
+        for ( String sourceRoot : getProjectSourceRoots( project ) )
+        {
+            File f = new File( sourceRoot );
+            if ( f.isDirectory() )
+            {
+                builder.getClassLibrary().addSourceFolder( f );
+            }
+        }
+        builder.setEncoding( encoding );
+
+        File javaFile;
+        while ( ( javaFile = queue.poll() ) != null )
+        {
+            JavaSource source;
             try
             {
-                builder.addSource( f );
+                source = builder.addSource( javaFile );
             }
             catch ( ParseException e )
             {
@@ -894,10 +1091,14 @@ public abstract class AbstractFixJavadocMojo
                 {
                     getLog().warn( "QDOX ParseException: " + e.getMessage() + ". Can't fix it." );
                 }
+                continue;
             }
-        }
 
-        return builder.getClasses();
+            for ( JavaClass javaClass : source.getClasses() )
+            {
+                processFix( javaClass );
+            }
+        }
     }
 
     /**
@@ -1049,6 +1250,11 @@ public abstract class AbstractFixJavadocMojo
             javaFile = new File( outputDirectory, path );
             javaFile.getParentFile().mkdirs();
         }
+        else if ( StringUtils.unifyLineSeparators( stringWriter.toString() ).equals( originalContent ) )
+        {
+            // nothing to fix, keep the file untouched
+            return;
+        }
         writeFile( javaFile, encoding, stringWriter.toString() );
     }
 
@@ -2645,21 +2851,9 @@ public abstract class AbstractFixJavadocMojo
             }
         }
 
-        Class<?> clazz = getClass( javaMethod.getParentClass().getFullyQualifiedName() );
-
-        List<Class<?>> interfaces = ClassUtils.getAllInterfaces( clazz );
-        for ( Class<?> intface : interfaces )
+        for ( List<String[]> methods : getSuperTypesMethods( javaMethod.getParentClass().getFullyQualifiedName() ) )
         {
-            if ( isInherited( intface, javaMethod ) )
-            {
-                return true;
-            }
-        }
-
-        List<Class<?>> classes = ClassUtils.getAllSuperclasses( clazz );
-        for ( Class<?> superClass : classes )
-        {
-            if ( isInherited( superClass, javaMethod ) )
+            if ( isInherited( methods, javaMethod ) )
             {
                 return true;
             }
@@ -2669,32 +2863,32 @@ public abstract class AbstractFixJavadocMojo
     }
 
     /**
-     * @param clazz      the Java class object, not null
+     * @param methods    the signatures of the methods declared by a class, not null
      * @param javaMethod the QDox JavaMethod object not null
-     * @return <code>true</code> if <code>javaMethod</code> exists in the given <code>clazz</code>,
+     * @return <code>true</code> if <code>javaMethod</code> exists in the given <code>methods</code>,
      *         <code>false</code> otherwise.
      * @see #isInherited(JavaMethod)
+     * @see #getDeclaredMethods(Class)
      */
-    private boolean isInherited( Class<?> clazz, JavaMethod javaMethod )
+    private boolean isInherited( List<String[]> methods, JavaMethod javaMethod )
     {
-        for ( Method method : clazz.getDeclaredMethods() )
+        for ( String[] method : methods )
         {
-            if ( !method.getName().equals( javaMethod.getName() ) )
+            if ( !method[0].equals( javaMethod.getName() ) )
             {
                 continue;
             }
 
-            if ( method.getParameterTypes().length != javaMethod.getParameters().length )
+            if ( method.length - 1 != javaMethod.getParameters().length )
             {
                 continue;
             }
 
             boolean found = false;
-            int j = 0;
-            for ( Class<?> paramType : method.getParameterTypes() )
+            for ( int j = 0; j < javaMethod.getParameters().length; j++ )
             {
-                String name1 = paramType.getName();
-                String name2 = javaMethod.getParameters()[j++].getType().getFullQualifiedName();
+                String name1 = method[j + 1];
+                String name2 = javaMethod.getParameters()[j].getType().getFullQualifiedName();
                 found = name1.equals( name2 ); // TODO check algo, seems broken (only takes in account the last param)
             }
 
@@ -2704,6 +2898,134 @@ public abstract class AbstractFixJavadocMojo
         return false;
     }
 
+    /**
+     * Builds the index of the methods inherited by the compiled project classes, once before the Java files are
+     * fixed, so that {@link #isInherited(JavaMethod)} doesn't reflect on the classes while the files are fixed.
+     * The anonymous classes are left out, QDox doesn't model them.
+     *
+     * @return the methods declared by the super classes and interfaces of every compiled class, by class name.
+     * @throws IOException if any
+     * @throws MojoExecutionException if any
+     * @since 2.9.2
+     */
+    private Map<String, List<List<String[]>>> buildTypeIndex()
+        throws IOException, MojoExecutionException
+    {
+        String outputDirectory = project.getBuild().getOutputDirectory();
+        if ( outputDirectory == null || !new File( outputDirectory ).isDirectory() )
+        {
+            return Collections.emptyMap();
+        }
+
+        Map<String, List<List<String[]>>> index = new HashMap<String, List<List<String[]>>>();
+
+        @SuppressWarnings( "unchecked" )
+        List<String> classFiles = FileUtils.getFileNames( new File( outputDirectory ), "**/*.class", null, false );
+        for ( String classFile : classFiles )
+        {
+            String className = classFile.substring( 0, classFile.length() - ".class".length() );
+            className = className.replace( '\\', '.' ).replace( '/', '.' );
+            if ( ANONYMOUS_CLASS_PATTERN.matcher( className ).find() )
+            {
+                continue;
+            }
+
+            try
+            {
+                index.put( className, getSuperTypesMethods( getClass( className ) ) );
+            }
+            catch ( MojoExecutionException e )
+            {
+                // looked up again, and reported, if a file to fix declares it
+                getLog().debug( "Not indexing " + className + ": " + e.getMessage() );
+            }
+            catch ( LinkageError e )
+            {
+                getLog().debug( "Not indexing " + className + ": " + e.getMessage() );
+            }
+        }
+
+        return Collections.unmodifiableMap( index );
+    }
+
+    /**
+     * Gets the methods declared by the interfaces and the super classes of a project class, from the type index, or
+     * looked up once for the classes missing from the index.
+     *
+     * @param className not null
+     * @return the signatures of the methods declared by every interface, then by every super class.
+     * @throws MojoExecutionException if the class is not found
+     * @see #buildTypeIndex()
+     * @since 2.9.2
+     */
+    private List<List<String[]>> getSuperTypesMethods( String className )
+        throws MojoExecutionException
+    {
+        List<List<String[]>> methods = typeIndex.get( className );
+        if ( methods == null )
+        {
+            methods = superTypesMethods.get( className );
+            if ( methods == null )
+            {
+                methods = getSuperTypesMethods( getClass( className ) );
+                superTypesMethods.put( className, methods );
+            }
+        }
+        return methods;
+    }
+
+    /**
+     * @param clazz not null
+     * @return the signatures of the methods declared by every interface, then by every super class.
+     * @see #getDeclaredMethods(Class)
+     * @since 2.9.2
+     */
+    private List<List<String[]>> getSuperTypesMethods( Class<?> clazz )
+    {
+        List<List<String[]>> methods = new ArrayList<List<String[]>>();
+
+        List<Class<?>> interfaces = ClassUtils.getAllInterfaces( clazz );
+        for ( Class<?> intface : interfaces )
+        {
+            methods.add( getDeclaredMethods( intface ) );
+        }
+
+        List<Class<?>> classes = ClassUtils.getAllSuperclasses( clazz );
+        for ( Class<?> superClass : classes )
+        {
+            methods.add( getDeclaredMethods( superClass ) );
+        }
+
+        return methods;
+    }
+
+    /**
+     * @param clazz not null
+     * @return the signatures of the methods declared by the class, i.e. the name followed by the parameter types.
+     * @since 2.9.2
+     */
+    private List<String[]> getDeclaredMethods( Class<?> clazz )
+    {
+        List<String[]> methods = declaredMethods.get( clazz.getName() );
+        if ( methods == null )
+        {
+            methods = new ArrayList<String[]>();
+            for ( Method method : clazz.getDeclaredMethods() )
+            {
+                Class<?>[] parameterTypes = method.getParameterTypes();
+                String[] signature = new String[parameterTypes.length + 1];
+                signature[0] = method.getName();
+                for ( int i = 0; i < parameterTypes.length; i++ )
+                {
+                    signature[i + 1] = parameterTypes[i].getName();
+                }
+                methods.add( signature );
+            }
+            declaredMethods.put( clazz.getName(), methods );
+        }
+        return methods;
+    }
+
     /**
      * @param type
      * @return
@@ -2878,7 +3200,7 @@ public abstract class AbstractFixJavadocMojo
     /**
      * @param javaClass not null
      */
-    private void addSinceClasses( JavaClass javaClass )
+    private synchronized void addSinceClasses( JavaClass javaClass )
     {
         if ( sinceClasses == null )
         {
@@ -2887,7 +3209,7 @@ public abstract class AbstractFixJavadocMojo
         sinceClasses.add( javaClass.getFullyQualifiedName() );
     }
 
-    private boolean sinceClassesContains( JavaClass javaClass )
+    private synchronized boolean sinceClassesContains( JavaClass javaClass )
     {
         return sinceClasses.contains( javaClass.getFullyQualifiedName() );
     }
@@ -2899,6 +3221,9 @@ public abstract class AbstractFixJavadocMojo
     /**
      * Write content into the given javaFile and using the given encoding.
      * All line separators will be unified.
+     * <br/>
+     * The content is written to a temporary file which then replaces the javaFile, so that the builders of the
+     * other threads, which parse the project sources on demand, never read a partially written file.
      *
      * @param javaFile not null
      * @param encoding not null
@@ -2908,15 +3233,36 @@ public abstract class AbstractFixJavadocMojo
     private static void writeFile( final File javaFile, final String encoding, final String content )
         throws IOException
     {
+        File tmpFile = File.createTempFile( javaFile.getName(), ".tmp", javaFile.getParentFile() );
+
         Writer writer = null;
+        boolean renamed = false;
         try
         {
-            writer = WriterFactory.newWriter( javaFile, encoding );
+            writer = WriterFactory.newWriter( tmpFile, encoding );
             writer.write( StringUtils.unifyLineSeparators( content ) );
+            writer.close();
+            writer = null;
+
+            renamed = tmpFile.renameTo( javaFile );
+            if ( !renamed )
+            {
+                // File.renameTo() doesn't replace an existing file on every platform
+                javaFile.delete();
+                renamed = tmpFile.renameTo( javaFile );
+            }
+            if ( !renamed )
+            {
+                throw new IOException( "Unable to rename " + tmpFile + " to " + javaFile );
+            }
         }
         finally
         {
             IOUtil.close( writer );
+            if ( !renamed )
+            {
+                tmpFile.delete();
+            }
         }
     }
 
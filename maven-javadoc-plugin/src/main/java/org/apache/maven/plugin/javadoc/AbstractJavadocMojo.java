@@ -20,6 +20,7 @@ package org.apache.maven.plugin.javadoc;
  */
 
 import org.apache.commons.lang.ClassUtils;
+import org.apache.commons.lang.StringEscapeUtils;
 import org.apache.commons.lang.SystemUtils;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.factory.ArtifactFactory;
@@ -106,6 +107,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -114,6 +116,11 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.apache.maven.plugin.javadoc.JavadocUtil.isEmpty;
 import static org.apache.maven.plugin.javadoc.JavadocUtil.isNotEmpty;
@@ -264,6 +271,13 @@ public abstract class AbstractJavadocMojo
      */
     private static final float SINCE_JAVADOC_1_6 = 1.6f;
 
+    /**
+     * The maximum number of links whose <code>package-list</code> is validated at the same time.
+     *
+     * @since 2.9.2
+     */
+    private static final int LINK_VALIDATION_THREADS = 8;
+
     // ----------------------------------------------------------------------
     // Mojo components
     // ----------------------------------------------------------------------
@@ -478,6 +492,47 @@ public abstract class AbstractJavadocMojo
     @Parameter( property = "maven.javadoc.skip", defaultValue = "false" )
     protected boolean skip;
 
+    /**
+     * The file where the fingerprint of the last Javadoc run is stored. When set, Javadoc is only run again if its
+     * executable, its options, the content of the sources or the classpath changed since the last run, or if the
+     * previous output is gone.
+     * <br/>
+     * For aggregated reports, the fingerprint covers the sources of all the modules: Javadoc computes the indexes
+     * and cross references over all of them, so a change in any module regenerates the whole report.
+     *
+     * @since 2.9.2
+     */
+    @Parameter( property = "maven.javadoc.staleDataPath" )
+    private File staleDataPath;
+
+    /**
+     * For aggregated reports, run Javadoc once per module instead of once over the sources of all the modules. The
+     * modules are generated concurrently in sub directories of the output directory, named after their artifactId,
+     * and link to the modules they depend on. An overview page listing the modules and their packages is generated
+     * at the root of the output directory.
+     * <br/>
+     * This is not supported together with the <code>sourcepath</code> or <code>subpackages</code> parameters.
+     * When used with <code>staleDataPath</code>, only the modules which changed are generated again.
+     *
+     * @since 2.9.2
+     */
+    @Parameter( property = "maven.javadoc.splitAggregate", defaultValue = "false" )
+    private boolean splitAggregate;
+
+    /**
+     * The number of Javadoc processes run at the same time when <code>splitAggregate</code> is set.
+     * <code>0</code> means the number of available processors.
+     *
+     * @since 2.9.2
+     */
+    @Parameter( property = "maven.javadoc.splitAggregateThreads", defaultValue = "0" )
+    private int splitAggregateThreads;
+
+    /**
+     * The links to the other modules of a split aggregated report, while the command line of a module is created.
+     */
+    private List<OfflineLink> splitAggregateLinks;
+
     /**
      * Specifies if the build will fail if there are errors during javadoc execution or not.
      *
@@ -589,6 +644,30 @@ public abstract class AbstractJavadocMojo
     @Parameter( property = "validateLinks", defaultValue = "false" )
     private boolean validateLinks;
 
+    /**
+     * The directory where the <code>package-list</code> resources of the remote links are cached. The cache is shared
+     * by all the modules and builds using it.
+     * <br/>
+     * Defaults to <code>.cache/maven-javadoc-plugin/package-lists</code> in the local repository.
+     *
+     * @since 2.9.2
+     */
+    @Parameter( property = "packageListCacheDirectory" )
+    private File packageListCacheDirectory;
+
+    /**
+     * The time in minutes a cached <code>package-list</code> resource is used before being revalidated against the
+     * remote server, with the <code>ETag</code> and <code>Last-Modified</code> headers of the previous response.
+     * <code>0</code> revalidates it on every use, a negative value disables the cache.
+     * <br/>
+     * In offline mode, the cached resources are used whatever their age: the remote links whose
+     * <code>package-list</code> is in the cache are given to Javadoc as <code>-linkoffline</code> options.
+     *
+     * @since 2.9.2
+     */
+    @Parameter( property = "packageListCacheTtl", defaultValue = "1440" )
+    private int packageListCacheTtl;
+
     // ----------------------------------------------------------------------
     // Javadoc Options - all alphabetical
     // ----------------------------------------------------------------------
@@ -1584,6 +1663,30 @@ public abstract class AbstractJavadocMojo
     @Parameter( defaultValue = "${project.build.directory}/distro-javadoc-sources" )
     private File sourceDependencyCacheDir;
 
+    /**
+     * Share the unpacked dependency sources and Javadoc resources bundles between the modules and the builds: every
+     * bundle is unpacked once in <code>sharedDependencyBundlesDir</code>, in a directory named after its checksum,
+     * instead of being unpacked in <code>sourceDependencyCacheDir</code> by every module.
+     * <br/>
+     * <b>Note</b>: the plugin never removes the shared bundles, the <code>sharedDependencyBundlesDir</code> directory
+     * has to be cleaned up by hand.
+     *
+     * @since 2.9.2
+     */
+    @Parameter( property = "maven.javadoc.shareDependencyBundles", defaultValue = "false" )
+    private boolean shareDependencyBundles;
+
+    /**
+     * The directory where the shared dependency bundles are unpacked.
+     * <br/>
+     * Defaults to <code>.cache/maven-javadoc-plugin/bundles</code> in the local repository.
+     *
+     * @see #shareDependencyBundles
+     * @since 2.9.2
+     */
+    @Parameter( property = "maven.javadoc.sharedDependencyBundlesDir" )
+    private File sharedDependencyBundlesDir;
+
     /**
      * Whether to include transitive dependencies in the list of dependency -sources jars to include
      * in this javadoc run.
@@ -1891,6 +1994,7 @@ public abstract class AbstractJavadocMojo
         // ----------------------------------------------------------------------
 
         File javadocOutputDirectory = new File( getOutputDirectory() );
+        boolean previousOutput = javadocOutputDirectory.isDirectory();
         if ( javadocOutputDirectory.exists() && !javadocOutputDirectory.isDirectory() )
         {
             throw new MavenReportException( "IOException: " + getOutputDirectory() + " is not a directory." );
@@ -1907,10 +2011,64 @@ public abstract class AbstractJavadocMojo
 
         copyAllResources( javadocOutputDirectory );
 
+        if ( isSplitAggregate() )
+        {
+            executeSplitAggregate( jExecutable, javadocOutputDirectory, sourcePaths );
+            return;
+        }
+
         // ----------------------------------------------------------------------
         // Create command line for Javadoc
         // ----------------------------------------------------------------------
 
+        Commandline cmd = createJavadocCommandLine( jExecutable, javadocOutputDirectory );
+
+        List<String> arguments = getJavadocArguments( javadocOutputDirectory, sourcePaths );
+
+        // ----------------------------------------------------------------------
+        // Skip the execution if nothing changed since the last one
+        // ----------------------------------------------------------------------
+
+        String fingerprint = null;
+        if ( staleDataPath != null )
+        {
+            fingerprint = getFingerprint( jExecutable, cmd, arguments, sourcePaths, files );
+            if ( previousOutput && JavadocStaleData.isUpToDate( staleDataPath, fingerprint ) )
+            {
+                getLog().info( "Skipping javadoc generation, the sources, classpath and options did not change "
+                                   + "since the last run." );
+                return;
+            }
+
+            writeStaleData( staleDataPath, null );
+        }
+
+        addCommandLineFiles( cmd, javadocOutputDirectory, arguments, files, packageNames, filesWithUnnamedPackages );
+
+        // ----------------------------------------------------------------------
+        // Execute command line
+        // ----------------------------------------------------------------------
+
+        executeJavadocCommandLine( cmd, javadocOutputDirectory );
+
+        if ( fingerprint != null )
+        {
+            writeStaleData( staleDataPath, fingerprint );
+        }
+
+        cleanUpJavadocOutput( cmd, javadocOutputDirectory );
+    }
+
+    /**
+     * Creates the command line running the Javadoc executable, with its JVM arguments.
+     *
+     * @param jExecutable the Javadoc executable, not null
+     * @param javadocOutputDirectory the output directory, used as working directory, not null
+     * @return the command line, without the Javadoc options
+     * @since 2.9.2
+     */
+    private Commandline createJavadocCommandLine( String jExecutable, File javadocOutputDirectory )
+    {
         Commandline cmd = new Commandline();
         cmd.getShell().setQuotedArgumentsEnabled( false ); // for Javadoc JVM args
         cmd.setWorkingDirectory( javadocOutputDirectory.getAbsolutePath() );
@@ -1937,6 +2095,19 @@ public abstract class AbstractJavadocMojo
             }
         }
 
+        return cmd;
+    }
+
+    /**
+     * @param javadocOutputDirectory the output directory, not null
+     * @param sourcePaths the source paths, not null
+     * @return the Javadoc and standard doclet options
+     * @throws MavenReportException if any
+     * @since 2.9.2
+     */
+    private List<String> getJavadocArguments( File javadocOutputDirectory, List<String> sourcePaths )
+        throws MavenReportException
+    {
         List<String> arguments = new ArrayList<String>();
 
         // ----------------------------------------------------------------------
@@ -1954,6 +2125,19 @@ public abstract class AbstractJavadocMojo
             addStandardDocletOptions( javadocOutputDirectory, arguments );
         }
 
+        return arguments;
+    }
+
+    /**
+     * Writes the options, packages and argfile files, and includes them in the command line.
+     *
+     * @since 2.9.2
+     */
+    private void addCommandLineFiles( Commandline cmd, File javadocOutputDirectory, List<String> arguments,
+                                      List<String> files, List<String> packageNames,
+                                      List<String> filesWithUnnamedPackages )
+        throws MavenReportException
+    {
         // ----------------------------------------------------------------------
         // Write options file and include it in the command line
         // ----------------------------------------------------------------------
@@ -1991,13 +2175,16 @@ public abstract class AbstractJavadocMojo
                 addCommandLineArgFile( cmd, javadocOutputDirectory, files );
             }
         }
+    }
 
-        // ----------------------------------------------------------------------
-        // Execute command line
-        // ----------------------------------------------------------------------
-
-        executeJavadocCommandLine( cmd, javadocOutputDirectory );
-
+    /**
+     * Deletes the files written for the Javadoc command line, and patches the generated files.
+     *
+     * @since 2.9.2
+     */
+    private void cleanUpJavadocOutput( Commandline cmd, File javadocOutputDirectory )
+        throws MavenReportException
+    {
         // delete generated javadoc files only if no error and no debug mode
         // [MJAVADOC-336] Use File.delete() instead of File.deleteOnExit() to
         // prevent these files from making their way into archives.
@@ -2049,6 +2236,393 @@ public abstract class AbstractJavadocMojo
         }
     }
 
+    /**
+     * @return <code>true</code> if this aggregated report is generated one module at a time.
+     * @see #splitAggregate
+     * @since 2.9.2
+     */
+    private boolean isSplitAggregate()
+    {
+        if ( !splitAggregate || !isAggregator() || reactorProjects == null )
+        {
+            return false;
+        }
+
+        if ( StringUtils.isNotEmpty( sourcepath ) || StringUtils.isNotEmpty( subpackages ) )
+        {
+            getLog().warn( "The splitAggregate parameter can't be used with the sourcepath or subpackages parameters, "
+                               + "generating a single aggregated report." );
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Generates an aggregated report one module at a time, running several Javadoc processes at the same time.
+     *
+     * @param jExecutable the Javadoc executable, not null
+     * @param javadocOutputDirectory the output directory of the aggregated report, not null
+     * @param sourcePaths the source paths of all the modules, not null
+     * @throws MavenReportException if any
+     * @see #splitAggregate
+     * @since 2.9.2
+     */
+    private void executeSplitAggregate( String jExecutable, File javadocOutputDirectory, List<String> sourcePaths )
+        throws MavenReportException
+    {
+        // the execution root keeps the source paths no other module contributes, i.e. its own and the dependencies
+        List<MavenProject> moduleProjects = new ArrayList<MavenProject>();
+        List<List<String>> moduleSourcePaths = new ArrayList<List<String>>();
+        List<String> rootSourcePaths = new ArrayList<String>( sourcePaths );
+        moduleProjects.add( project );
+        moduleSourcePaths.add( rootSourcePaths );
+        for ( MavenProject subProject : reactorProjects )
+        {
+            if ( subProject != project )
+            {
+                List<String> subProjectSourcePaths =
+                    JavadocUtil.pruneDirs( project, getSubProjectSourcePaths( subProject ) );
+                rootSourcePaths.removeAll( subProjectSourcePaths );
+                moduleProjects.add( subProject );
+                moduleSourcePaths.add( subProjectSourcePaths );
+            }
+        }
+
+        // the package-list of every module is written before running Javadoc, so that the modules can link to each
+        // other while being generated at the same time
+        File packageListsDirectory = new File( project.getBuild().getDirectory(), "javadoc-split-aggregate" );
+        List<SplitModule> modules = new ArrayList<SplitModule>();
+        Set<String> names = new HashSet<String>();
+        for ( int i = 0; i < moduleProjects.size(); i++ )
+        {
+            List<String> modulePaths = moduleSourcePaths.get( i );
+            List<String> files = getFiles( modulePaths );
+            if ( files.isEmpty() )
+            {
+                continue;
+            }
+
+            MavenProject moduleProject = moduleProjects.get( i );
+            String name = moduleProject.getArtifactId();
+            if ( !names.add( name ) )
+            {
+                name = moduleProject.getGroupId() + "." + moduleProject.getArtifactId();
+                names.add( name );
+            }
+
+            SplitModule module = new SplitModule( moduleProject, name, modulePaths, files,
+                                                  getPackageNames( modulePaths, files ),
+                                                  getFilesWithUnnamedPackages( modulePaths, files ),
+                                                  new File( javadocOutputDirectory, name ) );
+            try
+            {
+                File packageList = new File( new File( packageListsDirectory, name ), "package-list" );
+                packageList.getParentFile().mkdirs();
+                FileUtils.fileWrite( packageList.getAbsolutePath(), null /* platform encoding */,
+                                     StringUtils.join( module.packageNames.iterator(), "\n" ) + "\n" );
+            }
+            catch ( IOException e )
+            {
+                throw new MavenReportException( "Unable to write the package-list of " + name + ": " + e.getMessage(),
+                                                e );
+            }
+            modules.add( module );
+        }
+
+        // the command lines are created one after the other, as they depend on the state of this mojo
+        List<SplitModule> outdatedModules = new ArrayList<SplitModule>();
+        for ( SplitModule module : modules )
+        {
+            boolean previousOutput = module.outputDirectory.isDirectory();
+            module.outputDirectory.mkdirs();
+            copyAllResources( module.outputDirectory );
+
+            module.cmd = createJavadocCommandLine( jExecutable, module.outputDirectory );
+            List<String> arguments;
+            splitAggregateLinks = getSplitAggregateLinks( module, modules, packageListsDirectory );
+            try
+            {
+                arguments = getJavadocArguments( module.outputDirectory, module.sourcePaths );
+            }
+            finally
+            {
+                splitAggregateLinks = null;
+            }
+
+            if ( staleDataPath != null )
+            {
+                module.staleDataFile = new File( staleDataPath.getPath() + "-" + module.name );
+                module.fingerprint = getFingerprint( jExecutable, module.cmd, arguments, module.sourcePaths,
+                                                     module.files );
+                if ( previousOutput && JavadocStaleData.isUpToDate( module.staleDataFile, module.fingerprint ) )
+                {
+                    getLog().info( "Skipping javadoc generation of " + module.name + ", the sources, classpath and "
+                                       + "options did not change since the last run." );
+                    continue;
+                }
+
+                writeStaleData( module.staleDataFile, null );
+            }
+
+            addCommandLineFiles( module.cmd, module.outputDirectory, arguments, module.files, module.packageNames,
+                                 module.filesWithUnnamedPackages );
+            outdatedModules.add( module );
+        }
+
+        runSplitAggregate( outdatedModules );
+
+        writeSplitAggregateOverview( javadocOutputDirectory, modules );
+    }
+
+    /**
+     * @return the offline links to the other modules a module depends on
+     * @since 2.9.2
+     */
+    private List<OfflineLink> getSplitAggregateLinks( SplitModule module, List<SplitModule> modules,
+                                                      File packageListsDirectory )
+    {
+        Set<String> dependencyKeys = new HashSet<String>();
+        if ( module.project.getDependencies() != null )
+        {
+            for ( Object dependencyObject : module.project.getDependencies() )
+            {
+                Dependency dependency = (Dependency) dependencyObject;
+                dependencyKeys.add( dependency.getGroupId() + ":" + dependency.getArtifactId() );
+            }
+        }
+        if ( module.project.getArtifacts() != null )
+        {
+            for ( Object artifactObject : module.project.getArtifacts() )
+            {
+                Artifact artifact = (Artifact) artifactObject;
+                dependencyKeys.add( artifact.getGroupId() + ":" + artifact.getArtifactId() );
+            }
+        }
+
+        List<OfflineLink> links = new ArrayList<OfflineLink>();
+        for ( SplitModule other : modules )
+        {
+            if ( other != module
+                && dependencyKeys.contains( other.project.getGroupId() + ":" + other.project.getArtifactId() ) )
+            {
+                OfflineLink link = new OfflineLink();
+                link.setUrl( "../" + other.name );
+                link.setLocation( new File( packageListsDirectory, other.name ).getAbsolutePath() );
+                links.add( link );
+            }
+        }
+        return links;
+    }
+
+    /**
+     * Runs the Javadoc processes of the modules of a split aggregated report. All the processes are run even if some
+     * of them fail, the first failure being reported afterwards.
+     *
+     * @since 2.9.2
+     */
+    private void runSplitAggregate( List<SplitModule> modules )
+        throws MavenReportException
+    {
+        if ( modules.isEmpty() )
+        {
+            return;
+        }
+
+        int threads = splitAggregateThreads > 0 ? splitAggregateThreads : Runtime.getRuntime().availableProcessors();
+        getLog().info( "Generating the javadoc of " + modules.size() + " module(s) using " + threads + " thread(s)" );
+
+        ExecutorService executor = Executors.newFixedThreadPool( Math.min( threads, modules.size() ) );
+        MavenReportException failure = null;
+        try
+        {
+            Map<SplitModule, Future<Object>> results = new LinkedHashMap<SplitModule, Future<Object>>();
+            for ( final SplitModule module : modules )
+            {
+                results.put( module, executor.submit( new Callable<Object>()
+                {
+                    public Object call()
+                        throws MavenReportException
+                    {
+                        executeJavadocCommandLine( module.cmd, module.outputDirectory );
+                        return null;
+                    }
+                } ) );
+            }
+
+            for ( Map.Entry<SplitModule, Future<Object>> result : results.entrySet() )
+            {
+                SplitModule module = result.getKey();
+                try
+                {
+                    result.getValue().get();
+                }
+                catch ( ExecutionException e )
+                {
+                    if ( e.getCause() instanceof RuntimeException )
+                    {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    if ( failure == null )
+                    {
+                        failure = (MavenReportException) e.getCause();
+                    }
+                    continue;
+                }
+
+                if ( module.fingerprint != null )
+                {
+                    writeStaleData( module.staleDataFile, module.fingerprint );
+                }
+                cleanUpJavadocOutput( module.cmd, module.outputDirectory );
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new MavenReportException( "Interrupted while generating the javadoc", e );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        if ( failure != null )
+        {
+            throw failure;
+        }
+    }
+
+    /**
+     * Writes the overview page of a split aggregated report, listing the modules and their packages.
+     *
+     * @since 2.9.2
+     */
+    private void writeSplitAggregateOverview( File javadocOutputDirectory, List<SplitModule> modules )
+        throws MavenReportException
+    {
+        String encoding = getDocencoding();
+
+        StringBuilder html = new StringBuilder();
+        html.append( "<!DOCTYPE HTML PUBLIC \"-//W3C//DTD HTML 4.01 Transitional//EN\" " );
+        html.append( "\"http://www.w3.org/TR/html4/loose.dtd\">\n" );
+        html.append( "<html>\n<head>\n" );
+        html.append( "<meta http-equiv=\"Content-Type\" content=\"text/html; charset=" ).append( encoding );
+        html.append( "\">\n" );
+        html.append( "<title>" ).append( StringEscapeUtils.escapeHtml( getWindowtitle() ) ).append( "</title>\n" );
+        if ( !modules.isEmpty() )
+        {
+            // all the modules use the same stylesheet
+            html.append( "<link rel=\"stylesheet\" type=\"text/css\" href=\"" ).append( modules.get( 0 ).name );
+            html.append( "/stylesheet.css\" title=\"Style\">\n" );
+        }
+        html.append( "</head>\n<body>\n" );
+        // the doctitle is HTML, as for Javadoc
+        String title = StringUtils.isNotEmpty( getDoctitle() ) ? getDoctitle()
+                        : StringEscapeUtils.escapeHtml( getWindowtitle() );
+        html.append( "<h1 class=\"title\">" ).append( title ).append( "</h1>\n" );
+        html.append( "<table class=\"overviewSummary\" border=\"0\" cellpadding=\"3\" cellspacing=\"0\">\n" );
+        html.append( "<tr><th class=\"colFirst\">Module</th><th class=\"colLast\">Packages</th></tr>\n" );
+        for ( SplitModule module : modules )
+        {
+            String moduleName = StringUtils.isNotEmpty( module.project.getName() ) ? module.project.getName()
+                            : module.project.getArtifactId();
+            html.append( "<tr>\n<td class=\"colFirst\"><a href=\"" ).append( module.name );
+            html.append( "/index.html\">" ).append( StringEscapeUtils.escapeHtml( moduleName ) );
+            html.append( "</a></td>\n" );
+            html.append( "<td class=\"colLast\">" );
+            for ( String packageName : module.packageNames )
+            {
+                html.append( "<a href=\"" ).append( module.name ).append( '/' );
+                html.append( packageName.replace( '.', '/' ) ).append( "/package-summary.html\">" );
+                html.append( packageName ).append( "</a><br>" );
+            }
+            html.append( "</td>\n</tr>\n" );
+        }
+        html.append( "</table>\n</body>\n</html>\n" );
+
+        try
+        {
+            FileUtils.fileWrite( new File( javadocOutputDirectory, "index.html" ).getAbsolutePath(), encoding,
+                                 html.toString() );
+        }
+        catch ( IOException e )
+        {
+            throw new MavenReportException( "Unable to write the overview: " + e.getMessage(), e );
+        }
+    }
+
+    /**
+     * Computes the fingerprint of a Javadoc run.
+     *
+     * @param jExecutable the Javadoc executable, not null
+     * @param cmd the command line with the JVM arguments, not null
+     * @param arguments the Javadoc options, not null
+     * @param sourcePaths the source paths, not null
+     * @param files the source files, not null
+     * @return the fingerprint
+     * @throws MavenReportException if the sources can't be read
+     * @see #staleDataPath
+     * @since 2.9.2
+     */
+    private String getFingerprint( String jExecutable, Commandline cmd, List<String> arguments,
+                                   List<String> sourcePaths, List<String> files )
+        throws MavenReportException
+    {
+        JavadocStaleData staleData = new JavadocStaleData();
+        staleData.add( jExecutable );
+        staleData.add( String.valueOf( fJavadocVersion ) );
+        for ( String argument : cmd.getArguments() )
+        {
+            staleData.add( argument );
+        }
+        for ( String argument : arguments )
+        {
+            staleData.add( argument );
+        }
+        for ( String file : files )
+        {
+            staleData.add( file );
+        }
+
+        try
+        {
+            for ( String sourcePath : sourcePaths )
+            {
+                staleData.addContent( new File( sourcePath ) );
+            }
+            staleData.addContent( getJavadocOptionsFile() );
+        }
+        catch ( IOException e )
+        {
+            throw new MavenReportException( "Unable to read the sources: " + e.getMessage(), e );
+        }
+
+        String classpath = getClasspath();
+        if ( classpath != null )
+        {
+            for ( String classpathElement : classpath.split( File.pathSeparator ) )
+            {
+                staleData.addTimestamp( new File( classpathElement ) );
+            }
+        }
+
+        return staleData.getFingerprint();
+    }
+
+    private void writeStaleData( File staleDataFile, String fingerprint )
+        throws MavenReportException
+    {
+        try
+        {
+            JavadocStaleData.write( staleDataFile, fingerprint );
+        }
+        catch ( IOException e )
+        {
+            throw new MavenReportException( "Unable to write " + staleDataFile + ": " + e.getMessage(), e );
+        }
+    }
+
     /**
      * Method to get the files on the specified source paths
      *
@@ -2122,31 +2696,7 @@ public abstract class AbstractJavadocMojo
                 {
                     if ( subProject != project )
                     {
-                        List<String> sourceRoots = getProjectSourceRoots( subProject );
-
-                        if ( subProject.getExecutionProject() != null )
-                        {
-                            sourceRoots.addAll( getExecutionProjectSourceRoots( subProject ) );
-                        }
-
-                        ArtifactHandler artifactHandler = subProject.getArtifact().getArtifactHandler();
-                        if ( "java".equals( artifactHandler.getLanguage() ) )
-                        {
-                            sourcePaths.addAll( JavadocUtil.pruneDirs( subProject, sourceRoots ) );
-                        }
-
-                        if ( getJavadocDirectory() != null )
-                        {
-                            String javadocDirRelative =
-                                    PathUtils.toRelative( project.getBasedir(), getJavadocDirectory().getAbsolutePath() );
-                            File javadocDir = new File( subProject.getBasedir(), javadocDirRelative );
-                            if ( javadocDir.exists() && javadocDir.isDirectory() )
-                            {
-                                List<String> l = JavadocUtil.pruneDirs( subProject, Collections.singletonList(
-                                        javadocDir.getAbsolutePath() ) );
-                                sourcePaths.addAll( l );
-                            }
-                        }
+                        sourcePaths.addAll( getSubProjectSourcePaths( subProject ) );
                     }
                 }
             }
@@ -2168,6 +2718,44 @@ public abstract class AbstractJavadocMojo
         return sourcePaths;
     }
 
+    /**
+     * @param subProject a project of the reactor, not null
+     * @return the source paths contributed by a project of the reactor to an aggregated report
+     * @since 2.9.2
+     */
+    private List<String> getSubProjectSourcePaths( MavenProject subProject )
+    {
+        List<String> sourcePaths = new ArrayList<String>();
+
+        List<String> sourceRoots = getProjectSourceRoots( subProject );
+
+        if ( subProject.getExecutionProject() != null )
+        {
+            sourceRoots.addAll( getExecutionProjectSourceRoots( subProject ) );
+        }
+
+        ArtifactHandler artifactHandler = subProject.getArtifact().getArtifactHandler();
+        if ( "java".equals( artifactHandler.getLanguage() ) )
+        {
+            sourcePaths.addAll( JavadocUtil.pruneDirs( subProject, sourceRoots ) );
+        }
+
+        if ( getJavadocDirectory() != null )
+        {
+            String javadocDirRelative =
+                    PathUtils.toRelative( project.getBasedir(), getJavadocDirectory().getAbsolutePath() );
+            File javadocDir = new File( subProject.getBasedir(), javadocDirRelative );
+            if ( javadocDir.exists() && javadocDir.isDirectory() )
+            {
+                List<String> l = JavadocUtil.pruneDirs( subProject, Collections.singletonList(
+                        javadocDir.getAbsolutePath() ) );
+                sourcePaths.addAll( l );
+            }
+        }
+
+        return sourcePaths;
+    }
+
     /**
      * Override this method to customize the configuration for resolving dependency sources. The default
      * behavior enables the resolution of -sources jar files.
@@ -2272,7 +2860,32 @@ public abstract class AbstractJavadocMojo
         return configureDependencySourceResolution(
             new SourceResolverConfig( getLog(), project, localRepository, sourceDependencyCacheDir, resolver, factory,
                                       artifactMetadataSource, archiverManager ).withReactorProjects(
-                reactorProjects ) );
+                reactorProjects ).withSharedOutputBasedir( getSharedDependencyBundlesDir() ) );
+    }
+
+    /**
+     * @return the directory where the dependency bundles are unpacked once for all the modules, or <code>null</code>
+     * if they are unpacked by every module.
+     * @see #shareDependencyBundles
+     * @since 2.9.2
+     */
+    private File getSharedDependencyBundlesDir()
+    {
+        if ( !shareDependencyBundles )
+        {
+            return null;
+        }
+
+        if ( sharedDependencyBundlesDir != null )
+        {
+            return sharedDependencyBundlesDir;
+        }
+
+        if ( localRepository == null )
+        {
+            return null;
+        }
+        return new File( localRepository.getBasedir(), ".cache/maven-javadoc-plugin/bundles" );
     }
 
     /**
@@ -3873,6 +4486,21 @@ public abstract class AbstractJavadocMojo
 
         offlineLinksList.addAll( getModulesLinks() );
 
+        if ( splitAggregateLinks != null )
+        {
+            offlineLinksList.addAll( splitAggregateLinks );
+        }
+
+        List<String> locations = new ArrayList<String>();
+        for ( OfflineLink offlineLink : offlineLinksList )
+        {
+            if ( StringUtils.isNotEmpty( offlineLink.getUrl() ) && StringUtils.isNotEmpty( offlineLink.getLocation() ) )
+            {
+                locations.add( offlineLink.getLocation() );
+            }
+        }
+        Set<String> validLocations = getValidJavadocLinks( locations );
+
         for ( OfflineLink offlineLink : offlineLinksList )
         {
             String url = offlineLink.getUrl();
@@ -3887,7 +4515,7 @@ public abstract class AbstractJavadocMojo
             {
                 continue;
             }
-            if ( isValidJavadocLink( location ) )
+            if ( validLocations.contains( location ) )
             {
                 addArgIfNotEmpty( arguments, "-linkoffline",
                                   JavadocUtil.quotedPathArgument( url ) + " " + JavadocUtil.quotedPathArgument(
@@ -3908,16 +4536,25 @@ public abstract class AbstractJavadocMojo
      * <li>Javadoc 1.4 and less throw an exception</li>
      * <li>Javadoc 1.5 and more display a warning</li>
      * </ul>
+     * In offline mode, only the remote links whose <code>package-list</code> is in the cache are kept, as
+     * <code>-linkoffline</code> options pointing to the cached <code>package-list</code>.
      *
      * @param arguments a list of arguments, not null
      * @throws MavenReportException
      * @see #detectLinks
      * @see #getDependenciesLinks()
+     * @see #packageListCacheTtl
      * @see <a href="http://docs.oracle.com/javase/1.4.2/docs/tooldocs/windows/javadoc.html#package-list">package-list spec</a>
      */
     private void addLinkArguments( List<String> arguments )
         throws MavenReportException
     {
+        PackageListCache cache = isOffline ? createPackageListCache() : null;
+        if ( isOffline && cache == null )
+        {
+            return;
+        }
+
         Set<String> links = collectLinks();
 
         for ( String link : links )
@@ -3932,7 +4569,48 @@ public abstract class AbstractJavadocMojo
                 link = link.substring( 0, link.lastIndexOf( "/" ) );
             }
 
-            addArgIfNotEmpty( arguments, "-link", JavadocUtil.quotedPathArgument( link ), true, false );
+            if ( !isOffline )
+            {
+                addArgIfNotEmpty( arguments, "-link", JavadocUtil.quotedPathArgument( link ), true, false );
+            }
+            else
+            {
+                File location = getCachedPackageListLocation( link, cache );
+                if ( location != null )
+                {
+                    addArgIfNotEmpty( arguments, "-linkoffline", JavadocUtil.quotedPathArgument( link ) + " "
+                        + JavadocUtil.quotedPathArgument( location.getAbsolutePath() ), true );
+                }
+                else if ( getLog().isDebugEnabled() )
+                {
+                    getLog().debug( "No cached package-list for the link: " + link + ", ignored it in offline mode." );
+                }
+            }
+        }
+    }
+
+    /**
+     * @param link a Javadoc link, not null
+     * @param cache the cache of remote <code>package-list</code> resources, or <code>null</code>
+     * @return the directory holding the cached <code>package-list</code> of a remote link, or <code>null</code> if
+     *         it is not cached
+     * @since 2.9.2
+     */
+    private File getCachedPackageListLocation( String link, PackageListCache cache )
+    {
+        String lowerCaseLink = link.trim().toLowerCase( Locale.ENGLISH );
+        if ( cache == null || !( lowerCaseLink.startsWith( "http:" ) || lowerCaseLink.startsWith( "https:" ) ) )
+        {
+            return null;
+        }
+
+        try
+        {
+            return cache.getCachedLocation( new URL( link + "/package-list" ) );
+        }
+        catch ( MalformedURLException e )
+        {
+            return null;
         }
     }
 
@@ -4671,10 +5349,7 @@ public abstract class AbstractJavadocMojo
 
         addArgIf( arguments, keywords, "-keywords", SINCE_JAVADOC_1_4_2 );
 
-        if ( !isOffline )
-        {
-            addLinkArguments( arguments );
-        }
+        addLinkArguments( arguments );
 
         addLinkofflineArguments( arguments );
 
@@ -5431,7 +6106,7 @@ public abstract class AbstractJavadocMojo
      * @return the detected Javadoc links using the Maven conventions for all dependencies defined in the current
      *         project or an empty list.
      * @see #detectLinks
-     * @see #isValidJavadocLink(String)
+     * @see #getValidJavadocLinks(List)
      * @since 2.6
      */
     private List<String> getDependenciesLinks()
@@ -5443,7 +6118,7 @@ public abstract class AbstractJavadocMojo
 
         getLog().debug( "Trying to add links for dependencies..." );
 
-        List<String> dependenciesLinks = new ArrayList<String>();
+        Map<String, String> candidateLinks = new LinkedHashMap<String, String>();
 
         final Set<Artifact> dependencies = project.getDependencyArtifacts();
         for ( Artifact artifact : dependencies )
@@ -5460,14 +6135,7 @@ public abstract class AbstractJavadocMojo
 
                 if ( StringUtils.isNotEmpty( artifactProject.getUrl() ) )
                 {
-                    String url = getJavadocLink( artifactProject );
-
-                    if ( isValidJavadocLink( url ) )
-                    {
-                        getLog().debug( "Added Javadoc link: " + url + " for " + artifactProject.getId() );
-
-                        dependenciesLinks.add( url );
-                    }
+                    candidateLinks.put( getJavadocLink( artifactProject ), artifactProject.getId() );
                 }
             }
             catch ( ProjectBuildingException e )
@@ -5476,6 +6144,19 @@ public abstract class AbstractJavadocMojo
             }
         }
 
+        Set<String> validLinks = getValidJavadocLinks( new ArrayList<String>( candidateLinks.keySet() ) );
+
+        List<String> dependenciesLinks = new ArrayList<String>();
+        for ( Map.Entry<String, String> candidateLink : candidateLinks.entrySet() )
+        {
+            if ( validLinks.contains( candidateLink.getKey() ) )
+            {
+                getLog().debug( "Added Javadoc link: " + candidateLink.getKey() + " for " + candidateLink.getValue() );
+
+                dependenciesLinks.add( candidateLink.getKey() );
+            }
+        }
+
         return dependenciesLinks;
     }
 
@@ -5587,14 +6268,107 @@ public abstract class AbstractJavadocMojo
         return link;
     }
 
+    /**
+     * @return the cache of the remote <code>package-list</code> resources, or <code>null</code> if it is disabled.
+     * @see #packageListCacheDirectory
+     * @see #packageListCacheTtl
+     * @since 2.9.2
+     */
+    private PackageListCache createPackageListCache()
+    {
+        if ( packageListCacheTtl < 0 )
+        {
+            return null;
+        }
+
+        File cacheDirectory = packageListCacheDirectory;
+        if ( cacheDirectory == null )
+        {
+            if ( localRepository == null )
+            {
+                return null;
+            }
+            cacheDirectory = new File( localRepository.getBasedir(), ".cache/maven-javadoc-plugin/package-lists" );
+        }
+
+        return new PackageListCache( cacheDirectory, packageListCacheTtl * 60L * 1000L, isOffline, settings );
+    }
+
+    /**
+     * Validates several links at the same time, sharing the cache of <code>package-list</code> resources.
+     *
+     * @param links the links to validate, not null
+     * @return the valid links
+     * @see #isValidJavadocLink(String, PackageListCache)
+     * @since 2.9.2
+     */
+    private Set<String> getValidJavadocLinks( List<String> links )
+    {
+        Set<String> validLinks = new HashSet<String>();
+        if ( links.isEmpty() )
+        {
+            return validLinks;
+        }
+
+        final PackageListCache cache = createPackageListCache();
+        ExecutorService executor = Executors.newFixedThreadPool( Math.min( links.size(), LINK_VALIDATION_THREADS ) );
+        try
+        {
+            Map<String, Future<Boolean>> results = new LinkedHashMap<String, Future<Boolean>>();
+            for ( final String link : links )
+            {
+                if ( !results.containsKey( link ) )
+                {
+                    results.put( link, executor.submit( new Callable<Boolean>()
+                    {
+                        public Boolean call()
+                        {
+                            return isValidJavadocLink( link, cache );
+                        }
+                    } ) );
+                }
+            }
+
+            for ( Map.Entry<String, Future<Boolean>> result : results.entrySet() )
+            {
+                try
+                {
+                    if ( result.getValue().get() )
+                    {
+                        validLinks.add( result.getKey() );
+                    }
+                }
+                catch ( ExecutionException e )
+                {
+                    logError( "Error validating link: " + result.getKey() + ". Ignored it.", e.getCause() );
+                }
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            executor.shutdownNow();
+            if ( cache != null )
+            {
+                cache.close();
+            }
+        }
+
+        return validLinks;
+    }
+
     /**
      * @param link not null
+     * @param cache the cache of remote <code>package-list</code> resources, or <code>null</code>
      * @return <code>true</code> if the link has a <code>/package-list</code>, <code>false</code> otherwise.
      * @see <a href="http://docs.oracle.com/javase/1.4.2/docs/tooldocs/solaris/javadoc.html#package-list">
      *      package-list spec</a>
      * @since 2.6
      */
-    private boolean isValidJavadocLink( String link )
+    private boolean isValidJavadocLink( String link, PackageListCache cache )
     {
         try
         {
@@ -5620,7 +6394,7 @@ public abstract class AbstractJavadocMojo
                 linkUri = new File( dir, "package-list" ).toURI();
             }
 
-            if ( !JavadocUtil.isValidPackageList( linkUri.toURL(), settings, validateLinks ) )
+            if ( !JavadocUtil.isValidPackageList( linkUri.toURL(), settings, validateLinks, cache ) )
             {
                 if ( getLog().isErrorEnabled() )
                 {
@@ -5642,7 +6416,16 @@ public abstract class AbstractJavadocMojo
         }
         catch ( IOException e )
         {
-            if ( getLog().isErrorEnabled() )
+            String lowerCaseLink = link.trim().toLowerCase( Locale.ENGLISH );
+            if ( isOffline && ( lowerCaseLink.startsWith( "http:" ) || lowerCaseLink.startsWith( "https:" ) ) )
+            {
+                // the remote resources which are not cached can't be fetched
+                if ( getLog().isDebugEnabled() )
+                {
+                    getLog().debug( "No cached package-list for the link: " + link + ", ignored it in offline mode." );
+                }
+            }
+            else if ( getLog().isErrorEnabled() )
             {
                 getLog().error( "Error fetching link: " + link + "/package-list. Ignored it." );
             }
@@ -5900,4 +6683,45 @@ public abstract class AbstractJavadocMojo
 
         getLog().error( prefix + ": " + e.getMessage(), e );
     }
+
+    /**
+     * A module of a split aggregated report.
+     *
+     * @since 2.9.2
+     */
+    private static class SplitModule
+    {
+        private final MavenProject project;
+
+        /** The name of the sub directory of the module. */
+        private final String name;
+
+        private final List<String> sourcePaths;
+
+        private final List<String> files;
+
+        private final List<String> packageNames;
+
+        private final List<String> filesWithUnnamedPackages;
+
+        private final File outputDirectory;
+
+        private Commandline cmd;
+
+        private File staleDataFile;
+
+        private String fingerprint;
+
+        SplitModule( MavenProject project, String name, List<String> sourcePaths, List<String> files,
+                     List<String> packageNames, List<String> filesWithUnnamedPackages, File outputDirectory )
+        {
+            this.project = project;
+            this.name = name;
+            this.sourcePaths = sourcePaths;
+            this.files = files;
+            this.packageNames = packageNames;
+            this.filesWithUnnamedPackages = filesWithUnnamedPackages;
+            this.outputDirectory = outputDirectory;
+        }
+    }
 }
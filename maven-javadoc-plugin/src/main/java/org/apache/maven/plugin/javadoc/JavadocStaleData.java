@@ -0,0 +1,189 @@
+package org.apache.maven.plugin.javadoc;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.IOUtil;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Fingerprint of everything a Javadoc run depends on: the executable, the options, the content of the sources and
+ * the classpath. When the fingerprint of a run equals the one stored by the previous run, and the previous output is
+ * still there, the run can be skipped.
+ *
+ * @version $Id$
+ * @since 2.9.2
+ */
+public class JavadocStaleData
+{
+    private final MessageDigest digest;
+
+    public JavadocStaleData()
+    {
+        try
+        {
+            digest = MessageDigest.getInstance( "MD5" );
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new RuntimeException( "MD5 digest not available", e );
+        }
+    }
+
+    /**
+     * @param value a value the run depends on, may be <code>null</code>.
+     */
+    public void add( String value )
+    {
+        try
+        {
+            digest.update( String.valueOf( value ).getBytes( "UTF-8" ) );
+            digest.update( (byte) 0 );
+        }
+        catch ( UnsupportedEncodingException e )
+        {
+            throw new RuntimeException( "UTF-8 encoding not available", e );
+        }
+    }
+
+    /**
+     * Adds the content of a file, or of all the files of a directory.
+     *
+     * @param file a file or a directory, ignored if it does not exist.
+     * @throws IOException if a file can't be read.
+     */
+    public void addContent( File file )
+        throws IOException
+    {
+        if ( file.isDirectory() )
+        {
+            String[] names = file.list();
+            Arrays.sort( names );
+            for ( String name : names )
+            {
+                addContent( new File( file, name ) );
+            }
+        }
+        else if ( file.isFile() )
+        {
+            add( file.getAbsolutePath() );
+
+            InputStream in = null;
+            try
+            {
+                in = new FileInputStream( file );
+                byte[] buffer = new byte[8192];
+                int read;
+                while ( ( read = in.read( buffer ) ) >= 0 )
+                {
+                    digest.update( buffer, 0, read );
+                }
+            }
+            finally
+            {
+                IOUtil.close( in );
+            }
+        }
+    }
+
+    /**
+     * Adds the size and the last modification date of a file, or of all the files of a directory. This is enough
+     * for classpath entries, which are far bigger than the sources.
+     *
+     * @param file a file or a directory, ignored if it does not exist.
+     */
+    public void addTimestamp( File file )
+    {
+        if ( file.isDirectory() )
+        {
+            String[] names = file.list();
+            Arrays.sort( names );
+            for ( String name : names )
+            {
+                addTimestamp( new File( file, name ) );
+            }
+        }
+        else if ( file.isFile() )
+        {
+            add( file.getAbsolutePath() + ':' + file.length() + ':' + file.lastModified() );
+        }
+    }
+
+    /**
+     * @return the hex encoded fingerprint of everything added so far.
+     */
+    public String getFingerprint()
+    {
+        StringBuilder hex = new StringBuilder();
+        for ( byte b : digest.digest() )
+        {
+            hex.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) ).append( Character.forDigit( b & 0xF, 16 ) );
+        }
+        return hex.toString();
+    }
+
+    /**
+     * @param staleDataFile the file where the previous fingerprint was stored, not null.
+     * @param fingerprint the fingerprint of the current run, not null.
+     * @return <code>true</code> if the previous run had the same fingerprint.
+     */
+    public static boolean isUpToDate( File staleDataFile, String fingerprint )
+    {
+        if ( !staleDataFile.isFile() )
+        {
+            return false;
+        }
+
+        try
+        {
+            return fingerprint.equals( FileUtils.fileRead( staleDataFile, "UTF-8" ).trim() );
+        }
+        catch ( IOException e )
+        {
+            return false;
+        }
+    }
+
+    /**
+     * @param staleDataFile the file where the fingerprint is stored, not null.
+     * @param fingerprint the fingerprint of the current run, or <code>null</code> to forget the previous one.
+     * @throws IOException if the file can't be written.
+     */
+    public static void write( File staleDataFile, String fingerprint )
+        throws IOException
+    {
+        if ( fingerprint == null )
+        {
+            staleDataFile.delete();
+            return;
+        }
+
+        staleDataFile.getAbsoluteFile().getParentFile().mkdirs();
+        FileUtils.fileWrite( staleDataFile, "UTF-8", fingerprint );
+    }
+}
@@ -81,10 +81,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarInputStream;
 import java.util.regex.Matcher;
@@ -108,6 +110,9 @@ public class JavadocUtil
         "Error occurred during initialization of VM, try to reduce the Java heap size for the MAVEN_OPTS "
         + "environnement variable using -Xms:<size> and -Xmx:<size>.";
 
+    /** The versions of the javadoc executables already probed, by path and modification date. */
+    private static final Map<String, Float> JAVADOC_VERSIONS = new ConcurrentHashMap<String, Float>();
+
     /**
      * Method that removes the invalid directories in the specified directories.
      * <b>Note</b>: All elements in <code>dirs</code> could be an absolute or relative against the project's base
@@ -559,6 +564,20 @@ public class JavadocUtil
             throw new IOException( "The javadoc executable '" + javadocExe + "' doesn't exist or is not a file. " );
         }
 
+        // the executable is probed once per build, unless it is replaced in between
+        String key = javadocExe.getAbsolutePath() + ':' + javadocExe.lastModified();
+        Float version = JAVADOC_VERSIONS.get( key );
+        if ( version == null )
+        {
+            version = Float.valueOf( probeJavadocVersion( javadocExe ) );
+            JAVADOC_VERSIONS.put( key, version );
+        }
+        return version.floatValue();
+    }
+
+    private static float probeJavadocVersion( File javadocExe )
+        throws IOException, CommandLineException, IllegalArgumentException
+    {
         Commandline cmd = new Commandline();
         cmd.setExecutable( javadocExe.getAbsolutePath() );
         cmd.setWorkingDirectory( javadocExe.getParentFile() );
@@ -1654,6 +1673,32 @@ public class JavadocUtil
      */
     protected static boolean isValidPackageList( URL url, Settings settings, boolean validateContent )
         throws IOException
+    {
+        return isValidPackageList( url, settings, validateContent, null );
+    }
+
+    /**
+     * Validates an <code>URL</code> to point to a valid <code>package-list</code> resource, going through a cache
+     * for <code>http</code> and <code>https</code> URLs.
+     *
+     * @param url The URL to validate.
+     * @param settings The user settings used to configure the connection to the URL or {@code null}.
+     * @param validateContent <code>true</code> to validate the content of the <code>package-list</code> resource;
+     * <code>false</code> to only check the existence of the <code>package-list</code> resource.
+     * @param cache The cache of remote <code>package-list</code> resources or {@code null} to always fetch them.
+     *
+     * @return <code>true</code> if <code>url</code> points to a valid <code>package-list</code> resource;
+     * <code>false</code> else.
+     *
+     * @throws IOException if reading the resource fails.
+     *
+     * @see PackageListCache
+     *
+     * @since 2.9.2
+     */
+    protected static boolean isValidPackageList( URL url, Settings settings, boolean validateContent,
+                                                 PackageListCache cache )
+        throws IOException
     {
         if ( url == null )
         {
@@ -1671,6 +1716,12 @@ public class JavadocUtil
                 // Intentionally using the platform default encoding here since this is what Javadoc uses internally.
                 reader = new BufferedReader( new InputStreamReader( url.openStream() ) );
             }
+            else if ( cache != null && equalsIgnoreCase( url.getProtocol(), "http", "https" ) )
+            {
+                // Intentionally using the platform default encoding here since this is what Javadoc uses internally.
+                reader = new BufferedReader(
+                    new InputStreamReader( new FileInputStream( cache.getPackageList( url ) ) ) );
+            }
             else
             {
                 // http, https...
@@ -1779,7 +1830,7 @@ public class JavadocUtil
      * @see #DEFAULT_TIMEOUT
      * @since 2.8
      */
-    private static HttpClient createHttpClient( Settings settings, URL url )
+    static HttpClient createHttpClient( Settings settings, URL url )
     {
         DefaultHttpClient httpClient = new DefaultHttpClient( new PoolingClientConnectionManager() );
         httpClient.getParams().setIntParameter( CoreConnectionPNames.SO_TIMEOUT, DEFAULT_TIMEOUT );
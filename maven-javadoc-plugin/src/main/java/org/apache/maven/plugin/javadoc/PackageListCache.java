@@ -0,0 +1,415 @@
+package org.apache.maven.plugin.javadoc;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.maven.settings.Settings;
+import org.codehaus.plexus.util.IOUtil;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Local cache of remote <code>package-list</code> resources, shared between modules and builds.
+ * <br/>
+ * Every URL gets its own directory, holding the downloaded <code>package-list</code> and its HTTP metadata. Entries
+ * younger than the time to live are used as is, older ones are revalidated with the <code>ETag</code> and
+ * <code>Last-Modified</code> headers of the previous response. Missing resources (<code>404</code> and <code>410</code>
+ * responses) are cached too, so that the links which are known to be broken are not requested again on every build.
+ * On any other failure, the previous copy, if any, is used as is. In offline mode, the cached entries are used
+ * whatever their age.
+ * <br/>
+ * An instance can be used by several threads. The HTTP clients it creates are released by {@link #close()}.
+ *
+ * @version $Id$
+ * @since 2.9.2
+ */
+public class PackageListCache
+{
+    private static final String PACKAGE_LIST = "package-list";
+
+    private static final String METADATA = "package-list.properties";
+
+    private static final int MAX_CONNECTIONS_PER_HOST = 8;
+
+    private final File directory;
+
+    private final long timeToLive;
+
+    private final boolean offline;
+
+    private final Settings settings;
+
+    /** One client by host, since the proxy to use depends on the host. */
+    private final Map<String, HttpClient> httpClients = new HashMap<String, HttpClient>();
+
+    /** One lock by URL, so that a resource is fetched once even when several threads ask for it. */
+    private final Map<String, Object> locks = new HashMap<String, Object>();
+
+    /**
+     * @param directory the directory where the resources are cached, not null.
+     * @param timeToLive the time in milliseconds a cached resource is used without being revalidated.
+     * @param offline <code>true</code> to never connect to the remote servers.
+     * @param settings the user settings used to configure the connections, or <code>null</code>.
+     */
+    public PackageListCache( File directory, long timeToLive, boolean offline, Settings settings )
+    {
+        this.directory = directory;
+        this.timeToLive = timeToLive;
+        this.offline = offline;
+        this.settings = settings;
+    }
+
+    /**
+     * Gets a <code>package-list</code> resource, from the cache if it is fresh enough, else from the remote server.
+     *
+     * @param url the URL of the <code>package-list</code> resource, using the <code>http</code> or
+     * <code>https</code> protocol.
+     * @return the local copy of the resource.
+     * @throws IOException if the resource can't be fetched and is not in the cache.
+     * @throws FileNotFoundException if the resource does not exist, or is not in the cache in offline mode.
+     */
+    public File getPackageList( URL url )
+        throws IOException
+    {
+        String key = url.toExternalForm();
+        synchronized ( getLock( key ) )
+        {
+            File entryDirectory = getEntryDirectory( key );
+            Properties metadata = readMetadata( entryDirectory );
+
+            if ( metadata != null )
+            {
+                long fetched = Long.parseLong( metadata.getProperty( "fetched", "0" ) );
+                if ( offline || System.currentTimeMillis() - fetched < timeToLive )
+                {
+                    return getCachedPackageList( url, entryDirectory, metadata );
+                }
+            }
+            else if ( offline )
+            {
+                throw new FileNotFoundException( "The resource " + key + " is not cached, and Maven is offline." );
+            }
+
+            try
+            {
+                return fetch( url, entryDirectory, metadata );
+            }
+            catch ( FileNotFoundException e )
+            {
+                throw e;
+            }
+            catch ( IOException e )
+            {
+                if ( metadata == null )
+                {
+                    throw e;
+                }
+                // the server is not reachable: a stale copy is better than nothing
+                return getCachedPackageList( url, entryDirectory, metadata );
+            }
+        }
+    }
+
+    /**
+     * Gets the directory holding the cached copy of a <code>package-list</code> resource, whatever its age, to be
+     * used as the location of a <code>-linkoffline</code> option.
+     *
+     * @param url the URL of the <code>package-list</code> resource.
+     * @return the directory holding the local copy, or <code>null</code> if the resource is not in the cache or is
+     * known to be missing.
+     */
+    public File getCachedLocation( URL url )
+    {
+        String key = url.toExternalForm();
+        synchronized ( getLock( key ) )
+        {
+            File entryDirectory = getEntryDirectory( key );
+            Properties metadata = readMetadata( entryDirectory );
+            if ( metadata == null || !String.valueOf( HttpStatus.SC_OK ).equals( metadata.getProperty( "status" ) )
+                || !new File( entryDirectory, PACKAGE_LIST ).isFile() )
+            {
+                return null;
+            }
+            return entryDirectory;
+        }
+    }
+
+    /**
+     * Releases the HTTP clients.
+     */
+    public void close()
+    {
+        synchronized ( httpClients )
+        {
+            for ( HttpClient httpClient : httpClients.values() )
+            {
+                httpClient.getConnectionManager().shutdown();
+            }
+            httpClients.clear();
+        }
+    }
+
+    private File fetch( URL url, File entryDirectory, Properties previous )
+        throws IOException
+    {
+        HttpGet httpMethod = new HttpGet( url.toString() );
+        if ( previous != null && new File( entryDirectory, PACKAGE_LIST ).isFile() )
+        {
+            if ( previous.getProperty( "etag" ) != null )
+            {
+                httpMethod.addHeader( "If-None-Match", previous.getProperty( "etag" ) );
+            }
+            if ( previous.getProperty( "lastModified" ) != null )
+            {
+                httpMethod.addHeader( "If-Modified-Since", previous.getProperty( "lastModified" ) );
+            }
+        }
+
+        try
+        {
+            HttpClient httpClient = getHttpClient( url );
+            HttpResponse response;
+            try
+            {
+                response = httpClient.execute( httpMethod );
+            }
+            catch ( SocketTimeoutException e )
+            {
+                // could be a sporadic failure, one more retry before we give up
+                response = httpClient.execute( httpMethod );
+            }
+
+            int status = response.getStatusLine().getStatusCode();
+            Properties metadata = new Properties();
+            metadata.setProperty( "url", url.toExternalForm() );
+            metadata.setProperty( "fetched", String.valueOf( System.currentTimeMillis() ) );
+
+            if ( status == HttpStatus.SC_NOT_MODIFIED && previous != null )
+            {
+                previous.setProperty( "fetched", metadata.getProperty( "fetched" ) );
+                writeMetadata( entryDirectory, previous );
+                return getCachedPackageList( url, entryDirectory, previous );
+            }
+
+            if ( status != HttpStatus.SC_OK && status != HttpStatus.SC_NOT_FOUND && status != HttpStatus.SC_GONE )
+            {
+                // maybe a temporary failure: the cached entry is kept, and the resource is fetched again next time
+                throw new IOException( "Unexpected HTTP status code " + status + " getting resource "
+                    + url.toExternalForm() + "." );
+            }
+
+            metadata.setProperty( "status", String.valueOf( status ) );
+            if ( status == HttpStatus.SC_OK )
+            {
+                entryDirectory.mkdirs();
+                File temp = File.createTempFile( PACKAGE_LIST, ".tmp", entryDirectory );
+                InputStream in = null;
+                OutputStream out = null;
+                try
+                {
+                    in = response.getEntity().getContent();
+                    out = new FileOutputStream( temp );
+                    IOUtil.copy( in, out );
+                    out.close();
+                    out = null;
+                }
+                finally
+                {
+                    IOUtil.close( in );
+                    IOUtil.close( out );
+                }
+                rename( temp, new File( entryDirectory, PACKAGE_LIST ) );
+
+                setHeader( metadata, "etag", response.getFirstHeader( "ETag" ) );
+                setHeader( metadata, "lastModified", response.getFirstHeader( "Last-Modified" ) );
+            }
+            else
+            {
+                new File( entryDirectory, PACKAGE_LIST ).delete();
+            }
+            writeMetadata( entryDirectory, metadata );
+
+            return getCachedPackageList( url, entryDirectory, metadata );
+        }
+        finally
+        {
+            httpMethod.releaseConnection();
+        }
+    }
+
+    private static File getCachedPackageList( URL url, File entryDirectory, Properties metadata )
+        throws FileNotFoundException
+    {
+        String status = metadata.getProperty( "status" );
+        File packageList = new File( entryDirectory, PACKAGE_LIST );
+        if ( !String.valueOf( HttpStatus.SC_OK ).equals( status ) || !packageList.isFile() )
+        {
+            throw new FileNotFoundException( "Unexpected HTTP status code " + status + " getting resource "
+                + url.toExternalForm() + "." );
+        }
+        return packageList;
+    }
+
+    private HttpClient getHttpClient( URL url )
+    {
+        synchronized ( httpClients )
+        {
+            HttpClient httpClient = httpClients.get( url.getHost() );
+            if ( httpClient == null )
+            {
+                httpClient = JavadocUtil.createHttpClient( settings, url );
+                if ( httpClient.getConnectionManager() instanceof PoolingClientConnectionManager )
+                {
+                    ( (PoolingClientConnectionManager) httpClient.getConnectionManager() ).setDefaultMaxPerRoute(
+                        MAX_CONNECTIONS_PER_HOST );
+                }
+                httpClients.put( url.getHost(), httpClient );
+            }
+            return httpClient;
+        }
+    }
+
+    private Object getLock( String key )
+    {
+        synchronized ( locks )
+        {
+            Object lock = locks.get( key );
+            if ( lock == null )
+            {
+                lock = new Object();
+                locks.put( key, lock );
+            }
+            return lock;
+        }
+    }
+
+    private File getEntryDirectory( String key )
+    {
+        try
+        {
+            MessageDigest digest = MessageDigest.getInstance( "MD5" );
+            StringBuilder name = new StringBuilder();
+            for ( byte b : digest.digest( key.getBytes( "UTF-8" ) ) )
+            {
+                name.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) ).append( Character.forDigit( b & 0xF, 16 ) );
+            }
+            return new File( directory, name.toString() );
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new RuntimeException( "MD5 digest not available", e );
+        }
+        catch ( UnsupportedEncodingException e )
+        {
+            throw new RuntimeException( "UTF-8 encoding not available", e );
+        }
+    }
+
+    private static Properties readMetadata( File entryDirectory )
+    {
+        File file = new File( entryDirectory, METADATA );
+        if ( !file.isFile() )
+        {
+            return null;
+        }
+
+        InputStream in = null;
+        try
+        {
+            in = new FileInputStream( file );
+            Properties metadata = new Properties();
+            metadata.load( in );
+            return metadata.getProperty( "status" ) != null ? metadata : null;
+        }
+        catch ( IOException e )
+        {
+            // a corrupted entry is fetched again
+            return null;
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+    }
+
+    private static void writeMetadata( File entryDirectory, Properties metadata )
+        throws IOException
+    {
+        entryDirectory.mkdirs();
+        File temp = File.createTempFile( METADATA, ".tmp", entryDirectory );
+        OutputStream out = null;
+        try
+        {
+            out = new FileOutputStream( temp );
+            metadata.store( out, "package-list cache entry" );
+            out.close();
+            out = null;
+        }
+        finally
+        {
+            IOUtil.close( out );
+        }
+        rename( temp, new File( entryDirectory, METADATA ) );
+    }
+
+    /**
+     * Replaces a file, so that other builds sharing the cache never read a partially written file.
+     */
+    private static void rename( File source, File destination )
+        throws IOException
+    {
+        if ( !source.renameTo( destination ) )
+        {
+            destination.delete();
+            if ( !source.renameTo( destination ) )
+            {
+                source.delete();
+                throw new IOException( "Unable to write " + destination );
+            }
+        }
+    }
+
+    private static void setHeader( Properties metadata, String key, Header header )
+    {
+        if ( header != null && header.getValue() != null )
+        {
+            metadata.setProperty( key, header.getValue() );
+        }
+    }
+}
@@ -39,11 +39,15 @@ import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.archiver.ArchiverException;
 import org.codehaus.plexus.archiver.UnArchiver;
 import org.codehaus.plexus.archiver.manager.NoSuchArchiverException;
+import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -52,6 +56,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class ResourceResolver
 {
@@ -67,6 +72,9 @@ public final class ResourceResolver
         Arrays.asList(AbstractJavadocMojo.JAVADOC_RESOURCES_ATTACHMENT_CLASSIFIER,
                 AbstractJavadocMojo.TEST_JAVADOC_RESOURCES_ATTACHMENT_CLASSIFIER);
 
+    /** The checksums of the artifacts already unpacked in this build, by path, size and modification date. */
+    private static final Map<String, String> CHECKSUMS = new ConcurrentHashMap<String, String>();
+
     private ResourceResolver()
     {
     }
@@ -354,25 +362,35 @@ public final class ResourceResolver
                 continue;
             }
 
-            final File d =
-                new File( config.outputBasedir(), a.getArtifactId() + "-" + a.getVersion() + "-" + a.getClassifier() );
-
-            if ( !d.exists() )
-            {
-                d.mkdirs();
-            }
-
             try
             {
-                final UnArchiver unArchiver = config.archiverManager().getUnArchiver( a.getType() );
+                final File d;
+                if ( config.sharedOutputBasedir() != null )
+                {
+                    d = unpackShared( a, config );
+                }
+                else
+                {
+                    d = new File( config.outputBasedir(),
+                                  a.getArtifactId() + "-" + a.getVersion() + "-" + a.getClassifier() );
 
-                unArchiver.setDestDirectory( d );
-                unArchiver.setSourceFile( a.getFile() );
+                    if ( !d.exists() )
+                    {
+                        d.mkdirs();
+                    }
 
-                unArchiver.extract();
+                    unpack( a, d, config );
+                }
 
                 result.add( d.getAbsolutePath() );
             }
+            catch ( final IOException e )
+            {
+                if ( propagateErrors )
+                {
+                    throw new ArtifactResolutionException( "Failed to unpack: " + a.getId(), a, e );
+                }
+            }
             catch ( final NoSuchArchiverException e )
             {
                 if ( propagateErrors )
@@ -393,6 +411,98 @@ public final class ResourceResolver
         return result;
     }
 
+    private static void unpack( final Artifact a, final File d, final SourceResolverConfig config )
+        throws NoSuchArchiverException, ArchiverException
+    {
+        final UnArchiver unArchiver = config.archiverManager().getUnArchiver( a.getType() );
+
+        unArchiver.setDestDirectory( d );
+        unArchiver.setSourceFile( a.getFile() );
+
+        unArchiver.extract();
+    }
+
+    /**
+     * Unpacks an artifact in the shared output directory, unless a previous build or another project already did.
+     * The directory is named after the checksum of the artifact, and only appears once the artifact is completely
+     * unpacked.
+     */
+    static File unpackShared( final Artifact a, final SourceResolverConfig config )
+        throws IOException, NoSuchArchiverException, ArchiverException
+    {
+        final File d = new File( config.sharedOutputBasedir(), checksum( a.getFile() ) );
+        if ( d.isDirectory() )
+        {
+            return d;
+        }
+
+        config.sharedOutputBasedir().mkdirs();
+        final File temp = File.createTempFile( d.getName(), ".tmp", config.sharedOutputBasedir() );
+        temp.delete();
+        temp.mkdirs();
+        try
+        {
+            unpack( a, temp, config );
+
+            if ( !temp.renameTo( d ) && !d.isDirectory() )
+            {
+                throw new IOException( "Unable to move " + temp + " to " + d );
+            }
+        }
+        finally
+        {
+            if ( temp.exists() )
+            {
+                FileUtils.deleteDirectory( temp );
+            }
+        }
+        return d;
+    }
+
+    private static String checksum( final File file )
+        throws IOException
+    {
+        final String key = file.getAbsolutePath() + ':' + file.length() + ':' + file.lastModified();
+        String checksum = CHECKSUMS.get( key );
+        if ( checksum == null )
+        {
+            final MessageDigest digest;
+            try
+            {
+                digest = MessageDigest.getInstance( "SHA-1" );
+            }
+            catch ( final NoSuchAlgorithmException e )
+            {
+                throw new IllegalStateException( "SHA-1 digest not available" );
+            }
+
+            InputStream in = null;
+            try
+            {
+                in = new FileInputStream( file );
+                final byte[] buffer = new byte[8192];
+                int read;
+                while ( ( read = in.read( buffer ) ) >= 0 )
+                {
+                    digest.update( buffer, 0, read );
+                }
+            }
+            finally
+            {
+                close( in );
+            }
+
+            final StringBuilder hex = new StringBuilder();
+            for ( final byte b : digest.digest() )
+            {
+                hex.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) ).append( Character.forDigit( b & 0xF, 16 ) );
+            }
+            checksum = hex.toString();
+            CHECKSUMS.put( key, checksum );
+        }
+        return checksum;
+    }
+
     @SuppressWarnings( "unchecked" )
     private static List<String> resolveFromProject( final SourceResolverConfig config,
                                                     final MavenProject reactorProject, final Artifact artifact )
@@ -42,6 +42,8 @@ public class SourceResolverConfig
 
     private final File outputBasedir;
 
+    private File sharedOutputBasedir;
+
     private boolean compileSourceIncluded;
 
     private boolean testSourceIncluded;
@@ -86,6 +88,18 @@ public class SourceResolverConfig
         return this;
     }
 
+    /**
+     * @param sharedOutputBasedir the directory where the artifacts are unpacked once for all the projects, in
+     * directories named after their checksum, or <code>null</code> to unpack them in the output directory.
+     * @return this config
+     * @since 2.9.2
+     */
+    public SourceResolverConfig withSharedOutputBasedir( final File sharedOutputBasedir )
+    {
+        this.sharedOutputBasedir = sharedOutputBasedir;
+        return this;
+    }
+
     public SourceResolverConfig withCompileSources()
     {
         compileSourceIncluded = true;
@@ -135,6 +149,11 @@ public class SourceResolverConfig
         return outputBasedir;
     }
 
+    public File sharedOutputBasedir()
+    {
+        return sharedOutputBasedir;
+    }
+
     public boolean includeCompileSources()
     {
         return compileSourceIncluded;
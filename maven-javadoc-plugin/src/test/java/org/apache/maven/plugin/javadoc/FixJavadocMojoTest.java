@@ -176,6 +176,17 @@ public class FixJavadocMojoTest
         executeMojoAndTest( testPomBasedir, new String[] { "ClassWithJavadoc.java", "InterfaceWithJavadoc.java" } );
     }
 
+    /**
+     * @throws Exception if any
+     */
+    public void testFixThreads()
+        throws Exception
+    {
+        File testPomBasedir = new File( getBasedir(), "target/test/unit/fix-jdk5-test" );
+        executeMojoAndTest( testPomBasedir, new String[] { "ClassWithJavadoc.java", "ClassWithNoJavadoc.java",
+            "InterfaceWithJavadoc.java", "InterfaceWithNoJavadoc.java", "SubClassWithJavadoc.java" }, 4 );
+    }
+
     // ----------------------------------------------------------------------
     // Test private static methods
     // ----------------------------------------------------------------------
@@ -586,6 +597,18 @@ public class FixJavadocMojoTest
      */
     private void executeMojoAndTest( File testPomBasedir, String[] clazzToCompare )
         throws Exception
+    {
+        executeMojoAndTest( testPomBasedir, clazzToCompare, 1 );
+    }
+
+    /**
+     * @param testPomBasedir the basedir for the test project
+     * @param clazzToCompare an array of the classes name to compare
+     * @param threads the number of threads used to fix the classes
+     * @throws Exception if any
+     */
+    private void executeMojoAndTest( File testPomBasedir, String[] clazzToCompare, int threads )
+        throws Exception
     {
         prepareTestProjects( testPomBasedir.getName() );
 
@@ -594,6 +617,7 @@ public class FixJavadocMojoTest
 
         FixJavadocMojo mojo = (FixJavadocMojo) lookupMojo( "fix", testPom );
         assertNotNull( mojo );
+        setVariableValueToObject( mojo, "threads", Integer.valueOf( threads ) );
 
         // compile the test project
         invokeCompileGoal( testPom, mojo.getLog() );
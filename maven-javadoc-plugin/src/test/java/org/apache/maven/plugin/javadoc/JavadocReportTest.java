@@ -214,6 +214,36 @@ public class JavadocReportTest
         assertTrue( new File( apidocs, "stylesheet.css" ).exists() );
     }
 
+    /**
+     * Method to test the staleDataPath parameter.
+     *
+     * @throws Exception if any
+     */
+    public void testStaleData()
+        throws Exception
+    {
+        File testPom = new File( unit, "default-configuration/default-configuration-plugin-config.xml" );
+        JavadocReport mojo = (JavadocReport) lookupMojo( "javadoc", testPom );
+        File staleData = new File( getBasedir(), "target/test/unit/default-configuration/target/javadoc-stale-data" );
+        staleData.delete();
+        setVariableValueToObject( mojo, "staleDataPath", staleData );
+        mojo.execute();
+
+        File apidocs = new File( getBasedir(), "target/test/unit/default-configuration/target/site/apidocs" );
+        File helpDoc = new File( apidocs, "help-doc.html" );
+        assertTrue( staleData.exists() );
+        assertTrue( helpDoc.delete() );
+
+        // nothing changed
+        mojo.execute();
+        assertFalse( helpDoc.exists() );
+
+        // the options changed
+        setVariableValueToObject( mojo, "windowtitle", "Stale data test" );
+        mojo.execute();
+        assertTrue( helpDoc.exists() );
+    }
+
     /**
      * Method for testing the subpackages and excludePackageNames parameter
      *
@@ -426,6 +456,35 @@ public class JavadocReportTest
 
     }
 
+    /**
+     * Method to test the splitAggregate parameter
+     *
+     * @throws Exception if any
+     */
+    public void testSplitAggregate()
+        throws Exception
+    {
+        File testPom = new File( unit, "aggregate-test/aggregate-test-plugin-config.xml" );
+        JavadocReport mojo = (JavadocReport) lookupMojo( "aggregate", testPom );
+        setVariableValueToObject( mojo, "splitAggregate", Boolean.TRUE );
+        setVariableValueToObject( mojo, "outputDirectory",
+                                  new File( getBasedir(), "target/test/unit/aggregate-test/target/site/split" ) );
+        mojo.execute();
+
+        File apidocs = new File( getBasedir(), "target/test/unit/aggregate-test/target/site/split" );
+
+        // one javadoc by module
+        assertTrue( new File( apidocs, "aggregate-test-project1/aggregate/test/project1/Project1App.html" ).exists() );
+        assertTrue( new File( apidocs, "aggregate-test-project1/index.html" ).exists() );
+        assertTrue( new File( apidocs, "aggregate-test-project2/aggregate/test/project2/Project2App.html" ).exists() );
+        assertTrue( new File( apidocs, "aggregate-test-project2/index.html" ).exists() );
+
+        // overview of the modules
+        String overview = readFile( new File( apidocs, "index.html" ) );
+        assertTrue( overview.contains( "<a href=\"aggregate-test-project1/index.html\">" ) );
+        assertTrue( overview.contains( "<a href=\"aggregate-test-project2/index.html\">" ) );
+    }
+
     /**
      * Method to test when the path to the project sources has an apostrophe (')
      *
@@ -30,6 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.regex.PatternSyntaxException;
 
+import org.apache.commons.lang.SystemUtils;
 import org.apache.commons.lang.builder.EqualsBuilder;
 import org.apache.maven.plugin.javadoc.ProxyServer.AuthAsyncProxyServlet;
 import org.apache.maven.settings.Proxy;
@@ -126,6 +127,42 @@ public class JavadocUtilTest
         assertEquals( JavadocUtil.parseJavadocVersion( version ), 1.5f, 0 );
     }
 
+    /**
+     * Method to test that the version of a javadoc executable is probed once, unless the executable changes.
+     *
+     * @throws Exception if any
+     */
+    public void testGetJavadocVersion()
+        throws Exception
+    {
+        if ( SystemUtils.IS_OS_WINDOWS )
+        {
+            return;
+        }
+
+        File directory = new File( getBasedir(), "target/test/unit/javadoc-version" );
+        FileUtils.deleteDirectory( directory );
+        directory.mkdirs();
+
+        // a fake javadoc, counting its invocations
+        File javadocExe = new File( directory, "javadoc" );
+        File probes = new File( directory, "probes.txt" );
+        FileUtils.fileWrite( javadocExe.getAbsolutePath(), "UTF-8", "#!/bin/sh\n"
+            + "echo probed >> '" + probes.getAbsolutePath() + "'\n"
+            + "echo 'java full version \"1.7.0_45-b18\"' >&2\n" );
+        assertEquals( 0, Runtime.getRuntime().exec(
+            new String[]{ "chmod", "a+x", javadocExe.getAbsolutePath() } ).waitFor() );
+
+        assertEquals( 1.7f, JavadocUtil.getJavadocVersion( javadocExe ), 0 );
+        assertEquals( 1.7f, JavadocUtil.getJavadocVersion( javadocExe ), 0 );
+        assertEquals( 1, FileUtils.fileRead( probes ).trim().split( "\n" ).length );
+
+        // a replaced executable is probed again
+        assertTrue( javadocExe.setLastModified( javadocExe.lastModified() - 10000 ) );
+        assertEquals( 1.7f, JavadocUtil.getJavadocVersion( javadocExe ), 0 );
+        assertEquals( 2, FileUtils.fileRead( probes ).trim().split( "\n" ).length );
+    }
+
     /**
      * Method to test the javadoc memory parsing.
      *
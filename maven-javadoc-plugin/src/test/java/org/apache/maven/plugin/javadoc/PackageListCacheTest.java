@@ -0,0 +1,315 @@
+package org.apache.maven.plugin.javadoc;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.URL;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.codehaus.plexus.PlexusTestCase;
+import org.codehaus.plexus.util.FileUtils;
+import org.mortbay.jetty.Server;
+import org.mortbay.jetty.bio.SocketConnector;
+import org.mortbay.jetty.servlet.Context;
+import org.mortbay.jetty.servlet.ServletHolder;
+
+/**
+ * @version $Id$
+ */
+public class PackageListCacheTest
+    extends PlexusTestCase
+{
+    private Server server;
+
+    private PackageListServlet servlet;
+
+    private File cacheDirectory;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        cacheDirectory = new File( getBasedir(), "target/test/unit/package-list-cache" );
+        FileUtils.deleteDirectory( cacheDirectory );
+
+        servlet = new PackageListServlet();
+        server = new Server();
+        SocketConnector connector = new SocketConnector();
+        connector.setHost( "localhost" );
+        server.addConnector( connector );
+        Context context = new Context( server, "/", 0 );
+        context.addServlet( new ServletHolder( servlet ), "/" );
+        server.start();
+    }
+
+    @Override
+    protected void tearDown()
+        throws Exception
+    {
+        server.stop();
+
+        super.tearDown();
+    }
+
+    /**
+     * Method to test the time to live and the revalidation of the cached resources.
+     *
+     * @throws Exception if any
+     */
+    public void testRevalidation()
+        throws Exception
+    {
+        URL url = getUrl( "/apidocs/package-list" );
+
+        PackageListCache cache = new PackageListCache( cacheDirectory, 60000, false, null );
+        try
+        {
+            assertEquals( "org.apache.maven", FileUtils.fileRead( cache.getPackageList( url ) ).trim() );
+            assertEquals( 1, servlet.requests );
+
+            // fresh entry
+            cache.getPackageList( url );
+            assertEquals( 1, servlet.requests );
+        }
+        finally
+        {
+            cache.close();
+        }
+
+        // expired entry, revalidated with its ETag
+        cache = new PackageListCache( cacheDirectory, 0, false, null );
+        try
+        {
+            assertEquals( "org.apache.maven", FileUtils.fileRead( cache.getPackageList( url ) ).trim() );
+            assertEquals( 2, servlet.requests );
+            assertEquals( 1, servlet.notModified );
+
+            servlet.etag = "\"2\"";
+            servlet.content = "org.apache.maven.plugin";
+            assertEquals( "org.apache.maven.plugin", FileUtils.fileRead( cache.getPackageList( url ) ).trim() );
+            assertEquals( 3, servlet.requests );
+            assertEquals( 1, servlet.notModified );
+        }
+        finally
+        {
+            cache.close();
+        }
+    }
+
+    /**
+     * Method to test that missing resources are cached and that the cache is used in offline mode.
+     *
+     * @throws Exception if any
+     */
+    public void testMissingAndOffline()
+        throws Exception
+    {
+        URL url = getUrl( "/apidocs/package-list" );
+        URL missingUrl = getUrl( "/missing/package-list" );
+
+        PackageListCache cache = new PackageListCache( cacheDirectory, 60000, false, null );
+        try
+        {
+            cache.getPackageList( url );
+            assertMissing( cache, missingUrl );
+            assertMissing( cache, missingUrl );
+            assertEquals( 2, servlet.requests );
+        }
+        finally
+        {
+            cache.close();
+        }
+
+        server.stop();
+
+        cache = new PackageListCache( cacheDirectory, 0, true, null );
+        try
+        {
+            assertTrue( cache.getPackageList( url ).isFile() );
+            assertEquals( new File( cache.getCachedLocation( url ), "package-list" ), cache.getPackageList( url ) );
+            assertNull( cache.getCachedLocation( missingUrl ) );
+            assertMissing( cache, getUrl( "/other/package-list" ) );
+        }
+        finally
+        {
+            cache.close();
+        }
+    }
+
+    /**
+     * Method to test that a server error neither replaces the cached copy nor is cached as a missing resource.
+     *
+     * @throws Exception if any
+     */
+    public void testServerError()
+        throws Exception
+    {
+        URL url = getUrl( "/apidocs/package-list" );
+
+        PackageListCache cache = new PackageListCache( cacheDirectory, 0, false, null );
+        try
+        {
+            File packageList = cache.getPackageList( url );
+            assertEquals( 1, servlet.requests );
+
+            // the previous copy is used as is
+            servlet.status = HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+            assertEquals( packageList, cache.getPackageList( url ) );
+            assertEquals( "org.apache.maven", FileUtils.fileRead( packageList ).trim() );
+            assertEquals( 2, servlet.requests );
+            assertEquals( packageList.getParentFile(), cache.getCachedLocation( url ) );
+
+            // and the resource is fetched again next time
+            servlet.status = HttpServletResponse.SC_OK;
+            servlet.etag = "\"2\"";
+            servlet.content = "org.apache.maven.plugin";
+            assertEquals( "org.apache.maven.plugin", FileUtils.fileRead( cache.getPackageList( url ) ).trim() );
+            assertEquals( 3, servlet.requests );
+        }
+        finally
+        {
+            cache.close();
+        }
+
+        FileUtils.deleteDirectory( cacheDirectory );
+        servlet.status = HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+        cache = new PackageListCache( cacheDirectory, 60000, false, null );
+        try
+        {
+            // without a previous copy the failure is reported, but not cached
+            try
+            {
+                cache.getPackageList( url );
+                fail();
+            }
+            catch ( IOException e )
+            {
+                assertFalse( e instanceof FileNotFoundException );
+            }
+            assertNull( cache.getCachedLocation( url ) );
+
+            servlet.status = HttpServletResponse.SC_OK;
+            assertTrue( cache.getPackageList( url ).isFile() );
+            assertEquals( 5, servlet.requests );
+        }
+        finally
+        {
+            cache.close();
+        }
+    }
+
+    /**
+     * Method to test isValidPackageList() with a cache.
+     *
+     * @throws Exception if any
+     */
+    public void testIsValidPackageList()
+        throws Exception
+    {
+        PackageListCache cache = new PackageListCache( cacheDirectory, 60000, false, null );
+        try
+        {
+            assertTrue( JavadocUtil.isValidPackageList( getUrl( "/apidocs/package-list" ), null, true, cache ) );
+            assertTrue( JavadocUtil.isValidPackageList( getUrl( "/apidocs/package-list" ), null, true, cache ) );
+            assertEquals( 1, servlet.requests );
+        }
+        finally
+        {
+            cache.close();
+        }
+    }
+
+    private void assertMissing( PackageListCache cache, URL url )
+        throws IOException
+    {
+        try
+        {
+            cache.getPackageList( url );
+            fail();
+        }
+        catch ( FileNotFoundException e )
+        {
+            // no copy to fall back to
+            assertNull( cache.getCachedLocation( url ) );
+            assertTrue( e.getMessage().contains( url.toExternalForm() ) );
+        }
+    }
+
+    private URL getUrl( String path )
+        throws IOException
+    {
+        return new URL( "http://localhost:" + server.getConnectors()[0].getLocalPort() + path );
+    }
+
+    /**
+     * Serves a single <code>package-list</code>, with an <code>ETag</code>.
+     */
+    private static class PackageListServlet
+        extends HttpServlet
+    {
+        private String content = "org.apache.maven";
+
+        private String etag = "\"1\"";
+
+        private int status = HttpServletResponse.SC_OK;
+
+        private int requests;
+
+        private int notModified;
+
+        @Override
+        protected void doGet( HttpServletRequest req, HttpServletResponse resp )
+            throws ServletException, IOException
+        {
+            requests++;
+
+            if ( !req.getRequestURI().startsWith( "/apidocs/" ) )
+            {
+                resp.sendError( HttpServletResponse.SC_NOT_FOUND );
+                return;
+            }
+
+            if ( status != HttpServletResponse.SC_OK )
+            {
+                resp.sendError( status );
+                return;
+            }
+
+            if ( etag.equals( req.getHeader( "If-None-Match" ) ) )
+            {
+                notModified++;
+                resp.setStatus( HttpServletResponse.SC_NOT_MODIFIED );
+                return;
+            }
+
+            resp.setHeader( "ETag", etag );
+            resp.setContentType( "text/plain" );
+            resp.getWriter().println( content );
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.apache.maven.plugin.javadoc.resolver;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.plugin.javadoc.stubs.DefaultArtifactHandlerStub;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.codehaus.plexus.PlexusTestCase;
+import org.codehaus.plexus.archiver.manager.ArchiverManager;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.IOUtil;
+
+/**
+ * Test {@link ResourceResolver} unpacking into the shared bundle directory.
+ *
+ * @version $Id$
+ */
+public class ResourceResolverTest
+    extends PlexusTestCase
+{
+    /** The time of the archive entries, 2010-01-01. */
+    private static final long ENTRY_TIME = 1262304000000L;
+
+    private File directory;
+
+    private SourceResolverConfig config;
+
+    /** {@inheritDoc} */
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        directory = new File( getBasedir(), "target/test/unit/resource-resolver" );
+        FileUtils.deleteDirectory( directory );
+        directory.mkdirs();
+
+        ArchiverManager archiverManager = (ArchiverManager) lookup( ArchiverManager.ROLE );
+        config =
+            new SourceResolverConfig( new SystemStreamLog(), null, null, new File( directory, "output" ), null, null,
+                                      null, archiverManager ).withSharedOutputBasedir( new File( directory,
+                                                                                                 "bundles" ) );
+    }
+
+    /**
+     * Method to test that identical bundles are unpacked once, and different bundles apart.
+     *
+     * @throws Exception if any
+     */
+    public void testUnpackShared()
+        throws Exception
+    {
+        Artifact a = createArtifact( "a", "a.txt" );
+
+        File unpacked = ResourceResolver.unpackShared( a, config );
+        assertTrue( new File( unpacked, "a.txt" ).isFile() );
+
+        // an already unpacked bundle is reused as is
+        File marker = new File( unpacked, "marker" );
+        assertTrue( marker.createNewFile() );
+        assertEquals( unpacked, ResourceResolver.unpackShared( createArtifact( "a-copy", "a.txt" ), config ) );
+        assertTrue( marker.exists() );
+
+        // a different content gets its own directory
+        File other = ResourceResolver.unpackShared( createArtifact( "b", "b.txt" ), config );
+        assertFalse( unpacked.equals( other ) );
+        assertTrue( new File( other, "b.txt" ).isFile() );
+        assertFalse( new File( other, "a.txt" ).exists() );
+
+        // no temporary directory is left behind
+        assertEquals( 2, config.sharedOutputBasedir().list().length );
+    }
+
+    private Artifact createArtifact( String artifactId, String entry )
+        throws IOException
+    {
+        File file = new File( directory, artifactId + ".jar" );
+        ZipOutputStream out = null;
+        try
+        {
+            out = new ZipOutputStream( new FileOutputStream( file ) );
+            ZipEntry zipEntry = new ZipEntry( entry );
+            // the archives with the same entries have the same content, whatever the time they are created
+            zipEntry.setTime( ENTRY_TIME );
+            out.putNextEntry( zipEntry );
+            out.write( entry.getBytes( "UTF-8" ) );
+            out.closeEntry();
+        }
+        finally
+        {
+            IOUtil.close( out );
+        }
+
+        Artifact artifact =
+            new DefaultArtifact( "test", artifactId, VersionRange.createFromVersion( "1.0" ), Artifact.SCOPE_COMPILE,
+                                 "jar", "sources", new DefaultArtifactHandlerStub() );
+        artifact.setFile( file );
+        return artifact;
+    }
+}
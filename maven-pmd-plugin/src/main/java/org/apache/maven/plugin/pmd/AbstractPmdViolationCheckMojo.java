@@ -32,6 +32,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Base class for mojos that check if there were any PMD violations.
@@ -42,6 +43,14 @@ import java.util.List;
 public abstract class AbstractPmdViolationCheckMojo<D>
     extends AbstractMojo
 {
+    /**
+     * Prefix of the plugin context key under which a report publishes the violations it found, so that the check
+     * does not need to parse its XML output again.
+     *
+     * @since 3.2
+     */
+    static final String RESULTS_CONTEXT_KEY_PREFIX = "violations:";
+
     /**
      * The location of the XML report to check, as generated by the PMD report.
      */
@@ -119,7 +128,8 @@ public abstract class AbstractPmdViolationCheckMojo<D>
             {
                 try
                 {
-                    final ViolationDetails<D> violations = getViolations( outputFile, failurePriority );
+                    final ViolationDetails<D> violations =
+                        getViolations( getErrorDetailsForCheck( outputFile ), failurePriority );
 
                     final List<D> failures = violations.getFailureDetails();
                     final List<D> warnings = violations.getWarningDetails();
@@ -165,22 +175,59 @@ public abstract class AbstractPmdViolationCheckMojo<D>
         throws MojoExecutionException;
 
     /**
-     * Method for collecting the violations found by the PMD tool
+     * Gets the key of the plugin context entry holding the results published for the given report file.
      *
-     * @param analysisFile
-     * @param failurePriority
-     * @return an int that specifies the number of violations found
+     * @param outputFile the report file written by the report goal
+     * @return the plugin context key
+     */
+    static String getResultsContextKey( File outputFile )
+    {
+        return RESULTS_CONTEXT_KEY_PREFIX + outputFile.getAbsolutePath();
+    }
+
+    /**
+     * Gets the error details to check, preferring the results the report goal published in the plugin context
+     * over parsing the report file.
+     *
+     * @param outputFile the report file written by the report goal
+     * @return the error details
      * @throws XmlPullParserException
      * @throws IOException
      */
-    private ViolationDetails<D> getViolations( final File analysisFile, final int failurePriority )
+    private List<D> getErrorDetailsForCheck( final File outputFile )
         throws XmlPullParserException, IOException
+    {
+        @SuppressWarnings( "rawtypes" )
+        final Map context = getPluginContext();
+        if ( context != null )
+        {
+            // consume the entry: a later check must look at the results of its own report execution
+            final Object results = context.remove( getResultsContextKey( outputFile ) );
+            if ( results != null )
+            {
+                final List<D> details = getErrorDetails( results );
+                if ( details != null )
+                {
+                    getLog().debug( "Using in-process results instead of reading " + outputFile );
+                    return details;
+                }
+            }
+        }
+        return getErrorDetails( outputFile );
+    }
+
+    /**
+     * Method for collecting the violations found by the PMD tool
+     *
+     * @param violations
+     * @param failurePriority
+     * @return an int that specifies the number of violations found
+     */
+    private ViolationDetails<D> getViolations( final List<D> violations, final int failurePriority )
     {
         final List<D> failures = new ArrayList<D>();
         final List<D> warnings = new ArrayList<D>();
 
-        final List<D> violations = getErrorDetails( analysisFile );
-
         for ( final D violation : violations )
         {
             final int priority = getPriority( violation );
@@ -284,6 +331,18 @@ public abstract class AbstractPmdViolationCheckMojo<D>
     protected abstract List<D> getErrorDetails( File analisysFile )
         throws XmlPullParserException, IOException;
 
+    /**
+     * Converts the results published in the plugin context by the report goal into error details.
+     *
+     * @param results the published results
+     * @return the error details, or <code>null</code> if the results can't be used and the report file must be read
+     * @since 3.2
+     */
+    protected List<D> getErrorDetails( Object results )
+    {
+        return null;
+    }
+
     public boolean isFailOnViolation()
     {
         return failOnViolation;
@@ -0,0 +1,485 @@
+package org.apache.maven.plugin.pmd;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import net.sourceforge.pmd.Rule;
+import net.sourceforge.pmd.RuleSets;
+import net.sourceforge.pmd.RuleViolation;
+import org.codehaus.plexus.util.IOUtil;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persisted cache of PMD analysis results. The violations of every analyzed file are stored together with the digest
+ * of its content, so that a later run can skip the files that did not change. The whole cache is discarded when the
+ * configuration fingerprint (rulesets, language version, auxclasspath...) differs from the stored one.
+ *
+ * @version $Id$
+ * @since 3.2
+ */
+public class PmdAnalysisCache
+{
+    private static final int FORMAT_VERSION = 1;
+
+    private final File cacheFile;
+
+    private final String configurationFingerprint;
+
+    /** The entries read from the cache file, by absolute file path. */
+    private Map<String, CacheEntry> previousEntries = new HashMap<String, CacheEntry>();
+
+    /** The entries of the current run, which will be written back to the cache file. */
+    private final Map<String, CacheEntry> currentEntries = new HashMap<String, CacheEntry>();
+
+    private int hits;
+
+    private int misses;
+
+    /**
+     * @param cacheFile the file where the cache is persisted
+     * @param configurationFingerprint the digest of everything besides the file content that influences the results
+     */
+    public PmdAnalysisCache( File cacheFile, String configurationFingerprint )
+    {
+        this.cacheFile = cacheFile;
+        this.configurationFingerprint = configurationFingerprint;
+    }
+
+    /**
+     * Loads the cache file, if it exists and was written with the same configuration fingerprint.
+     *
+     * @return <code>true</code> if previous results were loaded, <code>false</code> if the analysis starts from scratch
+     * @throws IOException if the cache file can't be read
+     */
+    public boolean load()
+        throws IOException
+    {
+        previousEntries = new HashMap<String, CacheEntry>();
+        if ( !cacheFile.isFile() )
+        {
+            return false;
+        }
+
+        DataInputStream in = null;
+        try
+        {
+            in = new DataInputStream( new BufferedInputStream( new FileInputStream( cacheFile ) ) );
+            if ( in.readInt() != FORMAT_VERSION || !configurationFingerprint.equals( in.readUTF() ) )
+            {
+                return false;
+            }
+
+            int fileCount = in.readInt();
+            Map<String, CacheEntry> entries = new HashMap<String, CacheEntry>( fileCount * 2 );
+            for ( int i = 0; i < fileCount; i++ )
+            {
+                String path = in.readUTF();
+                String digest = in.readUTF();
+                int violationCount = in.readInt();
+                List<CachedViolation> violations = new ArrayList<CachedViolation>( violationCount );
+                for ( int j = 0; j < violationCount; j++ )
+                {
+                    violations.add( CachedViolation.read( in, path ) );
+                }
+                entries.put( path, new CacheEntry( digest, violations ) );
+            }
+            previousEntries = entries;
+            return true;
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+    }
+
+    /**
+     * Looks up the cached violations of a file. On a miss the content digest of the file is remembered, so that
+     * {@link #putViolations(File, List)} does not need to read it again.
+     *
+     * @param file the file to analyze
+     * @param ruleSets the rule sets of the current run, used to resolve the cached rules
+     * @return the cached violations, or <code>null</code> if the file must be analyzed again
+     * @throws IOException if the file can't be read
+     */
+    public List<RuleViolation> getViolations( File file, RuleSets ruleSets )
+        throws IOException
+    {
+        String path = file.getAbsolutePath();
+        String digest = digest( file );
+
+        CacheEntry entry = previousEntries.get( path );
+        if ( entry != null && entry.digest.equals( digest ) )
+        {
+            List<RuleViolation> violations = new ArrayList<RuleViolation>( entry.violations.size() );
+            for ( CachedViolation violation : entry.violations )
+            {
+                Rule rule = ruleSets.getRuleByName( violation.ruleName );
+                if ( rule == null )
+                {
+                    // the rule is gone, which the fingerprint should have prevented: analyze again to be safe
+                    violations = null;
+                    break;
+                }
+                violation.rule = rule;
+                violations.add( violation );
+            }
+
+            if ( violations != null )
+            {
+                hits++;
+                currentEntries.put( path, entry );
+                return violations;
+            }
+        }
+
+        misses++;
+        currentEntries.put( path, new CacheEntry( digest, null ) );
+        return null;
+    }
+
+    /**
+     * Records the violations found for a file which was analyzed in this run.
+     *
+     * @param file the analyzed file
+     * @param violations its violations
+     * @throws IOException if the file can't be read
+     */
+    public void putViolations( File file, List<RuleViolation> violations )
+        throws IOException
+    {
+        String path = file.getAbsolutePath();
+        CacheEntry entry = currentEntries.get( path );
+        String digest = entry != null ? entry.digest : digest( file );
+
+        List<CachedViolation> cached = new ArrayList<CachedViolation>( violations.size() );
+        for ( RuleViolation violation : violations )
+        {
+            cached.add( new CachedViolation( violation ) );
+        }
+        currentEntries.put( path, new CacheEntry( digest, cached ) );
+    }
+
+    /**
+     * Writes the entries of the current run to the cache file. Files which were not looked up in this run, or whose
+     * violations were never recorded, are dropped.
+     *
+     * @throws IOException if the cache file can't be written
+     */
+    public void save()
+        throws IOException
+    {
+        File parent = cacheFile.getAbsoluteFile().getParentFile();
+        if ( parent != null )
+        {
+            parent.mkdirs();
+        }
+
+        Map<String, CacheEntry> entries = new HashMap<String, CacheEntry>();
+        for ( Map.Entry<String, CacheEntry> entry : currentEntries.entrySet() )
+        {
+            if ( entry.getValue().violations != null )
+            {
+                entries.put( entry.getKey(), entry.getValue() );
+            }
+        }
+
+        DataOutputStream out = null;
+        try
+        {
+            out = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( cacheFile ) ) );
+            out.writeInt( FORMAT_VERSION );
+            out.writeUTF( configurationFingerprint );
+            out.writeInt( entries.size() );
+            for ( Map.Entry<String, CacheEntry> entry : entries.entrySet() )
+            {
+                out.writeUTF( entry.getKey() );
+                out.writeUTF( entry.getValue().digest );
+                out.writeInt( entry.getValue().violations.size() );
+                for ( CachedViolation violation : entry.getValue().violations )
+                {
+                    violation.write( out );
+                }
+            }
+            out.close();
+            out = null;
+        }
+        finally
+        {
+            IOUtil.close( out );
+        }
+    }
+
+    public int getHits()
+    {
+        return hits;
+    }
+
+    public int getMisses()
+    {
+        return misses;
+    }
+
+    public File getCacheFile()
+    {
+        return cacheFile;
+    }
+
+    /**
+     * Computes the hex encoded MD5 digest of a file content.
+     *
+     * @param file the file
+     * @return the digest
+     * @throws IOException if the file can't be read
+     */
+    static String digest( File file )
+        throws IOException
+    {
+        MessageDigest digest = newDigest();
+        update( digest, file );
+        return toHex( digest.digest() );
+    }
+
+    static MessageDigest newDigest()
+    {
+        try
+        {
+            return MessageDigest.getInstance( "MD5" );
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new RuntimeException( "MD5 digest not available", e );
+        }
+    }
+
+    static void update( MessageDigest digest, File file )
+        throws IOException
+    {
+        InputStream in = null;
+        try
+        {
+            in = new FileInputStream( file );
+            byte[] buffer = new byte[8192];
+            int read;
+            while ( ( read = in.read( buffer ) ) >= 0 )
+            {
+                digest.update( buffer, 0, read );
+            }
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+    }
+
+    static String toHex( byte[] bytes )
+    {
+        StringBuilder buffer = new StringBuilder( bytes.length * 2 );
+        for ( byte b : bytes )
+        {
+            buffer.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) );
+            buffer.append( Character.forDigit( b & 0xF, 16 ) );
+        }
+        return buffer.toString();
+    }
+
+    private static class CacheEntry
+    {
+        private final String digest;
+
+        /** <code>null</code> until the violations of the file are known. */
+        private final List<CachedViolation> violations;
+
+        CacheEntry( String digest, List<CachedViolation> violations )
+        {
+            this.digest = digest;
+            this.violations = violations;
+        }
+    }
+
+    /**
+     * A rule violation restored from the cache.
+     */
+    private static class CachedViolation
+        implements RuleViolation
+    {
+        private final String ruleName;
+
+        private Rule rule;
+
+        private final String description;
+
+        private final String filename;
+
+        private final int beginLine;
+
+        private final int beginColumn;
+
+        private final int endLine;
+
+        private final int endColumn;
+
+        private final String packageName;
+
+        private final String className;
+
+        private final String methodName;
+
+        private final String variableName;
+
+        CachedViolation( RuleViolation violation )
+        {
+            this( violation.getRule().getName(), violation.getDescription(), violation.getFilename(),
+                  violation.getBeginLine(), violation.getBeginColumn(), violation.getEndLine(),
+                  violation.getEndColumn(), violation.getPackageName(), violation.getClassName(),
+                  violation.getMethodName(), violation.getVariableName() );
+            this.rule = violation.getRule();
+        }
+
+        private CachedViolation( String ruleName, String description, String filename, int beginLine,
+                                 int beginColumn, int endLine, int endColumn, String packageName, String className,
+                                 String methodName, String variableName )
+        {
+            this.ruleName = ruleName;
+            this.description = description;
+            this.filename = filename;
+            this.beginLine = beginLine;
+            this.beginColumn = beginColumn;
+            this.endLine = endLine;
+            this.endColumn = endColumn;
+            this.packageName = packageName;
+            this.className = className;
+            this.methodName = methodName;
+            this.variableName = variableName;
+        }
+
+        static CachedViolation read( DataInputStream in, String filename )
+            throws IOException
+        {
+            return new CachedViolation( in.readUTF(), readString( in ), filename, in.readInt(), in.readInt(),
+                                        in.readInt(), in.readInt(), readString( in ), readString( in ),
+                                        readString( in ), readString( in ) );
+        }
+
+        void write( DataOutputStream out )
+            throws IOException
+        {
+            out.writeUTF( ruleName );
+            writeString( out, description );
+            out.writeInt( beginLine );
+            out.writeInt( beginColumn );
+            out.writeInt( endLine );
+            out.writeInt( endColumn );
+            writeString( out, packageName );
+            writeString( out, className );
+            writeString( out, methodName );
+            writeString( out, variableName );
+        }
+
+        private static String readString( DataInputStream in )
+            throws IOException
+        {
+            return in.readBoolean() ? in.readUTF() : null;
+        }
+
+        private static void writeString( DataOutputStream out, String value )
+            throws IOException
+        {
+            out.writeBoolean( value != null );
+            if ( value != null )
+            {
+                out.writeUTF( value );
+            }
+        }
+
+        public Rule getRule()
+        {
+            return rule;
+        }
+
+        public String getDescription()
+        {
+            return description;
+        }
+
+        public boolean isSuppressed()
+        {
+            return false;
+        }
+
+        public String getFilename()
+        {
+            return filename;
+        }
+
+        public int getBeginLine()
+        {
+            return beginLine;
+        }
+
+        public int getBeginColumn()
+        {
+            return beginColumn;
+        }
+
+        public int getEndLine()
+        {
+            return endLine;
+        }
+
+        public int getEndColumn()
+        {
+            return endColumn;
+        }
+
+        public String getPackageName()
+        {
+            return packageName;
+        }
+
+        public String getClassName()
+        {
+            return className;
+        }
+
+        public String getMethodName()
+        {
+            return methodName;
+        }
+
+        public String getVariableName()
+        {
+            return variableName;
+        }
+    }
+}
@@ -25,10 +25,14 @@ import net.sourceforge.pmd.Report;
 import net.sourceforge.pmd.RuleContext;
 import net.sourceforge.pmd.RulePriority;
 import net.sourceforge.pmd.RuleSetFactory;
+import net.sourceforge.pmd.RuleSetNotFoundException;
 import net.sourceforge.pmd.RuleSetReferenceId;
+import net.sourceforge.pmd.RuleSets;
+import net.sourceforge.pmd.RuleViolation;
 import net.sourceforge.pmd.benchmark.Benchmarker;
 import net.sourceforge.pmd.benchmark.TextReport;
 import net.sourceforge.pmd.lang.LanguageVersion;
+import net.sourceforge.pmd.renderers.AbstractRenderer;
 import net.sourceforge.pmd.renderers.CSVRenderer;
 import net.sourceforge.pmd.renderers.HTMLRenderer;
 import net.sourceforge.pmd.renderers.Renderer;
@@ -58,12 +62,18 @@ import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.PrintStream;
 import java.io.Writer;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
 import java.util.ResourceBundle;
+import java.util.Set;
 
 /**
  * Creates a PMD report.
@@ -149,6 +159,34 @@ public class PmdReport
     @Parameter( property = "pmd.benchmarkOutputFilename", defaultValue = "${project.build.directory}/pmd-benchmark.txt" )
     private String benchmarkOutputFilename;
 
+    /**
+     * The number of threads PMD uses to analyze the files. Each thread works with its own instances of the rulesets.
+     * A value of <code>0</code> analyzes all the files in the calling thread. If not set, PMD uses one thread per
+     * available processor.
+     *
+     * @since 3.2
+     */
+    @Parameter( property = "pmd.threads" )
+    private Integer threads;
+
+    /**
+     * Whether to keep the results of the analysis in a cache file, and only analyze the files which changed since the
+     * previous run. The cache is discarded as a whole when the rulesets, the target JDK or language, the minimum
+     * priority, the source encoding or the auxclasspath used for type resolution change.
+     *
+     * @since 3.2
+     */
+    @Parameter( property = "pmd.analysisCache", defaultValue = "false" )
+    private boolean analysisCache;
+
+    /**
+     * The location of the analysis cache, if it is enabled.
+     *
+     * @since 3.2
+     */
+    @Parameter( property = "pmd.analysisCacheLocation", defaultValue = "${project.build.directory}/pmd/pmd.cache" )
+    private File analysisCacheLocation;
+
     /**
      */
     @Component
@@ -347,23 +385,84 @@ public class PmdReport
         }
         pmdConfiguration.setSourceEncoding( encoding );
 
+        PmdAnalysisCache cache = null;
+        if ( analysisCache )
+        {
+            cache = loadAnalysisCache( sets, encoding );
+        }
+
+        List<File> analyzedFiles = new ArrayList<File>( filesToProcess.size() );
         List<DataSource> dataSources = new ArrayList<DataSource>( filesToProcess.size() );
-        for ( File f : filesToProcess.keySet() )
+        if ( cache != null )
+        {
+            RuleSets ruleSets;
+            try
+            {
+                ruleSets = ruleSetFactory.createRuleSets( pmdConfiguration.getRuleSets() );
+            }
+            catch ( RuleSetNotFoundException e )
+            {
+                throw new MavenReportException( e.getMessage(), e );
+            }
+
+            for ( File f : filesToProcess.keySet() )
+            {
+                List<RuleViolation> cachedViolations;
+                try
+                {
+                    cachedViolations = cache.getViolations( f, ruleSets );
+                }
+                catch ( IOException e )
+                {
+                    throw new MavenReportException( "Can't read " + f, e );
+                }
+
+                if ( cachedViolations == null )
+                {
+                    analyzedFiles.add( f );
+                }
+                else
+                {
+                    for ( RuleViolation violation : cachedViolations )
+                    {
+                        reportListener.ruleViolationAdded( violation );
+                    }
+                }
+            }
+            getLog().info( "PMD analysis cache: " + cache.getHits() + " unchanged file(s) skipped, "
+                               + cache.getMisses() + " file(s) to analyze." );
+        }
+        else
+        {
+            analyzedFiles.addAll( filesToProcess.keySet() );
+        }
+
+        for ( File f : analyzedFiles )
         {
             dataSources.add( new FileDataSource( f ) );
         }
 
+        ProcessingErrorRenderer processingErrors = new ProcessingErrorRenderer();
+
         try
         {
             getLog().debug( "Executing PMD..." );
 
-            PMD.processFiles( pmdConfiguration, ruleSetFactory, dataSources, ruleContext,
-                              Collections.<Renderer> emptyList() );
+            if ( !dataSources.isEmpty() || cache == null )
+            {
+                PMD.processFiles( pmdConfiguration, ruleSetFactory, dataSources, ruleContext,
+                                  Collections.<Renderer> singletonList( processingErrors ) );
+            }
 
             if ( getLog().isDebugEnabled() )
             {
                 getLog().debug( "PMD finished. Found " + reportListener.getViolations().size() + " violations." );
             }
+
+            if ( cache != null )
+            {
+                saveAnalysisCache( cache, analyzedFiles, processingErrors.getFiles() );
+            }
         }
         catch ( Exception e )
         {
@@ -380,6 +479,7 @@ public class PmdReport
         if ( isXml() && reportListener != null )
         {
             writeNonHtml( reportListener.asReport() );
+            publishViolations();
         }
 
         if ( benchmark )
@@ -404,6 +504,167 @@ public class PmdReport
         }
     }
 
+    /**
+     * Opens the analysis cache and loads the results of the previous run, if they were computed with the same
+     * configuration.
+     *
+     * @param ruleSetFiles the resolved ruleset files
+     * @param encoding the source encoding
+     * @return the analysis cache, or <code>null</code> if it can't be used
+     * @throws MavenReportException if the auxclasspath can't be resolved
+     */
+    private PmdAnalysisCache loadAnalysisCache( String[] ruleSetFiles, String encoding )
+        throws MavenReportException
+    {
+        PmdAnalysisCache cache;
+        try
+        {
+            cache =
+                new PmdAnalysisCache( analysisCacheLocation, getAnalysisCacheFingerprint( ruleSetFiles, encoding ) );
+        }
+        catch ( IOException e )
+        {
+            getLog().warn( "Unable to compute the PMD analysis cache fingerprint: " + e.getLocalizedMessage()
+                               + ", analyzing all files without cache." );
+            return null;
+        }
+
+        try
+        {
+            if ( !cache.load() )
+            {
+                getLog().debug( "No usable PMD analysis cache found at " + analysisCacheLocation
+                                    + ", analyzing all files." );
+            }
+        }
+        catch ( IOException e )
+        {
+            // a truncated or corrupt cache: start from scratch, and write it again at the end of this run
+            getLog().warn( "Unable to read the PMD analysis cache " + analysisCacheLocation + ": "
+                               + e + ", deleting it and analyzing all files." );
+            if ( !analysisCacheLocation.delete() )
+            {
+                getLog().warn( "Unable to delete the PMD analysis cache " + analysisCacheLocation );
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Stores the violations of the files which were analyzed in this run, and writes the analysis cache. The files
+     * PMD could not process are left out, so that they are analyzed again by the next run.
+     *
+     * @param cache the analysis cache
+     * @param analyzedFiles the files which were not found in the cache
+     * @param errorFiles the absolute paths of the files which had a processing error
+     */
+    private void saveAnalysisCache( PmdAnalysisCache cache, List<File> analyzedFiles, Set<String> errorFiles )
+    {
+        Map<String, List<RuleViolation>> violationsByFile = new HashMap<String, List<RuleViolation>>();
+        for ( RuleViolation violation : reportListener.getViolations() )
+        {
+            String path = new File( violation.getFilename() ).getAbsolutePath();
+            List<RuleViolation> violations = violationsByFile.get( path );
+            if ( violations == null )
+            {
+                violations = new ArrayList<RuleViolation>();
+                violationsByFile.put( path, violations );
+            }
+            violations.add( violation );
+        }
+
+        try
+        {
+            for ( File f : analyzedFiles )
+            {
+                if ( errorFiles.contains( f.getAbsolutePath() ) )
+                {
+                    getLog().debug( "Not caching the PMD results of " + f + ", which had a processing error." );
+                    continue;
+                }
+
+                List<RuleViolation> violations = violationsByFile.get( f.getAbsolutePath() );
+                cache.putViolations( f, violations != null ? violations : Collections.<RuleViolation>emptyList() );
+            }
+            cache.save();
+        }
+        catch ( IOException e )
+        {
+            getLog().warn( "Unable to write the PMD analysis cache " + cache.getCacheFile() + ": "
+                               + e.getLocalizedMessage() );
+        }
+    }
+
+    /**
+     * Computes the digest of everything besides the analyzed files themselves which influences the PMD results.
+     *
+     * @param ruleSetFiles the resolved ruleset files
+     * @param encoding the source encoding
+     * @return the hex encoded digest
+     * @throws IOException if a ruleset file can't be read
+     * @throws MavenReportException if the auxclasspath can't be resolved
+     */
+    private String getAnalysisCacheFingerprint( String[] ruleSetFiles, String encoding )
+        throws IOException, MavenReportException
+    {
+        MessageDigest digest = PmdAnalysisCache.newDigest();
+
+        StringBuilder settings = new StringBuilder();
+        settings.append( getPmdVersion() ).append( '|' ).append( targetJdk ).append( '|' ).append( language );
+        settings.append( '|' ).append( minimumPriority ).append( '|' ).append( encoding );
+        settings.append( '|' ).append( typeResolution );
+        digest.update( settings.toString().getBytes( "UTF-8" ) );
+
+        for ( String ruleSetFile : ruleSetFiles )
+        {
+            PmdAnalysisCache.update( digest, new File( ruleSetFile ) );
+        }
+
+        if ( typeResolution )
+        {
+            for ( String element : getAuxClasspath() )
+            {
+                File file = new File( element );
+                digest.update( element.getBytes( "UTF-8" ) );
+                if ( file.isDirectory() )
+                {
+                    // class files which changed in an output directory can change the type resolution results
+                    @SuppressWarnings( "unchecked" )
+                    List<File> classFiles = FileUtils.getFiles( file, "**/*", null );
+                    long lastModified = 0;
+                    for ( File classFile : classFiles )
+                    {
+                        lastModified = Math.max( lastModified, classFile.lastModified() );
+                    }
+                    digest.update( ( classFiles.size() + ":" + lastModified ).getBytes( "UTF-8" ) );
+                }
+                else
+                {
+                    digest.update( ( file.length() + ":" + file.lastModified() ).getBytes( "UTF-8" ) );
+                }
+            }
+        }
+
+        return PmdAnalysisCache.toHex( digest.digest() );
+    }
+
+    /**
+     * Hands the collected violations over to the check goal through the plugin context, so that it can skip parsing
+     * the XML report again. The XML report is still written for any other consumer.
+     */
+    @SuppressWarnings( "unchecked" )
+    private void publishViolations()
+    {
+        @SuppressWarnings( "rawtypes" )
+        Map context = getPluginContext();
+        if ( context != null )
+        {
+            File targetFile = new File( targetDirectory, "pmd." + format );
+            context.put( AbstractPmdViolationCheckMojo.getResultsContextKey( targetFile ),
+                         reportListener.getViolations() );
+        }
+    }
+
     private Report generateReport( Locale locale )
         throws MavenReportException
     {
@@ -544,23 +805,53 @@ public class PmdReport
         {
             try
             {
-                @SuppressWarnings( "unchecked" )
-                List<String> classpath =
-                    includeTests ? project.getTestClasspathElements() : project.getCompileClasspathElements();
+                List<String> classpath = getAuxClasspath();
                 getLog().debug( "Using aux classpath: " + classpath );
                 configuration.prependClasspath( StringUtils.join( classpath.iterator(), File.pathSeparator ) );
             }
-            catch ( Exception e )
+            catch ( IOException e )
             {
                 throw new MavenReportException( e.getMessage(), e );
             }
         }
 
+        if ( threads != null )
+        {
+            if ( threads.intValue() < 0 )
+            {
+                throw new MavenReportException( "Invalid threads value '" + threads + "'." );
+            }
+            getLog().debug( "Using " + threads + " PMD thread(s)" );
+            configuration.setThreads( threads.intValue() );
+        }
+
         configuration.setBenchmark( benchmark );
 
         return configuration;
     }
 
+    /**
+     * Gets the classpath given to PMD for type resolution.
+     *
+     * @return the classpath elements
+     * @throws MavenReportException if the dependencies are not resolved
+     */
+    private List<String> getAuxClasspath()
+        throws MavenReportException
+    {
+        try
+        {
+            @SuppressWarnings( "unchecked" )
+            List<String> classpath =
+                includeTests ? project.getTestClasspathElements() : project.getCompileClasspathElements();
+            return classpath;
+        }
+        catch ( Exception e )
+        {
+            throw new MavenReportException( e.getMessage(), e );
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -618,4 +909,59 @@ public class PmdReport
         return renderer;
     }
 
+    /**
+     * Collects the files which PMD failed to process, so that their (missing) results are not cached.
+     */
+    private static class ProcessingErrorRenderer
+        extends AbstractRenderer
+    {
+        private final Set<String> files = Collections.synchronizedSet( new HashSet<String>() );
+
+        ProcessingErrorRenderer()
+        {
+            super( "processingErrors", "Collects the files with a processing error" );
+        }
+
+        public String defaultFileExtension()
+        {
+            return null;
+        }
+
+        public void start()
+        {
+            // nothing to do
+        }
+
+        public void startFileAnalysis( DataSource dataSource )
+        {
+            // nothing to do
+        }
+
+        public void renderFileReport( Report report )
+        {
+            for ( Iterator<Report.ProcessingError> i = report.errors(); i.hasNext(); )
+            {
+                files.add( new File( i.next().getFile() ).getAbsolutePath() );
+            }
+        }
+
+        public void end()
+        {
+            // nothing to do
+        }
+
+        @Override
+        public void flush()
+        {
+            // nothing is written
+        }
+
+        /**
+         * @return the absolute paths of the files which had a processing error
+         */
+        public Set<String> getFiles()
+        {
+            return files;
+        }
+    }
 }
@@ -29,7 +29,8 @@ import net.sourceforge.pmd.RuleViolation;
 import net.sourceforge.pmd.stat.Metric;
 
 /**
- * Handle events from PMD and collect violations.
+ * Handle events from PMD and collect violations. As PMD may analyze the files in several threads, the collected
+ * violations are guarded by the listener itself.
  */
 public class PmdReportListener
     implements ReportListener
@@ -41,17 +42,17 @@ public class PmdReportListener
     /**
      * {@inheritDoc}
      */
-    public void ruleViolationAdded( RuleViolation ruleViolation )
+    public synchronized void ruleViolationAdded( RuleViolation ruleViolation )
     {
         violations.add( ruleViolation );
     }
 
-    public List<RuleViolation> getViolations()
+    public synchronized List<RuleViolation> getViolations()
     {
         return new ArrayList<RuleViolation>( violations );
     }
 
-    public boolean hasViolations()
+    public synchronized boolean hasViolations()
     {
         return !violations.isEmpty();
     }
@@ -59,7 +60,7 @@ public class PmdReportListener
     /**
      * Create a new single report with all violations for further rendering into other formats than HTML.
      */
-    public Report asReport()
+    public synchronized Report asReport()
     {
         Report report = new Report();
         for ( RuleViolation v : violations )
@@ -19,6 +19,7 @@ package org.apache.maven.plugin.pmd;
  * under the License.
  */
 
+import net.sourceforge.pmd.RuleViolation;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugin.pmd.model.PmdErrorDetail;
@@ -198,6 +199,39 @@ public class PmdViolationCheckMojo
         return violations;
     }
 
+    @Override
+    protected List<Violation> getErrorDetails( Object results )
+    {
+        if ( !( results instanceof List ) )
+        {
+            return null;
+        }
+
+        List<Violation> violations = new ArrayList<Violation>();
+        for ( Object item : (List<?>) results )
+        {
+            if ( !( item instanceof RuleViolation ) )
+            {
+                return null;
+            }
+            RuleViolation ruleViolation = (RuleViolation) item;
+
+            // same mapping as the XMLRenderer, so that both sources yield the same details
+            Violation violation = new Violation();
+            violation.setBeginline( ruleViolation.getBeginLine() );
+            violation.setViolationClass( StringUtils.isEmpty( ruleViolation.getClassName() ) ? null
+                            : ruleViolation.getClassName() );
+            violation.setViolationPackage( StringUtils.isEmpty( ruleViolation.getPackageName() ) ? null
+                            : ruleViolation.getPackageName() );
+            violation.setRule( ruleViolation.getRule().getName() );
+            violation.setPriority( ruleViolation.getRule().getPriority().getPriority() );
+            violation.setText( ruleViolation.getDescription() );
+            violation.setFileName( getFilename( ruleViolation.getFilename(), violation.getViolationPackage() ) );
+            violations.add( violation );
+        }
+        return violations;
+    }
+
     @Override
     protected int getPriority( Violation errorDetail )
     {
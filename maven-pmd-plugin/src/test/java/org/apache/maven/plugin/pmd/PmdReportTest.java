@@ -21,12 +21,14 @@ package org.apache.maven.plugin.pmd;
 
 import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.StringUtils;
 
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.net.URL;
+import java.util.Collections;
 import java.util.Locale;
 
 /**
@@ -86,6 +88,102 @@ public class PmdReportTest
     }
 
 
+    public void testAnalysisCache()
+        throws Exception
+    {
+        File testPom = new File( getBasedir(),
+                                 "src/test/resources/unit/default-configuration/default-configuration-plugin-config.xml" );
+        File cacheFile = new File( getBasedir(), "target/test/unit/default-configuration/target/pmd/pmd.cache" );
+        File generatedFile = new File( getBasedir(), "target/test/unit/default-configuration/target/pmd.xml" );
+
+        PmdReport mojo = (PmdReport) lookupMojo( "pmd", testPom );
+        setVariableValueToObject( mojo, "analysisCache", Boolean.TRUE );
+        setVariableValueToObject( mojo, "analysisCacheLocation", cacheFile );
+        mojo.execute();
+
+        assertTrue( cacheFile.isFile() );
+        int violations = StringUtils.countMatches( readFile( generatedFile ), "<violation" );
+        assertTrue( violations > 0 );
+
+        // second run: all the files are unchanged, the violations come from the cache
+        mojo = (PmdReport) lookupMojo( "pmd", testPom );
+        setVariableValueToObject( mojo, "analysisCache", Boolean.TRUE );
+        setVariableValueToObject( mojo, "analysisCacheLocation", cacheFile );
+        mojo.execute();
+
+        assertEquals( violations, StringUtils.countMatches( readFile( generatedFile ), "<violation" ) );
+    }
+
+    public void testCorruptAnalysisCache()
+        throws Exception
+    {
+        File testPom = new File( getBasedir(),
+                                 "src/test/resources/unit/default-configuration/default-configuration-plugin-config.xml" );
+        File cacheFile = new File( getBasedir(), "target/test/unit/corrupt-cache/pmd.cache" );
+        FileUtils.deleteDirectory( cacheFile.getParentFile() );
+        cacheFile.getParentFile().mkdirs();
+
+        // the cache header, cut in the middle of the configuration fingerprint
+        FileUtils.fileWrite( cacheFile.getAbsolutePath(), "ISO-8859-1", "\u0000\u0000\u0000\u0001\u0000\u0020abc" );
+
+        PmdReport mojo = (PmdReport) lookupMojo( "pmd", testPom );
+        setVariableValueToObject( mojo, "analysisCache", Boolean.TRUE );
+        setVariableValueToObject( mojo, "analysisCacheLocation", cacheFile );
+        mojo.execute();
+
+        // the corrupt cache is replaced by the results of this run
+        String cache = FileUtils.fileRead( cacheFile, "ISO-8859-1" );
+        assertTrue( cache.contains( "App.java" ) );
+    }
+
+    public void testThreads()
+        throws Exception
+    {
+        File testPom = new File( getBasedir(),
+                                 "src/test/resources/unit/default-configuration/default-configuration-plugin-config.xml" );
+        File generatedFile = new File( getBasedir(), "target/test/unit/default-configuration/target/pmd.xml" );
+
+        PmdReport mojo = (PmdReport) lookupMojo( "pmd", testPom );
+        setVariableValueToObject( mojo, "threads", Integer.valueOf( 0 ) );
+        mojo.execute();
+        int violations = StringUtils.countMatches( readFile( generatedFile ), "<violation" );
+        assertTrue( violations > 0 );
+
+        mojo = (PmdReport) lookupMojo( "pmd", testPom );
+        setVariableValueToObject( mojo, "threads", Integer.valueOf( 4 ) );
+        mojo.execute();
+        assertEquals( violations, StringUtils.countMatches( readFile( generatedFile ), "<violation" ) );
+    }
+
+    public void testAnalysisCacheProcessingError()
+        throws Exception
+    {
+        File testPom = new File( getBasedir(),
+                                 "src/test/resources/unit/default-configuration/default-configuration-plugin-config.xml" );
+        File sourceDirectory = new File( getBasedir(), "target/test/unit/processing-error/src" );
+        File cacheFile = new File( getBasedir(), "target/test/unit/processing-error/pmd.cache" );
+        FileUtils.deleteDirectory( sourceDirectory.getParentFile() );
+
+        File validFile = new File( sourceDirectory, "def/configuration/App.java" );
+        FileUtils.copyFile( new File( getBasedir(),
+                                      "src/test/resources/unit/default-configuration/def/configuration/App.java" ),
+                            validFile );
+        File invalidFile = new File( sourceDirectory, "def/configuration/Invalid.java" );
+        FileUtils.fileWrite( invalidFile.getAbsolutePath(), "UTF-8", "public class Invalid { void method( {" );
+
+        PmdReport mojo = (PmdReport) lookupMojo( "pmd", testPom );
+        setVariableValueToObject( mojo, "compileSourceRoots",
+                                  Collections.singletonList( sourceDirectory.getAbsolutePath() ) );
+        setVariableValueToObject( mojo, "analysisCache", Boolean.TRUE );
+        setVariableValueToObject( mojo, "analysisCacheLocation", cacheFile );
+        mojo.execute();
+
+        // the file PMD could not process is analyzed again by the next run
+        String cache = FileUtils.fileRead( cacheFile, "ISO-8859-1" );
+        assertTrue( cache.contains( validFile.getAbsolutePath() ) );
+        assertFalse( cache.contains( invalidFile.getAbsolutePath() ) );
+    }
+
     public void testJavascriptConfiguration()
         throws Exception
     {
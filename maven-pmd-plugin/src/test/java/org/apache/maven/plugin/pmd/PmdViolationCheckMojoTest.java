@@ -21,8 +21,11 @@ package org.apache.maven.plugin.pmd;
 
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugin.testing.AbstractMojoTestCase;
+import org.codehaus.plexus.util.FileUtils;
 
 import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * @author <a href="mailto:oching@apache.org">Maria Odea Ching</a>
@@ -110,6 +113,37 @@ public class PmdViolationCheckMojoTest
 
     }
 
+    public void testInProcessResults()
+        throws Exception
+    {
+        final Map<String, Object> pluginContext = new HashMap<String, Object>();
+
+        File testPom = new File( getBasedir(),
+                                 "src/test/resources/unit/default-configuration/default-configuration-plugin-config.xml" );
+        final PmdReport mojo = (PmdReport) lookupMojo( "pmd", testPom );
+        mojo.setPluginContext( pluginContext );
+        mojo.execute();
+
+        // the check must not need the XML report when the results were handed over in-process
+        File pmdXml = new File( getBasedir(), "target/test/unit/default-configuration/target/pmd.xml" );
+        FileUtils.fileWrite( pmdXml.getAbsolutePath(), "not xml" );
+
+        testPom = new File( getBasedir(),
+                            "src/test/resources/unit/default-configuration/pmd-check-failandwarnonpriority-plugin-config.xml" );
+        final PmdViolationCheckMojo pmdViolationMojo = (PmdViolationCheckMojo) lookupMojo( "check", testPom );
+        pmdViolationMojo.setPluginContext( pluginContext );
+        try
+        {
+            pmdViolationMojo.execute();
+            fail( "Exception Expected" );
+        }
+        catch ( final MojoFailureException e )
+        {
+            assertTrue( e.getMessage().contains( "You have 5 PMD violations and 3 warnings." ) );
+        }
+        assertTrue( pluginContext.isEmpty() );
+    }
+
     public void testException()
         throws Exception
     {
@@ -19,20 +19,22 @@ package org.apache.maven.report.projectinfo;
  * under the License.
  */
 
-import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.factory.ArtifactFactory;
 import org.apache.maven.artifact.manager.WagonManager;
 import org.apache.maven.artifact.metadata.ArtifactMetadataSource;
 import org.apache.maven.artifact.repository.metadata.RepositoryMetadataManager;
-import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
-import org.apache.maven.artifact.resolver.filter.ScopeArtifactFilter;
 import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.MavenProjectBuilder;
 import org.apache.maven.report.projectinfo.dependencies.Dependencies;
 import org.apache.maven.report.projectinfo.dependencies.DependenciesReportConfiguration;
+import org.apache.maven.report.projectinfo.dependencies.JarDetailsCache;
+import org.apache.maven.report.projectinfo.dependencies.ReactorDependencyIndex;
+import org.apache.maven.report.projectinfo.dependencies.RepositoryLocationCache;
+import org.apache.maven.report.projectinfo.dependencies.RepositoryProjectCache;
 import org.apache.maven.report.projectinfo.dependencies.RepositoryUtils;
 import org.apache.maven.report.projectinfo.dependencies.renderer.DependenciesRenderer;
 import org.apache.maven.shared.dependency.graph.DependencyGraphBuilder;
@@ -48,6 +50,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.LineNumberReader;
+import java.util.List;
 import java.util.Locale;
 
 /**
@@ -145,6 +148,74 @@ public class DependenciesReport
     @Parameter( property = "dependency.locations.enabled", defaultValue = "true" )
     private boolean dependencyLocationsEnabled;
 
+    /**
+     * The number of threads analyzing the dependency files which are not in the details cache. Only used if
+     * dependencyDetailsEnabled = true.
+     *
+     * @since 2.8
+     */
+    @Parameter( property = "dependency.details.threads", defaultValue = "1" )
+    private int dependencyDetailsThreads;
+
+    /**
+     * Store the details of the analyzed dependency files in {@link #dependencyDetailsCacheFile}, keyed by their
+     * checksum, so that a dependency file is analyzed only once by all the builds. Whatever this value, a dependency
+     * file is analyzed only once by all the modules of a build.
+     *
+     * @since 2.8
+     */
+    @Parameter( property = "dependency.details.cache.enabled", defaultValue = "false" )
+    private boolean dependencyDetailsCacheEnabled;
+
+    /**
+     * The file storing the details of the dependency files analyzed by the previous builds. Only used if
+     * dependencyDetailsCacheEnabled = true.
+     *
+     * @since 2.8
+     */
+    @Parameter( defaultValue = "${settings.localRepository}/.cache/maven-project-info-reports-plugin/"
+        + "dependency-details.properties" )
+    private File dependencyDetailsCacheFile;
+
+    /**
+     * The number of threads checking the repository locations of the dependencies, each keeping a connection to every
+     * repository. Only used if dependencyLocationsEnabled = true.
+     *
+     * @since 2.8
+     */
+    @Parameter( property = "dependency.locations.threads", defaultValue = "1" )
+    private int dependencyLocationsThreads;
+
+    /**
+     * The time in minutes during which the repository locations checked by a previous build are trusted, or
+     * <code>0</code> to check them on every build. The locations are stored in
+     * {@link #dependencyLocationsCacheFile}. Whatever this value, a location is checked only once by all the modules
+     * of a build.
+     *
+     * @since 2.8
+     */
+    @Parameter( property = "dependency.locations.cache.ttl", defaultValue = "0" )
+    private int dependencyLocationsCacheTtl;
+
+    /**
+     * The file storing the repository locations checked by the previous builds. Only used if
+     * dependencyLocationsCacheTtl &gt; 0.
+     *
+     * @since 2.8
+     */
+    @Parameter( defaultValue = "${settings.localRepository}/.cache/maven-project-info-reports-plugin/"
+        + "dependency-locations.properties" )
+    private File dependencyLocationsCacheFile;
+
+    /**
+     * The projects of the build, which share the dependency projects built from the repository and the dependency
+     * graphs.
+     *
+     * @since 2.8
+     */
+    @Parameter( defaultValue = "${reactorProjects}", readonly = true )
+    private List<MavenProject> reactorProjects;
+
     // ----------------------------------------------------------------------
     // Public methods
     // ----------------------------------------------------------------------
@@ -172,9 +243,28 @@ public class DependenciesReport
                                  project.getRemoteArtifactRepositories(), project.getPluginArtifactRepositories(),
                                  localRepository, repositoryMetadataManager );
 
+        RepositoryLocationCache locationCache;
+        if ( dependencyLocationsCacheTtl > 0 )
+        {
+            long timeToLive = dependencyLocationsCacheTtl * 60L * 1000L;
+            locationCache = RepositoryLocationCache.getInstance( dependencyLocationsCacheFile, timeToLive );
+        }
+        else
+        {
+            locationCache = RepositoryLocationCache.getInstance( null, Long.MAX_VALUE );
+        }
+        repoUtils.setLocationCache( locationCache );
+        repoUtils.setProjectCache( RepositoryProjectCache.getInstance( reactorProjects ) );
+        repoUtils.setProbeThreads( dependencyLocationsThreads );
+
         DependencyNode dependencyNode = resolveProject();
 
         Dependencies dependencies = new Dependencies( project, dependencyNode, classesAnalyzer );
+        JarDetailsCache jarDetailsCache =
+            JarDetailsCache.getInstance( reactorProjects,
+                                         dependencyDetailsCacheEnabled ? dependencyDetailsCacheFile : null );
+        dependencies.setJarDetailsCache( jarDetailsCache );
+        dependencies.setAnalysisThreads( dependencyDetailsThreads );
 
         DependenciesReportConfiguration config =
             new DependenciesReportConfiguration( dependencyDetailsEnabled, dependencyLocationsEnabled );
@@ -184,6 +274,24 @@ public class DependenciesReport
                                       dependencyNode, config, repoUtils, artifactFactory, mavenProjectBuilder,
                                       remoteRepositories, localRepository );
         r.render();
+
+        try
+        {
+            locationCache.store();
+        }
+        catch ( IOException e )
+        {
+            getLog().warn( "Unable to store the dependency locations: " + e.getMessage() );
+        }
+
+        try
+        {
+            jarDetailsCache.store();
+        }
+        catch ( IOException e )
+        {
+            getLog().warn( "Unable to store the dependency file details: " + e.getMessage() );
+        }
     }
 
     /**
@@ -211,8 +319,9 @@ public class DependenciesReport
     {
         try
         {
-            ArtifactFilter artifactFilter = new ScopeArtifactFilter( Artifact.SCOPE_TEST );
-            return dependencyGraphBuilder.buildDependencyGraph( project, artifactFilter );
+            // shared with the dependency convergence report
+            return ReactorDependencyIndex.getInstance( reactorProjects ).getDependencyGraph( project,
+                                                                                            dependencyGraphBuilder );
         }
         catch ( DependencyGraphBuilderException e )
         {
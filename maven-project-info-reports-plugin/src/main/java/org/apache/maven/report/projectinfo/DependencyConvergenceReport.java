@@ -22,21 +22,24 @@ package org.apache.maven.report.projectinfo;
 import org.apache.maven.doxia.sink.Sink;
 import org.apache.maven.doxia.sink.SinkEventAttributeSet;
 import org.apache.maven.doxia.sink.SinkEventAttributes;
-import org.apache.maven.model.Dependency;
+import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.report.projectinfo.dependencies.ReactorDependencyIndex;
+import org.apache.maven.report.projectinfo.dependencies.ReactorDependencyIndex.Link;
 import org.apache.maven.reporting.MavenReportException;
+import org.apache.maven.shared.dependency.tree.DependencyTreeBuilder;
+import org.apache.maven.shared.dependency.tree.DependencyTreeBuilderException;
 import org.codehaus.plexus.util.StringUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.SortedMap;
 
 /**
  * Generates the Dependency Convergence report for reactor builds.
@@ -52,6 +55,18 @@ public class DependencyConvergenceReport
 {
     private static final int PERCENTAGE = 100;
 
+    // ----------------------------------------------------------------------
+    // Mojo components
+    // ----------------------------------------------------------------------
+
+    /**
+     * Dependency tree builder component.
+     *
+     * @since 2.8
+     */
+    @Component
+    private DependencyTreeBuilder dependencyTreeBuilder;
+
     // ----------------------------------------------------------------------
     // Mojo parameters
     // ----------------------------------------------------------------------
@@ -63,6 +78,16 @@ public class DependencyConvergenceReport
     @Parameter( property = "reactorProjects", required = true, readonly = true )
     private List<MavenProject> reactorProjects;
 
+    /**
+     * Check the convergence of the dependency trees of the reactor projects, transitive dependencies included,
+     * instead of the dependencies declared in their POM. The versions omitted by the conflict resolution are checked
+     * too. The trees are indexed once for the whole build.
+     *
+     * @since 2.8
+     */
+    @Parameter( property = "dependency.convergence.transitive", defaultValue = "false" )
+    private boolean transitive;
+
     // ----------------------------------------------------------------------
     // Public methods
     // ----------------------------------------------------------------------
@@ -110,7 +135,7 @@ public class DependencyConvergenceReport
         sink.text( getI18nString( locale, "title" ) );
         sink.sectionTitle1_();
 
-        Map<String, List<ReverseDependencyLink>> dependencyMap = getDependencyMap();
+        SortedMap<String, SortedMap<String, List<Link>>> dependencyMap = getDependencyMap();
 
         // legend
         generateLegend( locale, sink );
@@ -141,7 +166,8 @@ public class DependencyConvergenceReport
      * @param sink
      * @param dependencyMap
      */
-    private void generateConvergence( Locale locale, Sink sink, Map<String, List<ReverseDependencyLink>> dependencyMap )
+    private void generateConvergence( Locale locale, Sink sink,
+                                      SortedMap<String, SortedMap<String, List<Link>>> dependencyMap )
     {
         sink.section2();
 
@@ -149,17 +175,17 @@ public class DependencyConvergenceReport
         sink.text( getI18nString( locale, "convergence.caption" ) );
         sink.sectionTitle2_();
 
-        for ( Map.Entry<String, List<ReverseDependencyLink>> entry : dependencyMap.entrySet() )
+        for ( Map.Entry<String, SortedMap<String, List<Link>>> entry : dependencyMap.entrySet() )
         {
             String key = entry.getKey();
-            List<ReverseDependencyLink> depList = entry.getValue();
+            SortedMap<String, List<Link>> artifactMap = entry.getValue();
 
             sink.section3();
             sink.sectionTitle3();
             sink.text( key );
             sink.sectionTitle3_();
 
-            generateDependencyDetails( sink, depList );
+            generateDependencyDetails( sink, artifactMap );
 
             sink.section3_();
         }
@@ -171,14 +197,12 @@ public class DependencyConvergenceReport
      * Generate the detail table for a given dependency
      *
      * @param sink
-     * @param depList
+     * @param artifactMap
      */
-    private void generateDependencyDetails( Sink sink, List<ReverseDependencyLink> depList )
+    private void generateDependencyDetails( Sink sink, SortedMap<String, List<Link>> artifactMap )
     {
         sink.table();
 
-        Map<String, List<ReverseDependencyLink>> artifactMap = getSortedUniqueArtifactMap( depList );
-
         sink.tableRow();
 
         sink.tableCell( );
@@ -217,66 +241,32 @@ public class DependencyConvergenceReport
         sink.table_();
     }
 
-    private void generateVersionDetails( Sink sink, Map<String, List<ReverseDependencyLink>> artifactMap,
-                                         String version )
+    private void generateVersionDetails( Sink sink, SortedMap<String, List<Link>> artifactMap, String version )
     {
         sink.numberedList( 1 ); // Use lower alpha numbering
-        List<ReverseDependencyLink> depList = artifactMap.get( version );
-        Collections.sort( depList, new ReverseDependencyLinkComparator() );
+        List<Link> depList = new ArrayList<Link>( artifactMap.get( version ) );
+        Collections.sort( depList, new LinkComparator() );
 
-        for ( ReverseDependencyLink rdl : depList )
+        for ( Link link : depList )
         {
+            MavenProject linkProject = link.getProject();
             sink.numberedListItem();
-            if ( StringUtils.isNotEmpty( rdl.project.getUrl() ) )
+            if ( StringUtils.isNotEmpty( linkProject.getUrl() ) )
             {
-                sink.link( rdl.project.getUrl() );
+                sink.link( linkProject.getUrl() );
             }
-            sink.text( rdl.project.getGroupId() + ":" + rdl.project.getArtifactId() );
-            if ( StringUtils.isNotEmpty( rdl.project.getUrl() ) )
+            sink.text( linkProject.getGroupId() + ":" + linkProject.getArtifactId() );
+            if ( StringUtils.isNotEmpty( linkProject.getUrl() ) )
             {
                 sink.link_();
             }
-            sink.numberedListItem_();
-        }
-        sink.numberedList_();
-    }
-
-    /**
-     * Produce a Map of relationships between dependencies (its version) and
-     * reactor projects.
-     *
-     * This is the structure of the Map:
-     * <pre>
-     * +--------------------+----------------------------------+
-     * | key                | value                            |
-     * +--------------------+----------------------------------+
-     * | version of a       | A List of ReverseDependencyLinks |
-     * | dependency         | which each look like this:       |
-     * |                    | +------------+-----------------+ |
-     * |                    | | dependency | reactor project | |
-     * |                    | +------------+-----------------+ |
-     * +--------------------+----------------------------------+
-     * </pre>
-     *
-     * @return A Map of sorted unique artifacts
-     */
-    private Map<String, List<ReverseDependencyLink>> getSortedUniqueArtifactMap( List<ReverseDependencyLink> depList )
-    {
-        Map<String, List<ReverseDependencyLink>> uniqueArtifactMap = new TreeMap<String, List<ReverseDependencyLink>>();
-
-        for ( ReverseDependencyLink rdl : depList )
-        {
-            String key = rdl.getDependency().getVersion();
-            List<ReverseDependencyLink> projectList = uniqueArtifactMap.get( key );
-            if ( projectList == null )
+            if ( link.getDependent() != null )
             {
-                projectList = new ArrayList<ReverseDependencyLink>();
+                sink.text( " (" + link.getDependent() + ")" );
             }
-            projectList.add( rdl );
-            uniqueArtifactMap.put( key, projectList );
+            sink.numberedListItem_();
         }
-
-        return uniqueArtifactMap;
+        sink.numberedList_();
     }
 
     /**
@@ -326,16 +316,17 @@ public class DependencyConvergenceReport
      * @param sink
      * @param dependencyMap
      */
-    private void generateStats( Locale locale, Sink sink, Map<String, List<ReverseDependencyLink>> dependencyMap )
+    private void generateStats( Locale locale, Sink sink,
+                                SortedMap<String, SortedMap<String, List<Link>>> dependencyMap )
     {
         int depCount = dependencyMap.size();
         int artifactCount = 0;
         int snapshotCount = 0;
 
-        for ( List<ReverseDependencyLink> depList : dependencyMap.values() )
+        for ( Map.Entry<String, SortedMap<String, List<Link>>> entry : dependencyMap.entrySet() )
         {
-            Map<String, List<ReverseDependencyLink>> artifactMap = getSortedUniqueArtifactMap( depList );
-            snapshotCount += countSnapshots( artifactMap );
+            SortedMap<String, List<Link>> artifactMap = entry.getValue();
+            snapshotCount += countSnapshots( entry.getKey(), artifactMap );
             artifactCount += artifactMap.size();
         }
 
@@ -442,56 +433,26 @@ public class DependencyConvergenceReport
         sink.table_();
     }
 
-    private int countSnapshots( Map<String, List<ReverseDependencyLink>> artifactMap )
+    private int countSnapshots( String key, SortedMap<String, List<Link>> artifactMap )
     {
-        int count = 0;
-        for ( Map.Entry<String, List<ReverseDependencyLink>> entry : artifactMap.entrySet() )
+        if ( getIndex().isReactorProject( key ) )
         {
-            String version = entry.getKey();
-            boolean isReactorProject = false;
-
-            Iterator<ReverseDependencyLink> iterator = entry.getValue().iterator();
-            // It if enough to check just the first dependency here, because
-            // the dependency is the same in all the RDLs in the List. It's the
-            // reactorProjects that are different.
-            if ( iterator.hasNext() )
+            if ( getLog().isDebugEnabled() )
             {
-                ReverseDependencyLink rdl = iterator.next();
-                if ( isReactorProject( rdl.getDependency() ) )
-                {
-                    isReactorProject = true;
-                }
-            }
-
-            if ( version.endsWith( "-SNAPSHOT" ) && !isReactorProject )
-            {
-                count++;
+                getLog().debug( key + " is a reactor project" );
             }
+            return 0;
         }
-        return count;
-    }
 
-    /**
-     * Check to see if the specified dependency is among the reactor projects.
-     *
-     * @param dependency The dependency to check
-     * @return true if and only if the dependency is a reactor project
-     */
-    private boolean isReactorProject( Dependency dependency )
-    {
-        for ( MavenProject mavenProject : reactorProjects )
+        int count = 0;
+        for ( String version : artifactMap.keySet() )
         {
-            if ( mavenProject.getGroupId().equals( dependency.getGroupId() )
-                && mavenProject.getArtifactId().equals( dependency.getArtifactId() ) )
+            if ( version.endsWith( "-SNAPSHOT" ) )
             {
-                if ( getLog().isDebugEnabled() )
-                {
-                    getLog().debug( dependency + " is a reactor project" );
-                }
-                return true;
+                count++;
             }
         }
-        return false;
+        return count;
     }
 
     private void iconSuccess( Sink sink )
@@ -514,85 +475,58 @@ public class DependencyConvergenceReport
         sink.figure_();
     }
 
+    private ReactorDependencyIndex getIndex()
+    {
+        return ReactorDependencyIndex.getInstance( reactorProjects );
+    }
+
     /**
      * Produce a Map of relationships between dependencies
-     * (its groupId:artifactId) and reactor projects.
+     * (its groupId:artifactId), their versions and reactor projects.
      *
      * This is the structure of the Map:
      * <pre>
-     * +--------------------+----------------------------------+
-     * | key                | value                            |
-     * +--------------------+----------------------------------+
-     * | groupId:artifactId | A List of ReverseDependencyLinks |
-     * | of a dependency    | which each look like this:       |
-     * |                    | +------------+-----------------+ |
-     * |                    | | dependency | reactor project | |
-     * |                    | +------------+-----------------+ |
-     * +--------------------+----------------------------------+
+     * +--------------------+-------------------------------------------+
+     * | key                | value                                     |
+     * +--------------------+-------------------------------------------+
+     * | groupId:artifactId | A Map of the versions of the dependency   |
+     * | of a dependency    | to a List of Links which each look like:  |
+     * |                    | +-----------------+---------------------+ |
+     * |                    | | reactor project | dependent, if any   | |
+     * |                    | +-----------------+---------------------+ |
+     * +--------------------+-------------------------------------------+
      * </pre>
      *
      * @return A Map of relationships between dependencies and reactor projects
+     * @throws MavenReportException if the dependency trees can't be built
      */
-    private Map<String, List<ReverseDependencyLink>> getDependencyMap()
-    {
-        Map<String, List<ReverseDependencyLink>> dependencyMap = new TreeMap<String, List<ReverseDependencyLink>>();
-
-        for ( MavenProject reactorProject : reactorProjects )
-        {
-            for (Dependency dep : (Iterable<Dependency>) reactorProject.getDependencies()) {
-                String key = dep.getGroupId() + ":" + dep.getArtifactId();
-                List<ReverseDependencyLink> depList = dependencyMap.get(key);
-                if (depList == null) {
-                    depList = new ArrayList<ReverseDependencyLink>();
-                }
-                depList.add(new ReverseDependencyLink(dep, reactorProject));
-                dependencyMap.put(key, depList);
-            }
-        }
-
-        return dependencyMap;
-    }
-
-    /**
-     * Internal object
-     */
-    private static class ReverseDependencyLink
+    private SortedMap<String, SortedMap<String, List<Link>>> getDependencyMap()
+        throws MavenReportException
     {
-        private Dependency dependency;
-
-        protected MavenProject project;
-
-        ReverseDependencyLink( Dependency dependency, MavenProject project )
+        if ( !transitive )
         {
-            this.dependency = dependency;
-            this.project = project;
+            return getIndex().getDeclaredDependencies();
         }
 
-        public Dependency getDependency()
+        try
         {
-            return dependency;
+            return getIndex().getResolvedDependencies( dependencyTreeBuilder, localRepository );
         }
-
-        public MavenProject getProject()
-        {
-            return project;
-        }
-
-        @Override
-        public String toString()
+        catch ( DependencyTreeBuilderException e )
         {
-            return project.getId();
+            throw new MavenReportException( "Unable to build the dependency trees of the reactor projects: "
+                + e.getMessage(), e );
         }
     }
 
     /**
-     * Internal ReverseDependencyLink comparator
+     * Internal Link comparator
      */
-    static class ReverseDependencyLinkComparator
-        implements Comparator<ReverseDependencyLink>
+    static class LinkComparator
+        implements Comparator<Link>
     {
         /** {@inheritDoc} */
-        public int compare( ReverseDependencyLink p1, ReverseDependencyLink p2 )
+        public int compare( Link p1, Link p2 )
         {
             return p1.getProject().getId().compareTo( p2.getProject().getId() );
         }
@@ -19,11 +19,19 @@ package org.apache.maven.report.projectinfo.dependencies;
  * under the License.
  */
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.jar.JarEntry;
 
 import org.apache.maven.artifact.Artifact;
@@ -33,6 +41,8 @@ import org.apache.maven.shared.jar.JarAnalyzer;
 import org.apache.maven.shared.jar.JarData;
 import org.apache.maven.shared.jar.classes.JarClasses;
 import org.apache.maven.shared.jar.classes.JarClassesAnalysis;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
 
 /**
  * @version $Id$
@@ -76,6 +86,21 @@ public class Dependencies
      */
     private Map<String, JarData> dependencyDetails;
 
+    /**
+     * @since 2.8
+     */
+    private final Map<String, JarDetails> jarDetails = new HashMap<String, JarDetails>();
+
+    /**
+     * @since 2.8
+     */
+    private JarDetailsCache jarDetailsCache = new JarDetailsCache( null );
+
+    /**
+     * @since 2.8
+     */
+    private int analysisThreads = 1;
+
     /**
      * Default constructor
      *
@@ -240,37 +265,192 @@ public class Dependencies
             return jarData;
         }
 
-        if ( artifact.getFile().isDirectory() )
+        jarData = analyze( artifact.getFile(), classesAnalyzer );
+
+        dependencyDetails.put( artifact.getId(), jarData );
+
+        return jarData;
+    }
+
+    /**
+     * @param jarDetailsCache the cache of the details of the jars already analyzed, not null.
+     * @since 2.8
+     */
+    public void setJarDetailsCache( JarDetailsCache jarDetailsCache )
+    {
+        this.jarDetailsCache = jarDetailsCache;
+    }
+
+    /**
+     * @param threads the number of threads analyzing the jars in {@link #analyzeJarDependencies(List)}.
+     * @since 2.8
+     */
+    public void setAnalysisThreads( int threads )
+    {
+        this.analysisThreads = threads;
+    }
+
+    /**
+     * Gets the summary of the details of a jar, which is analyzed only if its checksum is not found in the jar details
+     * cache.
+     *
+     * @param artifact the artifact, with its file.
+     * @return the details of the jar, never null.
+     * @throws IOException if the jar can't be read.
+     * @since 2.8
+     */
+    public JarDetails getJarDetails( Artifact artifact )
+        throws IOException
+    {
+        return getJarDetails( artifact, classesAnalyzer );
+    }
+
+    private JarDetails getJarDetails( Artifact artifact, JarClassesAnalysis analyzer )
+        throws IOException
+    {
+        synchronized ( jarDetails )
         {
-            jarData = new JarData( artifact.getFile(), null, new ArrayList<JarEntry>() );
+            JarDetails details = jarDetails.get( artifact.getId() );
+            if ( details != null )
+            {
+                return details;
+            }
+        }
 
-            jarData.setJarClasses( new JarClasses() );
+        File file = artifact.getFile();
+        JarDetails details;
+        if ( file.isDirectory() )
+        {
+            details = new JarDetails( analyze( file, analyzer ) );
         }
         else
         {
-            JarAnalyzer jarAnalyzer = new JarAnalyzer( artifact.getFile() );
-
-            try
+            String checksum = jarDetailsCache.getChecksum( file );
+            details = jarDetailsCache.get( checksum );
+            if ( details == null )
             {
-                classesAnalyzer.analyze( jarAnalyzer );
+                details = new JarDetails( analyze( file, analyzer ) );
+                jarDetailsCache.put( checksum, details );
             }
-            finally
+        }
+
+        synchronized ( jarDetails )
+        {
+            jarDetails.put( artifact.getId(), details );
+        }
+        return details;
+    }
+
+    /**
+     * Analyzes concurrently the jars which are not in the jar details cache, so that {@link #getJarDetails(Artifact)}
+     * returns at once. The jars which can't be read are ignored, the error being reported by
+     * {@link #getJarDetails(Artifact)}.
+     *
+     * @param artifacts the artifacts, not null.
+     * @since 2.8
+     */
+    public void analyzeJarDependencies( List<Artifact> artifacts )
+    {
+        final Queue<Artifact> queue = new ConcurrentLinkedQueue<Artifact>();
+        for ( Artifact artifact : artifacts )
+        {
+            if ( artifact.getFile() != null )
             {
-                jarAnalyzer.closeQuietly();
+                queue.add( artifact );
             }
-            
-            jarData = jarAnalyzer.getJarData();
         }
 
-        dependencyDetails.put( artifact.getId(), jarData );
-    
-        return jarData;
+        int poolSize = Math.min( analysisThreads, queue.size() );
+        if ( poolSize <= 1 )
+        {
+            // analyzed on demand
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool( poolSize );
+        try
+        {
+            List<Future<Object>> futures = new ArrayList<Future<Object>>( poolSize );
+            for ( int i = 0; i < poolSize; i++ )
+            {
+                futures.add( executor.submit( new Callable<Object>()
+                {
+                    public Object call()
+                    {
+                        // the analyzer component is a singleton, which is not meant to be shared by threads
+                        JarClassesAnalysis analyzer = new JarClassesAnalysis();
+                        analyzer.enableLogging( new ConsoleLogger( Logger.LEVEL_WARN, "JarClassesAnalysis" ) );
+
+                        for ( Artifact artifact = queue.poll(); artifact != null; artifact = queue.poll() )
+                        {
+                            try
+                            {
+                                getJarDetails( artifact, analyzer );
+                            }
+                            catch ( IOException e )
+                            {
+                                // reported when rendered
+                            }
+                        }
+                        return null;
+                    }
+                } ) );
+            }
+            for ( Future<Object> future : futures )
+            {
+                future.get();
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch ( ExecutionException e )
+        {
+            // stops the other threads
+            queue.clear();
+            if ( e.getCause() instanceof RuntimeException )
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            throw (Error) e.getCause();
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
     }
 
     // ----------------------------------------------------------------------
     // Private methods
     // ----------------------------------------------------------------------
 
+    private JarData analyze( File file, JarClassesAnalysis analyzer )
+        throws IOException
+    {
+        if ( file.isDirectory() )
+        {
+            JarData jarData = new JarData( file, null, new ArrayList<JarEntry>() );
+
+            jarData.setJarClasses( new JarClasses() );
+
+            return jarData;
+        }
+
+        JarAnalyzer jarAnalyzer = new JarAnalyzer( file );
+
+        try
+        {
+            analyzer.analyze( jarAnalyzer );
+        }
+        finally
+        {
+            jarAnalyzer.closeQuietly();
+        }
+
+        return jarAnalyzer.getJarData();
+    }
+
     /**
      * Recursive method to get all dependencies from a given <code>dependencyNode</code>
      *
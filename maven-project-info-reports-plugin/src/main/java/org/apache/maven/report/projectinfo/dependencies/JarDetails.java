@@ -0,0 +1,149 @@
+package org.apache.maven.report.projectinfo.dependencies;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.shared.jar.JarData;
+
+/**
+ * The summary of a <code>JarData</code> displayed in the file details of the dependencies, small enough to be kept
+ * for every artifact and stored between builds.
+ *
+ * @version $Id$
+ * @since 2.8
+ */
+public class JarDetails
+{
+    private static final char SEPARATOR = '|';
+
+    private final int numEntries;
+
+    private final int numClasses;
+
+    private final int numPackages;
+
+    private final String jdkRevision;
+
+    private final boolean debugPresent;
+
+    private final boolean sealed;
+
+    /**
+     * @param jarData the analyzed jar, not null.
+     */
+    public JarDetails( JarData jarData )
+    {
+        this( jarData.getNumEntries(), jarData.getNumClasses(), jarData.getNumPackages(), jarData.getJdkRevision(),
+              jarData.isDebugPresent(), jarData.isSealed() );
+    }
+
+    JarDetails( int numEntries, int numClasses, int numPackages, String jdkRevision, boolean debugPresent,
+                boolean sealed )
+    {
+        this.numEntries = numEntries;
+        this.numClasses = numClasses;
+        this.numPackages = numPackages;
+        this.jdkRevision = jdkRevision;
+        this.debugPresent = debugPresent;
+        this.sealed = sealed;
+    }
+
+    /**
+     * @return the number of entries of the jar.
+     */
+    public int getNumEntries()
+    {
+        return numEntries;
+    }
+
+    /**
+     * @return the number of classes of the jar.
+     */
+    public int getNumClasses()
+    {
+        return numClasses;
+    }
+
+    /**
+     * @return the number of packages of the jar.
+     */
+    public int getNumPackages()
+    {
+        return numPackages;
+    }
+
+    /**
+     * @return the highest JDK revision of the classes, or <code>null</code> if the jar has no class.
+     */
+    public String getJdkRevision()
+    {
+        return jdkRevision;
+    }
+
+    /**
+     * @return <code>true</code> if the classes have debug information.
+     */
+    public boolean isDebugPresent()
+    {
+        return debugPresent;
+    }
+
+    /**
+     * @return <code>true</code> if the jar is sealed.
+     */
+    public boolean isSealed()
+    {
+        return sealed;
+    }
+
+    /**
+     * @return the details as stored by the {@link JarDetailsCache}.
+     */
+    @Override
+    public String toString()
+    {
+        return String.valueOf( numEntries ) + SEPARATOR + numClasses + SEPARATOR + numPackages + SEPARATOR
+            + ( jdkRevision == null ? "" : jdkRevision ) + SEPARATOR + debugPresent + SEPARATOR + sealed;
+    }
+
+    /**
+     * @param value the details as returned by {@link #toString()}, not null.
+     * @return the details, or <code>null</code> if the value is not valid.
+     */
+    static JarDetails valueOf( String value )
+    {
+        String[] fields = value.split( "\\" + SEPARATOR, -1 );
+        if ( fields.length != 6 )
+        {
+            return null;
+        }
+
+        try
+        {
+            return new JarDetails( Integer.parseInt( fields[0] ), Integer.parseInt( fields[1] ),
+                                   Integer.parseInt( fields[2] ), fields[3].length() == 0 ? null : fields[3],
+                                   Boolean.valueOf( fields[4] ).booleanValue(),
+                                   Boolean.valueOf( fields[5] ).booleanValue() );
+        }
+        catch ( NumberFormatException e )
+        {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package org.apache.maven.report.projectinfo.dependencies;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.WeakHashMap;
+
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.jar.JarAnalyzer;
+import org.codehaus.plexus.util.IOUtil;
+
+/**
+ * Remembers the details of the analyzed jars, keyed by the version of the analyzer and the checksum of their content,
+ * so that a jar is analyzed only once by all the modules of a build, and, if stored in a file, only once by all the
+ * builds using the same analyzer. The details found by other versions of the analyzer are dropped from the file.
+ *
+ * @version $Id$
+ * @since 2.8
+ */
+public class JarDetailsCache
+{
+    /** The caches of the running builds, by reactor and file. */
+    private static final Map<List<MavenProject>, Map<File, JarDetailsCache>> CACHES =
+        new WeakHashMap<List<MavenProject>, Map<File, JarDetailsCache>>();
+
+    /** The version of maven-shared-jar analyzing the jars. */
+    static final String ANALYZER_VERSION = getAnalyzerVersion();
+
+    private final File file;
+
+    /** The prefix of the keys of the details found by the analyzer in use. */
+    private final String prefix;
+
+    /** The details, as given by {@link JarDetails#toString()}, by analyzer version and checksum. */
+    private final Properties details = new Properties();
+
+    /** The checksums already computed by this build, by file path, length and last modification date. */
+    private final Map<String, String> checksums = new HashMap<String, String>();
+
+    private boolean modified;
+
+    /**
+     * @param file the file storing the details, or <code>null</code> to keep the details in memory only.
+     */
+    JarDetailsCache( File file )
+    {
+        this( file, ANALYZER_VERSION );
+    }
+
+    /**
+     * @param file the file storing the details, or <code>null</code> to keep the details in memory only.
+     * @param analyzerVersion the version of the analyzer of the jars, not null.
+     */
+    JarDetailsCache( File file, String analyzerVersion )
+    {
+        this.file = file;
+        this.prefix = analyzerVersion + '/';
+
+        if ( file != null && file.isFile() )
+        {
+            InputStream in = null;
+            try
+            {
+                in = new FileInputStream( file );
+                details.load( in );
+            }
+            catch ( IOException e )
+            {
+                // all the jars are analyzed again
+                details.clear();
+            }
+            finally
+            {
+                IOUtil.close( in );
+            }
+
+            // the details found by another analyzer may be wrong
+            for ( Object key : details.keySet().toArray() )
+            {
+                if ( !( (String) key ).startsWith( prefix ) )
+                {
+                    details.remove( key );
+                    modified = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the cache shared by the modules of a build.
+     *
+     * @param reactorProjects the projects of the build, or <code>null</code> to get a cache which is not shared.
+     * @param file the file storing the details, or <code>null</code> to keep the details in memory only.
+     * @return the cache, never <code>null</code>.
+     */
+    public static synchronized JarDetailsCache getInstance( List<MavenProject> reactorProjects, File file )
+    {
+        File key = ( file != null ) ? file.getAbsoluteFile() : null;
+        if ( reactorProjects == null )
+        {
+            return new JarDetailsCache( key );
+        }
+
+        Map<File, JarDetailsCache> caches = CACHES.get( reactorProjects );
+        if ( caches == null )
+        {
+            caches = new HashMap<File, JarDetailsCache>();
+            CACHES.put( reactorProjects, caches );
+        }
+
+        JarDetailsCache cache = caches.get( key );
+        if ( cache == null )
+        {
+            cache = new JarDetailsCache( key );
+            caches.put( key, cache );
+        }
+        return cache;
+    }
+
+    /**
+     * Gets the MD5 checksum of a jar, computed once per build as long as the jar is not modified.
+     *
+     * @param jar the jar, not null.
+     * @return the hex encoded checksum, never null.
+     * @throws IOException if the jar can't be read.
+     */
+    public String getChecksum( File jar )
+        throws IOException
+    {
+        String key = jar.getAbsolutePath() + ':' + jar.length() + ':' + jar.lastModified();
+        synchronized ( checksums )
+        {
+            String checksum = checksums.get( key );
+            if ( checksum != null )
+            {
+                return checksum;
+            }
+        }
+
+        MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance( "MD5" );
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new IllegalStateException( "MD5 digest not available" );
+        }
+
+        InputStream in = null;
+        try
+        {
+            in = new FileInputStream( jar );
+            byte[] buffer = new byte[8192];
+            int read;
+            while ( ( read = in.read( buffer ) ) >= 0 )
+            {
+                digest.update( buffer, 0, read );
+            }
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+
+        StringBuilder hex = new StringBuilder();
+        for ( byte b : digest.digest() )
+        {
+            hex.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) ).append( Character.forDigit( b & 0xF, 16 ) );
+        }
+        String checksum = hex.toString();
+
+        synchronized ( checksums )
+        {
+            checksums.put( key, checksum );
+        }
+        return checksum;
+    }
+
+    /**
+     * @param checksum the checksum of a jar, not null.
+     * @return the details of the jar, or <code>null</code> if the jar was not analyzed yet.
+     */
+    public JarDetails get( String checksum )
+    {
+        String value = details.getProperty( prefix + checksum );
+        return ( value != null ) ? JarDetails.valueOf( value ) : null;
+    }
+
+    /**
+     * @param checksum the checksum of a jar, not null.
+     * @param jarDetails the details of the jar, not null.
+     */
+    public synchronized void put( String checksum, JarDetails jarDetails )
+    {
+        details.setProperty( prefix + checksum, jarDetails.toString() );
+        modified = true;
+    }
+
+    /**
+     * Stores the details in the file.
+     *
+     * @throws IOException if the file can't be written.
+     */
+    public synchronized void store()
+        throws IOException
+    {
+        if ( file == null || !modified )
+        {
+            return;
+        }
+
+        file.getParentFile().mkdirs();
+
+        OutputStream out = null;
+        try
+        {
+            out = new FileOutputStream( file );
+            details.store( out, "maven-project-info-reports-plugin dependency file details" );
+        }
+        finally
+        {
+            IOUtil.close( out );
+        }
+        modified = false;
+    }
+
+    /**
+     * @return the version of maven-shared-jar, as found in its Maven descriptor or its manifest.
+     */
+    private static String getAnalyzerVersion()
+    {
+        Properties pom = new Properties();
+        InputStream in =
+            JarAnalyzer.class.getResourceAsStream( "/META-INF/maven/org.apache.maven.shared/maven-shared-jar/"
+                + "pom.properties" );
+        try
+        {
+            if ( in != null )
+            {
+                pom.load( in );
+            }
+        }
+        catch ( IOException e )
+        {
+            // falls back to the manifest
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+
+        String version = pom.getProperty( "version" );
+        if ( version == null && JarAnalyzer.class.getPackage() != null )
+        {
+            version = JarAnalyzer.class.getPackage().getImplementationVersion();
+        }
+        return "maven-shared-jar-" + ( version != null ? version : "unknown" );
+    }
+}
@@ -0,0 +1,382 @@
+package org.apache.maven.report.projectinfo.dependencies;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.resolver.filter.ScopeArtifactFilter;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.dependency.graph.DependencyGraphBuilder;
+import org.apache.maven.shared.dependency.graph.DependencyGraphBuilderException;
+import org.apache.maven.shared.dependency.graph.DependencyNode;
+import org.apache.maven.shared.dependency.tree.DependencyTreeBuilder;
+import org.apache.maven.shared.dependency.tree.DependencyTreeBuilderException;
+
+/**
+ * Index of the dependencies of all the projects of a build, computed once and shared by the reports of every module.
+ * <br/>
+ * The resolved dependency graph of each project is built once, in the test scope, and the dependencies are indexed
+ * by <code>groupId:artifactId</code>, with the projects using each of their versions, either directly or through
+ * another dependency.
+ * <br/>
+ * The index only keeps a copy of the reactor list, so that it is dropped with the build which created it.
+ *
+ * @version $Id$
+ * @since 2.8
+ */
+public class ReactorDependencyIndex
+{
+    /** The indexes of the running builds, by reactor. The values must not refer to their key. */
+    private static final Map<List<MavenProject>, ReactorDependencyIndex> INDEXES =
+        new WeakHashMap<List<MavenProject>, ReactorDependencyIndex>();
+
+    private final List<MavenProject> reactorProjects;
+
+    /** The <code>groupId:artifactId</code> keys, each kept once. */
+    private final Map<String, String> keys = new HashMap<String, String>();
+
+    private final Set<String> reactorKeys = new HashSet<String>();
+
+    private final Map<MavenProject, FutureTask<DependencyNode>> graphs =
+        new IdentityHashMap<MavenProject, FutureTask<DependencyNode>>();
+
+    private SortedMap<String, SortedMap<String, List<Link>>> declaredDependencies;
+
+    private SortedMap<String, SortedMap<String, List<Link>>> resolvedDependencies;
+
+    /**
+     * @param reactorProjects the projects of the build, not null.
+     */
+    public ReactorDependencyIndex( List<MavenProject> reactorProjects )
+    {
+        // a copy, the reactor list being the weak key of the index
+        this.reactorProjects = new ArrayList<MavenProject>( reactorProjects );
+
+        for ( MavenProject reactorProject : reactorProjects )
+        {
+            reactorKeys.add( getKey( reactorProject.getGroupId(), reactorProject.getArtifactId() ) );
+        }
+    }
+
+    /**
+     * Gets the index of a build.
+     *
+     * @param reactorProjects the projects of the build, or <code>null</code> to get an index which is not shared.
+     * @return the index, never <code>null</code>.
+     */
+    public static synchronized ReactorDependencyIndex getInstance( List<MavenProject> reactorProjects )
+    {
+        if ( reactorProjects == null )
+        {
+            return new ReactorDependencyIndex( Collections.<MavenProject>emptyList() );
+        }
+
+        ReactorDependencyIndex index = INDEXES.get( reactorProjects );
+        if ( index == null )
+        {
+            index = new ReactorDependencyIndex( reactorProjects );
+            INDEXES.put( reactorProjects, index );
+        }
+        return index;
+    }
+
+    /**
+     * @param groupId not null.
+     * @param artifactId not null.
+     * @return the <code>groupId:artifactId</code> key, the same instance for all the dependencies of the build.
+     */
+    public String getKey( String groupId, String artifactId )
+    {
+        String key = groupId + ':' + artifactId;
+        synchronized ( keys )
+        {
+            String known = keys.get( key );
+            if ( known == null )
+            {
+                keys.put( key, key );
+                known = key;
+            }
+            return known;
+        }
+    }
+
+    /**
+     * @param key a <code>groupId:artifactId</code> key, not null.
+     * @return <code>true</code> if the key is the one of a project of the build.
+     */
+    public boolean isReactorProject( String key )
+    {
+        return reactorKeys.contains( key );
+    }
+
+    /**
+     * Gets the resolved dependency graph of a project, in the test scope, building it only once for all the reports.
+     * A graph which could not be built is not kept.
+     *
+     * @param project the project, not null.
+     * @param dependencyGraphBuilder the builder of the graph, not null.
+     * @return the root of the graph.
+     * @throws DependencyGraphBuilderException if the graph can't be built.
+     */
+    public DependencyNode getDependencyGraph( final MavenProject project,
+                                              final DependencyGraphBuilder dependencyGraphBuilder )
+        throws DependencyGraphBuilderException
+    {
+        FutureTask<DependencyNode> task;
+        boolean owner = false;
+        synchronized ( graphs )
+        {
+            task = graphs.get( project );
+            if ( task == null )
+            {
+                task = new FutureTask<DependencyNode>( new Callable<DependencyNode>()
+                {
+                    public DependencyNode call()
+                        throws DependencyGraphBuilderException
+                    {
+                        return dependencyGraphBuilder.buildDependencyGraph( project, new ScopeArtifactFilter(
+                            Artifact.SCOPE_TEST ) );
+                    }
+                } );
+                graphs.put( project, task );
+                owner = true;
+            }
+        }
+
+        if ( owner )
+        {
+            task.run();
+        }
+
+        try
+        {
+            return task.get();
+        }
+        catch ( ExecutionException e )
+        {
+            if ( owner )
+            {
+                synchronized ( graphs )
+                {
+                    graphs.remove( project );
+                }
+            }
+
+            Throwable cause = e.getCause();
+            if ( cause instanceof DependencyGraphBuilderException )
+            {
+                throw (DependencyGraphBuilderException) cause;
+            }
+            if ( cause instanceof RuntimeException )
+            {
+                throw (RuntimeException) cause;
+            }
+            if ( cause instanceof Error )
+            {
+                throw (Error) cause;
+            }
+            throw new DependencyGraphBuilderException( cause.getMessage(), cause );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new DependencyGraphBuilderException( "Interrupted while waiting for the dependency graph of "
+                + project.getId(), e );
+        }
+    }
+
+    /**
+     * Gets the dependencies declared by the projects of the build, as found in their effective POM.
+     *
+     * @return the versions of the dependencies with the projects declaring them, by <code>groupId:artifactId</code>.
+     */
+    public synchronized SortedMap<String, SortedMap<String, List<Link>>> getDeclaredDependencies()
+    {
+        if ( declaredDependencies == null )
+        {
+            Map<String, SortedMap<String, List<Link>>> index = new HashMap<String, SortedMap<String, List<Link>>>();
+            for ( MavenProject reactorProject : reactorProjects )
+            {
+                for ( Dependency dependency : (Iterable<Dependency>) reactorProject.getDependencies() )
+                {
+                    add( index, getKey( dependency.getGroupId(), dependency.getArtifactId() ),
+                         new Link( reactorProject, dependency.getVersion(), null ) );
+                }
+            }
+            declaredDependencies = sort( index );
+        }
+        return declaredDependencies;
+    }
+
+    /**
+     * Gets the dependencies of the full dependency trees of the projects of the build, in the test scope. The versions
+     * omitted by the conflict resolution are kept, as they don't converge either.
+     *
+     * @param dependencyTreeBuilder the builder of the trees, not null.
+     * @param localRepository the local repository, not null.
+     * @return the versions of the dependencies with the projects using them, by <code>groupId:artifactId</code>.
+     * @throws DependencyTreeBuilderException if a tree can't be built.
+     */
+    public synchronized SortedMap<String, SortedMap<String, List<Link>>> getResolvedDependencies(
+        DependencyTreeBuilder dependencyTreeBuilder, ArtifactRepository localRepository )
+        throws DependencyTreeBuilderException
+    {
+        if ( resolvedDependencies == null )
+        {
+            Map<String, SortedMap<String, List<Link>>> index = new HashMap<String, SortedMap<String, List<Link>>>();
+            for ( MavenProject reactorProject : reactorProjects )
+            {
+                // not the shared graph: it only has the versions left after the conflict resolution
+                org.apache.maven.shared.dependency.tree.DependencyNode root =
+                    dependencyTreeBuilder.buildDependencyTree( reactorProject, localRepository,
+                                                               new ScopeArtifactFilter( Artifact.SCOPE_TEST ) );
+                addChildren( index, reactorProject, root, null );
+            }
+            resolvedDependencies = sort( index );
+        }
+        return resolvedDependencies;
+    }
+
+    private void addChildren( Map<String, SortedMap<String, List<Link>>> index, MavenProject reactorProject,
+                              org.apache.maven.shared.dependency.tree.DependencyNode node, String dependent )
+    {
+        for ( Object o : node.getChildren() )
+        {
+            org.apache.maven.shared.dependency.tree.DependencyNode child =
+                (org.apache.maven.shared.dependency.tree.DependencyNode) o;
+
+            // duplicates and cycles are indexed where they are included
+            int state = child.getState();
+            if ( state != org.apache.maven.shared.dependency.tree.DependencyNode.INCLUDED
+                && state != org.apache.maven.shared.dependency.tree.DependencyNode.OMITTED_FOR_CONFLICT )
+            {
+                continue;
+            }
+
+            Artifact artifact = child.getArtifact();
+            add( index, getKey( artifact.getGroupId(), artifact.getArtifactId() ),
+                 new Link( reactorProject, artifact.getVersion(), dependent ) );
+
+            addChildren( index, reactorProject, child,
+                         artifact.getGroupId() + ':' + artifact.getArtifactId() + ':' + artifact.getVersion() );
+        }
+    }
+
+    private static void add( Map<String, SortedMap<String, List<Link>>> index, String key, Link link )
+    {
+        SortedMap<String, List<Link>> versions = index.get( key );
+        if ( versions == null )
+        {
+            versions = new TreeMap<String, List<Link>>();
+            index.put( key, versions );
+        }
+
+        List<Link> links = versions.get( link.getVersion() );
+        if ( links == null )
+        {
+            links = new ArrayList<Link>();
+            versions.put( link.getVersion(), links );
+        }
+        links.add( link );
+    }
+
+    private static SortedMap<String, SortedMap<String, List<Link>>> sort(
+        Map<String, SortedMap<String, List<Link>>> index )
+    {
+        // sorted once, when all the keys are known
+        SortedMap<String, SortedMap<String, List<Link>>> sorted = new TreeMap<String, SortedMap<String, List<Link>>>();
+        for ( Map.Entry<String, SortedMap<String, List<Link>>> entry : index.entrySet() )
+        {
+            SortedMap<String, List<Link>> versions = entry.getValue();
+            for ( Map.Entry<String, List<Link>> version : versions.entrySet() )
+            {
+                version.setValue( Collections.unmodifiableList( version.getValue() ) );
+            }
+            sorted.put( entry.getKey(), Collections.unmodifiableSortedMap( versions ) );
+        }
+        return Collections.unmodifiableSortedMap( sorted );
+    }
+
+    /**
+     * The use of a version of a dependency by a project of the build.
+     */
+    public static class Link
+    {
+        private final MavenProject project;
+
+        private final String version;
+
+        private final String dependent;
+
+        Link( MavenProject project, String version, String dependent )
+        {
+            this.project = project;
+            this.version = version;
+            this.dependent = dependent;
+        }
+
+        /**
+         * @return the project of the build using the dependency.
+         */
+        public MavenProject getProject()
+        {
+            return project;
+        }
+
+        /**
+         * @return the version of the dependency.
+         */
+        public String getVersion()
+        {
+            return version;
+        }
+
+        /**
+         * @return the <code>groupId:artifactId:version</code> of the dependency bringing this one, or
+         * <code>null</code> if the project depends directly on it.
+         */
+        public String getDependent()
+        {
+            return dependent;
+        }
+
+        @Override
+        public String toString()
+        {
+            return project.getId();
+        }
+    }
+}
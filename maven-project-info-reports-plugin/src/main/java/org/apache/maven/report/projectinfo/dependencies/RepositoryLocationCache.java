@@ -0,0 +1,179 @@
+package org.apache.maven.report.projectinfo.dependencies;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.codehaus.plexus.util.IOUtil;
+
+/**
+ * Remembers whether the artifact URLs were found in their repository, so that they are checked only once by all the
+ * modules of a build, and, if stored in a file, only once in a given time by all the builds.
+ *
+ * @version $Id$
+ * @since 2.8
+ */
+public class RepositoryLocationCache
+{
+    /** The caches already used by this build, by file. */
+    private static final Map<File, RepositoryLocationCache> CACHES = new HashMap<File, RepositoryLocationCache>();
+
+    private final File file;
+
+    private final long timeToLive;
+
+    /** The results, as "found|timestamp", by URL. */
+    private final Properties results = new Properties();
+
+    private boolean modified;
+
+    /**
+     * @param file the file storing the results, or <code>null</code> to keep the results in memory only.
+     * @param timeToLive the time in milliseconds after which a result is checked again.
+     */
+    RepositoryLocationCache( File file, long timeToLive )
+    {
+        this.file = file;
+        this.timeToLive = timeToLive;
+
+        if ( file != null && file.isFile() )
+        {
+            InputStream in = null;
+            try
+            {
+                in = new FileInputStream( file );
+                results.load( in );
+            }
+            catch ( IOException e )
+            {
+                // all the URLs are checked again
+                results.clear();
+            }
+            finally
+            {
+                IOUtil.close( in );
+            }
+        }
+    }
+
+    /**
+     * Gets the cache shared by the modules of the build.
+     *
+     * @param file the file storing the results, or <code>null</code> to keep the results in memory only.
+     * @param timeToLive the time in milliseconds after which a result is checked again.
+     * @return the cache, never <code>null</code>.
+     */
+    public static synchronized RepositoryLocationCache getInstance( File file, long timeToLive )
+    {
+        File key = ( file != null ) ? file.getAbsoluteFile() : null;
+        RepositoryLocationCache cache = CACHES.get( key );
+        if ( cache == null || cache.timeToLive != timeToLive )
+        {
+            cache = new RepositoryLocationCache( key, timeToLive );
+            CACHES.put( key, cache );
+        }
+        return cache;
+    }
+
+    /**
+     * @param url the URL of an artifact, not null.
+     * @return <code>Boolean.TRUE</code> if the artifact was found, <code>Boolean.FALSE</code> if it was not found, or
+     * <code>null</code> if the URL was not checked, or too long ago.
+     */
+    public Boolean get( String url )
+    {
+        String result = results.getProperty( url );
+        if ( result == null )
+        {
+            return null;
+        }
+
+        int separator = result.indexOf( '|' );
+        try
+        {
+            long timestamp = Long.parseLong( result.substring( separator + 1 ) );
+            if ( System.currentTimeMillis() - timestamp > timeToLive )
+            {
+                return null;
+            }
+        }
+        catch ( NumberFormatException e )
+        {
+            return null;
+        }
+        return Boolean.valueOf( result.substring( 0, Math.max( separator, 0 ) ) );
+    }
+
+    /**
+     * @param url the URL of an artifact, not null.
+     * @param found whether the artifact was found.
+     */
+    public synchronized void put( String url, boolean found )
+    {
+        results.setProperty( url, found + "|" + System.currentTimeMillis() );
+        modified = true;
+    }
+
+    /**
+     * Stores the results in the file, removing the expired ones.
+     *
+     * @throws IOException if the file can't be written.
+     */
+    public synchronized void store()
+        throws IOException
+    {
+        if ( file == null || !modified )
+        {
+            return;
+        }
+
+        for ( Enumeration<?> urls = results.propertyNames(); urls.hasMoreElements(); )
+        {
+            String url = (String) urls.nextElement();
+            if ( get( url ) == null )
+            {
+                results.remove( url );
+            }
+        }
+
+        file.getParentFile().mkdirs();
+
+        OutputStream out = null;
+        try
+        {
+            out = new FileOutputStream( file );
+            results.store( out, "maven-project-info-reports-plugin dependency locations" );
+        }
+        finally
+        {
+            IOUtil.close( out );
+        }
+        modified = false;
+    }
+}
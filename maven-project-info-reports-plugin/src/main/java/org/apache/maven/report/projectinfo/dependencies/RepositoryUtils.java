@@ -21,7 +21,20 @@ package org.apache.maven.report.projectinfo.dependencies;
 
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.ArtifactUtils;
@@ -63,7 +76,7 @@ import org.codehaus.plexus.util.StringUtils;
  */
 public class RepositoryUtils
 {
-    private static final List<String> UNKNOWN_HOSTS = new ArrayList<String>();
+    private static final List<String> UNKNOWN_HOSTS = new CopyOnWriteArrayList<String>();
 
     private final Log log;
 
@@ -83,6 +96,12 @@ public class RepositoryUtils
 
     private final ArtifactRepository localRepository;
 
+    private int probeThreads = 1;
+
+    private RepositoryLocationCache locationCache = RepositoryLocationCache.getInstance( null, Long.MAX_VALUE );
+
+    private RepositoryProjectCache projectCache;
+
     /**
      * @param log
      * @param wagonManager
@@ -153,6 +172,34 @@ public class RepositoryUtils
         resolver.resolve( artifact, repos, localRepository );
     }
 
+    /**
+     * @param threads the number of threads checking the artifact URLs, each keeping a connection to every repository.
+     * @since 2.8
+     */
+    public void setProbeThreads( int threads )
+    {
+        this.probeThreads = threads;
+    }
+
+    /**
+     * @param locationCache the cache of the artifact URLs already checked, not null.
+     * @since 2.8
+     */
+    public void setLocationCache( RepositoryLocationCache locationCache )
+    {
+        this.locationCache = locationCache;
+    }
+
+    /**
+     * @param projectCache the cache of the projects built from the repository, or <code>null</code> to build the
+     * projects on every call.
+     * @since 2.8
+     */
+    public void setProjectCache( RepositoryProjectCache projectCache )
+    {
+        this.projectCache = projectCache;
+    }
+
     /**
      * @param repo not null
      * @param artifact not null
@@ -170,108 +217,76 @@ public class RepositoryUtils
             return false;
         }
 
-        if ( UNKNOWN_HOSTS.contains( repo.getUrl() ) )
-        {
-            if ( log.isDebugEnabled() )
-            {
-                log.debug( "The repo url '" + repo.getUrl() + "' is unknown - Ignored it" );
-            }
-            return false;
-        }
-
-        repo = wagonManager.getMirrorRepository( repo );
-
-        String id = repo.getId();
-        Repository repository = new Repository( id, repo.getUrl() );
-
-        Wagon wagon;
-        try
-        {
-            wagon = wagonManager.getWagon( repository );
-        }
-        catch ( UnsupportedProtocolException e )
-        {
-            logError( "Unsupported protocol: '" + repo.getProtocol() + "'", e );
-            return false;
-        }
-        catch ( WagonConfigurationException e )
-        {
-            logError( "Unsupported protocol: '" + repo.getProtocol() + "'", e );
-            return false;
-        }
-
-        wagon.setTimeout( 1000 );
-
-        if ( log.isDebugEnabled() )
-        {
-            Debug debug = new Debug();
+        String url = getDependencyUrlFromRepository( artifact, repo );
+        return getExistingUrls( Collections.singletonMap( url, repo ) ).contains( url );
+    }
 
-            wagon.addSessionListener( debug );
-            wagon.addTransferListener( debug );
-        }
+    /**
+     * Checks which artifact URLs exist in their repository. The URLs not found in the location cache are checked
+     * concurrently, each thread keeping a connection to every repository until all the URLs are checked.
+     *
+     * @param urls the URLs to check, as given by {@link #getDependencyUrlFromRepository(Artifact,
+     * ArtifactRepository)}, with their repository, not null.
+     * @return the URLs which exist in their repository, never null.
+     * @since 2.8
+     */
+    public Set<String> getExistingUrls( Map<String, ArtifactRepository> urls )
+    {
+        Set<String> existingUrls = Collections.synchronizedSet( new HashSet<String>() );
 
-        try
+        Queue<Map.Entry<String, ArtifactRepository>> queue =
+            new ConcurrentLinkedQueue<Map.Entry<String, ArtifactRepository>>();
+        for ( Map.Entry<String, ArtifactRepository> entry : urls.entrySet() )
         {
-            // FIXME when upgrading to maven 3.x : this must be changed.
-            AuthenticationInfo auth = wagonManager.getAuthenticationInfo( repo.getId() );
-
-            ProxyInfo proxyInfo = getProxyInfo();
-            if ( proxyInfo != null )
+            Boolean cached = locationCache.get( entry.getKey() );
+            if ( cached != null )
             {
-                wagon.connect( repository, auth, proxyInfo );
+                if ( cached.booleanValue() )
+                {
+                    existingUrls.add( entry.getKey() );
+                }
             }
-            else
+            else if ( !entry.getValue().isBlacklisted() )
             {
-                wagon.connect( repository, auth );
+                queue.add( entry );
             }
-
-            return wagon.resourceExists( StringUtils.replace( getDependencyUrlFromRepository( artifact, repo ),
-                                                              repo.getUrl(), "" ) );
         }
-        catch ( ConnectionException e )
-        {
-            logError( "Unable to connect to: " + repo.getUrl(), e );
-            return false;
-        }
-        catch ( AuthenticationException e )
+
+        int poolSize = Math.min( probeThreads, queue.size() );
+        if ( poolSize <= 1 )
         {
-            logError( "Unable to connect to: " + repo.getUrl(), e );
-            return false;
+            new Prober( queue, existingUrls ).call();
+            return existingUrls;
         }
-        catch ( TransferFailedException e )
+
+        ExecutorService executor = Executors.newFixedThreadPool( poolSize );
+        try
         {
-            if ( e.getCause() instanceof UnknownHostException )
+            List<Future<Object>> futures = new ArrayList<Future<Object>>( poolSize );
+            for ( int i = 0; i < poolSize; i++ )
             {
-                log.error( "Unknown host " + e.getCause().getMessage() + " - ignored it" );
-                UNKNOWN_HOSTS.add( repo.getUrl() );
+                futures.add( executor.submit( new Prober( queue, existingUrls ) ) );
             }
-            else
+            for ( Future<Object> future : futures )
             {
-                logError( "Unable to determine if resource " + artifact + " exists in " + repo.getUrl(), e );
+                future.get();
             }
-            return false;
         }
-        catch ( AuthorizationException e )
+        catch ( InterruptedException e )
         {
-            logError( "Unable to connect to: " + repo.getUrl(), e );
-            return false;
+            Thread.currentThread().interrupt();
+            log.error( "Interrupted while checking the dependency locations" );
         }
-        catch ( AbstractMethodError e )
+        catch ( ExecutionException e )
         {
-            log.error( "Wagon " + wagon.getClass().getName() + " does not support the resourceExists method" );
-            return false;
+            log.error( "Unable to check the dependency locations: " + e.getCause().getMessage() );
         }
         finally
         {
-            try
-            {
-                wagon.disconnect();
-            }
-            catch ( ConnectionException e )
-            {
-                logError( "Error disconnecting wagon - ignored", e );
-            }
+            executor.shutdownNow();
         }
+
+        return existingUrls;
     }
 
     /**
@@ -294,9 +309,35 @@ public class RepositoryUtils
             allowStubModel = true;
         }
 
-        // TODO: we should use the MavenMetadataSource instead
-        return mavenProjectBuilder.buildFromRepository( projectArtifact, remoteRepositories, localRepository,
-                                                        allowStubModel );
+        if ( projectCache == null )
+        {
+            // TODO: we should use the MavenMetadataSource instead
+            return mavenProjectBuilder.buildFromRepository( projectArtifact, remoteRepositories, localRepository,
+                                                            allowStubModel );
+        }
+
+        final Artifact builtArtifact = projectArtifact;
+        final boolean allowStub = allowStubModel;
+        StringBuilder key = new StringBuilder();
+        key.append( artifact.getGroupId() ).append( ':' ).append( artifact.getArtifactId() ).append( ':' );
+        key.append( artifact.getVersion() ).append( ':' ).append( allowStubModel );
+        // the cache is shared by the reactor, and the reports show the repositories the project was built with
+        if ( remoteRepositories != null )
+        {
+            for ( ArtifactRepository repository : remoteRepositories )
+            {
+                key.append( ':' ).append( repository.getId() ).append( '=' ).append( repository.getUrl() );
+            }
+        }
+        return projectCache.get( key.toString(), new Callable<MavenProject>()
+        {
+            public MavenProject call()
+                throws ProjectBuildingException
+            {
+                return mavenProjectBuilder.buildFromRepository( builtArtifact, remoteRepositories, localRepository,
+                                                                allowStub );
+            }
+        } );
     }
 
     /**
@@ -368,6 +409,183 @@ public class RepositoryUtils
     // Private methods
     // ----------------------------------------------------------------------
 
+    /**
+     * Checks the artifact URLs of a queue, keeping the connections to the repositories open until the queue is empty.
+     */
+    private class Prober
+        implements Callable<Object>
+    {
+        private final Queue<Map.Entry<String, ArtifactRepository>> queue;
+
+        private final Set<String> existingUrls;
+
+        /** The connected wagons by repository URL, <code>null</code> if the connection failed. */
+        private final Map<String, Wagon> wagons = new HashMap<String, Wagon>();
+
+        Prober( Queue<Map.Entry<String, ArtifactRepository>> queue, Set<String> existingUrls )
+        {
+            this.queue = queue;
+            this.existingUrls = existingUrls;
+        }
+
+        public Object call()
+        {
+            try
+            {
+                for ( Map.Entry<String, ArtifactRepository> entry = queue.poll(); entry != null;
+                      entry = queue.poll() )
+                {
+                    if ( exists( entry.getKey(), entry.getValue() ) )
+                    {
+                        existingUrls.add( entry.getKey() );
+                    }
+                }
+            }
+            finally
+            {
+                for ( Wagon wagon : wagons.values() )
+                {
+                    if ( wagon != null )
+                    {
+                        try
+                        {
+                            wagon.disconnect();
+                        }
+                        catch ( ConnectionException e )
+                        {
+                            logError( "Error disconnecting wagon - ignored", e );
+                        }
+                    }
+                }
+            }
+            return null;
+        }
+
+        private boolean exists( String url, ArtifactRepository repo )
+        {
+            if ( UNKNOWN_HOSTS.contains( repo.getUrl() ) )
+            {
+                if ( log.isDebugEnabled() )
+                {
+                    log.debug( "The repo url '" + repo.getUrl() + "' is unknown - Ignored it" );
+                }
+                return false;
+            }
+
+            Wagon wagon;
+            if ( wagons.containsKey( repo.getUrl() ) )
+            {
+                wagon = wagons.get( repo.getUrl() );
+            }
+            else
+            {
+                wagon = connect( repo );
+                wagons.put( repo.getUrl(), wagon );
+            }
+            if ( wagon == null )
+            {
+                return false;
+            }
+
+            try
+            {
+                boolean exists = wagon.resourceExists( StringUtils.replace( url, repo.getUrl(), "" ) );
+                locationCache.put( url, exists );
+                return exists;
+            }
+            catch ( TransferFailedException e )
+            {
+                if ( e.getCause() instanceof UnknownHostException )
+                {
+                    log.error( "Unknown host " + e.getCause().getMessage() + " - ignored it" );
+                    UNKNOWN_HOSTS.add( repo.getUrl() );
+                }
+                else
+                {
+                    logError( "Unable to determine if resource " + url + " exists in " + repo.getUrl(), e );
+                }
+                return false;
+            }
+            catch ( AuthorizationException e )
+            {
+                logError( "Unable to connect to: " + repo.getUrl(), e );
+                return false;
+            }
+            catch ( AbstractMethodError e )
+            {
+                log.error( "Wagon " + wagon.getClass().getName() + " does not support the resourceExists method" );
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Connects a wagon to a repository, or to its mirror.
+     *
+     * @param repo not null
+     * @return the connected wagon, or <code>null</code> if the connection failed.
+     */
+    private Wagon connect( ArtifactRepository repo )
+    {
+        repo = wagonManager.getMirrorRepository( repo );
+
+        String id = repo.getId();
+        Repository repository = new Repository( id, repo.getUrl() );
+
+        Wagon wagon;
+        try
+        {
+            wagon = wagonManager.getWagon( repository );
+        }
+        catch ( UnsupportedProtocolException e )
+        {
+            logError( "Unsupported protocol: '" + repo.getProtocol() + "'", e );
+            return null;
+        }
+        catch ( WagonConfigurationException e )
+        {
+            logError( "Unsupported protocol: '" + repo.getProtocol() + "'", e );
+            return null;
+        }
+
+        wagon.setTimeout( 1000 );
+
+        if ( log.isDebugEnabled() )
+        {
+            Debug debug = new Debug();
+
+            wagon.addSessionListener( debug );
+            wagon.addTransferListener( debug );
+        }
+
+        try
+        {
+            // FIXME when upgrading to maven 3.x : this must be changed.
+            AuthenticationInfo auth = wagonManager.getAuthenticationInfo( repo.getId() );
+
+            ProxyInfo proxyInfo = getProxyInfo();
+            if ( proxyInfo != null )
+            {
+                wagon.connect( repository, auth, proxyInfo );
+            }
+            else
+            {
+                wagon.connect( repository, auth );
+            }
+            return wagon;
+        }
+        catch ( ConnectionException e )
+        {
+            logError( "Unable to connect to: " + repo.getUrl(), e );
+            return null;
+        }
+        catch ( AuthenticationException e )
+        {
+            logError( "Unable to connect to: " + repo.getUrl(), e );
+            return null;
+        }
+    }
+
     /**
      * Convenience method to map a <code>Proxy</code> object from the user system settings to a <code>ProxyInfo</code>
      * object.
@@ -32,6 +32,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -59,10 +60,10 @@ import org.apache.maven.report.projectinfo.AbstractProjectInfoRenderer;
 import org.apache.maven.report.projectinfo.ProjectInfoReportUtils;
 import org.apache.maven.report.projectinfo.dependencies.Dependencies;
 import org.apache.maven.report.projectinfo.dependencies.DependenciesReportConfiguration;
+import org.apache.maven.report.projectinfo.dependencies.JarDetails;
 import org.apache.maven.report.projectinfo.dependencies.RepositoryUtils;
 import org.apache.maven.settings.Settings;
 import org.apache.maven.shared.dependency.graph.DependencyNode;
-import org.apache.maven.shared.jar.JarData;
 import org.codehaus.plexus.i18n.I18N;
 import org.codehaus.plexus.util.StringUtils;
 
@@ -520,7 +521,10 @@ public class DependenciesRenderer
         TotalCell totalDebugInformation = new TotalCell( DEFAULT_DECIMAL_FORMAT );
         TotalCell totalsealed = new TotalCell( DEFAULT_DECIMAL_FORMAT );
 
-        boolean hasSealed = hasSealed( alldeps );
+        // the jars are analyzed all together, before their details are rendered
+        List<Artifact> jars = getJarDependencies( alldeps );
+        dependencies.analyzeJarDependencies( jars );
+        boolean hasSealed = hasSealed( jars );
 
         // Table header
         String[] tableHeader;
@@ -555,7 +559,7 @@ public class DependenciesRenderer
             {
                 try
                 {
-                    JarData jarDetails = dependencies.getJarDependencyDetails( artifact );
+                    JarDetails jarDetails = dependencies.getJarDetails( artifact );
 
                     String debugInformationCellValue = debugInformationCellNo;
                     if ( jarDetails.isDebugPresent() )
@@ -1294,6 +1298,24 @@ public class DependenciesRenderer
             idnum++;
         }
 
+        // check all the locations at once
+        Map<String, ArtifactRepository> locations = new LinkedHashMap<String, ArtifactRepository>();
+        for ( Artifact dependency : alldeps )
+        {
+            if ( !Artifact.SCOPE_SYSTEM.equals( dependency.getScope() ) )
+            {
+                for ( String repokey : repoIdList )
+                {
+                    ArtifactRepository repo = repoMap.get( repokey );
+                    if ( isLocationChecked( dependency, repo ) )
+                    {
+                        locations.put( repoUtils.getDependencyUrlFromRepository( dependency, repo ), repo );
+                    }
+                }
+            }
+        }
+        Set<String> existingLocations = repoUtils.getExistingUrls( locations );
+
         Map<String, Integer> totalByRepo = new HashMap<String, Integer>();
         TotalCell totaldeps = new TotalCell( DEFAULT_DECIMAL_FORMAT );
 
@@ -1332,13 +1354,8 @@ public class DependenciesRenderer
                         totalByRepo.put( repokey, old );
                     }
 
-                    boolean dependencyExists = false;
-                    // check snapshots in snapshots repository only and releases in release repositories...
-                    if ( ( dependency.isSnapshot() && repo.getSnapshots().isEnabled() )
-                        || ( !dependency.isSnapshot() && repo.getReleases().isEnabled() ) )
-                    {
-                        dependencyExists = repoUtils.dependencyExistsInRepo( repo, dependency );
-                    }
+                    boolean dependencyExists =
+                        isLocationChecked( dependency, repo ) && existingLocations.contains( depUrl );
 
                     if ( dependencyExists )
                     {
@@ -1393,6 +1410,18 @@ public class DependenciesRenderer
         endTable();
     }
 
+    /**
+     * @param dependency not null
+     * @param repo not null
+     * @return <code>true</code> if the dependency is a snapshot and the repo a snapshots repository, or if the
+     * dependency is a release and the repo a releases repository.
+     */
+    private boolean isLocationChecked( Artifact dependency, ArtifactRepository repo )
+    {
+        return ( dependency.isSnapshot() && repo.getSnapshots().isEnabled() )
+            || ( !dependency.isSnapshot() && repo.getReleases().isEnabled() );
+    }
+
     /**
      * @param artifacts not null
      * @return <code>true</code> if one artifact in the list has a classifier, <code>false</code> otherwise.
@@ -1428,11 +1457,14 @@ public class DependenciesRenderer
     }
 
     /**
+     * Resolves the files of the artifacts if needed.
+     *
      * @param artifacts not null
-     * @return <code>true</code> if one artifact in the list is sealed, <code>false</code> otherwise.
+     * @return the artifacts of the list which are jars with a file, never null.
      */
-    private boolean hasSealed( List<Artifact> artifacts )
+    private List<Artifact> getJarDependencies( List<Artifact> artifacts )
     {
+        List<Artifact> jars = new ArrayList<Artifact>( artifacts.size() );
         for ( Artifact artifact : artifacts )
         {
             // TODO site:run Why do we need to resolve this...
@@ -1478,19 +1510,33 @@ public class DependenciesRenderer
 
             if ( JAR_SUBTYPE.contains( artifact.getType().toLowerCase() ) )
             {
-                try
-                {
-                    JarData jarDetails = dependencies.getJarDependencyDetails( artifact );
-                    if ( jarDetails.isSealed() )
-                    {
-                        return true;
-                    }
-                }
-                catch ( IOException e )
+                jars.add( artifact );
+            }
+        }
+
+        return jars;
+    }
+
+    /**
+     * @param jars the jars, already analyzed, not null
+     * @return <code>true</code> if one jar in the list is sealed, <code>false</code> otherwise.
+     */
+    private boolean hasSealed( List<Artifact> jars )
+    {
+        for ( Artifact artifact : jars )
+        {
+            try
+            {
+                JarDetails jarDetails = dependencies.getJarDetails( artifact );
+                if ( jarDetails.isSealed() )
                 {
-                    log.error( "Artifact: " + artifact.getId() + " caused IOException: " + e.getMessage(), e );
+                    return true;
                 }
             }
+            catch ( IOException e )
+            {
+                log.error( "Artifact: " + artifact.getId() + " caused IOException: " + e.getMessage(), e );
+            }
         }
         return false;
     }
@@ -0,0 +1,129 @@
+package org.apache.maven.report.projectinfo.dependencies;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.FileUtils;
+
+/**
+ * Test {@link JarDetailsCache}.
+ *
+ * @version $Id$
+ */
+public class JarDetailsCacheTest
+    extends TestCase
+{
+    private File basedir;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        basedir = new File( "target/unit/jar-details-cache" );
+        FileUtils.deleteDirectory( basedir );
+        basedir.mkdirs();
+    }
+
+    public void testChecksum()
+        throws Exception
+    {
+        File jar1 = new File( basedir, "test1.jar" );
+        File jar2 = new File( basedir, "test2.jar" );
+        FileUtils.fileWrite( jar1.getPath(), "UTF-8", "content" );
+        FileUtils.fileWrite( jar2.getPath(), "UTF-8", "content" );
+
+        JarDetailsCache cache = new JarDetailsCache( null );
+        String checksum = cache.getChecksum( jar1 );
+        assertEquals( "9a0364b9e99bb480dd25e1f0284c8555", checksum );
+        assertEquals( checksum, cache.getChecksum( jar2 ) );
+
+        FileUtils.fileWrite( jar2.getPath(), "UTF-8", "other content" );
+        assertFalse( checksum.equals( cache.getChecksum( jar2 ) ) );
+    }
+
+    public void testInstancePerReactor()
+    {
+        File file = new File( basedir, "dependency-details.properties" );
+        List<MavenProject> reactorProjects = new ArrayList<MavenProject>();
+
+        JarDetailsCache cache = JarDetailsCache.getInstance( reactorProjects, file );
+        assertSame( cache, JarDetailsCache.getInstance( reactorProjects, file.getAbsoluteFile() ) );
+        assertNotSame( cache, JarDetailsCache.getInstance( reactorProjects, null ) );
+        // another build gets its own cache, with the details stored meanwhile
+        List<MavenProject> otherReactorProjects = new ArrayList<MavenProject>();
+        otherReactorProjects.add( new MavenProject() );
+        assertNotSame( cache, JarDetailsCache.getInstance( otherReactorProjects, file ) );
+        assertNotSame( cache, JarDetailsCache.getInstance( null, file ) );
+    }
+
+    public void testStore()
+        throws Exception
+    {
+        File file = new File( basedir, "cache/dependency-details.properties" );
+
+        JarDetailsCache cache = new JarDetailsCache( file );
+        assertNull( cache.get( "checksum1" ) );
+        cache.put( "checksum1", new JarDetails( 10, 8, 2, "1.5", true, false ) );
+        cache.put( "checksum2", new JarDetails( 1, 0, 0, null, false, true ) );
+        cache.store();
+
+        cache = new JarDetailsCache( file );
+        JarDetails details = cache.get( "checksum1" );
+        assertNotNull( details );
+        assertEquals( 10, details.getNumEntries() );
+        assertEquals( 8, details.getNumClasses() );
+        assertEquals( 2, details.getNumPackages() );
+        assertEquals( "1.5", details.getJdkRevision() );
+        assertTrue( details.isDebugPresent() );
+        assertFalse( details.isSealed() );
+
+        details = cache.get( "checksum2" );
+        assertNotNull( details );
+        assertNull( details.getJdkRevision() );
+        assertTrue( details.isSealed() );
+    }
+
+    public void testAnalyzerVersion()
+        throws Exception
+    {
+        File file = new File( basedir, "cache/dependency-details.properties" );
+
+        JarDetailsCache cache = new JarDetailsCache( file, "analyzer-1.0" );
+        cache.put( "checksum1", new JarDetails( 10, 8, 2, "1.5", true, false ) );
+        cache.store();
+
+        assertNotNull( new JarDetailsCache( file, "analyzer-1.0" ).get( "checksum1" ) );
+
+        // another analyzer analyzes the jars again, and forgets the details of the previous one
+        cache = new JarDetailsCache( file, "analyzer-1.1" );
+        assertNull( cache.get( "checksum1" ) );
+        cache.store();
+
+        assertNull( new JarDetailsCache( file, "analyzer-1.0" ).get( "checksum1" ) );
+    }
+}
@@ -0,0 +1,176 @@
+package org.apache.maven.report.projectinfo.dependencies;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SortedMap;
+
+import junit.framework.TestCase;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.report.projectinfo.dependencies.ReactorDependencyIndex.Link;
+import org.apache.maven.shared.dependency.tree.DependencyNode;
+import org.apache.maven.shared.dependency.tree.DependencyTreeBuilder;
+
+/**
+ * Test {@link ReactorDependencyIndex}.
+ *
+ * @version $Id$
+ */
+public class ReactorDependencyIndexTest
+    extends TestCase
+{
+    public void testDeclaredDependencies()
+    {
+        MavenProject project1 = newProject( "module1" );
+        project1.getDependencies().add( newDependency( "junit", "junit", "3.8.1" ) );
+        project1.getDependencies().add( newDependency( "org.test", "module2", "1.0-SNAPSHOT" ) );
+        MavenProject project2 = newProject( "module2" );
+        project2.getDependencies().add( newDependency( "junit", "junit", "4.8.2" ) );
+        MavenProject project3 = newProject( "module3" );
+        project3.getDependencies().add( newDependency( "junit", "junit", "3.8.1" ) );
+
+        List<MavenProject> reactorProjects = new ArrayList<MavenProject>( Arrays.asList( project1, project2,
+                                                                                         project3 ) );
+        ReactorDependencyIndex index = ReactorDependencyIndex.getInstance( reactorProjects );
+        assertSame( index, ReactorDependencyIndex.getInstance( reactorProjects ) );
+
+        SortedMap<String, SortedMap<String, List<Link>>> dependencies = index.getDeclaredDependencies();
+        assertSame( dependencies, index.getDeclaredDependencies() );
+        assertEquals( Arrays.asList( "junit:junit", "org.test:module2" ),
+                      new ArrayList<String>( dependencies.keySet() ) );
+
+        SortedMap<String, List<Link>> versions = dependencies.get( "junit:junit" );
+        assertEquals( Arrays.asList( "3.8.1", "4.8.2" ), new ArrayList<String>( versions.keySet() ) );
+        assertEquals( 2, versions.get( "3.8.1" ).size() );
+        assertSame( project1, versions.get( "3.8.1" ).get( 0 ).getProject() );
+        assertSame( project3, versions.get( "3.8.1" ).get( 1 ).getProject() );
+        assertNull( versions.get( "3.8.1" ).get( 0 ).getDependent() );
+        assertSame( project2, versions.get( "4.8.2" ).get( 0 ).getProject() );
+
+        assertTrue( index.isReactorProject( "org.test:module2" ) );
+        assertFalse( index.isReactorProject( "junit:junit" ) );
+    }
+
+    public void testResolvedDependencies()
+        throws Exception
+    {
+        // module1 -> a:1.0 -> c:2.0, and b:1.0 -> c:1.0 omitted for the conflict, then a:1.0 again as a duplicate
+        MavenProject project1 = newProject( "module1" );
+        final DependencyNode root = new DependencyNode( newArtifact( "module1", "1.0-SNAPSHOT" ) );
+        DependencyNode a = new DependencyNode( newArtifact( "a", "1.0" ) );
+        a.addChild( new DependencyNode( newArtifact( "c", "2.0" ) ) );
+        root.addChild( a );
+        DependencyNode b = new DependencyNode( newArtifact( "b", "1.0" ) );
+        b.addChild( new DependencyNode( newArtifact( "c", "1.0" ), DependencyNode.OMITTED_FOR_CONFLICT,
+                                        newArtifact( "c", "2.0" ) ) );
+        b.addChild( new DependencyNode( newArtifact( "a", "1.0" ), DependencyNode.OMITTED_FOR_DUPLICATE,
+                                        newArtifact( "a", "1.0" ) ) );
+        root.addChild( b );
+
+        DependencyTreeBuilder dependencyTreeBuilder =
+            (DependencyTreeBuilder) Proxy.newProxyInstance( getClass().getClassLoader(),
+                                                            new Class<?>[] { DependencyTreeBuilder.class },
+                                                            new InvocationHandler()
+                                                            {
+                                                                public Object invoke( Object proxy, Method method,
+                                                                                      Object[] args )
+                                                                {
+                                                                    return root;
+                                                                }
+                                                            } );
+
+        ReactorDependencyIndex index = new ReactorDependencyIndex( Arrays.asList( project1 ) );
+        SortedMap<String, SortedMap<String, List<Link>>> dependencies =
+            index.getResolvedDependencies( dependencyTreeBuilder, null );
+        assertEquals( Arrays.asList( "org.test:a", "org.test:b", "org.test:c" ),
+                      new ArrayList<String>( dependencies.keySet() ) );
+
+        assertEquals( 1, dependencies.get( "org.test:a" ).get( "1.0" ).size() );
+        assertNull( dependencies.get( "org.test:a" ).get( "1.0" ).get( 0 ).getDependent() );
+
+        SortedMap<String, List<Link>> versions = dependencies.get( "org.test:c" );
+        assertEquals( Arrays.asList( "1.0", "2.0" ), new ArrayList<String>( versions.keySet() ) );
+        assertEquals( "org.test:b:1.0", versions.get( "1.0" ).get( 0 ).getDependent() );
+        assertEquals( "org.test:a:1.0", versions.get( "2.0" ).get( 0 ).getDependent() );
+        assertSame( project1, versions.get( "1.0" ).get( 0 ).getProject() );
+    }
+
+    public void testIndexDoesNotKeepTheReactor()
+        throws Exception
+    {
+        List<MavenProject> reactorProjects = new ArrayList<MavenProject>( Arrays.asList( newProject( "module1" ) ) );
+        ReactorDependencyIndex index = ReactorDependencyIndex.getInstance( reactorProjects );
+        assertTrue( index.isReactorProject( "org.test:module1" ) );
+
+        WeakReference<List<MavenProject>> reference = new WeakReference<List<MavenProject>>( reactorProjects );
+        reactorProjects = null;
+        for ( int i = 0; i < 10 && reference.get() != null; i++ )
+        {
+            System.gc();
+            Thread.sleep( 10 );
+        }
+        assertNull( "the reactor is still referenced by its index", reference.get() );
+    }
+
+    public void testKeys()
+    {
+        ReactorDependencyIndex index = ReactorDependencyIndex.getInstance( null );
+        String key = index.getKey( "org.test", "test" );
+        assertEquals( "org.test:test", key );
+        assertSame( key, index.getKey( "org.test", new String( "test" ) ) );
+    }
+
+    private static MavenProject newProject( String artifactId )
+    {
+        Model model = new Model();
+        model.setGroupId( "org.test" );
+        model.setArtifactId( artifactId );
+        model.setVersion( "1.0-SNAPSHOT" );
+        return new MavenProject( model );
+    }
+
+    private static Artifact newArtifact( String artifactId, String version )
+    {
+        return new DefaultArtifact( "org.test", artifactId, VersionRange.createFromVersion( version ),
+                                    Artifact.SCOPE_COMPILE, "jar", null, new DefaultArtifactHandler( "jar" ) );
+    }
+
+    private static Dependency newDependency( String groupId, String artifactId, String version )
+    {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId( groupId );
+        dependency.setArtifactId( artifactId );
+        dependency.setVersion( version );
+        return dependency;
+    }
+}
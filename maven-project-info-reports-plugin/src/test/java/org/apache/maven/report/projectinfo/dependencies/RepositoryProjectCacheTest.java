@@ -0,0 +1,120 @@
+package org.apache.maven.report.projectinfo.dependencies;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuildingException;
+
+/**
+ * Test {@link RepositoryProjectCache}.
+ *
+ * @version $Id$
+ */
+public class RepositoryProjectCacheTest
+    extends TestCase
+{
+    public void testProjectBuiltOnce()
+        throws Exception
+    {
+        final RepositoryProjectCache cache = new RepositoryProjectCache( RepositoryProjectCache.DEFAULT_MAX_PROJECTS );
+        final AtomicInteger builds = new AtomicInteger();
+        final Callable<MavenProject> builder = new Callable<MavenProject>()
+        {
+            public MavenProject call()
+                throws Exception
+            {
+                builds.incrementAndGet();
+                Thread.sleep( 100 );
+                return new MavenProject( new Model() );
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool( 8 );
+        try
+        {
+            List<Future<MavenProject>> futures = new ArrayList<Future<MavenProject>>();
+            for ( int i = 0; i < 8; i++ )
+            {
+                futures.add( executor.submit( new Callable<MavenProject>()
+                {
+                    public MavenProject call()
+                        throws Exception
+                    {
+                        return cache.get( "org.test:test:1.0:true", builder );
+                    }
+                } ) );
+            }
+
+            MavenProject project = futures.get( 0 ).get();
+            for ( Future<MavenProject> future : futures )
+            {
+                assertSame( project, future.get() );
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        assertEquals( 1, builds.get() );
+    }
+
+    public void testFailureNotKept()
+        throws Exception
+    {
+        RepositoryProjectCache cache = new RepositoryProjectCache( RepositoryProjectCache.DEFAULT_MAX_PROJECTS );
+        final AtomicInteger builds = new AtomicInteger();
+        Callable<MavenProject> builder = new Callable<MavenProject>()
+        {
+            public MavenProject call()
+                throws Exception
+            {
+                builds.incrementAndGet();
+                throw new ProjectBuildingException( "org.test:test:1.0", "invalid POM" );
+            }
+        };
+
+        for ( int i = 0; i < 2; i++ )
+        {
+            try
+            {
+                cache.get( "org.test:test:1.0:true", builder );
+                fail( "ProjectBuildingException expected" );
+            }
+            catch ( ProjectBuildingException e )
+            {
+                assertTrue( e.getMessage().startsWith( "invalid POM" ) );
+            }
+        }
+
+        assertEquals( 2, builds.get() );
+    }
+}
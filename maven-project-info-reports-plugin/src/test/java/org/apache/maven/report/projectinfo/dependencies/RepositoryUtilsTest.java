@@ -0,0 +1,229 @@
+package org.apache.maven.report.projectinfo.dependencies;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.manager.WagonManager;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.repository.DefaultArtifactRepository;
+import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.plugin.testing.AbstractMojoTestCase;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.MavenProjectBuilder;
+import org.mortbay.jetty.Request;
+import org.mortbay.jetty.Server;
+import org.mortbay.jetty.handler.AbstractHandler;
+import org.mortbay.jetty.nio.SelectChannelConnector;
+
+/**
+ * Test the repository locations probing of {@link RepositoryUtils}, against a local HTTP stub.
+ *
+ * @version $Id$
+ */
+public class RepositoryUtilsTest
+    extends AbstractMojoTestCase
+{
+    private Server jettyServer;
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private ArtifactRepository repository;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        jettyServer = new Server();
+        SelectChannelConnector connector = new SelectChannelConnector();
+        jettyServer.addConnector( connector );
+        jettyServer.setHandler( new AbstractHandler()
+        {
+            public void handle( String target, HttpServletRequest request, HttpServletResponse response,
+                                int dispatch )
+                throws IOException
+            {
+                requests.incrementAndGet();
+                if ( target.startsWith( "/org/test/found/" ) )
+                {
+                    response.setStatus( HttpServletResponse.SC_OK );
+                }
+                else
+                {
+                    response.setStatus( HttpServletResponse.SC_NOT_FOUND );
+                }
+                ( (Request) request ).setHandled( true );
+            }
+        } );
+        jettyServer.start();
+
+        repository = new DefaultArtifactRepository( "stub", "http://localhost:" + connector.getLocalPort(),
+                                                    new DefaultRepositoryLayout() );
+    }
+
+    @Override
+    protected void tearDown()
+        throws Exception
+    {
+        jettyServer.stop();
+
+        super.tearDown();
+    }
+
+    public void testGetExistingUrls()
+        throws Exception
+    {
+        File cacheFile = new File( getBasedir(), "target/unit/repository-utils/dependency-locations.properties" );
+        cacheFile.delete();
+
+        RepositoryUtils repoUtils = newRepositoryUtils();
+        repoUtils.setProbeThreads( 4 );
+        RepositoryLocationCache cache = new RepositoryLocationCache( cacheFile, 60000 );
+        repoUtils.setLocationCache( cache );
+
+        Map<String, ArtifactRepository> urls = new LinkedHashMap<String, ArtifactRepository>();
+        for ( int i = 0; i < 10; i++ )
+        {
+            urls.put( repoUtils.getDependencyUrlFromRepository( newArtifact( "found", "1." + i ), repository ),
+                      repository );
+            urls.put( repoUtils.getDependencyUrlFromRepository( newArtifact( "missing", "1." + i ), repository ),
+                      repository );
+        }
+
+        Set<String> existingUrls = repoUtils.getExistingUrls( urls );
+        assertEquals( 10, existingUrls.size() );
+        for ( String url : existingUrls )
+        {
+            assertTrue( url, url.contains( "/org/test/found/" ) );
+        }
+        assertEquals( 20, requests.get() );
+
+        // all the locations are known
+        assertEquals( existingUrls, repoUtils.getExistingUrls( urls ) );
+        assertEquals( 20, requests.get() );
+
+        // and remembered by the next build
+        cache.store();
+        repoUtils.setLocationCache( new RepositoryLocationCache( cacheFile, 60000 ) );
+        assertEquals( existingUrls, repoUtils.getExistingUrls( urls ) );
+        assertEquals( 20, requests.get() );
+
+        // unless expired
+        repoUtils.setLocationCache( new RepositoryLocationCache( cacheFile, -1 ) );
+        assertEquals( existingUrls, repoUtils.getExistingUrls( urls ) );
+        assertEquals( 40, requests.get() );
+    }
+
+    public void testDependencyExistsInRepo()
+        throws Exception
+    {
+        RepositoryUtils repoUtils = newRepositoryUtils();
+        repoUtils.setLocationCache( new RepositoryLocationCache( null, Long.MAX_VALUE ) );
+
+        assertTrue( repoUtils.dependencyExistsInRepo( repository, newArtifact( "found", "2.0" ) ) );
+        assertFalse( repoUtils.dependencyExistsInRepo( repository, newArtifact( "missing", "2.0" ) ) );
+    }
+
+    public void testProjectCacheKeepsTheRepositories()
+        throws Exception
+    {
+        final AtomicInteger builds = new AtomicInteger();
+        MavenProjectBuilder projectBuilder =
+            (MavenProjectBuilder) Proxy.newProxyInstance( getClass().getClassLoader(),
+                                                          new Class[] { MavenProjectBuilder.class },
+                                                          new InvocationHandler()
+            {
+                public Object invoke( Object proxy, Method method, Object[] args )
+                {
+                    assertEquals( "buildFromRepository", method.getName() );
+                    builds.incrementAndGet();
+                    MavenProject project = new MavenProject();
+                    project.setRemoteArtifactRepositories( (List) args[1] );
+                    return project;
+                }
+            } );
+
+        ArtifactRepository other =
+            new DefaultArtifactRepository( "other", "http://localhost/other", new DefaultRepositoryLayout() );
+        RepositoryProjectCache projectCache = new RepositoryProjectCache( RepositoryProjectCache.DEFAULT_MAX_PROJECTS );
+        RepositoryUtils first = newRepositoryUtils( projectBuilder, Collections.singletonList( repository ) );
+        first.setProjectCache( projectCache );
+        RepositoryUtils second = newRepositoryUtils( projectBuilder, Collections.singletonList( repository ) );
+        second.setProjectCache( projectCache );
+        RepositoryUtils third = newRepositoryUtils( projectBuilder, Collections.singletonList( other ) );
+        third.setProjectCache( projectCache );
+
+        MavenProject project = first.getMavenProjectFromRepository( newPom( "found", "3.0" ) );
+        assertSame( project, second.getMavenProjectFromRepository( newPom( "found", "3.0" ) ) );
+        assertEquals( 1, builds.get() );
+
+        // a module with other repositories does not see the repositories of the first one
+        MavenProject otherProject = third.getMavenProjectFromRepository( newPom( "found", "3.0" ) );
+        assertEquals( 2, builds.get() );
+        assertEquals( Collections.singletonList( other ), otherProject.getRemoteArtifactRepositories() );
+    }
+
+    private RepositoryUtils newRepositoryUtils()
+        throws Exception
+    {
+        WagonManager wagonManager = (WagonManager) lookup( WagonManager.ROLE );
+        return new RepositoryUtils( new SystemStreamLog(), wagonManager, null, null, null, null, null, null, null,
+                                    null );
+    }
+
+    private RepositoryUtils newRepositoryUtils( MavenProjectBuilder projectBuilder,
+                                                List<ArtifactRepository> remoteRepositories )
+    {
+        return new RepositoryUtils( new SystemStreamLog(), null, null, projectBuilder, null, null,
+                                    remoteRepositories, null, null, null );
+    }
+
+    private Artifact newPom( String artifactId, String version )
+    {
+        return new DefaultArtifact( "org.test", artifactId, VersionRange.createFromVersion( version ),
+                                    Artifact.SCOPE_COMPILE, "pom", null, new DefaultArtifactHandler( "pom" ) );
+    }
+
+    private Artifact newArtifact( String artifactId, String version )
+    {
+        return new DefaultArtifact( "org.test", artifactId, VersionRange.createFromVersion( version ),
+                                    Artifact.SCOPE_COMPILE, "jar", null, new DefaultArtifactHandler( "jar" ) );
+    }
+}
@@ -105,6 +105,7 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
 
 /**
  * <p>
@@ -196,6 +197,14 @@ public class ProcessRemoteResourcesMojo
     @Parameter( defaultValue = "${project.remoteArtifactRepositories}", readonly = true, required = true )
     private List<ArtifactRepository> remoteArtifactRepositories;
 
+    /**
+     * The projects of the build, which share the projects built from the repository.
+     *
+     * @since 1.6
+     */
+    @Parameter( defaultValue = "${reactorProjects}", readonly = true, required = true )
+    private List<MavenProject> reactorProjects;
+
     /**
      * The current Maven project.
      */
@@ -668,7 +677,7 @@ public class ProcessRemoteResourcesMojo
                 MavenProject p;
                 try
                 {
-                    p = mavenProjectBuilder.buildFromRepository( artifact, remoteRepo, localRepository );
+                    p = getProjectFromRepository( artifact, remoteRepo );
                 }
                 catch ( InvalidProjectModelException e )
                 {
@@ -705,6 +714,35 @@ public class ProcessRemoteResourcesMojo
         return projects;
     }
 
+    /**
+     * Builds the project of an artifact from the repository, once for all the modules of the build. The project is
+     * shared, so it must not be modified.
+     */
+    private MavenProject getProjectFromRepository( final Artifact artifact,
+                                                   final List<ArtifactRepository> remoteRepositories )
+        throws ProjectBuildingException
+    {
+        StringBuilder key = new StringBuilder();
+        key.append( artifact.getGroupId() ).append( ':' ).append( artifact.getArtifactId() ).append( ':' );
+        key.append( artifact.getVersion() );
+        if ( remoteRepositories != null )
+        {
+            for ( ArtifactRepository repository : remoteRepositories )
+            {
+                key.append( ':' ).append( repository.getId() ).append( '=' ).append( repository.getUrl() );
+            }
+        }
+
+        return RepositoryProjectCache.getInstance( reactorProjects ).get( key.toString(), new Callable<MavenProject>()
+        {
+            public MavenProject call()
+                throws ProjectBuildingException
+            {
+                return mavenProjectBuilder.buildFromRepository( artifact, remoteRepositories, localRepository );
+            }
+        } );
+    }
+
     private Set<Artifact> resolveProjectArtifacts()
         throws MojoExecutionException
     {
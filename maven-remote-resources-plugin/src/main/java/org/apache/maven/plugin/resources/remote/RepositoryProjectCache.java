@@ -0,0 +1,180 @@
+package org.apache.maven.plugin.resources.remote;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuildingException;
+
+/**
+ * Cache of the Maven projects built from the repository, shared by all the modules of a build. The most recently used
+ * projects are kept. The cache is split in stripes, each with its own lock, and a project requested by several
+ * threads at the same time is built only once.
+ *
+ * @version $Id$
+ * @since 1.6
+ */
+public class RepositoryProjectCache
+{
+    /** The default maximum number of projects kept. */
+    public static final int DEFAULT_MAX_PROJECTS = 1000;
+
+    private static final int STRIPES = 16;
+
+    /** The caches of the running builds, by reactor. */
+    private static final Map<List<MavenProject>, RepositoryProjectCache> CACHES =
+        new WeakHashMap<List<MavenProject>, RepositoryProjectCache>();
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    /**
+     * @param maxProjects the maximum number of projects kept.
+     */
+    public RepositoryProjectCache( int maxProjects )
+    {
+        for ( int i = 0; i < STRIPES; i++ )
+        {
+            stripes[i] = new Stripe( Math.max( 1, maxProjects / STRIPES ) );
+        }
+    }
+
+    /**
+     * Gets the cache of a build.
+     *
+     * @param reactorProjects the projects of the build, or <code>null</code> to get a cache which is not shared.
+     * @return the cache, never <code>null</code>.
+     */
+    public static synchronized RepositoryProjectCache getInstance( List<MavenProject> reactorProjects )
+    {
+        if ( reactorProjects == null )
+        {
+            return new RepositoryProjectCache( DEFAULT_MAX_PROJECTS );
+        }
+
+        RepositoryProjectCache cache = CACHES.get( reactorProjects );
+        if ( cache == null )
+        {
+            cache = new RepositoryProjectCache( DEFAULT_MAX_PROJECTS );
+            CACHES.put( reactorProjects, cache );
+        }
+        return cache;
+    }
+
+    /**
+     * Gets a project from the cache, building it if needed. A project which could not be built is not kept.
+     *
+     * @param key the key of the project, e.g. its groupId, artifactId and version, not null.
+     * @param builder the builder of the project, not null.
+     * @return the project.
+     * @throws ProjectBuildingException if the project can't be built.
+     */
+    public MavenProject get( String key, Callable<MavenProject> builder )
+        throws ProjectBuildingException
+    {
+        Stripe stripe = stripes[( key.hashCode() & Integer.MAX_VALUE ) % STRIPES];
+
+        FutureTask<MavenProject> task;
+        boolean owner = false;
+        synchronized ( stripe )
+        {
+            task = stripe.get( key );
+            if ( task == null )
+            {
+                task = new FutureTask<MavenProject>( builder );
+                stripe.put( key, task );
+                owner = true;
+            }
+        }
+
+        if ( owner )
+        {
+            // built outside the lock: the other projects of the stripe stay available
+            task.run();
+        }
+
+        try
+        {
+            return task.get();
+        }
+        catch ( ExecutionException e )
+        {
+            if ( owner )
+            {
+                synchronized ( stripe )
+                {
+                    if ( stripe.get( key ) == task )
+                    {
+                        stripe.remove( key );
+                    }
+                }
+            }
+
+            Throwable cause = e.getCause();
+            if ( cause instanceof ProjectBuildingException )
+            {
+                throw (ProjectBuildingException) cause;
+            }
+            if ( cause instanceof RuntimeException )
+            {
+                throw (RuntimeException) cause;
+            }
+            if ( cause instanceof Error )
+            {
+                throw (Error) cause;
+            }
+            throw new ProjectBuildingException( key, cause.getMessage(), cause );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new ProjectBuildingException( key, "Interrupted while waiting for the project", e );
+        }
+    }
+
+    /**
+     * A part of the cache, keeping its most recently used projects.
+     */
+    private static class Stripe
+        extends LinkedHashMap<String, FutureTask<MavenProject>>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxProjects;
+
+        Stripe( int maxProjects )
+        {
+            super( 16, 0.75f, true );
+            this.maxProjects = maxProjects;
+        }
+
+        @Override
+        protected boolean removeEldestEntry( Map.Entry<String, FutureTask<MavenProject>> eldest )
+        {
+            return size() > maxProjects;
+        }
+    }
+}
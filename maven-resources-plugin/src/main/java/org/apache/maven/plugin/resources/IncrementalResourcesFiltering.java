@@ -0,0 +1,628 @@
+package org.apache.maven.plugin.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.model.Resource;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.shared.filtering.MavenFileFilter;
+import org.apache.maven.shared.filtering.MavenFilteringException;
+import org.apache.maven.shared.filtering.MavenResourcesExecution;
+import org.apache.maven.shared.filtering.MavenResourcesFiltering;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.ReaderFactory;
+import org.codehaus.plexus.util.StringUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Copies and filters only the resources which changed since the previous execution. For every copied file, a state
+ * file records the digest of the source, and for filtered files the interpolation expressions it contains along with
+ * their values. A file is copied again only if its content, or the value of one of its expressions, changed. The
+ * copies of the files which disappeared from the resources are removed.
+ *
+ * @since 2.7
+ */
+public class IncrementalResourcesFiltering
+{
+    private static final int FORMAT_VERSION = 2;
+
+    /** The characters which have a meaning in the include patterns of a resource. */
+    private static final String PATTERN_CHARACTERS = "*?[%";
+
+    private final MavenResourcesFiltering mavenResourcesFiltering;
+
+    private final MavenFileFilter mavenFileFilter;
+
+    private final Log log;
+
+    public IncrementalResourcesFiltering( MavenResourcesFiltering mavenResourcesFiltering,
+                                          MavenFileFilter mavenFileFilter, Log log )
+    {
+        this.mavenResourcesFiltering = mavenResourcesFiltering;
+        this.mavenFileFilter = mavenFileFilter;
+        this.log = log;
+    }
+
+    /**
+     * Copies the resources of an execution which are not up to date.
+     *
+     * @param mavenResourcesExecution the execution
+     * @param stateFile the file keeping track of the previous execution
+     * @throws MavenFilteringException if the resources can't be copied
+     */
+    public void filterResources( MavenResourcesExecution mavenResourcesExecution, File stateFile )
+        throws MavenFilteringException
+    {
+        List<ResourceFile> files = ResourceFile.scan( mavenResourcesExecution, mavenResourcesFiltering );
+
+        String configuration = getConfigurationFingerprint( mavenResourcesExecution );
+        // when the configuration changed, the recorded destinations have no state: they are all copied again
+        Map<String, FileState> previousStates = loadState( stateFile, configuration );
+
+        // compute the current state of each destination, the last resource copied to a destination wins
+        ExpressionResolver resolver = null;
+        Map<String, FileState> currentStates = new LinkedHashMap<String, FileState>();
+        Map<String, List<ResourceFile>> filesByDestination = new LinkedHashMap<String, List<ResourceFile>>();
+        for ( ResourceFile file : files )
+        {
+            String destination = file.getDestination().getAbsolutePath();
+
+            Map<String, String> expressions = null;
+            if ( file.isFiltering() )
+            {
+                if ( resolver == null )
+                {
+                    resolver = new ExpressionResolver( mavenResourcesExecution );
+                }
+                expressions = resolver.resolveExpressions( file.getSource() );
+            }
+
+            FileState state = new FileState( file.getSource().getAbsolutePath(), digest( file.getSource() ),
+                                             file.isFiltering(), expressions );
+            FileState previous = currentStates.get( destination );
+            currentStates.put( destination, previous != null ? previous.combine( state ) : state );
+
+            List<ResourceFile> contributors = filesByDestination.get( destination );
+            if ( contributors == null )
+            {
+                contributors = new ArrayList<ResourceFile>( 1 );
+                filesByDestination.put( destination, contributors );
+            }
+            contributors.add( file );
+        }
+
+        // all the resources copied to a changed destination are copied again, in order, to keep overwrite semantics
+        Set<ResourceFile> changedFiles = new HashSet<ResourceFile>();
+        for ( Map.Entry<String, List<ResourceFile>> entry : filesByDestination.entrySet() )
+        {
+            FileState previous = previousStates.get( entry.getKey() );
+            if ( previous == null || !previous.equals( currentStates.get( entry.getKey() ) )
+                || !new File( entry.getKey() ).exists() )
+            {
+                changedFiles.addAll( entry.getValue() );
+            }
+        }
+
+        // the outputs recorded by the previous execution which are no longer produced
+        int deleted = 0;
+        for ( String destination : previousStates.keySet() )
+        {
+            if ( !currentStates.containsKey( destination ) )
+            {
+                File file = new File( destination );
+                if ( file.isFile() && file.delete() )
+                {
+                    log.debug( "Removed " + destination + ", its resource no longer exists" );
+                    deleted++;
+                }
+            }
+        }
+
+        log.info( "Incremental resources: " + changedFiles.size() + " changed, "
+                      + ( files.size() - changedFiles.size() ) + " up to date, " + deleted + " removed" );
+
+        if ( !changedFiles.isEmpty() )
+        {
+            MavenResourcesExecution changedExecution = copyOf( mavenResourcesExecution );
+            changedExecution.setResources( getChangedResources( mavenResourcesExecution.getResources(), files,
+                                                                changedFiles ) );
+            // the unchanged files are left out, and the changed ones must be written even if their target is newer
+            changedExecution.setOverwrite( true );
+            mavenResourcesFiltering.filterResources( changedExecution );
+        }
+
+        saveState( stateFile, configuration, currentStates );
+    }
+
+    /**
+     * Copies an execution. {@link MavenResourcesExecution#copyOf()} can't be used, as it copies the new instance onto
+     * itself in maven-filtering 1.1.
+     */
+    private static MavenResourcesExecution copyOf( MavenResourcesExecution execution )
+    {
+        MavenResourcesExecution copy = new MavenResourcesExecution();
+        copy.setAdditionalProperties( execution.getAdditionalProperties() );
+        copy.setDelimiters( new LinkedHashSet<String>( execution.getDelimiters() ) );
+        copy.setEncoding( execution.getEncoding() );
+        copy.setEscapedBackslashesInFilePath( execution.isEscapedBackslashesInFilePath() );
+        copy.setEscapeString( execution.getEscapeString() );
+        copy.setEscapeWindowsPaths( execution.isEscapeWindowsPaths() );
+        copy.setFileFilters( execution.getFileFilters() );
+        copy.setFilterWrappers( execution.getFilterWrappers() );
+        copy.setIncludeEmptyDirs( execution.isIncludeEmptyDirs() );
+        copy.setInjectProjectBuildFilters( execution.isInjectProjectBuildFilters() );
+        copy.setMavenProject( execution.getMavenProject() );
+        copy.setMavenSession( execution.getMavenSession() );
+        copy.setNonFilteredFileExtensions( execution.getNonFilteredFileExtensions() );
+        copy.setOutputDirectory( execution.getOutputDirectory() );
+        copy.setOverwrite( execution.isOverwrite() );
+        copy.setProjectStartExpressions( execution.getProjectStartExpressions() );
+        copy.setResources( execution.getResources() );
+        copy.setResourcesBaseDirectory( execution.getResourcesBaseDirectory() );
+        copy.setSupportMultiLineFiltering( execution.isSupportMultiLineFiltering() );
+        copy.setUseDefaultFilterWrappers( execution.isUseDefaultFilterWrappers() );
+        return copy;
+    }
+
+    /**
+     * Narrows the resources of the execution down to the changed files, keeping the resources order.
+     */
+    private List<Resource> getChangedResources( List<Resource> resources, List<ResourceFile> files,
+                                                Set<ResourceFile> changedFiles )
+    {
+        List<Resource> changedResources = new ArrayList<Resource>();
+        for ( Resource resource : resources )
+        {
+            List<String> includes = new ArrayList<String>();
+            for ( ResourceFile file : files )
+            {
+                if ( file.getResource() == resource && changedFiles.contains( file ) )
+                {
+                    includes.add( toIncludePattern( file.getName() ) );
+                }
+            }
+
+            if ( !includes.isEmpty() )
+            {
+                Resource changedResource = new Resource();
+                changedResource.setDirectory( resource.getDirectory() );
+                changedResource.setTargetPath( resource.getTargetPath() );
+                changedResource.setFiltering( resource.isFiltering() );
+                changedResource.setIncludes( includes );
+                changedResources.add( changedResource );
+            }
+        }
+        return changedResources;
+    }
+
+    /**
+     * @return an include pattern matching only the file with the given name: a name containing wildcards is matched
+     *         as a quoted regular expression.
+     */
+    static String toIncludePattern( String name )
+    {
+        for ( int i = 0; i < name.length(); i++ )
+        {
+            if ( PATTERN_CHARACTERS.indexOf( name.charAt( i ) ) >= 0 )
+            {
+                return "%regex[" + Pattern.quote( name ) + "]";
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Digests the settings which change the output of all the filtered files.
+     */
+    private String getConfigurationFingerprint( MavenResourcesExecution mavenResourcesExecution )
+    {
+        StringBuilder configuration = new StringBuilder();
+        configuration.append( mavenResourcesExecution.getEncoding() ).append( '|' );
+        configuration.append( mavenResourcesExecution.getDelimiters() ).append( '|' );
+        configuration.append( mavenResourcesExecution.getEscapeString() ).append( '|' );
+        configuration.append( mavenResourcesExecution.isEscapeWindowsPaths() ).append( '|' );
+        configuration.append( mavenResourcesExecution.isSupportMultiLineFiltering() ).append( '|' );
+        configuration.append( mavenResourcesExecution.getNonFilteredFileExtensions() );
+        return configuration.toString();
+    }
+
+    /**
+     * @return the states recorded by the previous execution, by destination. When the configuration changed, the
+     *         destinations are mapped to <code>null</code>.
+     */
+    private Map<String, FileState> loadState( File stateFile, String configuration )
+    {
+        Map<String, FileState> states = new HashMap<String, FileState>();
+        if ( !stateFile.isFile() )
+        {
+            return states;
+        }
+
+        DataInputStream in = null;
+        try
+        {
+            in = new DataInputStream( new BufferedInputStream( new FileInputStream( stateFile ) ) );
+            if ( in.readInt() != FORMAT_VERSION )
+            {
+                log.debug( "Unknown resources state format, copying all resources" );
+                return states;
+            }
+
+            boolean changed = !configuration.equals( readString( in ) );
+            if ( changed )
+            {
+                log.debug( "Resources configuration changed, copying all resources" );
+            }
+
+            int count = in.readInt();
+            for ( int i = 0; i < count; i++ )
+            {
+                String destination = readString( in );
+                FileState state = FileState.read( in );
+                states.put( destination, changed ? null : state );
+            }
+        }
+        catch ( IOException e )
+        {
+            log.warn( "Unable to read " + stateFile + ", copying all resources: " + e.getMessage() );
+            states.clear();
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+        return states;
+    }
+
+    private void saveState( File stateFile, String configuration, Map<String, FileState> states )
+        throws MavenFilteringException
+    {
+        DataOutputStream out = null;
+        try
+        {
+            stateFile.getParentFile().mkdirs();
+            out = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( stateFile ) ) );
+            out.writeInt( FORMAT_VERSION );
+            writeString( out, configuration );
+            out.writeInt( states.size() );
+            for ( Map.Entry<String, FileState> entry : states.entrySet() )
+            {
+                writeString( out, entry.getKey() );
+                entry.getValue().write( out );
+            }
+            out.close();
+            out = null;
+        }
+        catch ( IOException e )
+        {
+            throw new MavenFilteringException( "Unable to write " + stateFile + ": " + e.getMessage(), e );
+        }
+        finally
+        {
+            IOUtil.close( out );
+        }
+    }
+
+    /**
+     * Writes a string as its length followed by its UTF-8 bytes: {@link DataOutputStream#writeUTF(String)} is limited
+     * to 65535 bytes, which a filter value can exceed.
+     */
+    static void writeString( DataOutputStream out, String value )
+        throws IOException
+    {
+        byte[] bytes = value.getBytes( "UTF-8" );
+        out.writeInt( bytes.length );
+        out.write( bytes );
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(DataOutputStream, String)}.
+     */
+    static String readString( DataInputStream in )
+        throws IOException
+    {
+        int length = in.readInt();
+        if ( length < 0 )
+        {
+            throw new IOException( "Invalid string length: " + length );
+        }
+        byte[] bytes = new byte[length];
+        in.readFully( bytes );
+        return new String( bytes, "UTF-8" );
+    }
+
+    static String digest( File file )
+        throws MavenFilteringException
+    {
+        InputStream in = null;
+        try
+        {
+            MessageDigest digest = MessageDigest.getInstance( "MD5" );
+            in = new FileInputStream( file );
+            byte[] buffer = new byte[8192];
+            int read;
+            while ( ( read = in.read( buffer ) ) >= 0 )
+            {
+                digest.update( buffer, 0, read );
+            }
+
+            StringBuilder hex = new StringBuilder();
+            for ( byte b : digest.digest() )
+            {
+                hex.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) ).append( Character.forDigit( b & 0xF, 16 ) );
+            }
+            return hex.toString();
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new MavenFilteringException( "MD5 digest not available", e );
+        }
+        catch ( IOException e )
+        {
+            throw new MavenFilteringException( "Unable to read " + file + ": " + e.getMessage(), e );
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+    }
+
+    /**
+     * Finds the expressions contained in a filtered file, and evaluates them with the same filter wrappers the
+     * filtering uses.
+     */
+    private class ExpressionResolver
+    {
+        private final MavenResourcesExecution mavenResourcesExecution;
+
+        private final List<FileUtils.FilterWrapper> filterWrappers;
+
+        private final List<String[]> delimiters = new ArrayList<String[]>();
+
+        private final Map<String, String> values = new HashMap<String, String>();
+
+        ExpressionResolver( MavenResourcesExecution mavenResourcesExecution )
+            throws MavenFilteringException
+        {
+            this.mavenResourcesExecution = mavenResourcesExecution;
+
+            filterWrappers = new ArrayList<FileUtils.FilterWrapper>();
+            if ( mavenResourcesExecution.getFilterWrappers() != null )
+            {
+                filterWrappers.addAll( mavenResourcesExecution.getFilterWrappers() );
+            }
+            if ( mavenResourcesExecution.isUseDefaultFilterWrappers() )
+            {
+                filterWrappers.addAll( mavenFileFilter.getDefaultFilterWrappers( mavenResourcesExecution ) );
+            }
+
+            for ( String delimiter : mavenResourcesExecution.getDelimiters() )
+            {
+                int star = delimiter.indexOf( '*' );
+                if ( star < 0 )
+                {
+                    delimiters.add( new String[]{ delimiter, delimiter } );
+                }
+                else
+                {
+                    delimiters.add( new String[]{ delimiter.substring( 0, star ), delimiter.substring( star + 1 ) } );
+                }
+            }
+        }
+
+        Map<String, String> resolveExpressions( File file )
+            throws MavenFilteringException
+        {
+            String content;
+            Reader reader = null;
+            try
+            {
+                String encoding = mavenResourcesExecution.getEncoding();
+                reader = StringUtils.isEmpty( encoding ) ? ReaderFactory.newPlatformReader( file )
+                                : ReaderFactory.newReader( file, encoding );
+                content = IOUtil.toString( reader );
+            }
+            catch ( IOException e )
+            {
+                throw new MavenFilteringException( "Unable to read " + file + ": " + e.getMessage(), e );
+            }
+            finally
+            {
+                IOUtil.close( reader );
+            }
+
+            Map<String, String> expressions = new TreeMap<String, String>();
+            for ( String[] delimiter : delimiters )
+            {
+                int start = content.indexOf( delimiter[0] );
+                while ( start >= 0 )
+                {
+                    int end = content.indexOf( delimiter[1], start + delimiter[0].length() );
+                    if ( end < 0 )
+                    {
+                        break;
+                    }
+
+                    String expression = content.substring( start, end + delimiter[1].length() );
+                    if ( mavenResourcesExecution.isSupportMultiLineFiltering() || expression.indexOf( '\n' ) < 0 )
+                    {
+                        expressions.put( expression, resolve( expression ) );
+                        start = content.indexOf( delimiter[0], end + delimiter[1].length() );
+                    }
+                    else
+                    {
+                        start = content.indexOf( delimiter[0], start + delimiter[0].length() );
+                    }
+                }
+            }
+            return expressions;
+        }
+
+        private String resolve( String expression )
+            throws MavenFilteringException
+        {
+            String value = values.get( expression );
+            if ( value == null )
+            {
+                Reader reader = new StringReader( expression );
+                for ( FileUtils.FilterWrapper filterWrapper : filterWrappers )
+                {
+                    reader = filterWrapper.getReader( reader );
+                }
+                try
+                {
+                    value = IOUtil.toString( reader );
+                }
+                catch ( IOException e )
+                {
+                    throw new MavenFilteringException( "Unable to evaluate " + expression + ": " + e.getMessage(), e );
+                }
+                values.put( expression, value );
+            }
+            return value;
+        }
+    }
+
+    /**
+     * What a destination file was produced from.
+     */
+    private static class FileState
+    {
+        private final String sources;
+
+        private final String digests;
+
+        private final boolean filtering;
+
+        /** The expressions found in the sources and their values, <code>null</code> if the file is not filtered. */
+        private final Map<String, String> expressions;
+
+        FileState( String sources, String digests, boolean filtering, Map<String, String> expressions )
+        {
+            this.sources = sources;
+            this.digests = digests;
+            this.filtering = filtering;
+            this.expressions = expressions;
+        }
+
+        /**
+         * Combines the states of two sources copied in turn to the same destination.
+         */
+        FileState combine( FileState next )
+        {
+            Map<String, String> combinedExpressions = null;
+            if ( expressions != null || next.expressions != null )
+            {
+                combinedExpressions = new TreeMap<String, String>();
+                if ( expressions != null )
+                {
+                    combinedExpressions.putAll( expressions );
+                }
+                if ( next.expressions != null )
+                {
+                    combinedExpressions.putAll( next.expressions );
+                }
+            }
+            return new FileState( sources + File.pathSeparator + next.sources, digests + ',' + next.digests,
+                                  filtering || next.filtering, combinedExpressions );
+        }
+
+        static FileState read( DataInputStream in )
+            throws IOException
+        {
+            String sources = readString( in );
+            String digests = readString( in );
+            boolean filtering = in.readBoolean();
+            Map<String, String> expressions = null;
+            int count = in.readInt();
+            if ( count >= 0 )
+            {
+                expressions = new TreeMap<String, String>();
+                for ( int i = 0; i < count; i++ )
+                {
+                    expressions.put( readString( in ), readString( in ) );
+                }
+            }
+            return new FileState( sources, digests, filtering, expressions );
+        }
+
+        void write( DataOutputStream out )
+            throws IOException
+        {
+            writeString( out, sources );
+            writeString( out, digests );
+            out.writeBoolean( filtering );
+            if ( expressions == null )
+            {
+                out.writeInt( -1 );
+            }
+            else
+            {
+                out.writeInt( expressions.size() );
+                for ( Map.Entry<String, String> entry : expressions.entrySet() )
+                {
+                    writeString( out, entry.getKey() );
+                    writeString( out, entry.getValue() );
+                }
+            }
+        }
+
+        @Override
+        public boolean equals( Object obj )
+        {
+            if ( !( obj instanceof FileState ) )
+            {
+                return false;
+            }
+            FileState other = (FileState) obj;
+            return sources.equals( other.sources ) && digests.equals( other.digests ) && filtering == other.filtering
+                && ( expressions == null ? other.expressions == null : expressions.equals( other.expressions ) );
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return sources.hashCode() + 31 * digests.hashCode();
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package org.apache.maven.plugin.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Resource;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.filtering.MavenFileFilter;
+import org.apache.maven.shared.filtering.MavenFilteringException;
+import org.apache.maven.shared.filtering.MavenResourcesExecution;
+import org.apache.maven.shared.filtering.MavenResourcesFiltering;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.ReaderFactory;
+import org.codehaus.plexus.util.StringUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Copies and filters the files of the resources on several threads. The files are listed and their destinations
+ * resolved before anything is copied: all the files copied to the same destination are handled in turn by the same
+ * thread, in the order of the resources, so that the last one still wins. Unfiltered files are copied with file
+ * channels, filtered files go through {@link MavenFileFilter}, each thread using its own filter wrappers.
+ *
+ * @since 2.7
+ */
+public class ParallelResourcesFiltering
+    implements MavenResourcesFiltering
+{
+    private final MavenResourcesFiltering mavenResourcesFiltering;
+
+    private final MavenFileFilter mavenFileFilter;
+
+    private final int threads;
+
+    private final Log log;
+
+    public ParallelResourcesFiltering( MavenResourcesFiltering mavenResourcesFiltering,
+                                       MavenFileFilter mavenFileFilter, int threads, Log log )
+    {
+        this.mavenResourcesFiltering = mavenResourcesFiltering;
+        this.mavenFileFilter = mavenFileFilter;
+        this.threads = threads;
+        this.log = log;
+    }
+
+    public void filterResources( final MavenResourcesExecution mavenResourcesExecution )
+        throws MavenFilteringException
+    {
+        if ( mavenResourcesExecution == null )
+        {
+            throw new MavenFilteringException( "mavenResourcesExecution cannot be null" );
+        }
+        if ( mavenResourcesExecution.getResources() == null )
+        {
+            log.info( "No resources configured skip copying/filtering" );
+            return;
+        }
+        if ( mavenResourcesExecution.getOutputDirectory() == null )
+        {
+            throw new MavenFilteringException( "outputDirectory cannot be null" );
+        }
+
+        List<ResourceFile> files = ResourceFile.scan( mavenResourcesExecution, mavenResourcesFiltering );
+
+        // resolve the collisions up front: a destination is written by a single task
+        Map<File, List<ResourceFile>> filesByDestination = new LinkedHashMap<File, List<ResourceFile>>();
+        boolean filtering = false;
+        for ( ResourceFile file : files )
+        {
+            List<ResourceFile> contributors = filesByDestination.get( file.getDestination() );
+            if ( contributors == null )
+            {
+                contributors = new ArrayList<ResourceFile>( 1 );
+                filesByDestination.put( file.getDestination(), contributors );
+            }
+            contributors.add( file );
+            filtering |= file.isFiltering();
+        }
+
+        if ( filtering )
+        {
+            if ( StringUtils.isEmpty( mavenResourcesExecution.getEncoding() ) )
+            {
+                log.warn( "Using platform encoding (" + ReaderFactory.FILE_ENCODING
+                              + " actually) to copy filtered resources, i.e. build is platform dependent!" );
+            }
+            else
+            {
+                log.info( "Using '" + mavenResourcesExecution.getEncoding()
+                              + "' encoding to copy filtered resources." );
+            }
+        }
+        log.info( "Copying " + files.size() + " resource" + ( files.size() > 1 ? "s" : "" ) + " using " + threads
+                      + " threads" );
+
+        final Queue<List<ResourceFile>> queue =
+            new ConcurrentLinkedQueue<List<ResourceFile>>( filesByDestination.values() );
+        int workers = Math.max( 1, Math.min( threads, filesByDestination.size() ) );
+        ExecutorService executor = Executors.newFixedThreadPool( workers );
+        try
+        {
+            List<Future<Object>> futures = new ArrayList<Future<Object>>( workers );
+            for ( int i = 0; i < workers; i++ )
+            {
+                futures.add( executor.submit( new Callable<Object>()
+                {
+                    public Object call()
+                        throws Exception
+                    {
+                        copyFiles( mavenResourcesExecution, queue );
+                        return null;
+                    }
+                } ) );
+            }
+
+            for ( Future<Object> future : futures )
+            {
+                future.get();
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new MavenFilteringException( "Interrupted while copying resources", e );
+        }
+        catch ( ExecutionException e )
+        {
+            if ( e.getCause() instanceof MavenFilteringException )
+            {
+                throw (MavenFilteringException) e.getCause();
+            }
+            throw new MavenFilteringException( e.getCause().getMessage(), e.getCause() );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Copies the files of the queued destinations until the queue is empty.
+     */
+    private void copyFiles( MavenResourcesExecution mavenResourcesExecution, Queue<List<ResourceFile>> queue )
+        throws MavenFilteringException
+    {
+        // the default filter wrappers share an interpolator, which is not thread safe
+        List<FileUtils.FilterWrapper> filterWrappers = null;
+
+        List<ResourceFile> contributors;
+        while ( ( contributors = queue.poll() ) != null )
+        {
+            for ( ResourceFile file : contributors )
+            {
+                File destination = file.getDestination();
+                File parent = destination.getParentFile();
+                if ( parent != null && !parent.exists() )
+                {
+                    parent.mkdirs();
+                }
+
+                if ( file.isFiltering() )
+                {
+                    if ( filterWrappers == null )
+                    {
+                        filterWrappers = getFilterWrappers( mavenResourcesExecution );
+                    }
+                    mavenFileFilter.copyFile( file.getSource(), destination, true, filterWrappers,
+                                              mavenResourcesExecution.getEncoding(),
+                                              mavenResourcesExecution.isOverwrite() );
+                }
+                else if ( mavenResourcesExecution.isOverwrite() || !destination.exists()
+                    || destination.lastModified() < file.getSource().lastModified() )
+                {
+                    try
+                    {
+                        copyFile( file.getSource(), destination );
+                    }
+                    catch ( IOException e )
+                    {
+                        throw new MavenFilteringException( "Error copying file " + file.getSource() + " to "
+                            + destination + ": " + e.getMessage(), e );
+                    }
+                }
+            }
+        }
+    }
+
+    private List<FileUtils.FilterWrapper> getFilterWrappers( MavenResourcesExecution mavenResourcesExecution )
+        throws MavenFilteringException
+    {
+        List<FileUtils.FilterWrapper> filterWrappers = new ArrayList<FileUtils.FilterWrapper>();
+        if ( mavenResourcesExecution.getFilterWrappers() != null )
+        {
+            filterWrappers.addAll( mavenResourcesExecution.getFilterWrappers() );
+        }
+        if ( mavenResourcesExecution.isUseDefaultFilterWrappers() )
+        {
+            filterWrappers.addAll( mavenFileFilter.getDefaultFilterWrappers( mavenResourcesExecution ) );
+        }
+        return filterWrappers;
+    }
+
+    private static void copyFile( File source, File destination )
+        throws IOException
+    {
+        FileInputStream in = null;
+        FileOutputStream out = null;
+        try
+        {
+            in = new FileInputStream( source );
+            out = new FileOutputStream( destination );
+            FileChannel inChannel = in.getChannel();
+            FileChannel outChannel = out.getChannel();
+            long size = inChannel.size();
+            long position = 0;
+            while ( position < size )
+            {
+                position += inChannel.transferTo( position, size - position, outChannel );
+            }
+            out.close();
+            out = null;
+        }
+        finally
+        {
+            IOUtil.close( in );
+            IOUtil.close( out );
+        }
+    }
+
+    /**
+     * @deprecated use {@link #filterResources(MavenResourcesExecution)}
+     */
+    @Deprecated
+    public void filterResources( List<Resource> resources, File outputDirectory, MavenProject mavenProject,
+                                 String encoding, List<String> fileFilters, List<String> nonFilteredFileExtensions,
+                                 MavenSession mavenSession )
+        throws MavenFilteringException
+    {
+        MavenResourcesExecution mavenResourcesExecution = new MavenResourcesExecution();
+        mavenResourcesExecution.setResources( resources );
+        mavenResourcesExecution.setOutputDirectory( outputDirectory );
+        mavenResourcesExecution.setMavenProject( mavenProject );
+        mavenResourcesExecution.setEncoding( encoding );
+        mavenResourcesExecution.setFileFilters( fileFilters );
+        mavenResourcesExecution.setNonFilteredFileExtensions( nonFilteredFileExtensions );
+        mavenResourcesExecution.setMavenSession( mavenSession );
+        mavenResourcesExecution.setUseDefaultFilterWrappers( true );
+        mavenResourcesExecution.setResourcesBaseDirectory( mavenProject.getBasedir() );
+        filterResources( mavenResourcesExecution );
+    }
+
+    /**
+     * @deprecated use {@link #filterResources(MavenResourcesExecution)}
+     */
+    @Deprecated
+    public void filterResources( List<Resource> resources, File outputDirectory, String encoding,
+                                 List<FileUtils.FilterWrapper> filterWrappers, File resourcesBaseDirectory,
+                                 List<String> nonFilteredFileExtensions )
+        throws MavenFilteringException
+    {
+        MavenResourcesExecution mavenResourcesExecution = new MavenResourcesExecution();
+        mavenResourcesExecution.setResources( resources );
+        mavenResourcesExecution.setOutputDirectory( outputDirectory );
+        mavenResourcesExecution.setEncoding( encoding );
+        mavenResourcesExecution.setFilterWrappers( filterWrappers );
+        mavenResourcesExecution.setResourcesBaseDirectory( resourcesBaseDirectory );
+        mavenResourcesExecution.setNonFilteredFileExtensions( nonFilteredFileExtensions );
+        mavenResourcesExecution.setUseDefaultFilterWrappers( false );
+        filterResources( mavenResourcesExecution );
+    }
+
+    @SuppressWarnings( "rawtypes" )
+    public List getDefaultNonFilteredFileExtensions()
+    {
+        return mavenResourcesFiltering.getDefaultNonFilteredFileExtensions();
+    }
+
+    public boolean filteredFileExtension( String fileName, List<String> userNonFilteredFileExtensions )
+    {
+        return mavenResourcesFiltering.filteredFileExtension( fileName, userNonFilteredFileExtensions );
+    }
+}
@@ -0,0 +1,171 @@
+package org.apache.maven.plugin.resources;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.model.Resource;
+import org.apache.maven.shared.filtering.MavenResourcesExecution;
+import org.apache.maven.shared.filtering.MavenResourcesFiltering;
+import org.codehaus.plexus.util.DirectoryScanner;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A single file of a resource, together with the file it is copied to. The files are listed the same way
+ * {@link MavenResourcesFiltering} does, so that the list describes exactly what a full execution would copy.
+ *
+ * @since 2.7
+ */
+public class ResourceFile
+{
+    private static final String[] DEFAULT_INCLUDES = { "**/**" };
+
+    private final Resource resource;
+
+    private final String name;
+
+    private final File source;
+
+    private final File destination;
+
+    private final boolean filtering;
+
+    public ResourceFile( Resource resource, String name, File source, File destination, boolean filtering )
+    {
+        this.resource = resource;
+        this.name = name;
+        this.source = source;
+        this.destination = destination;
+        this.filtering = filtering;
+    }
+
+    /**
+     * Lists the files of all the resources of an execution, in the order they are copied.
+     *
+     * @param mavenResourcesExecution the execution
+     * @param mavenResourcesFiltering the filtering component, which decides which file extensions are filtered
+     * @return the files
+     */
+    public static List<ResourceFile> scan( MavenResourcesExecution mavenResourcesExecution,
+                                           MavenResourcesFiltering mavenResourcesFiltering )
+    {
+        List<ResourceFile> files = new ArrayList<ResourceFile>();
+
+        for ( Resource resource : mavenResourcesExecution.getResources() )
+        {
+            File resourceDirectory = new File( resource.getDirectory() );
+            if ( !resourceDirectory.isAbsolute() )
+            {
+                resourceDirectory =
+                    new File( mavenResourcesExecution.getResourcesBaseDirectory(), resourceDirectory.getPath() );
+            }
+            if ( !resourceDirectory.exists() )
+            {
+                continue;
+            }
+
+            DirectoryScanner scanner = new DirectoryScanner();
+            scanner.setBasedir( resourceDirectory );
+            if ( resource.getIncludes() != null && !resource.getIncludes().isEmpty() )
+            {
+                scanner.setIncludes( toArray( resource.getIncludes() ) );
+            }
+            else
+            {
+                scanner.setIncludes( DEFAULT_INCLUDES );
+            }
+            if ( resource.getExcludes() != null && !resource.getExcludes().isEmpty() )
+            {
+                scanner.setExcludes( toArray( resource.getExcludes() ) );
+            }
+            scanner.addDefaultExcludes();
+            scanner.scan();
+
+            for ( String name : scanner.getIncludedFiles() )
+            {
+                File source = new File( resourceDirectory, name );
+                File destination =
+                    getDestinationFile( mavenResourcesExecution.getOutputDirectory(), resource.getTargetPath(), name );
+                boolean filtering = resource.isFiltering()
+                    && mavenResourcesFiltering.filteredFileExtension( source.getName(),
+                                                                     mavenResourcesExecution.getNonFilteredFileExtensions() );
+                files.add( new ResourceFile( resource, name, source, destination, filtering ) );
+            }
+        }
+
+        return files;
+    }
+
+    private static File getDestinationFile( File outputDirectory, String targetPath, String name )
+    {
+        String destination = name;
+        if ( targetPath != null )
+        {
+            destination = targetPath + "/" + name;
+        }
+
+        File destinationFile = new File( destination );
+        if ( !destinationFile.isAbsolute() )
+        {
+            destinationFile = new File( outputDirectory, destination );
+        }
+        return destinationFile;
+    }
+
+    @SuppressWarnings( "rawtypes" )
+    private static String[] toArray( List list )
+    {
+        List<String> patterns = new ArrayList<String>( list.size() );
+        for ( Object pattern : list )
+        {
+            patterns.add( (String) pattern );
+        }
+        return patterns.toArray( new String[patterns.size()] );
+    }
+
+    public Resource getResource()
+    {
+        return resource;
+    }
+
+    /**
+     * @return the path of the file, relative to the resource directory
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    public File getSource()
+    {
+        return source;
+    }
+
+    public File getDestination()
+    {
+        return destination;
+    }
+
+    public boolean isFiltering()
+    {
+        return filtering;
+    }
+}
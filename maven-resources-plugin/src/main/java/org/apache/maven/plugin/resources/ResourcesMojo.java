@@ -28,6 +28,7 @@ import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.filtering.MavenFileFilter;
 import org.apache.maven.shared.filtering.MavenFilteringException;
 import org.apache.maven.shared.filtering.MavenResourcesExecution;
 import org.apache.maven.shared.filtering.MavenResourcesFiltering;
@@ -129,6 +130,12 @@ public class ResourcesMojo
     @Component( role = MavenResourcesFiltering.class, hint = "default" )
     protected MavenResourcesFiltering mavenResourcesFiltering;
 
+    /**
+     * @since 2.7
+     */
+    @Component( role = MavenFileFilter.class, hint = "default" )
+    protected MavenFileFilter mavenFileFilter;
+
     /**
      *
      */
@@ -233,6 +240,35 @@ public class ResourcesMojo
     @Parameter( property = "maven.resources.supportMultiLineFiltering", defaultValue = "false" )
     private boolean supportMultiLineFiltering;
 
+    /**
+     * Only copy the resources which changed since the previous build. A filtered resource is considered changed
+     * when its content, or the value of one of the expressions it contains, changed. The copies of the resources
+     * which were removed are deleted. This is not supported together with <code>includeEmptyDirs</code>, in which
+     * case all the resources are copied.
+     *
+     * @since 2.7
+     */
+    @Parameter( property = "maven.resources.incremental", defaultValue = "false" )
+    private boolean incremental;
+
+    /**
+     * The directory where the state of the incremental copy is kept.
+     *
+     * @since 2.7
+     */
+    @Parameter( defaultValue = "${project.build.directory}/maven-status/maven-resources-plugin" )
+    private File incrementalStateDirectory;
+
+    /**
+     * The number of threads used to copy and filter the resources. Files copied to the same target are still handled
+     * in the order of the resources, so that the last one wins. This is not supported together with
+     * <code>includeEmptyDirs</code>, in which case the resources are copied sequentially.
+     *
+     * @since 2.7
+     */
+    @Parameter( property = "maven.resources.threads", defaultValue = "1" )
+    private int threads;
+
     public void contextualize( Context context )
         throws ContextException
     {
@@ -297,7 +333,22 @@ public class ResourcesMojo
             {
                 mavenResourcesExecution.setNonFilteredFileExtensions( nonFilteredFileExtensions );
             }
-            mavenResourcesFiltering.filterResources( mavenResourcesExecution );
+            MavenResourcesFiltering filtering = mavenResourcesFiltering;
+            if ( threads > 1 && !includeEmptyDirs )
+            {
+                filtering =
+                    new ParallelResourcesFiltering( mavenResourcesFiltering, mavenFileFilter, threads, getLog() );
+            }
+
+            if ( incremental && !includeEmptyDirs )
+            {
+                new IncrementalResourcesFiltering( filtering, mavenFileFilter, getLog() )
+                    .filterResources( mavenResourcesExecution, getIncrementalStateFile() );
+            }
+            else
+            {
+                filtering.filterResources( mavenResourcesExecution );
+            }
 
             executeUserFilterComponents( mavenResourcesExecution );
         }
@@ -345,6 +396,17 @@ public class ResourcesMojo
         }
     }
 
+    /**
+     * @return the file keeping the state of the incremental copy, one per output directory
+     * @since 2.7
+     */
+    protected File getIncrementalStateFile()
+    {
+        String path = getOutputDirectory().getAbsolutePath();
+        return new File( incrementalStateDirectory,
+                         getOutputDirectory().getName() + "-" + Integer.toHexString( path.hashCode() ) + ".state" );
+    }
+
     protected List<String> getCombinedFiltersList()
     {
         if ( filters == null || filters.isEmpty() )
@@ -437,6 +499,26 @@ public class ResourcesMojo
         this.filters = filters;
     }
 
+    public boolean isIncremental()
+    {
+        return incremental;
+    }
+
+    public void setIncremental( boolean incremental )
+    {
+        this.incremental = incremental;
+    }
+
+    public int getThreads()
+    {
+        return threads;
+    }
+
+    public void setThreads( int threads )
+    {
+        this.threads = threads;
+    }
+
     public List<String> getDelimiters()
     {
         return delimiters;
@@ -20,6 +20,7 @@ package org.apache.maven.plugin.resources;
  */
 
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Resource;
 import org.apache.maven.plugin.resources.stub.MavenProjectResourcesStub;
 import org.apache.maven.plugin.testing.AbstractMojoTestCase;
 import org.codehaus.plexus.util.FileUtils;
@@ -632,6 +633,176 @@ public class ResourcesMojoTest
                       FileUtils.fileRead( new File( resourcesDir, "path-listing.txt" ) ) );
     }
 
+    public void testIncremental()
+        throws Exception
+    {
+        File testPom = new File( getBasedir(), defaultPomFilePath );
+        ResourcesMojo mojo = (ResourcesMojo) lookupMojo( "resources", testPom );
+        MavenProjectResourcesStub project = new MavenProjectResourcesStub( "incremental" );
+        List resources = project.getBuild().getResources();
+
+        assertNotNull( mojo );
+
+        project.addFile( "filtered.txt", "version = ${release}" );
+        project.addFile( "removed.txt", "removed" );
+        project.setResourceFiltering( 0, true );
+        project.addProperty( "release", "1.0" );
+        project.cleanBuildEnvironment();
+        project.setupBuildEnvironment();
+
+        setVariableValueToObject( mojo, "project", project );
+        setVariableValueToObject( mojo, "resources", resources );
+        setVariableValueToObject( mojo, "outputDirectory", new File( project.getBuild().getOutputDirectory() ) );
+        setVariableValueToObject( mojo, "buildFilters", new LinkedList() );
+        setVariableValueToObject( mojo, "useBuildFilters", Boolean.TRUE );
+        setVariableValueToObject( mojo, "incremental", Boolean.TRUE );
+        setVariableValueToObject( mojo, "incrementalStateDirectory",
+                                  new File( project.getBuild().getDirectory(), "maven-status" ) );
+        mojo.execute();
+
+        String resourcesDir = project.getOutputDirectory();
+        assertContent( resourcesDir + "/filtered.txt", "version = 1.0" );
+        assertTrue( FileUtils.fileExists( resourcesDir + "/removed.txt" ) );
+
+        // nothing changed: the filtered copy is left alone
+        FileUtils.fileWrite( resourcesDir + "/filtered.txt", "untouched" );
+        mojo.execute();
+        assertContent( resourcesDir + "/filtered.txt", "untouched" );
+
+        // the value of an expression changed: the file is filtered again, and removed resources are deleted
+        project.addProperty( "release", "2.0" );
+        FileUtils.forceDelete( new File( ( (Resource) resources.get( 0 ) ).getDirectory(), "removed.txt" ) );
+        mojo.execute();
+        assertContent( resourcesDir + "/filtered.txt", "version = 2.0" );
+        assertFalse( FileUtils.fileExists( resourcesDir + "/removed.txt" ) );
+    }
+
+    public void testThreads()
+        throws Exception
+    {
+        File testPom = new File( getBasedir(), defaultPomFilePath );
+        ResourcesMojo mojo = (ResourcesMojo) lookupMojo( "resources", testPom );
+        MavenProjectResourcesStub project = new MavenProjectResourcesStub( "threads" );
+        List resources = project.getBuild().getResources();
+
+        assertNotNull( mojo );
+
+        for ( int i = 0; i < 20; i++ )
+        {
+            project.addFile( "file" + i + ".txt", "file " + i + " of ${release}" );
+        }
+        project.addFile( "image.png", "not filtered ${release}" );
+        project.setResourceFiltering( 0, true );
+        project.addProperty( "release", "1.0" );
+        project.cleanBuildEnvironment();
+        project.setupBuildEnvironment();
+
+        // a second resource copied over the first one
+        File overrides = new File( project.getBuild().getDirectory(), "overrides" );
+        overrides.mkdirs();
+        FileUtils.fileWrite( new File( overrides, "file0.txt" ).getAbsolutePath(), "overridden" );
+        Resource resource = new Resource();
+        resource.setDirectory( overrides.getAbsolutePath() );
+        resources.add( resource );
+
+        setVariableValueToObject( mojo, "project", project );
+        setVariableValueToObject( mojo, "resources", resources );
+        setVariableValueToObject( mojo, "outputDirectory", new File( project.getBuild().getOutputDirectory() ) );
+        setVariableValueToObject( mojo, "buildFilters", new LinkedList() );
+        setVariableValueToObject( mojo, "useBuildFilters", Boolean.TRUE );
+        setVariableValueToObject( mojo, "overwrite", Boolean.TRUE );
+        setVariableValueToObject( mojo, "threads", Integer.valueOf( 4 ) );
+        mojo.execute();
+
+        String resourcesDir = project.getOutputDirectory();
+        assertContent( resourcesDir + "/file0.txt", "overridden" );
+        for ( int i = 1; i < 20; i++ )
+        {
+            assertContent( resourcesDir + "/file" + i + ".txt", "file " + i + " of 1.0" );
+        }
+        assertContent( resourcesDir + "/image.png", "not filtered ${release}" );
+    }
+
+    public void testIncrementalConfigurationChange()
+        throws Exception
+    {
+        File testPom = new File( getBasedir(), defaultPomFilePath );
+        ResourcesMojo mojo = (ResourcesMojo) lookupMojo( "resources", testPom );
+        MavenProjectResourcesStub project = new MavenProjectResourcesStub( "incremental-configuration" );
+        List resources = project.getBuild().getResources();
+
+        StringBuilder longValue = new StringBuilder();
+        while ( longValue.length() < 70000 )
+        {
+            longValue.append( "0123456789" );
+        }
+
+        project.addFile( "filtered.txt", "value = ${long}" );
+        project.addFile( "removed.txt", "removed" );
+        project.setResourceFiltering( 0, true );
+        project.addProperty( "long", longValue.toString() );
+        project.cleanBuildEnvironment();
+        project.setupBuildEnvironment();
+
+        setupIncremental( mojo, project, resources );
+        mojo.execute();
+
+        // values longer than 64KB are recorded
+        String resourcesDir = project.getOutputDirectory();
+        assertContent( resourcesDir + "/filtered.txt", "value = " + longValue );
+        assertTrue( FileUtils.fileExists( resourcesDir + "/removed.txt" ) );
+
+        // the configuration changed: the outputs recorded by the previous execution which are no longer produced
+        // are removed too
+        FileUtils.forceDelete( new File( ( (Resource) resources.get( 0 ) ).getDirectory(), "removed.txt" ) );
+        setVariableValueToObject( mojo, "escapeString", "\\" );
+        mojo.execute();
+        assertContent( resourcesDir + "/filtered.txt", "value = " + longValue );
+        assertFalse( FileUtils.fileExists( resourcesDir + "/removed.txt" ) );
+    }
+
+    public void testIncrementalWildcardNames()
+        throws Exception
+    {
+        File testPom = new File( getBasedir(), defaultPomFilePath );
+        ResourcesMojo mojo = (ResourcesMojo) lookupMojo( "resources", testPom );
+        MavenProjectResourcesStub project = new MavenProjectResourcesStub( "incremental-wildcards" );
+        List resources = project.getBuild().getResources();
+
+        project.addFile( "a*c.txt", "star" );
+        project.addFile( "abc.txt", "abc" );
+        project.cleanBuildEnvironment();
+        project.setupBuildEnvironment();
+
+        setupIncremental( mojo, project, resources );
+        mojo.execute();
+
+        String resourcesDir = project.getOutputDirectory();
+        assertContent( resourcesDir + "/a*c.txt", "star" );
+        assertContent( resourcesDir + "/abc.txt", "abc" );
+
+        // only the changed file is copied, not the other files its name matches as a pattern
+        FileUtils.fileWrite( resourcesDir + "/abc.txt", "untouched" );
+        FileUtils.fileWrite( new File( ( (Resource) resources.get( 0 ) ).getDirectory(), "a*c.txt" ).getPath(),
+                             "changed" );
+        mojo.execute();
+        assertContent( resourcesDir + "/a*c.txt", "changed" );
+        assertContent( resourcesDir + "/abc.txt", "untouched" );
+    }
+
+    private void setupIncremental( ResourcesMojo mojo, MavenProjectResourcesStub project, List resources )
+        throws Exception
+    {
+        setVariableValueToObject( mojo, "project", project );
+        setVariableValueToObject( mojo, "resources", resources );
+        setVariableValueToObject( mojo, "outputDirectory", new File( project.getBuild().getOutputDirectory() ) );
+        setVariableValueToObject( mojo, "buildFilters", new LinkedList() );
+        setVariableValueToObject( mojo, "useBuildFilters", Boolean.TRUE );
+        setVariableValueToObject( mojo, "incremental", Boolean.TRUE );
+        setVariableValueToObject( mojo, "incrementalStateDirectory",
+                                  new File( project.getBuild().getDirectory(), "maven-status" ) );
+    }
+
     /**
      * Ensures the file exists and its first line equals the given data.
      */
@@ -19,7 +19,6 @@ package org.apache.maven.plugins.scmpublish;
  * under the License.
  */
 
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.filefilter.NameFileFilter;
 import org.apache.commons.io.filefilter.NotFileFilter;
@@ -37,15 +36,24 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Publish a content to scm. By default, content is taken from default site staging directory
@@ -62,17 +70,37 @@ public class ScmPublishPublishScmMojo
     @Parameter ( property = "scmpublish.content", defaultValue = "${project.build.directory}/staging" )
     private File content;
 
+    /**
+     * The number of threads used to compare and copy the content files to the scm checkout directory.
+     *
+     * @since 1.1
+     */
+    @Parameter ( property = "scmpublish.threads", defaultValue = "1" )
+    private int threads;
+
     /**
      */
     @Component
     protected MavenProject project;
 
+    private static final String LINE_SEPARATOR = System.getProperty( "line.separator" );
+
     private List<File> deleted = new ArrayList<File>();
 
     private List<File> added = new ArrayList<File>();
 
     private List<File> updated = new ArrayList<File>();
 
+    /**
+     * The content files to copy to the checkout directory once the directories are updated.
+     */
+    private List<File[]> copies = new ArrayList<File[]>();
+
+    /**
+     * The content files which need new line normalization, computed before the copies start.
+     */
+    private Set<File> normalizedFiles = new HashSet<File>();
+
     private int directories = 0;
     private int files = 0;
     private long size = 0;
@@ -148,77 +176,252 @@ public class ScmPublishPublishScmMojo
             }
             else
             {
-                if ( checkoutContent.contains( name ) )
+                if ( !checkoutContent.contains( name ) )
                 {
-                    this.updated.add( file );
+                    this.added.add( file );
                 }
-                else
+
+                copies.add( new File[] { source, file } );
+                if ( requireNormalizeNewlines( source ) )
                 {
-                    this.added.add( file );
+                    normalizedFiles.add( source );
+                }
+            }
+        }
+    }
+
+    /**
+     * Copy the content files to the checkout directory, on <code>threads</code> threads. A file of the checkout
+     * directory is only written, and marked as updated, when its content differs from the content to publish.
+     *
+     * @throws IOException
+     */
+    private void copyFiles()
+        throws IOException
+    {
+        final Queue<File[]> queue = new ConcurrentLinkedQueue<File[]>( copies );
+        final Set<File> changed = Collections.synchronizedSet( new HashSet<File>() );
+
+        int workers = Math.max( 1, Math.min( threads, copies.size() ) );
+        ExecutorService executor = Executors.newFixedThreadPool( workers );
+        try
+        {
+            List<Future<Object>> futures = new ArrayList<Future<Object>>( workers );
+            for ( int i = 0; i < workers; i++ )
+            {
+                futures.add( executor.submit( new Callable<Object>()
+                {
+                    public Object call()
+                        throws IOException
+                    {
+                        for ( File[] copy = queue.poll(); copy != null; copy = queue.poll() )
+                        {
+                            if ( copyFile( copy[0], copy[1], normalizedFiles.contains( copy[0] ) ) )
+                            {
+                                changed.add( copy[1] );
+                            }
+                        }
+                        return null;
+                    }
+                } ) );
+            }
+
+            for ( Future<Object> future : futures )
+            {
+                try
+                {
+                    future.get();
+                }
+                catch ( ExecutionException e )
+                {
+                    // stops the other threads
+                    queue.clear();
+                    if ( e.getCause() instanceof IOException )
+                    {
+                        throw (IOException) e.getCause();
+                    }
+                    throw new IOException( "Could not copy content: " + e.getCause() );
                 }
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException( "Interrupted while copying content" );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
 
-                copyFile( source, file );
+        Set<File> addedFiles = new HashSet<File>( added );
+        for ( File[] copy : copies )
+        {
+            File file = copy[1];
+            if ( changed.contains( file ) && !addedFiles.contains( file ) )
+            {
+                updated.add( file );
             }
+            files++;
+            size += file.length();
         }
     }
 
     /**
-     * Copy a file content, normalizing newlines when necessary.
+     * Copy a file content, normalizing newlines when necessary. The destination file is left untouched when it
+     * already has the expected content, so that the scm provider doesn't see it as modified.
      *
      * @param srcFile  the source file
      * @param destFile the destination file
+     * @param normalize  <code>true</code> to normalize newlines
+     * @return <code>true</code> if the destination file was written
      * @throws IOException
      * @see #requireNormalizeNewlines(File)
      */
-    private void copyFile( File srcFile, File destFile )
+    boolean copyFile( File srcFile, File destFile, boolean normalize )
         throws IOException
     {
-        if ( requireNormalizeNewlines( srcFile ) )
+        // a missing destination file has a length of 0 too
+        boolean exists = destFile.isFile();
+        if ( normalize )
         {
-            copyAndNormalizeNewlines( srcFile, destFile );
+            byte[] normalized = normalizeNewlines( srcFile );
+            if ( exists && destFile.length() == normalized.length
+                && Arrays.equals( digest( normalized ), digest( destFile ) ) )
+            {
+                return false;
+            }
+            write( normalized, destFile );
         }
         else
         {
-            FileUtils.copyFile( srcFile, destFile );
+            if ( exists && destFile.length() == srcFile.length()
+                && Arrays.equals( digest( srcFile ), digest( destFile ) ) )
+            {
+                return false;
+            }
+            copy( srcFile, destFile );
         }
-        files++;
-        size += destFile.length();
+        return true;
     }
 
     /**
-     * Copy and normalize newlines.
+     * Read a file and normalize its newlines: the lines are separated by the platform line separator, without
+     * trailing newline.
      *
      * @param srcFile  the source file
-     * @param destFile the destination file
+     * @return the normalized content, in the site output encoding
      * @throws IOException
      */
-    private void copyAndNormalizeNewlines( File srcFile, File destFile )
+    private byte[] normalizeNewlines( File srcFile )
         throws IOException
     {
         BufferedReader in = null;
-        PrintWriter out = null;
         try
         {
             in = new BufferedReader( new InputStreamReader( new FileInputStream( srcFile ), siteOutputEncoding ) );
-            out = new PrintWriter( new OutputStreamWriter( new FileOutputStream( destFile ), siteOutputEncoding ) );
-            String line;
-            while ( ( line = in.readLine() ) != null )
+            StringBuilder normalized = new StringBuilder( (int) srcFile.length() );
+            String line = in.readLine();
+            while ( line != null )
             {
-                if ( in.ready() )
+                normalized.append( line );
+                line = in.readLine();
+                if ( line != null )
                 {
-                    out.println( line );
-                }
-                else
-                {
-                    out.print( line );
+                    normalized.append( LINE_SEPARATOR );
                 }
             }
+            return normalized.toString().getBytes( siteOutputEncoding );
+        }
+        finally
+        {
+            IOUtils.closeQuietly( in );
+        }
+    }
+
+    private static void write( byte[] content, File destFile )
+        throws IOException
+    {
+        FileChannel out = null;
+        try
+        {
+            out = new FileOutputStream( destFile ).getChannel();
+            ByteBuffer buffer = ByteBuffer.wrap( content );
+            while ( buffer.hasRemaining() )
+            {
+                out.write( buffer );
+            }
+        }
+        finally
+        {
+            IOUtils.closeQuietly( out );
+        }
+    }
+
+    private static void copy( File srcFile, File destFile )
+        throws IOException
+    {
+        FileChannel in = null;
+        FileChannel out = null;
+        try
+        {
+            in = new FileInputStream( srcFile ).getChannel();
+            out = new FileOutputStream( destFile ).getChannel();
+            long position = 0;
+            long count = in.size();
+            while ( position < count )
+            {
+                position += in.transferTo( position, count - position, out );
+            }
         }
         finally
         {
             IOUtils.closeQuietly( out );
             IOUtils.closeQuietly( in );
         }
+        destFile.setLastModified( srcFile.lastModified() );
+    }
+
+    private static byte[] digest( byte[] content )
+    {
+        MessageDigest digest = getDigest();
+        digest.update( content );
+        return digest.digest();
+    }
+
+    private static byte[] digest( File file )
+        throws IOException
+    {
+        MessageDigest digest = getDigest();
+        FileChannel in = null;
+        try
+        {
+            in = new FileInputStream( file ).getChannel();
+            ByteBuffer buffer = ByteBuffer.allocate( 8192 );
+            while ( in.read( buffer ) >= 0 )
+            {
+                buffer.flip();
+                digest.update( buffer );
+                buffer.clear();
+            }
+        }
+        finally
+        {
+            IOUtils.closeQuietly( in );
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest getDigest()
+    {
+        try
+        {
+            return MessageDigest.getInstance( "MD5" );
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new IllegalStateException( "MD5 digest not available" );
+        }
     }
 
     public void scmPublishExecute()
@@ -246,6 +449,7 @@ public class ScmPublishPublishScmMojo
         {
             logInfo( "Updating checkout directory with actual content in %s", content );
             update( checkoutDirectory, content, ( project == null ) ? null : project.getModel().getModules() );
+            copyFiles();
             String displaySize = org.apache.commons.io.FileUtils.byteCountToDisplaySize( size );
             logInfo( "Content consists in %d directories and %d files = %s", directories, files, displaySize );
         }
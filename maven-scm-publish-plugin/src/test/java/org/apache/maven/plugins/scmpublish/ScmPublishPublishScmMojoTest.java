@@ -0,0 +1,113 @@
+package org.apache.maven.plugins.scmpublish;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+
+import junit.framework.TestCase;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Test the copy of the content files to the checkout directory.
+ *
+ * @version $Id$
+ */
+public class ScmPublishPublishScmMojoTest
+    extends TestCase
+{
+    private File directory;
+
+    private ScmPublishPublishScmMojo mojo;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        directory = new File( "target/unit/copy-file" );
+        FileUtils.deleteDirectory( directory );
+        directory.mkdirs();
+
+        mojo = new ScmPublishPublishScmMojo();
+        mojo.siteOutputEncoding = "UTF-8";
+    }
+
+    public void testCopyUnchangedFile()
+        throws IOException
+    {
+        File source = write( "source.txt", "content" );
+        File checkout = new File( directory, "checkout.txt" );
+
+        assertTrue( mojo.copyFile( source, checkout, false ) );
+        assertEquals( "content", FileUtils.readFileToString( checkout, "UTF-8" ) );
+
+        checkout.setLastModified( 0 );
+        assertFalse( mojo.copyFile( source, checkout, false ) );
+        assertEquals( 0, checkout.lastModified() );
+
+        write( "source.txt", "changed" );
+        assertTrue( mojo.copyFile( source, checkout, false ) );
+        assertEquals( "changed", FileUtils.readFileToString( checkout, "UTF-8" ) );
+    }
+
+    public void testCopyEmptyFile()
+        throws IOException
+    {
+        File source = write( ".nojekyll", "" );
+        File checkout = new File( directory, "checkout" );
+
+        assertTrue( mojo.copyFile( source, checkout, false ) );
+        assertTrue( checkout.isFile() );
+        assertFalse( mojo.copyFile( source, checkout, false ) );
+    }
+
+    public void testCopyNormalizedFile()
+        throws IOException
+    {
+        String separator = System.getProperty( "line.separator" );
+        File source = write( "index.html", "<html>\r\n</html>\n" );
+        File checkout = new File( directory, "index-checkout.html" );
+
+        assertTrue( mojo.copyFile( source, checkout, true ) );
+        assertEquals( "<html>" + separator + "</html>", FileUtils.readFileToString( checkout, "UTF-8" ) );
+
+        checkout.setLastModified( 0 );
+        assertFalse( mojo.copyFile( source, checkout, true ) );
+        assertEquals( 0, checkout.lastModified() );
+
+        // empty once normalized
+        File empty = write( "empty.html", "" );
+        File emptyCheckout = new File( directory, "empty-checkout.html" );
+        assertTrue( mojo.copyFile( empty, emptyCheckout, true ) );
+        assertTrue( emptyCheckout.isFile() );
+        assertFalse( mojo.copyFile( empty, emptyCheckout, true ) );
+    }
+
+    private File write( String name, String content )
+        throws IOException
+    {
+        File file = new File( directory, name );
+        FileUtils.writeStringToFile( file, content, "UTF-8" );
+        return file;
+    }
+}
@@ -69,6 +69,8 @@ import java.io.File;
 import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
@@ -125,6 +127,25 @@ public abstract class AbstractDeployMojo
     @Parameter( property = "maven.site.deploy.skip", defaultValue = "false" )
     private boolean skipDeploy;
 
+    /**
+     * Set this to 'true' to upload only the files which changed since the previous deployment, and to delete the
+     * files which are not part of the site anymore. A manifest of the deployed files and of their digests is stored
+     * with the site, the first deployment in this mode uploads the whole site.
+     *
+     * @see SiteDeltaDeployer
+     * @since 3.4
+     */
+    @Parameter( property = "maven.site.deploy.delta", defaultValue = "false" )
+    private boolean deltaDeploy;
+
+    /**
+     * The number of connections used to upload the files concurrently. Only used if deltaDeploy = true.
+     *
+     * @since 3.4
+     */
+    @Parameter( property = "maven.site.deploy.threads", defaultValue = "4" )
+    private int deployThreads;
+
     /**
      */
     @Component
@@ -406,24 +427,17 @@ public abstract class AbstractDeployMojo
 
             wagon.addTransferListener( debug );
 
-            if ( proxyInfo != null )
-            {
-                getLog().debug( "connect with proxyInfo" );
-                wagon.connect( repository, authenticationInfo, proxyInfo );
-            }
-            else if ( proxyInfo == null && authenticationInfo != null )
-            {
-                getLog().debug( "connect with authenticationInfo and without proxyInfo" );
-                wagon.connect( repository, authenticationInfo );
-            }
-            else
-            {
-                getLog().debug( "connect without authenticationInfo and without proxyInfo" );
-                wagon.connect( repository );
-            }
+            connect( wagon, repository, authenticationInfo, proxyInfo );
 
             getLog().info( "Pushing " + inputDirectory );
 
+            if ( deltaDeploy )
+            {
+                pushDelta( inputDirectory, repository, wagon, authenticationInfo, proxyInfo, localesList,
+                           relativeDir );
+                return;
+            }
+
             // Default is first in the list
             final String defaultLocale = localesList.get( 0 ).getLanguage();
 
@@ -468,6 +482,100 @@ public abstract class AbstractDeployMojo
         }
     }
 
+    private void connect( final Wagon wagon, final Repository repository,
+                          final AuthenticationInfo authenticationInfo, final ProxyInfo proxyInfo )
+        throws ConnectionException, AuthenticationException
+    {
+        if ( proxyInfo != null )
+        {
+            getLog().debug( "connect with proxyInfo" );
+            wagon.connect( repository, authenticationInfo, proxyInfo );
+        }
+        else if ( proxyInfo == null && authenticationInfo != null )
+        {
+            getLog().debug( "connect with authenticationInfo and without proxyInfo" );
+            wagon.connect( repository, authenticationInfo );
+        }
+        else
+        {
+            getLog().debug( "connect without authenticationInfo and without proxyInfo" );
+            wagon.connect( repository );
+        }
+    }
+
+    /**
+     * Pushes only the changed files of each locale, using <code>deployThreads</code> connections. Unlike
+     * {@link Wagon#putDirectory(File, String)}, the directories of the other locales are excluded from the default
+     * locale.
+     *
+     * @see SiteDeltaDeployer
+     */
+    private void pushDelta( final File inputDirectory, final Repository repository, final Wagon wagon,
+                            final AuthenticationInfo authenticationInfo, final ProxyInfo proxyInfo,
+                            final List<Locale> localesList, final String relativeDir )
+        throws MojoExecutionException, TransferFailedException, ResourceDoesNotExistException,
+        AuthorizationException, ConnectionException, AuthenticationException
+    {
+        List<Wagon> wagons = new ArrayList<Wagon>();
+        wagons.add( wagon );
+        try
+        {
+            for ( int i = 1; i < deployThreads; i++ )
+            {
+                Wagon pooledWagon = getWagon( repository, wagonManager );
+                configureWagon( pooledWagon, repository.getId(), settings, container, getLog() );
+                connect( pooledWagon, repository, authenticationInfo, proxyInfo );
+                wagons.add( pooledWagon );
+            }
+
+            SiteDeltaDeployer deployer = new SiteDeltaDeployer( wagons, getLog() );
+
+            // Default is first in the list
+            final String defaultLocale = localesList.get( 0 ).getLanguage();
+
+            List<String> otherLocales = new ArrayList<String>();
+            for ( Locale locale : localesList )
+            {
+                if ( !locale.getLanguage().equals( defaultLocale ) )
+                {
+                    otherLocales.add( locale.getLanguage() );
+                }
+            }
+
+            for ( Locale locale : localesList )
+            {
+                if ( locale.getLanguage().equals( defaultLocale ) )
+                {
+                    getLog().info( "   >>> to " + repository.getUrl() + relativeDir );
+
+                    deployer.deploy( inputDirectory, relativeDir, otherLocales );
+                }
+                else
+                {
+                    getLog().info( "   >>> to " + repository.getUrl() + locale.getLanguage() + "/" + relativeDir );
+
+                    deployer.deploy( new File( inputDirectory, locale.getLanguage() ),
+                                     locale.getLanguage() + "/" + relativeDir, Collections.<String>emptyList() );
+                }
+            }
+        }
+        finally
+        {
+            // the first wagon is disconnected by deploy()
+            for ( Wagon pooledWagon : wagons.subList( 1, wagons.size() ) )
+            {
+                try
+                {
+                    pooledWagon.disconnect();
+                }
+                catch ( ConnectionException e )
+                {
+                    getLog().error( "Error disconnecting wagon - ignored", e );
+                }
+            }
+        }
+    }
+
     private static void chmod( final Wagon wagon, final Repository repository, final String chmodOptions,
                                final String chmodMode )
         throws MojoExecutionException
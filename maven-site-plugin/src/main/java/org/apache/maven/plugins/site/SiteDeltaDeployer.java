@@ -0,0 +1,494 @@
+package org.apache.maven.plugins.site;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.wagon.CommandExecutionException;
+import org.apache.maven.wagon.CommandExecutor;
+import org.apache.maven.wagon.ResourceDoesNotExistException;
+import org.apache.maven.wagon.TransferFailedException;
+import org.apache.maven.wagon.Wagon;
+import org.apache.maven.wagon.authorization.AuthorizationException;
+import org.codehaus.plexus.util.IOUtil;
+
+/**
+ * Deploys a site by uploading only the files which changed since the previous deployment.
+ * <br/>
+ * A manifest of the deployed files and of the MD5 digests of their content is stored next to the site, in
+ * {@link #MANIFEST}. A deployment compares the local files with this manifest: the changed and added files are
+ * uploaded, the files which are not part of the site anymore are deleted, then the manifest is replaced. Without a
+ * remote manifest, the whole site is copied with {@link Wagon#putDirectory(File, String)}. The manifest only knows
+ * what was deployed by this class: files changed on the server by other means are not detected.
+ * <br/>
+ * The files are uploaded concurrently, each thread using its own connected wagon, since wagons are not thread safe.
+ *
+ * @version $Id$
+ * @since 3.4
+ */
+public class SiteDeltaDeployer
+{
+    /**
+     * The name of the manifest stored in each deployed directory.
+     */
+    public static final String MANIFEST = ".site-manifest.properties";
+
+    /** The number of files removed by a single <code>rm</code> command. */
+    private static final int DELETE_BATCH_SIZE = 100;
+
+    private final List<Wagon> wagons;
+
+    private final Log log;
+
+    /**
+     * @param wagons the connected wagons to use, one by upload thread, not empty. The first one is used to read and
+     * write the manifest, and to delete the removed files.
+     * @param log not null.
+     */
+    public SiteDeltaDeployer( List<Wagon> wagons, Log log )
+    {
+        this.wagons = wagons;
+        this.log = log;
+    }
+
+    /**
+     * Deploys a directory.
+     *
+     * @param directory the local directory, not null.
+     * @param remoteDirectory the remote directory, relative to the repository of the wagons, ending with a slash.
+     * @param excludedDirectories the names of the sub directories of <code>directory</code> which are not part of
+     * the deployment, like the directories of the other locales, not null.
+     * @throws TransferFailedException if a file can't be transferred.
+     * @throws ResourceDoesNotExistException if the remote directory can't be created.
+     * @throws AuthorizationException if the transfer is not authorized.
+     */
+    public void deploy( File directory, String remoteDirectory, Collection<String> excludedDirectories )
+        throws TransferFailedException, ResourceDoesNotExistException, AuthorizationException
+    {
+        Map<String, String> local = new TreeMap<String, String>();
+        try
+        {
+            scan( directory, "", excludedDirectories, local );
+        }
+        catch ( IOException e )
+        {
+            throw new TransferFailedException( "Unable to read the site " + directory, e );
+        }
+
+        Map<String, String> remote = getRemoteManifest( remoteDirectory );
+        if ( remote == null )
+        {
+            putDirectory( directory, remoteDirectory, excludedDirectories );
+            putRemoteManifest( remoteDirectory, local );
+            return;
+        }
+
+        Queue<String> uploads = new ConcurrentLinkedQueue<String>();
+        for ( Map.Entry<String, String> file : local.entrySet() )
+        {
+            if ( !file.getValue().equals( remote.get( file.getKey() ) ) )
+            {
+                uploads.add( file.getKey() );
+            }
+        }
+
+        List<String> removed = new ArrayList<String>();
+        for ( String path : remote.keySet() )
+        {
+            if ( !local.containsKey( path ) )
+            {
+                removed.add( path );
+            }
+        }
+
+        log.info( "   " + uploads.size() + " files to upload, " + removed.size() + " to delete, "
+                      + ( local.size() - uploads.size() ) + " unchanged." );
+
+        upload( directory, remoteDirectory, uploads );
+
+        // the files which can't be deleted stay in the manifest, to be deleted by a later deployment
+        Map<String, String> manifest = new TreeMap<String, String>( local );
+        for ( String path : delete( remoteDirectory, removed ) )
+        {
+            manifest.put( path, remote.get( path ) );
+        }
+
+        putRemoteManifest( remoteDirectory, manifest );
+    }
+
+    private void scan( File directory, String prefix, Collection<String> excludedDirectories,
+                       Map<String, String> files )
+        throws IOException
+    {
+        String[] names = directory.list();
+        if ( names == null )
+        {
+            return;
+        }
+        Arrays.sort( names );
+
+        for ( String name : names )
+        {
+            File file = new File( directory, name );
+            if ( file.isDirectory() )
+            {
+                if ( !excludedDirectories.contains( name ) )
+                {
+                    scan( file, prefix + name + '/', Collections.<String>emptyList(), files );
+                }
+            }
+            else if ( !MANIFEST.equals( name ) )
+            {
+                files.put( prefix + name, digest( file ) );
+            }
+        }
+    }
+
+    /**
+     * @return the files of the previous deployment and their digests, or <code>null</code> if there is no manifest.
+     */
+    private Map<String, String> getRemoteManifest( String remoteDirectory )
+        throws TransferFailedException, AuthorizationException
+    {
+        Map<String, String> manifest = new TreeMap<String, String>();
+
+        File temp = null;
+        InputStream in = null;
+        try
+        {
+            temp = File.createTempFile( "site-manifest", ".properties" );
+            wagons.get( 0 ).get( remoteDirectory + MANIFEST, temp );
+
+            Properties properties = new Properties();
+            in = new FileInputStream( temp );
+            properties.load( in );
+            for ( Enumeration<?> paths = properties.propertyNames(); paths.hasMoreElements(); )
+            {
+                String path = (String) paths.nextElement();
+                manifest.put( path, properties.getProperty( path ) );
+            }
+        }
+        catch ( ResourceDoesNotExistException e )
+        {
+            log.info( "   No manifest of a previous deployment, uploading the whole site." );
+            return null;
+        }
+        catch ( IOException e )
+        {
+            throw new TransferFailedException( "Unable to read the manifest of the previous deployment", e );
+        }
+        finally
+        {
+            IOUtil.close( in );
+            if ( temp != null )
+            {
+                temp.delete();
+            }
+        }
+
+        return manifest;
+    }
+
+    private void putRemoteManifest( String remoteDirectory, Map<String, String> manifest )
+        throws TransferFailedException, ResourceDoesNotExistException, AuthorizationException
+    {
+        Properties properties = new Properties();
+        properties.putAll( manifest );
+
+        File temp = null;
+        OutputStream out = null;
+        try
+        {
+            temp = File.createTempFile( "site-manifest", ".properties" );
+            out = new FileOutputStream( temp );
+            properties.store( out, "maven-site-plugin deployment manifest" );
+            out.close();
+            out = null;
+
+            wagons.get( 0 ).put( temp, remoteDirectory + MANIFEST );
+        }
+        catch ( IOException e )
+        {
+            throw new TransferFailedException( "Unable to write the manifest of the deployment", e );
+        }
+        finally
+        {
+            IOUtil.close( out );
+            if ( temp != null )
+            {
+                temp.delete();
+            }
+        }
+    }
+
+    /**
+     * Copies a whole directory. Wagon can't exclude directories from a copy: when there are excluded directories, the
+     * other sub directories are copied one by one, and the files of the directory itself are uploaded.
+     */
+    private void putDirectory( File directory, String remoteDirectory, Collection<String> excludedDirectories )
+        throws TransferFailedException, ResourceDoesNotExistException, AuthorizationException
+    {
+        Wagon wagon = wagons.get( 0 );
+        if ( excludedDirectories.isEmpty() )
+        {
+            wagon.putDirectory( directory, remoteDirectory );
+            return;
+        }
+
+        String[] names = directory.list();
+        if ( names == null )
+        {
+            return;
+        }
+        Arrays.sort( names );
+
+        Queue<String> files = new ConcurrentLinkedQueue<String>();
+        for ( String name : names )
+        {
+            File file = new File( directory, name );
+            if ( file.isDirectory() )
+            {
+                if ( !excludedDirectories.contains( name ) )
+                {
+                    wagon.putDirectory( file, remoteDirectory + name );
+                }
+            }
+            else if ( !MANIFEST.equals( name ) )
+            {
+                files.add( name );
+            }
+        }
+        upload( directory, remoteDirectory, files );
+    }
+
+    private void upload( final File directory, final String remoteDirectory, final Queue<String> uploads )
+        throws TransferFailedException, ResourceDoesNotExistException, AuthorizationException
+    {
+        if ( uploads.isEmpty() )
+        {
+            return;
+        }
+
+        int workers = Math.min( wagons.size(), uploads.size() );
+        ExecutorService executor = Executors.newFixedThreadPool( workers );
+        try
+        {
+            List<Future<Object>> futures = new ArrayList<Future<Object>>( workers );
+            for ( final Wagon wagon : wagons.subList( 0, workers ) )
+            {
+                futures.add( executor.submit( new Callable<Object>()
+                {
+                    public Object call()
+                        throws TransferFailedException, ResourceDoesNotExistException, AuthorizationException
+                    {
+                        for ( String path = uploads.poll(); path != null; path = uploads.poll() )
+                        {
+                            wagon.put( new File( directory, path ), remoteDirectory + path );
+                        }
+                        return null;
+                    }
+                } ) );
+            }
+
+            Throwable failure = null;
+            for ( Future<Object> future : futures )
+            {
+                try
+                {
+                    future.get();
+                }
+                catch ( ExecutionException e )
+                {
+                    if ( failure == null )
+                    {
+                        failure = e.getCause();
+                        // stops the other threads
+                        uploads.clear();
+                    }
+                }
+            }
+
+            if ( failure instanceof TransferFailedException )
+            {
+                throw (TransferFailedException) failure;
+            }
+            if ( failure instanceof ResourceDoesNotExistException )
+            {
+                throw (ResourceDoesNotExistException) failure;
+            }
+            if ( failure instanceof AuthorizationException )
+            {
+                throw (AuthorizationException) failure;
+            }
+            if ( failure instanceof RuntimeException )
+            {
+                throw (RuntimeException) failure;
+            }
+            if ( failure instanceof Error )
+            {
+                throw (Error) failure;
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new TransferFailedException( "Interrupted while uploading the site", e );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Deletes the remote files which are not part of the site anymore. Wagon has no delete operation: the files are
+     * removed with a command when the wagon supports commands, or directly for a <code>file:</code> repository.
+     *
+     * @return the files which could not be deleted.
+     */
+    private List<String> delete( String remoteDirectory, List<String> removed )
+    {
+        Wagon wagon = wagons.get( 0 );
+        List<String> remaining = new ArrayList<String>();
+
+        if ( wagon instanceof CommandExecutor )
+        {
+            String basedir = wagon.getRepository().getBasedir();
+            for ( int i = 0; i < removed.size(); i += DELETE_BATCH_SIZE )
+            {
+                List<String> batch = removed.subList( i, Math.min( i + DELETE_BATCH_SIZE, removed.size() ) );
+                try
+                {
+                    ( (CommandExecutor) wagon ).executeCommand( getDeleteCommand( basedir, remoteDirectory, batch ) );
+                }
+                catch ( CommandExecutionException e )
+                {
+                    log.warn( "Unable to delete removed files: " + e.getMessage() );
+                    remaining.addAll( batch );
+                }
+            }
+        }
+        else if ( "file".equals( wagon.getRepository().getProtocol() ) )
+        {
+            File basedir = new File( wagon.getRepository().getBasedir(), remoteDirectory );
+            for ( String path : removed )
+            {
+                File file = new File( basedir, path );
+                if ( file.exists() && !file.delete() )
+                {
+                    remaining.add( path );
+                }
+            }
+        }
+        else
+        {
+            remaining.addAll( removed );
+        }
+
+        if ( !remaining.isEmpty() )
+        {
+            log.warn( remaining.size() + " files which are not part of the site anymore can't be deleted with the "
+                          + wagon.getRepository().getProtocol() + " protocol, they are kept on the server." );
+        }
+
+        return remaining;
+    }
+
+    /**
+     * Builds the command deleting remote files. The repository base directory is not quoted, so that the shell
+     * expands a leading <code>~</code>; the paths relative to it are.
+     *
+     * @param basedir the base directory of the repository.
+     * @param remoteDirectory the remote directory, relative to the repository, ending with a slash.
+     * @param paths the paths of the files, relative to the remote directory.
+     * @return the command.
+     */
+    static String getDeleteCommand( String basedir, String remoteDirectory, List<String> paths )
+    {
+        StringBuilder command = new StringBuilder( "rm -f" );
+        for ( String path : paths )
+        {
+            command.append( ' ' ).append( basedir ).append( "/'" );
+            command.append( ( remoteDirectory + path ).replace( "'", "'\\''" ) ).append( '\'' );
+        }
+        return command.toString();
+    }
+
+    private static String digest( File file )
+        throws IOException
+    {
+        MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance( "MD5" );
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new IllegalStateException( "MD5 digest not available" );
+        }
+
+        InputStream in = null;
+        try
+        {
+            in = new FileInputStream( file );
+            byte[] buffer = new byte[8192];
+            int read;
+            while ( ( read = in.read( buffer ) ) >= 0 )
+            {
+                digest.update( buffer, 0, read );
+            }
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+
+        StringBuilder hex = new StringBuilder();
+        for ( byte b : digest.digest() )
+        {
+            hex.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) ).append( Character.forDigit( b & 0xF, 16 ) );
+        }
+        return hex.toString();
+    }
+}
@@ -21,14 +21,26 @@ package org.apache.maven.plugins.site;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.apache.maven.doxia.site.decoration.io.xpp3.DecorationXpp3Writer;
 import org.apache.maven.doxia.siterenderer.DocumentRenderer;
 import org.apache.maven.doxia.siterenderer.RendererException;
+import org.apache.maven.doxia.siterenderer.RenderingContext;
 import org.apache.maven.doxia.siterenderer.SiteRenderingContext;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -37,6 +49,8 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.reporting.MavenReport;
 import org.apache.maven.reporting.exec.MavenReportExecution;
+import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.WriterFactory;
 
 /**
  * Generates the site for a single project.
@@ -92,6 +106,42 @@ public class SiteMojo
     @Parameter( property = "maven.site.skip", defaultValue = "false" )
     private boolean skip;
 
+    /**
+     * The number of threads used to generate the reports of a locale. With more than one thread, the documents
+     * parsed from the site sources are rendered first, one after the other, since the Doxia parsers are shared
+     * singletons, then the reports and the category summaries are generated concurrently, every report with its
+     * own sinks. The locales are still rendered one after the other, since they share the report instances.
+     * <br/>
+     * Keep the default of 1 thread when a report parses Doxia sources itself, or isn't thread-safe with respect to
+     * the other reports.
+     *
+     * @since 3.4
+     */
+    @Parameter( property = "maven.site.threads", defaultValue = "1" )
+    private int threads;
+
+    /**
+     * Only render again the documents whose source changed since the previous run, unless the decoration, the skin,
+     * the template or the template properties changed, in which case all the documents are rendered again. The
+     * digests of the sources are stored in <code>incrementalStateDirectory</code>.
+     * <br/>
+     * Reports are always generated, since their inputs are only known by the report plugins. The pages which are not
+     * rendered again keep the publish date of their previous rendering.
+     *
+     * @since 3.4
+     */
+    @Parameter( property = "maven.site.incremental", defaultValue = "false" )
+    private boolean incremental;
+
+    /**
+     * The directory where the state of the incremental rendering is stored.
+     *
+     * @see #incremental
+     * @since 3.4
+     */
+    @Parameter( defaultValue = "${project.build.directory}/maven-status/maven-site-plugin" )
+    private File incrementalStateDirectory;
+
     /**
      * {@inheritDoc}
      *
@@ -172,7 +222,19 @@ public class SiteMojo
             report.setReportOutputDirectory( outputDir );
         }
 
-        siteRenderer.render( documents.values(), context, outputDir );
+        SiteRenderingState state = null;
+        if ( incremental )
+        {
+            File stateFile = new File( incrementalStateDirectory, "rendering-" + locale + ".properties" );
+            state = new SiteRenderingState( stateFile, getFingerprint( context ) );
+            if ( state.isFingerprintChanged() )
+            {
+                getLog().info( "Incremental rendering: the decoration, skin or template changed, rendering all the "
+                                   + "documents." );
+            }
+        }
+
+        render( documents.values(), context, outputDir, state );
 
         if ( generateSitemap )
         {
@@ -188,7 +250,255 @@ public class SiteMojo
 
         documents = siteRenderer.locateDocumentFiles( context );
 
-        siteRenderer.render( documents.values(), context, outputDir );
+        render( documents.values(), context, outputDir, state );
+
+        if ( state != null )
+        {
+            deleteRemovedDocuments( outputDir, state );
+            state.store();
+        }
+    }
+
+    /**
+     * @return the fingerprint of everything the pages depend on besides their source.
+     * @see #incremental
+     */
+    private String getFingerprint( SiteRenderingContext context )
+        throws IOException
+    {
+        StringWriter fingerprint = new StringWriter();
+
+        // the decoration, including the menus of the reports
+        new DecorationXpp3Writer().write( fingerprint, context.getDecoration() );
+
+        fingerprint.write( "\nlocale=" + context.getLocale() );
+        fingerprint.write( "\ninputEncoding=" + context.getInputEncoding() );
+        fingerprint.write( "\noutputEncoding=" + context.getOutputEncoding() );
+        fingerprint.write( "\ntemplate=" + context.getTemplateName() );
+        File skin = context.getSkinJarFile();
+        if ( skin != null )
+        {
+            fingerprint.write( "\nskin=" + skin.getAbsolutePath() + ':' + skin.length() + ':' + skin.lastModified() );
+        }
+
+        // the template properties, in a stable order: other objects are identified by the project
+        fingerprint.write( "\nproject=" + project.getId() );
+        Map<String, ?> properties = new TreeMap<String, Object>( context.getTemplateProperties() );
+        for ( Map.Entry<String, ?> property : properties.entrySet() )
+        {
+            Object value = property.getValue();
+            if ( value instanceof String || value instanceof Number || value instanceof Boolean )
+            {
+                fingerprint.write( '\n' + property.getKey() + '=' + value );
+            }
+        }
+
+        return SiteRenderingState.digest( fingerprint.toString() );
+    }
+
+    /**
+     * @return the documents which are not up to date.
+     * @see #incremental
+     */
+    private Collection<DocumentRenderer> getOutdatedDocuments( Collection<DocumentRenderer> documents,
+                                                               File outputDir, SiteRenderingState state )
+        throws IOException
+    {
+        List<DocumentRenderer> outdated = new ArrayList<DocumentRenderer>();
+        int upToDate = 0;
+
+        for ( DocumentRenderer document : documents )
+        {
+            if ( document instanceof ReportDocumentRenderer || document instanceof CategorySummaryDocumentRenderer )
+            {
+                state.addOutput( document.getOutputName() );
+                outdated.add( document );
+                continue;
+            }
+
+            RenderingContext renderingContext = document.getRenderingContext();
+            File inputFile = new File( renderingContext.getBasedir(), renderingContext.getInputName() );
+            File outputFile = new File( outputDir, document.getOutputName() );
+
+            if ( state.isUpToDate( inputFile, document.getOutputName(), outputFile ) )
+            {
+                upToDate++;
+                continue;
+            }
+
+            // the site renderer only compares the timestamps
+            outputFile.delete();
+            outdated.add( document );
+        }
+
+        getLog().info( "Incremental rendering: " + outdated.size() + " documents to render, " + upToDate
+                           + " up to date." );
+
+        return outdated;
+    }
+
+    /**
+     * Deletes the rendered documents whose source was removed since the previous run. Called once all the documents
+     * of the locale are rendered, since the generated documents are only located after the others.
+     *
+     * @see #incremental
+     */
+    void deleteRemovedDocuments( File outputDir, SiteRenderingState state )
+    {
+        for ( String outputName : state.getRemovedOutputs() )
+        {
+            File outputFile = new File( outputDir, outputName );
+            if ( outputFile.exists() )
+            {
+                getLog().debug( "Incremental rendering: deleting " + outputName + ", its source was removed." );
+                if ( !outputFile.delete() )
+                {
+                    getLog().warn( "Unable to delete " + outputFile + ", its source was removed." );
+                }
+            }
+        }
+    }
+
+    /**
+     * Renders the documents and copies the resources of the site directories, through the site renderer, which
+     * also skips the documents whose output is newer than their source. With several threads, the reports are then
+     * generated concurrently.
+     *
+     * @param state the state of the incremental rendering, or <code>null</code> to render all the documents
+     * @see #threads
+     * @see #incremental
+     */
+    void render( Collection<DocumentRenderer> documents, SiteRenderingContext context, File outputDir,
+                 SiteRenderingState state )
+        throws IOException, RendererException
+    {
+        if ( state != null )
+        {
+            documents = getOutdatedDocuments( documents, outputDir, state );
+        }
+
+        List<DocumentRenderer> reports = new ArrayList<DocumentRenderer>();
+        List<DocumentRenderer> sources = new ArrayList<DocumentRenderer>();
+        for ( DocumentRenderer document : documents )
+        {
+            if ( document instanceof ReportDocumentRenderer || document instanceof CategorySummaryDocumentRenderer )
+            {
+                reports.add( document );
+            }
+            else
+            {
+                sources.add( document );
+            }
+        }
+
+        if ( threads <= 1 || reports.size() <= 1 )
+        {
+            siteRenderer.render( documents, context, outputDir );
+            return;
+        }
+
+        // all the sources are parsed before the reports start, so the shared parsers are never used concurrently
+        siteRenderer.render( sources, context, outputDir );
+
+        generateReports( reports, context, outputDir );
+    }
+
+    private void generateReports( List<DocumentRenderer> reports, final SiteRenderingContext context,
+                                  final File outputDir )
+        throws IOException, RendererException
+    {
+        int workers = Math.min( threads, reports.size() );
+        getLog().info( "Generating " + reports.size() + " reports using " + workers + " threads." );
+
+        ExecutorService executor = Executors.newFixedThreadPool( workers );
+        try
+        {
+            List<Future<Object>> futures = new ArrayList<Future<Object>>( reports.size() );
+            for ( final DocumentRenderer report : reports )
+            {
+                futures.add( executor.submit( new Callable<Object>()
+                {
+                    public Object call()
+                        throws IOException, RendererException
+                    {
+                        generateReport( report, context, outputDir );
+                        return null;
+                    }
+                } ) );
+            }
+
+            // wait for all the reports, reporting the failure of the first one in the submission order
+            Throwable failure = null;
+            for ( Future<Object> future : futures )
+            {
+                try
+                {
+                    future.get();
+                }
+                catch ( ExecutionException e )
+                {
+                    if ( failure == null )
+                    {
+                        failure = e.getCause();
+                    }
+                }
+            }
+
+            if ( failure instanceof IOException )
+            {
+                throw (IOException) failure;
+            }
+            if ( failure instanceof RendererException )
+            {
+                throw (RendererException) failure;
+            }
+            if ( failure instanceof RuntimeException )
+            {
+                throw (RuntimeException) failure;
+            }
+            if ( failure instanceof Error )
+            {
+                throw (Error) failure;
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new RendererException( "Interrupted while generating the reports", e );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Generates a report the way the site renderer does: the reports are always overwritten, and the external
+     * reports write their own files.
+     */
+    private void generateReport( DocumentRenderer report, SiteRenderingContext context, File outputDir )
+        throws IOException, RendererException
+    {
+        File outputFile = new File( outputDir, report.getOutputName() );
+        if ( !outputFile.getParentFile().exists() )
+        {
+            outputFile.getParentFile().mkdirs();
+        }
+
+        Writer writer = null;
+        try
+        {
+            if ( !( report instanceof ReportDocumentRenderer )
+                || !( (ReportDocumentRenderer) report ).isExternalReport() )
+            {
+                writer = WriterFactory.newWriter( outputFile, context.getOutputEncoding() );
+            }
+            report.renderDocument( writer, siteRenderer, context );
+        }
+        finally
+        {
+            IOUtil.close( writer );
+        }
     }
 
     private File getOutputDirectory( Locale locale )
@@ -0,0 +1,245 @@
+package org.apache.maven.plugins.site;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+
+import org.codehaus.plexus.util.IOUtil;
+
+/**
+ * The digests of the documents rendered by the previous run of the site generation for a locale, together with the
+ * fingerprint of everything the pages depend on besides their source: the decoration, the skin, the template and
+ * the template properties. A document is up to date when its source has the same digest as in the previous run,
+ * and the fingerprint did not change. The documents rendered by the previous run and not by this one are the ones
+ * whose source was removed.
+ *
+ * @version $Id$
+ * @since 3.4
+ */
+public class SiteRenderingState
+{
+    private static final String FINGERPRINT_KEY = "fingerprint";
+
+    private static final String DOCUMENT_PREFIX = "document.";
+
+    private final File stateFile;
+
+    private final Properties previous = new Properties();
+
+    private final Properties current = new Properties();
+
+    /** The output names of the documents rendered by the previous run, whatever the fingerprint. */
+    private final Set<String> previousOutputs = new HashSet<String>();
+
+    /** The output names of the documents of this run, up to date or not, including the reports. */
+    private final Set<String> outputs = new HashSet<String>();
+
+    private final boolean fingerprintChanged;
+
+    /**
+     * @param stateFile the file where the state of the previous run was stored, not null.
+     * @param fingerprint the fingerprint of the decoration, skin and template of this run, not null.
+     */
+    public SiteRenderingState( File stateFile, String fingerprint )
+    {
+        this.stateFile = stateFile;
+
+        if ( stateFile.isFile() )
+        {
+            InputStream in = null;
+            try
+            {
+                in = new FileInputStream( stateFile );
+                previous.load( in );
+            }
+            catch ( IOException e )
+            {
+                // everything is rendered again
+                previous.clear();
+            }
+            finally
+            {
+                IOUtil.close( in );
+            }
+        }
+
+        for ( Enumeration<?> keys = previous.propertyNames(); keys.hasMoreElements(); )
+        {
+            String key = (String) keys.nextElement();
+            if ( key.startsWith( DOCUMENT_PREFIX ) )
+            {
+                previousOutputs.add( key.substring( DOCUMENT_PREFIX.length() ) );
+            }
+        }
+
+        // without a previous state, this is a first run rather than a change
+        fingerprintChanged = !previous.isEmpty() && !fingerprint.equals( previous.getProperty( FINGERPRINT_KEY ) );
+        if ( !fingerprint.equals( previous.getProperty( FINGERPRINT_KEY ) ) )
+        {
+            previous.clear();
+        }
+        current.setProperty( FINGERPRINT_KEY, fingerprint );
+    }
+
+    /**
+     * @return <code>true</code> if the decoration, skin or template changed since the previous run, <code>false</code>
+     * if they did not or if there is no previous run.
+     */
+    public boolean isFingerprintChanged()
+    {
+        return fingerprintChanged;
+    }
+
+    /**
+     * Records a document which is always rendered again, like a report, so that its output is not taken for the
+     * output of a removed document.
+     *
+     * @param outputName the name of the rendered document, not null.
+     */
+    public void addOutput( String outputName )
+    {
+        outputs.add( outputName );
+    }
+
+    /**
+     * @return the names of the documents rendered by the previous run, and not part of this run anymore.
+     */
+    public Set<String> getRemovedOutputs()
+    {
+        Set<String> removed = new HashSet<String>( previousOutputs );
+        removed.removeAll( outputs );
+        return removed;
+    }
+
+    /**
+     * Checks whether a document has to be rendered again, and records the digest of its source for the next run.
+     *
+     * @param inputFile the source of the document, not null.
+     * @param outputName the name of the rendered document, not null.
+     * @param outputFile the rendered document, not null.
+     * @return <code>true</code> if the rendered document exists and its source did not change.
+     * @throws IOException if the source can't be read.
+     */
+    public boolean isUpToDate( File inputFile, String outputName, File outputFile )
+        throws IOException
+    {
+        outputs.add( outputName );
+        String digest = digest( inputFile );
+        current.setProperty( DOCUMENT_PREFIX + outputName, digest );
+
+        return outputFile.exists() && digest.equals( previous.getProperty( DOCUMENT_PREFIX + outputName ) );
+    }
+
+    /**
+     * Stores the digests recorded by this run, once all the documents are rendered.
+     *
+     * @throws IOException if the state file can't be written.
+     */
+    public void store()
+        throws IOException
+    {
+        stateFile.getParentFile().mkdirs();
+
+        OutputStream out = null;
+        try
+        {
+            out = new FileOutputStream( stateFile );
+            current.store( out, "maven-site-plugin incremental rendering" );
+        }
+        finally
+        {
+            IOUtil.close( out );
+        }
+    }
+
+    /**
+     * @param value not null.
+     * @return the hex encoded MD5 digest of the value.
+     */
+    public static String digest( String value )
+    {
+        try
+        {
+            return toHex( getDigest().digest( value.getBytes( "UTF-8" ) ) );
+        }
+        catch ( UnsupportedEncodingException e )
+        {
+            throw new IllegalStateException( "UTF-8 encoding not available" );
+        }
+    }
+
+    private static String digest( File file )
+        throws IOException
+    {
+        MessageDigest digest = getDigest();
+
+        InputStream in = null;
+        try
+        {
+            in = new FileInputStream( file );
+            byte[] buffer = new byte[8192];
+            int read;
+            while ( ( read = in.read( buffer ) ) >= 0 )
+            {
+                digest.update( buffer, 0, read );
+            }
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+
+        return toHex( digest.digest() );
+    }
+
+    private static MessageDigest getDigest()
+    {
+        try
+        {
+            return MessageDigest.getInstance( "MD5" );
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new IllegalStateException( "MD5 digest not available" );
+        }
+    }
+
+    private static String toHex( byte[] bytes )
+    {
+        StringBuilder hex = new StringBuilder();
+        for ( byte b : bytes )
+        {
+            hex.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) ).append( Character.forDigit( b & 0xF, 16 ) );
+        }
+        return hex.toString();
+    }
+}
@@ -25,6 +25,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -38,6 +39,8 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.site.webapp.DoxiaBean;
 import org.apache.maven.plugins.site.webapp.DoxiaFilter;
+import org.apache.maven.plugins.site.webapp.SiteDirectoryWatcher;
+import org.apache.maven.plugins.site.webapp.SiteRenderingCache;
 import org.apache.maven.reporting.exec.MavenReportExecution;
 
 import org.codehaus.plexus.util.IOUtil;
@@ -73,6 +76,41 @@ public class SiteRunMojo
     @Parameter(property = "port", defaultValue = "8080")
     private int port;
 
+    /**
+     * Keep the rendered pages in memory instead of rendering them on every request. The pages are forgotten when a
+     * file of the site directories changes, and the documents are then rendered again in the background. Reports are
+     * cached too, and are only generated again after a change of the site directories.
+     *
+     * @since 3.4
+     */
+    @Parameter( property = "maven.site.run.cache", defaultValue = "false" )
+    private boolean cache;
+
+    /**
+     * The maximum number of rendered pages kept in memory. Only used if cache = true.
+     *
+     * @since 3.4
+     */
+    @Parameter( property = "maven.site.run.cacheSize", defaultValue = "500" )
+    private int cacheSize;
+
+    /**
+     * The time between two checks of the site directories for changes, in milliseconds. Only used if cache = true.
+     *
+     * @since 3.4
+     */
+    @Parameter( property = "maven.site.run.watchInterval", defaultValue = "1000" )
+    private long watchInterval;
+
+    /**
+     * Reload the pages opened in a browser when the site directories change: the pages poll the server every
+     * second. Only used if cache = true.
+     *
+     * @since 3.4
+     */
+    @Parameter( property = "maven.site.run.liveReload", defaultValue = "false" )
+    private boolean liveReload;
+
     private static final int MAX_IDLE_TIME = 30000;
 
     /**
@@ -211,6 +249,21 @@ public class SiteRunMojo
             }
 
             webapp.setAttribute( DoxiaFilter.I18N_DOXIA_CONTEXTS_KEY, i18nDoxiaContexts );
+
+            if ( cache )
+            {
+                SiteRenderingCache renderingCache = new SiteRenderingCache( siteRenderer, cacheSize, getLog() );
+                webapp.setAttribute( DoxiaFilter.RENDERING_CACHE_KEY, renderingCache );
+                webapp.setAttribute( DoxiaFilter.LIVE_RELOAD_KEY, Boolean.valueOf( liveReload ) );
+
+                List<File> watchedDirectories = new ArrayList<File>();
+                watchedDirectories.add( siteDirectory );
+                if ( generatedSiteDirectory != null )
+                {
+                    watchedDirectories.add( generatedSiteDirectory );
+                }
+                new SiteDirectoryWatcher( watchedDirectories, renderingCache, watchInterval ).start();
+            }
         }
         catch ( Exception e )
         {
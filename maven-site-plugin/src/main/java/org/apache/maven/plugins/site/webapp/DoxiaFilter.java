@@ -54,12 +54,37 @@ public class DoxiaFilter
 
     public static final String LOCALES_LIST_KEY = "localesList";
 
+    /**
+     * @since 3.4
+     */
+    public static final String RENDERING_CACHE_KEY = "renderingCache";
+
+    /**
+     * @since 3.4
+     */
+    public static final String LIVE_RELOAD_KEY = "liveReload";
+
+    /**
+     * The path polled by the browsers to reload the page when the site changes.
+     */
+    private static final String RELOAD_PATH = "__site-run/reload";
+
+    /**
+     * The time between two polls of the browsers, in milliseconds. The poll is answered at once, so that the open
+     * pages do not hold the threads of the server.
+     */
+    private static final long RELOAD_INTERVAL = 1000;
+
     private Renderer siteRenderer;
 
     private Map<String, DoxiaBean> i18nDoxiaContexts;
 
     private List<Locale> localesList;
 
+    private SiteRenderingCache renderingCache;
+
+    private boolean liveReload;
+
     /**
      * @see javax.servlet.Filter#init(javax.servlet.FilterConfig)
      */
@@ -73,6 +98,10 @@ public class DoxiaFilter
         i18nDoxiaContexts = (Map<String, DoxiaBean>) servletContext.getAttribute( I18N_DOXIA_CONTEXTS_KEY );
 
         localesList = (List<Locale>) servletContext.getAttribute( LOCALES_LIST_KEY );
+
+        renderingCache = (SiteRenderingCache) servletContext.getAttribute( RENDERING_CACHE_KEY );
+
+        liveReload = renderingCache != null && Boolean.TRUE.equals( servletContext.getAttribute( LIVE_RELOAD_KEY ) );
     }
 
     /**
@@ -96,6 +125,13 @@ public class DoxiaFilter
         // Remove the /
         path = path.substring( 1 );
 
+        if ( liveReload && RELOAD_PATH.equals( path ) )
+        {
+            servletResponse.setContentType( "text/plain" );
+            servletResponse.getWriter().write( String.valueOf( renderingCache.getGeneration() ) );
+            return;
+        }
+
         // Handle locale request
         SiteRenderingContext context;
         Map<String, DocumentRenderer> documents;
@@ -142,7 +178,20 @@ public class DoxiaFilter
             try
             {
                 DocumentRenderer renderer = documents.get( path );
-                renderer.renderDocument( servletResponse.getWriter(), siteRenderer, context );
+                if ( renderingCache != null && !isExternalReport( renderer ) )
+                {
+                    // read before the page, so that a change during the rendering reloads the page
+                    long generation = renderingCache.getGeneration();
+                    String page = renderingCache.getPage( getCacheKey( localeWanted, path ), renderer, context );
+                    if ( liveReload )
+                    {
+                        page = addReloadScript( page, generation );
+                    }
+                    servletResponse.getWriter().write( page );
+                    return;
+                }
+
+                renderDocument( renderer, servletResponse, context );
 
                 if ( renderer instanceof ReportDocumentRenderer )
                 {
@@ -167,6 +216,64 @@ public class DoxiaFilter
         }
         else if ( generatedSiteDirectory != null && generatedSiteDirectory.exists() )
         {
+            try
+            {
+                renderGeneratedDocument( path, generatedSiteDirectory, servletResponse, context );
+            }
+            catch ( RendererException e )
+            {
+                throw new ServletException( e );
+            }
+        }
+        else
+        {
+            filterChain.doFilter( servletRequest, servletResponse );
+        }
+    }
+
+    private static boolean isExternalReport( DocumentRenderer renderer )
+    {
+        return renderer instanceof ReportDocumentRenderer && ( (ReportDocumentRenderer) renderer ).isExternalReport();
+    }
+
+    /**
+     * @return the key of a page in the rendering cache, the default locale being named like its doxia bean.
+     */
+    static String getCacheKey( String localeWanted, String path )
+    {
+        return ( localeWanted == null ? "default" : localeWanted ) + '/' + path;
+    }
+
+    /**
+     * Renders a document which is not cached, through the rendering cache if any since the documents are rendered
+     * one at a time.
+     */
+    private void renderDocument( DocumentRenderer renderer, ServletResponse servletResponse,
+                                 SiteRenderingContext context )
+        throws IOException, RendererException
+    {
+        if ( renderingCache != null )
+        {
+            renderingCache.renderDocument( servletResponse.getWriter(), renderer, context );
+        }
+        else
+        {
+            renderer.renderDocument( servletResponse.getWriter(), siteRenderer, context );
+        }
+    }
+
+    /**
+     * Renders a document of the generated site directory. The site directories of the context, which is shared by the
+     * requests, are replaced by the generated one meanwhile, so no other document is rendered until they are restored.
+     */
+    private void renderGeneratedDocument( String path, File generatedSiteDirectory, ServletResponse servletResponse,
+                                          SiteRenderingContext context )
+        throws IOException, RendererException
+    {
+        Object lock = renderingCache != null ? renderingCache.getRenderLock() : context;
+        synchronized ( lock )
+        {
+            List<File> originalSiteDirectories = new ArrayList<File>( context.getSiteDirectories() );
             context.getSiteDirectories().clear();
             context.addSiteDirectory( generatedSiteDirectory );
             try
@@ -175,25 +282,39 @@ public class DoxiaFilter
 
                 if ( locateDocuments.containsKey( path ) )
                 {
-                    DocumentRenderer renderer = locateDocuments.get( path );
-                    renderer.renderDocument( servletResponse.getWriter(), siteRenderer, context );
+                    renderDocument( locateDocuments.get( path ), servletResponse, context );
                 }
             }
-            catch ( RendererException e )
-            {
-                throw new ServletException( e );
-            }
-
-            List<File> originalSiteDirectories = new ArrayList<File>( context.getSiteDirectories() );
-            for ( File dir : originalSiteDirectories )
+            finally
             {
-                context.addSiteDirectory( dir );
+                context.getSiteDirectories().clear();
+                for ( File dir : originalSiteDirectories )
+                {
+                    context.addSiteDirectory( dir );
+                }
             }
         }
-        else
+    }
+
+    /**
+     * Adds to the page a script which reloads it when the site changes.
+     */
+    private static String addReloadScript( String page, long generation )
+    {
+        int end = page.lastIndexOf( "</body>" );
+        if ( end < 0 )
         {
-            filterChain.doFilter( servletRequest, servletResponse );
+            return page;
         }
+
+        String script = "<script type=\"text/javascript\">(function(g){function p(){"
+            + "var x=new XMLHttpRequest();x.open('GET','/" + RELOAD_PATH + "',true);"
+            + "x.onreadystatechange=function(){if(x.readyState==4){"
+            + "if(x.status==200&&x.responseText!=''+g){location.reload();}"
+            + "else{setTimeout(p," + RELOAD_INTERVAL + ");}}};x.send(null);}setTimeout(p," + RELOAD_INTERVAL
+            + ");})(" + generation + ");</script>\n";
+
+        return page.substring( 0, end ) + script + page.substring( end );
     }
 
     /**
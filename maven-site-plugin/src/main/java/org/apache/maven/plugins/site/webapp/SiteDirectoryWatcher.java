@@ -0,0 +1,111 @@
+package org.apache.maven.plugins.site.webapp;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Watches the source directories of the site, and invalidates the rendered pages when a file is added, removed or
+ * modified. The directories are polled: only the names, sizes and modification dates of the files are read.
+ *
+ * @version $Id$
+ * @since 3.4
+ */
+public class SiteDirectoryWatcher
+    extends Thread
+{
+    private final List<File> directories;
+
+    private final SiteRenderingCache cache;
+
+    private final long interval;
+
+    /**
+     * @param directories the directories to watch, not null.
+     * @param cache the cache to invalidate, not null.
+     * @param interval the time between two polls, in milliseconds.
+     */
+    public SiteDirectoryWatcher( List<File> directories, SiteRenderingCache cache, long interval )
+    {
+        super( "site-directory-watcher" );
+        setDaemon( true );
+
+        this.directories = directories;
+        this.cache = cache;
+        this.interval = interval;
+    }
+
+    @Override
+    public void run()
+    {
+        long state = fingerprint( directories );
+        while ( !isInterrupted() )
+        {
+            try
+            {
+                Thread.sleep( interval );
+            }
+            catch ( InterruptedException e )
+            {
+                return;
+            }
+
+            long current = fingerprint( directories );
+            if ( current != state )
+            {
+                state = current;
+                cache.invalidate();
+            }
+        }
+    }
+
+    private static long fingerprint( List<File> files )
+    {
+        long state = 17;
+        for ( File file : files )
+        {
+            state = 31 * state + fingerprint( file );
+        }
+        return state;
+    }
+
+    private static long fingerprint( File file )
+    {
+        long state = 31 * file.getName().hashCode() + file.lastModified();
+        if ( file.isDirectory() )
+        {
+            File[] children = file.listFiles();
+            if ( children != null )
+            {
+                // the order of the files doesn't matter
+                for ( File child : children )
+                {
+                    state += fingerprint( child );
+                }
+            }
+        }
+        else
+        {
+            state = 31 * state + file.length();
+        }
+        return state;
+    }
+}
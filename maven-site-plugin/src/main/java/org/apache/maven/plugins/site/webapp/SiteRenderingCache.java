@@ -0,0 +1,231 @@
+package org.apache.maven.plugins.site.webapp;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.doxia.siterenderer.DocumentRenderer;
+import org.apache.maven.doxia.siterenderer.Renderer;
+import org.apache.maven.doxia.siterenderer.RendererException;
+import org.apache.maven.doxia.siterenderer.SiteRenderingContext;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugins.site.ReportDocumentRenderer;
+
+/**
+ * Cache of the pages rendered by <code>site:run</code>, keyed by locale and path, and keeping the most recently
+ * used pages.
+ * <br/>
+ * The whole cache is invalidated when a source of the site changes: every invalidation starts a new generation,
+ * which browsers can poll to reload the page. The documents which were cached before the invalidation are
+ * rendered again in the background, except the reports which are rendered on demand.
+ * <br/>
+ * The Doxia parsers and the reports are not thread-safe, so the documents are rendered one at a time, whether by a
+ * request or by the background rendering: the documents which are not cached are rendered through
+ * {@link #renderDocument(Writer, DocumentRenderer, SiteRenderingContext)}.
+ *
+ * @version $Id$
+ * @since 3.4
+ */
+public class SiteRenderingCache
+{
+    private final Renderer siteRenderer;
+
+    private final Log log;
+
+    private final Map<String, Page> pages;
+
+    private final Object renderLock = new Object();
+
+    private long generation;
+
+    /**
+     * @param siteRenderer the renderer of the documents, not null.
+     * @param maxPages the maximum number of pages kept in the cache.
+     * @param log not null.
+     */
+    public SiteRenderingCache( Renderer siteRenderer, final int maxPages, Log log )
+    {
+        this.siteRenderer = siteRenderer;
+        this.log = log;
+        this.pages = new LinkedHashMap<String, Page>( 16, 0.75f, true )
+        {
+            @Override
+            protected boolean removeEldestEntry( Map.Entry<String, Page> eldest )
+            {
+                return size() > maxPages;
+            }
+        };
+    }
+
+    /**
+     * Gets a page from the cache, rendering it if needed.
+     *
+     * @param key the locale and the path of the page, not null.
+     * @param renderer the renderer of the document, not null.
+     * @param context the rendering context of the locale, not null.
+     * @return the rendered page.
+     * @throws IOException if the document can't be rendered.
+     * @throws RendererException if the document can't be rendered.
+     */
+    public String getPage( String key, DocumentRenderer renderer, SiteRenderingContext context )
+        throws IOException, RendererException
+    {
+        String content = getCachedPage( key );
+        if ( content != null )
+        {
+            return content;
+        }
+
+        synchronized ( renderLock )
+        {
+            long renderedGeneration;
+            synchronized ( this )
+            {
+                // rendered by another thread in the meantime
+                Page page = pages.get( key );
+                if ( page != null )
+                {
+                    return page.content;
+                }
+                renderedGeneration = generation;
+            }
+
+            StringWriter writer = new StringWriter();
+            renderer.renderDocument( writer, siteRenderer, context );
+            content = writer.toString();
+
+            synchronized ( this )
+            {
+                // a page rendered while its source changed is not kept
+                if ( renderedGeneration == generation )
+                {
+                    pages.put( key, new Page( content, renderer, context ) );
+                }
+            }
+        }
+        return content;
+    }
+
+    private synchronized String getCachedPage( String key )
+    {
+        Page page = pages.get( key );
+        return page == null ? null : page.content;
+    }
+
+    /**
+     * Renders a document which is not cached, one document at a time like the cached pages.
+     *
+     * @param writer the writer of the page, not null.
+     * @param renderer the renderer of the document, not null.
+     * @param context the rendering context of the locale, not null.
+     * @throws IOException if the document can't be rendered.
+     * @throws RendererException if the document can't be rendered.
+     */
+    public void renderDocument( Writer writer, DocumentRenderer renderer, SiteRenderingContext context )
+        throws IOException, RendererException
+    {
+        synchronized ( renderLock )
+        {
+            renderer.renderDocument( writer, siteRenderer, context );
+        }
+    }
+
+    /**
+     * @return the lock held while a document is rendered, to hold while changing a rendering context.
+     */
+    public Object getRenderLock()
+    {
+        return renderLock;
+    }
+
+    /**
+     * Forgets all the pages, then renders again the documents which were cached, reports excepted.
+     */
+    public void invalidate()
+    {
+        Map<String, Page> previous;
+        long invalidatedGeneration;
+        synchronized ( this )
+        {
+            previous = new LinkedHashMap<String, Page>( pages );
+            pages.clear();
+            invalidatedGeneration = ++generation;
+        }
+
+        List<String> keys = new ArrayList<String>( previous.keySet() );
+        for ( String key : keys )
+        {
+            Page page = previous.get( key );
+            if ( page.renderer instanceof ReportDocumentRenderer )
+            {
+                continue;
+            }
+
+            synchronized ( this )
+            {
+                if ( invalidatedGeneration != generation )
+                {
+                    // changed again, the next invalidation takes over
+                    return;
+                }
+            }
+
+            try
+            {
+                getPage( key, page.renderer, page.context );
+            }
+            catch ( Exception e )
+            {
+                // the error is reported when the page is requested
+                log.debug( "Unable to render " + key + ": " + e.getMessage() );
+            }
+        }
+    }
+
+    /**
+     * @return the number of invalidations so far.
+     */
+    public synchronized long getGeneration()
+    {
+        return generation;
+    }
+
+    private static class Page
+    {
+        private final String content;
+
+        private final DocumentRenderer renderer;
+
+        private final SiteRenderingContext context;
+
+        Page( String content, DocumentRenderer renderer, SiteRenderingContext context )
+        {
+            this.content = content;
+            this.renderer = renderer;
+            this.context = context;
+        }
+    }
+}
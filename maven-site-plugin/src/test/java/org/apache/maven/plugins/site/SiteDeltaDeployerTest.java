@@ -0,0 +1,151 @@
+package org.apache.maven.plugins.site;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.wagon.Wagon;
+import org.apache.maven.wagon.providers.file.FileWagon;
+import org.apache.maven.wagon.repository.Repository;
+import org.codehaus.plexus.PlexusTestCase;
+import org.codehaus.plexus.util.FileUtils;
+
+/**
+ * @version $Id$
+ */
+public class SiteDeltaDeployerTest
+    extends PlexusTestCase
+{
+    private File site;
+
+    private File remote;
+
+    private List<Wagon> wagons;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        File basedir = new File( getBasedir(), "target/unit/delta-deploy" );
+        FileUtils.deleteDirectory( basedir );
+        site = new File( basedir, "site" );
+        remote = new File( basedir, "remote" );
+        remote.mkdirs();
+
+        wagons = new ArrayList<Wagon>();
+        for ( int i = 0; i < 2; i++ )
+        {
+            Wagon wagon = new FileWagon();
+            wagon.connect( new Repository( "delta", remote.toURI().toString() ) );
+            wagons.add( wagon );
+        }
+    }
+
+    @Override
+    protected void tearDown()
+        throws Exception
+    {
+        for ( Wagon wagon : wagons )
+        {
+            wagon.disconnect();
+        }
+
+        super.tearDown();
+    }
+
+    /**
+     * Test that only the changed files are uploaded, and that the removed files are deleted.
+     *
+     * @throws Exception if any
+     */
+    public void testDeploy()
+        throws Exception
+    {
+        write( "index.html", "index" );
+        write( "css/site.css", "css" );
+        write( "old.html", "old" );
+        write( "fr/index.html", "index fr" );
+
+        SiteDeltaDeployer deployer = new SiteDeltaDeployer( wagons, new SystemStreamLog() );
+        deployer.deploy( site, "./", Collections.singletonList( "fr" ) );
+
+        assertEquals( "index", FileUtils.fileRead( new File( remote, "index.html" ) ) );
+        assertEquals( "css", FileUtils.fileRead( new File( remote, "css/site.css" ) ) );
+        assertTrue( new File( remote, "old.html" ).exists() );
+        assertTrue( new File( remote, SiteDeltaDeployer.MANIFEST ).exists() );
+        // the other locales are excluded
+        assertFalse( new File( remote, "fr" ).exists() );
+
+        // an unchanged file is not uploaded again
+        new File( remote, "css/site.css" ).setLastModified( 0 );
+        write( "index.html", "new index" );
+        new File( site, "old.html" ).delete();
+
+        deployer.deploy( site, "./", Collections.singletonList( "fr" ) );
+
+        assertEquals( "new index", FileUtils.fileRead( new File( remote, "index.html" ) ) );
+        assertEquals( 0, new File( remote, "css/site.css" ).lastModified() );
+        assertFalse( new File( remote, "old.html" ).exists() );
+    }
+
+    /**
+     * Test that the whole site is copied by the first deployment, along with its manifest.
+     *
+     * @throws Exception if any
+     */
+    public void testFirstDeploy()
+        throws Exception
+    {
+        write( "index.html", "index" );
+        write( "css/site.css", "css" );
+
+        SiteDeltaDeployer deployer = new SiteDeltaDeployer( wagons, new SystemStreamLog() );
+        deployer.deploy( site, "./", Collections.<String>emptyList() );
+
+        assertEquals( "index", FileUtils.fileRead( new File( remote, "index.html" ) ) );
+        assertEquals( "css", FileUtils.fileRead( new File( remote, "css/site.css" ) ) );
+        assertTrue( FileUtils.fileRead( new File( remote, SiteDeltaDeployer.MANIFEST ) ).contains( "css/site.css=" ) );
+    }
+
+    /**
+     * Test that only the paths relative to the repository are quoted in the delete command.
+     */
+    public void testDeleteCommand()
+    {
+        assertEquals( "rm -f ~/site/'./a b.html' ~/site/'./it'\\''s.html'",
+                      SiteDeltaDeployer.getDeleteCommand( "~/site", "./", Arrays.asList( "a b.html", "it's.html" ) ) );
+    }
+
+    private void write( String path, String content )
+        throws IOException
+    {
+        File file = new File( site, path );
+        file.getParentFile().mkdirs();
+        FileUtils.fileWrite( file.getPath(), content );
+    }
+}
@@ -20,10 +20,24 @@ package org.apache.maven.plugins.site;
  */
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.maven.doxia.site.decoration.DecorationModel;
+import org.apache.maven.doxia.siterenderer.DocumentRenderer;
+import org.apache.maven.doxia.siterenderer.RenderingContext;
+import org.apache.maven.doxia.siterenderer.SiteRenderingContext;
 import org.apache.maven.doxia.tools.SiteTool;
 import org.apache.maven.plugin.testing.AbstractMojoTestCase;
+import org.apache.maven.reporting.MavenReport;
+import org.apache.maven.reporting.MavenReportException;
+import org.apache.maven.reporting.exec.MavenReportExecution;
+import org.codehaus.doxia.sink.Sink;
 import org.codehaus.plexus.util.FileUtils;
 import org.junit.Before;
 import org.junit.Test;
@@ -78,4 +92,205 @@ public class SiteMojoTest
         assertNotNull( siteDescriptorContent );
         assertTrue(!siteDescriptorContent.contains("${project.name}"));
     }
+
+    /**
+     * Test method for 'org.apache.maven.plugins.site.SiteMojo.render(Collection, SiteRenderingContext, File, SiteRenderingState)'
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRenderMultiDocumentSite()
+        throws Exception
+    {
+        File basedir = getTestFile( "src/test/resources/unit/multi-document-site" );
+        SiteMojo siteMojo = (SiteMojo) lookupMojo( "site", new File( basedir, "pom.xml" ) );
+        assertNotNull( siteMojo );
+
+        File workDir = getTestFile( "target/unit/multi-document-site" );
+        FileUtils.deleteDirectory( workDir );
+        File siteDir = new File( workDir, "site" );
+        FileUtils.copyDirectoryStructure( new File( basedir, "src/site" ), siteDir );
+        File outputDir = new File( workDir, "output" );
+        File stateFile = new File( workDir, "rendering.properties" );
+
+        SiteRenderingContext context =
+            siteMojo.siteRenderer.createContextForTemplate( new File( siteDir, "test-site.vm" ), null,
+                                                            new HashMap<String, Object>(), new DecorationModel(),
+                                                            "Multi Document Site", Locale.ENGLISH );
+        context.addSiteDirectory( siteDir );
+        context.setInputEncoding( "UTF-8" );
+        context.setOutputEncoding( "UTF-8" );
+
+        assertFalse( new SiteRenderingState( stateFile, "multi-document-site" ).isFingerprintChanged() );
+        render( siteMojo, context, outputDir, stateFile );
+
+        File index = new File( outputDir, "index.html" );
+        File first = new File( outputDir, "first.html" );
+        File second = new File( outputDir, "second.html" );
+        assertTrue( FileUtils.fileRead( index, "UTF-8" ).contains( "This is the index page." ) );
+        assertTrue( FileUtils.fileRead( first, "UTF-8" ).contains( "This is the first page." ) );
+        assertTrue( FileUtils.fileRead( second, "UTF-8" ).contains( "This is the second page." ) );
+
+        // the unchanged documents are not rendered again
+        long past = System.currentTimeMillis() - 60000;
+        index.setLastModified( past );
+        first.setLastModified( past );
+        second.setLastModified( past );
+        File firstSource = new File( siteDir, "apt/first.apt" );
+        FileUtils.fileWrite( firstSource.getAbsolutePath(), "UTF-8",
+                             FileUtils.fileRead( firstSource, "UTF-8" ).replace( "first page", "changed page" ) );
+
+        render( siteMojo, context, outputDir, stateFile );
+
+        assertEquals( past / 1000, index.lastModified() / 1000 );
+        assertEquals( past / 1000, second.lastModified() / 1000 );
+        assertTrue( FileUtils.fileRead( first, "UTF-8" ).contains( "This is the changed page." ) );
+
+        // the output of a removed source is deleted
+        assertTrue( new SiteRenderingState( stateFile, "changed-site" ).isFingerprintChanged() );
+        new File( siteDir, "xdoc/second.xml" ).delete();
+
+        render( siteMojo, context, outputDir, stateFile );
+
+        assertFalse( second.exists() );
+        assertEquals( past / 1000, index.lastModified() / 1000 );
+    }
+
+    /**
+     * Test method for 'org.apache.maven.plugins.site.SiteMojo.render(Collection, SiteRenderingContext, File, SiteRenderingState)'
+     * with several threads.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testGenerateReportsConcurrently()
+        throws Exception
+    {
+        File basedir = getTestFile( "src/test/resources/unit/multi-document-site" );
+        SiteMojo siteMojo = (SiteMojo) lookupMojo( "site", new File( basedir, "pom.xml" ) );
+        setVariableValueToObject( siteMojo, "threads", 2 );
+
+        File workDir = getTestFile( "target/unit/concurrent-reports" );
+        FileUtils.deleteDirectory( workDir );
+        File siteDir = new File( basedir, "src/site" );
+        File outputDir = new File( workDir, "output" );
+
+        SiteRenderingContext context =
+            siteMojo.siteRenderer.createContextForTemplate( new File( siteDir, "test-site.vm" ), null,
+                                                            new HashMap<String, Object>(), new DecorationModel(),
+                                                            "Concurrent Reports", Locale.ENGLISH );
+        context.addSiteDirectory( siteDir );
+        context.setInputEncoding( "UTF-8" );
+        context.setOutputEncoding( "UTF-8" );
+
+        // each report waits for the other one: they only complete when they are generated at the same time
+        CountDownLatch latch = new CountDownLatch( 2 );
+        List<DocumentRenderer> documents = new ArrayList<DocumentRenderer>();
+        documents.addAll( siteMojo.siteRenderer.locateDocumentFiles( context ).values() );
+        for ( String name : new String[] { "report-a", "report-b" } )
+        {
+            documents.add( new ReportDocumentRenderer( new MavenReportExecution( new LatchReport( name, latch ) ),
+                                                       new RenderingContext( siteDir, name + ".html" ),
+                                                       siteMojo.getLog() ) );
+        }
+
+        siteMojo.render( documents, context, outputDir, null );
+
+        assertTrue( FileUtils.fileRead( new File( outputDir, "index.html" ), "UTF-8" ).contains(
+            "This is the index page." ) );
+        assertTrue( FileUtils.fileRead( new File( outputDir, "report-a.html" ), "UTF-8" ).contains(
+            "Generated with the other report: report-a" ) );
+        assertTrue( FileUtils.fileRead( new File( outputDir, "report-b.html" ), "UTF-8" ).contains(
+            "Generated with the other report: report-b" ) );
+    }
+
+    private void render( SiteMojo siteMojo, SiteRenderingContext context, File outputDir, File stateFile )
+        throws Exception
+    {
+        Map<String, DocumentRenderer> documents = siteMojo.siteRenderer.locateDocumentFiles( context );
+
+        SiteRenderingState state = new SiteRenderingState( stateFile, "multi-document-site" );
+        siteMojo.render( documents.values(), context, outputDir, state );
+        siteMojo.deleteRemovedDocuments( outputDir, state );
+        state.store();
+    }
+
+    private static class LatchReport
+        implements MavenReport
+    {
+        private final String name;
+
+        private final CountDownLatch latch;
+
+        private File reportOutputDirectory;
+
+        LatchReport( String name, CountDownLatch latch )
+        {
+            this.name = name;
+            this.latch = latch;
+        }
+
+        public void generate( Sink sink, Locale locale )
+            throws MavenReportException
+        {
+            latch.countDown();
+            try
+            {
+                if ( !latch.await( 10, TimeUnit.SECONDS ) )
+                {
+                    throw new MavenReportException( "The reports were not generated concurrently" );
+                }
+            }
+            catch ( InterruptedException e )
+            {
+                throw new MavenReportException( "Interrupted" );
+            }
+
+            sink.body();
+            sink.paragraph();
+            sink.text( "Generated with the other report: " + name );
+            sink.paragraph_();
+            sink.body_();
+        }
+
+        public String getOutputName()
+        {
+            return name;
+        }
+
+        public String getCategoryName()
+        {
+            return CATEGORY_PROJECT_REPORTS;
+        }
+
+        public String getName( Locale locale )
+        {
+            return name;
+        }
+
+        public String getDescription( Locale locale )
+        {
+            return name;
+        }
+
+        public void setReportOutputDirectory( File outputDirectory )
+        {
+            this.reportOutputDirectory = outputDirectory;
+        }
+
+        public File getReportOutputDirectory()
+        {
+            return reportOutputDirectory;
+        }
+
+        public boolean isExternalReport()
+        {
+            return false;
+        }
+
+        public boolean canGenerateReport()
+        {
+            return true;
+        }
+    }
 }
@@ -0,0 +1,38 @@
+package org.apache.maven.plugins.site.webapp;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+
+/**
+ * @version $Id$
+ */
+public class DoxiaFilterTest
+    extends TestCase
+{
+    /**
+     * Test that the pages of the default locale are cached under the name of its doxia bean.
+     */
+    public void testGetCacheKey()
+    {
+        assertEquals( "default/index.html", DoxiaFilter.getCacheKey( null, "index.html" ) );
+        assertEquals( "fr/index.html", DoxiaFilter.getCacheKey( "fr", "index.html" ) );
+    }
+}
@@ -0,0 +1,73 @@
+package org.apache.maven.plugins.site.webapp;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.Collections;
+
+import junit.framework.TestCase;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.codehaus.plexus.PlexusTestCase;
+import org.codehaus.plexus.util.FileUtils;
+
+/**
+ * @version $Id$
+ */
+public class SiteDirectoryWatcherTest
+    extends TestCase
+{
+    /**
+     * Test that a new file of a watched directory invalidates the cache.
+     *
+     * @throws Exception if any
+     */
+    public void testInvalidateOnChange()
+        throws Exception
+    {
+        File directory = new File( PlexusTestCase.getBasedir(), "target/unit/site-directory-watcher" );
+        FileUtils.deleteDirectory( directory );
+        new File( directory, "apt" ).mkdirs();
+
+        SiteRenderingCache cache = new SiteRenderingCache( null, 10, new SystemStreamLog() );
+        SiteDirectoryWatcher watcher =
+            new SiteDirectoryWatcher( Collections.singletonList( directory ), cache, 50 );
+        watcher.start();
+        try
+        {
+            Thread.sleep( 200 );
+            assertEquals( 0, cache.getGeneration() );
+
+            FileUtils.fileWrite( new File( directory, "apt/index.apt" ).getAbsolutePath(), "UTF-8", "Index" );
+
+            long end = System.currentTimeMillis() + 10000;
+            while ( cache.getGeneration() == 0 && System.currentTimeMillis() < end )
+            {
+                Thread.sleep( 50 );
+            }
+            assertEquals( 1, cache.getGeneration() );
+        }
+        finally
+        {
+            watcher.interrupt();
+            watcher.join();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package org.apache.maven.plugins.site.webapp;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.apache.maven.doxia.siterenderer.DocumentRenderer;
+import org.apache.maven.doxia.siterenderer.Renderer;
+import org.apache.maven.doxia.siterenderer.RenderingContext;
+import org.apache.maven.doxia.siterenderer.SiteRenderingContext;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+
+/**
+ * @version $Id$
+ */
+public class SiteRenderingCacheTest
+    extends TestCase
+{
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final AtomicInteger maxActive = new AtomicInteger();
+
+    /**
+     * Test that a page is rendered once, until the cache is invalidated.
+     *
+     * @throws Exception if any
+     */
+    public void testGetPage()
+        throws Exception
+    {
+        SiteRenderingCache cache = new SiteRenderingCache( null, 10, new SystemStreamLog() );
+        CountingDocumentRenderer document = new CountingDocumentRenderer( "index" );
+
+        assertEquals( "index 1", cache.getPage( "default/index.html", document, null ) );
+        assertEquals( "index 1", cache.getPage( "default/index.html", document, null ) );
+        assertEquals( 0, cache.getGeneration() );
+
+        // the cached documents are rendered again at once
+        cache.invalidate();
+        assertEquals( 1, cache.getGeneration() );
+        assertEquals( 2, document.renders.get() );
+        assertEquals( "index 2", cache.getPage( "default/index.html", document, null ) );
+        assertEquals( 2, document.renders.get() );
+    }
+
+    /**
+     * Test that the least recently used pages are forgotten.
+     *
+     * @throws Exception if any
+     */
+    public void testMaxPages()
+        throws Exception
+    {
+        SiteRenderingCache cache = new SiteRenderingCache( null, 1, new SystemStreamLog() );
+        CountingDocumentRenderer first = new CountingDocumentRenderer( "first" );
+        CountingDocumentRenderer second = new CountingDocumentRenderer( "second" );
+
+        cache.getPage( "default/first.html", first, null );
+        cache.getPage( "default/second.html", second, null );
+        cache.getPage( "default/second.html", second, null );
+        assertEquals( 1, second.renders.get() );
+
+        assertEquals( "first 2", cache.getPage( "default/first.html", first, null ) );
+    }
+
+    /**
+     * Test that the documents are rendered one at a time, by the requests as well as by the invalidation.
+     *
+     * @throws Exception if any
+     */
+    public void testRenderingIsSerialized()
+        throws Exception
+    {
+        final SiteRenderingCache cache = new SiteRenderingCache( null, 100, new SystemStreamLog() );
+
+        ExecutorService executor = Executors.newFixedThreadPool( 8 );
+        try
+        {
+            List<Future<Object>> futures = new ArrayList<Future<Object>>();
+            for ( int i = 0; i < 32; i++ )
+            {
+                final int n = i;
+                futures.add( executor.submit( new Callable<Object>()
+                {
+                    public Object call()
+                        throws Exception
+                    {
+                        DocumentRenderer document = new CountingDocumentRenderer( "page" + n );
+                        switch ( n % 4 )
+                        {
+                            case 0:
+                                cache.invalidate();
+                                break;
+                            case 1:
+                                cache.renderDocument( new StringWriter(), document, null );
+                                break;
+                            default:
+                                cache.getPage( "default/page" + n + ".html", document, null );
+                        }
+                        return null;
+                    }
+                } ) );
+            }
+
+            for ( Future<Object> future : futures )
+            {
+                future.get();
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        assertEquals( 1, maxActive.get() );
+    }
+
+    private class CountingDocumentRenderer
+        implements DocumentRenderer
+    {
+        private final String content;
+
+        private final AtomicInteger renders = new AtomicInteger();
+
+        CountingDocumentRenderer( String content )
+        {
+            this.content = content;
+        }
+
+        public void renderDocument( Writer writer, Renderer renderer, SiteRenderingContext siteRenderingContext )
+        {
+            int current = active.incrementAndGet();
+            if ( current > maxActive.get() )
+            {
+                maxActive.set( current );
+            }
+
+            try
+            {
+                Thread.sleep( 5 );
+                writer.write( content + ' ' + renders.incrementAndGet() );
+            }
+            catch ( Exception e )
+            {
+                throw new RuntimeException( e );
+            }
+            finally
+            {
+                active.decrementAndGet();
+            }
+        }
+
+        public String getOutputName()
+        {
+            return content + ".html";
+        }
+
+        public RenderingContext getRenderingContext()
+        {
+            return null;
+        }
+
+        public boolean isOverwrite()
+        {
+            return true;
+        }
+
+        public boolean isExternalReport()
+        {
+            return false;
+        }
+    }
+}